@@ -15,6 +15,7 @@ import com.hp.autonomy.frontend.configuration.filter.ConfigEnvironmentVariableFi
 import com.hp.autonomy.frontend.logging.ApplicationStartLogger;
 import com.hp.autonomy.frontend.logging.UserLoggingFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.embedded.ConfigurableEmbeddedServletContainer;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizer;
 import org.springframework.boot.context.embedded.ErrorPage;
@@ -24,6 +25,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.filter.CharacterEncodingFilter;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.i18n.SessionLocaleResolver;
@@ -37,6 +40,7 @@ import java.util.Set;
  */
 @Configuration
 @EnableJpaAuditing
+@EnableScheduling
 @PropertySource("classpath:/version.properties")
 public class AppConfiguration<C extends Config<C>> {
     public static final String APPLICATION_RELEASE_VERSION_PROPERTY = "${application.releaseVersion}";
@@ -50,6 +54,9 @@ public class AppConfiguration<C extends Config<C>> {
     @Autowired(required = false)
     private Set<Validator<?>> validators = Collections.emptySet();
 
+    @Value("${find.scheduler.threads:4}")
+    private int schedulerThreads;
+
     @SuppressWarnings("ReturnOfInnerClass")
     @Bean
     public EmbeddedServletContainerCustomizer containerCustomizer() {
@@ -93,6 +100,18 @@ public class AppConfiguration<C extends Config<C>> {
         return filterRegistrationBean;
     }
 
+    /**
+     * Runs the @Scheduled jobs on find.scheduler.threads threads rather than Spring's single default thread, so that a
+     * slow job does not delay the others.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        final ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(schedulerThreads);
+        taskScheduler.setThreadNamePrefix("find-scheduler-");
+        return taskScheduler;
+    }
+
     @Bean
     public ApplicationStartLogger applicationStartLogger() {
         return new ApplicationStartLogger();
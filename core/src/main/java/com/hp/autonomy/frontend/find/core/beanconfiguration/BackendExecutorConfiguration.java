@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.beanconfiguration;
+
+import com.hp.autonomy.frontend.find.core.web.ContextPropagatingTaskExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded thread pool used to run IDOL and HoD calls on behalf of asynchronously handled requests, so that servlet
+ * threads are not held while the backend is working.
+ * <p>
+ * The pool size and queue depth are find.backend.threads and find.backend.queueCapacity. The active thread count and
+ * queue length are published as find.backend.* metrics. Calls which find the queue full are rejected rather than run on
+ * the submitting thread, so that a saturated pool never holds servlet or scheduler threads; they are counted by
+ * find.backend.rejected and fail the request with a 503.
+ */
+@Configuration
+public class BackendExecutorConfiguration {
+    public static final String BACKEND_EXECUTOR = "backendExecutor";
+    public static final String BACKEND_THREAD_POOL = "backendThreadPool";
+
+    private static final String METRIC_PREFIX = "find.backend.";
+
+    @Value("${find.backend.threads:16}")
+    private int threads;
+
+    @Value("${find.backend.queueCapacity:200}")
+    private int queueCapacity;
+
+    @Autowired
+    private CounterService counterService;
+
+    @Bean(name = BACKEND_THREAD_POOL)
+    public ThreadPoolTaskExecutor backendThreadPool() {
+        final ThreadPoolTaskExecutor threadPool = new ThreadPoolTaskExecutor();
+        threadPool.setCorePoolSize(threads);
+        threadPool.setMaxPoolSize(threads);
+        threadPool.setQueueCapacity(queueCapacity);
+        threadPool.setThreadNamePrefix("find-backend-");
+
+        threadPool.setRejectedExecutionHandler(new RejectedExecutionHandler() {
+            private final RejectedExecutionHandler abortPolicy = new ThreadPoolExecutor.AbortPolicy();
+
+            @Override
+            public void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+                counterService.increment(METRIC_PREFIX + "rejected");
+                abortPolicy.rejectedExecution(task, executor);
+            }
+        });
+
+        return threadPool;
+    }
+
+    @Bean(name = BACKEND_EXECUTOR)
+    public AsyncListenableTaskExecutor backendExecutor() {
+        return new ContextPropagatingTaskExecutor(backendThreadPool());
+    }
+
+    @Bean
+    public PublicMetrics backendExecutorMetrics() {
+        final ThreadPoolTaskExecutor threadPool = backendThreadPool();
+
+        return new PublicMetrics() {
+            @Override
+            public Collection<Metric<?>> metrics() {
+                final ThreadPoolExecutor executor = threadPool.getThreadPoolExecutor();
+
+                return Arrays.<Metric<?>>asList(
+                        new Metric<>(METRIC_PREFIX + "activeThreads", executor.getActiveCount()),
+                        new Metric<>(METRIC_PREFIX + "poolSize", executor.getPoolSize()),
+                        new Metric<>(METRIC_PREFIX + "queueSize", executor.getQueue().size()),
+                        new Metric<>(METRIC_PREFIX + "queueRemainingCapacity", executor.getQueue().remainingCapacity())
+                );
+            }
+        };
+    }
+}
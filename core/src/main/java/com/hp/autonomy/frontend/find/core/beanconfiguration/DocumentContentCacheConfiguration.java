@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.beanconfiguration;
+
+import com.hp.autonomy.frontend.find.core.caching.CacheMetrics;
+import com.hp.autonomy.frontend.find.core.caching.DocumentContentCache;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.DiskStoreConfiguration;
+import net.sf.ehcache.config.MemoryUnit;
+import net.sf.ehcache.config.PersistenceConfiguration;
+import net.sf.ehcache.store.MemoryStoreEvictionPolicy;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Local cache for full document content, used for both persistent state modes. Its own Ehcache manager is used so that
+ * it can be bounded by memory rather than by number of entries. Setting find.documentContentCache.diskMegabytes
+ * enables a disk tier for documents which no longer fit in memory.
+ */
+@Configuration
+public class DocumentContentCacheConfiguration {
+    private static final String CACHE_MANAGER_NAME = "findDocumentContent";
+
+    @Value("${find.documentContentCache.maxMegabytes:64}")
+    private long maxMegabytes;
+
+    @Value("${find.documentContentCache.maxEntryMegabytes:8}")
+    private int maxEntryMegabytes;
+
+    @Value("${find.documentContentCache.diskMegabytes:0}")
+    private long diskMegabytes;
+
+    @Value("${find.documentContentCache.diskPath:}")
+    private String diskPath;
+
+    @Value("${find.documentContentCache.timeToLiveSeconds:1800}")
+    private long timeToLiveSeconds;
+
+    @Bean(destroyMethod = "shutdown")
+    public DocumentContentCache documentContentCache(final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever, final CacheMetrics cacheMetrics) {
+        final boolean diskEnabled = diskMegabytes > 0;
+
+        final CacheConfiguration cacheConfiguration = new CacheConfiguration()
+                .name(DocumentContentCache.CACHE_NAME)
+                .eternal(false)
+                .maxBytesLocalHeap(maxMegabytes, MemoryUnit.MEGABYTES)
+                .timeToIdleSeconds(0)
+                .timeToLiveSeconds(timeToLiveSeconds)
+                .memoryStoreEvictionPolicy(MemoryStoreEvictionPolicy.LRU)
+                .persistence(new PersistenceConfiguration().strategy(diskEnabled ? PersistenceConfiguration.Strategy.LOCALTEMPSWAP : PersistenceConfiguration.Strategy.NONE));
+
+        final net.sf.ehcache.config.Configuration configuration = new net.sf.ehcache.config.Configuration()
+                .name(CACHE_MANAGER_NAME)
+                .cache(cacheConfiguration)
+                .updateCheck(false);
+
+        if (diskEnabled) {
+            cacheConfiguration.maxBytesLocalDisk(diskMegabytes, MemoryUnit.MEGABYTES);
+            configuration.diskStore(new DiskStoreConfiguration().path(StringUtils.defaultIfBlank(diskPath, "java.io.tmpdir")));
+        }
+
+        final CacheManager cacheManager = new CacheManager(configuration);
+        final int maxEntryBytes = (int) MemoryUnit.MEGABYTES.toBytes(maxEntryMegabytes);
+
+        return new DocumentContentCache(cacheManager.getEhcache(DocumentContentCache.CACHE_NAME), authenticationInformationRetriever, cacheMetrics, maxEntryBytes);
+    }
+}
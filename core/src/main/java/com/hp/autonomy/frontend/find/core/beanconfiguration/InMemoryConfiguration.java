@@ -5,6 +5,7 @@
 
 package com.hp.autonomy.frontend.find.core.beanconfiguration;
 
+import com.hp.autonomy.frontend.find.core.savedsearches.SavedSearchInvalidationBroadcaster;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.store.MemoryStoreEvictionPolicy;
@@ -35,4 +36,13 @@ public class InMemoryConfiguration {
 
         return new CacheManager(configuration);
     }
+
+    @Bean
+    public SavedSearchInvalidationBroadcaster savedSearchInvalidationBroadcaster() {
+        // without Redis there is a single node, which has already evicted its own cache
+        return new SavedSearchInvalidationBroadcaster() {
+            @Override
+            public void broadcast(final Long userId) {}
+        };
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.caching;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records cache hits and misses. For each cache, the counters find.cache.[name].hits and find.cache.[name].misses are
+ * incremented on every lookup and the gauge find.cache.[name].hitRatio holds the proportion of lookups since startup
+ * which were hits.
+ * <p>
+ * Caches bounded by size may also report evictions, which increment find.cache.[name].evictions and add to the gauge
+ * find.cache.[name].evictedBytes.
+ */
+@Component
+public class CacheMetrics {
+    private static final String METRIC_PREFIX = "find.cache.";
+
+    private final CounterService counterService;
+    private final GaugeService gaugeService;
+    private final ConcurrentMap<String, LookupCounts> lookupCounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> evictedBytes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CacheMetrics(final CounterService counterService, final GaugeService gaugeService) {
+        this.counterService = counterService;
+        this.gaugeService = gaugeService;
+    }
+
+    /**
+     * @param cache The cache to instrument
+     * @param metricName The name to record metrics under. Caches sharing a name share metrics.
+     * @return A cache which records metrics and delegates to the given cache
+     */
+    public Cache instrument(final Cache cache, final String metricName) {
+        return new InstrumentedCache(cache, metricName, this);
+    }
+
+    void recordLookup(final String metricName, final boolean hit) {
+        counterService.increment(METRIC_PREFIX + metricName + (hit ? ".hits" : ".misses"));
+
+        LookupCounts counts = lookupCounts.get(metricName);
+
+        if (counts == null) {
+            final LookupCounts newCounts = new LookupCounts();
+            counts = lookupCounts.putIfAbsent(metricName, newCounts);
+
+            if (counts == null) {
+                counts = newCounts;
+            }
+        }
+
+        gaugeService.submit(METRIC_PREFIX + metricName + ".hitRatio", counts.record(hit));
+    }
+
+    void recordEviction(final String metricName, final long bytes) {
+        counterService.increment(METRIC_PREFIX + metricName + ".evictions");
+
+        AtomicLong totalBytes = evictedBytes.get(metricName);
+
+        if (totalBytes == null) {
+            final AtomicLong newTotalBytes = new AtomicLong();
+            totalBytes = evictedBytes.putIfAbsent(metricName, newTotalBytes);
+
+            if (totalBytes == null) {
+                totalBytes = newTotalBytes;
+            }
+        }
+
+        gaugeService.submit(METRIC_PREFIX + metricName + ".evictedBytes", totalBytes.addAndGet(bytes));
+    }
+
+    private static class LookupCounts {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong lookups = new AtomicLong();
+
+        private double record(final boolean hit) {
+            final long totalHits = hit ? hits.incrementAndGet() : hits.get();
+            return (double) totalHits / lookups.incrementAndGet();
+        }
+    }
+}
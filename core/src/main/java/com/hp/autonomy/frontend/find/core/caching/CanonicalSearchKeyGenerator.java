@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.caching;
+
+import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
+import com.hp.autonomy.searchcomponents.core.search.SearchRequest;
+import com.hp.autonomy.searchcomponents.core.search.SuggestRequest;
+import org.apache.commons.lang3.SerializationUtils;
+import org.springframework.cache.interceptor.KeyGenerator;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Key generator which rewrites the query restrictions of search and suggest requests, or query restrictions passed
+ * directly, into a canonical form before passing them to a delegate, so that equivalent queries share cache entries.
+ * Databases are sorted, runs of whitespace in the query text are collapsed and field text is canonicalised with
+ * {@link FieldTextCanonicaliser}.
+ * <p>
+ * The requests passed to the cached method are not modified; the key is built from a copy.
+ */
+public class CanonicalSearchKeyGenerator<S extends Serializable> implements KeyGenerator {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Comparator<Object> DATABASE_COMPARATOR = new Comparator<Object>() {
+        @Override
+        public int compare(final Object first, final Object second) {
+            return String.valueOf(first).compareTo(String.valueOf(second));
+        }
+    };
+
+    private final QueryRestrictionsBuilderFactory<?, S> queryRestrictionsBuilderFactory;
+    private final KeyGenerator delegate;
+
+    public CanonicalSearchKeyGenerator(final QueryRestrictionsBuilderFactory<?, S> queryRestrictionsBuilderFactory, final KeyGenerator delegate) {
+        this.queryRestrictionsBuilderFactory = queryRestrictionsBuilderFactory;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object generate(final Object target, final Method method, final Object... params) {
+        final Object[] canonicalParams = new Object[params.length];
+
+        for (int i = 0; i < params.length; i++) {
+            canonicalParams[i] = canonicaliseParam(params[i]);
+        }
+
+        return delegate.generate(target, method, canonicalParams);
+    }
+
+    // the requests for a platform always have databases of type S
+    @SuppressWarnings("unchecked")
+    private Object canonicaliseParam(final Object param) {
+        if (param instanceof SearchRequest) {
+            final SearchRequest<S> copy = (SearchRequest<S>) SerializationUtils.clone((Serializable) param);
+            copy.setQueryRestrictions(canonicalise(copy.getQueryRestrictions()));
+            return copy;
+        } else if (param instanceof SuggestRequest) {
+            final SuggestRequest<S> copy = (SuggestRequest<S>) SerializationUtils.clone((Serializable) param);
+            copy.setQueryRestrictions(canonicalise(copy.getQueryRestrictions()));
+            return copy;
+        } else if (param instanceof QueryRestrictions) {
+            return canonicalise((QueryRestrictions<S>) param);
+        } else {
+            return param;
+        }
+    }
+
+    QueryRestrictions<S> canonicalise(final QueryRestrictions<S> queryRestrictions) {
+        if (queryRestrictions == null) {
+            return null;
+        }
+
+        return queryRestrictionsBuilderFactory.createBuilder()
+                .setQueryText(normaliseQueryText(queryRestrictions.getQueryText()))
+                .setFieldText(FieldTextCanonicaliser.canonicalise(queryRestrictions.getFieldText()))
+                .setDatabases(sortDatabases(queryRestrictions.getDatabases()))
+                .setMinDate(queryRestrictions.getMinDate())
+                .setMaxDate(queryRestrictions.getMaxDate())
+                .setMinScore(queryRestrictions.getMinScore())
+                .setLanguageType(queryRestrictions.getLanguageType())
+                .setAnyLanguage(queryRestrictions.isAnyLanguage())
+                .setStateMatchId(queryRestrictions.getStateMatchId())
+                .setStateDontMatchId(queryRestrictions.getStateDontMatchId())
+                .build();
+    }
+
+    private String normaliseQueryText(final String queryText) {
+        return queryText == null ? null : WHITESPACE.matcher(queryText.trim()).replaceAll(" ");
+    }
+
+    private List<S> sortDatabases(final List<S> databases) {
+        if (databases == null) {
+            return null;
+        }
+
+        final List<S> sortedDatabases = new ArrayList<>(databases);
+        Collections.sort(sortedDatabases, DATABASE_COMPARATOR);
+        return sortedDatabases;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.caching;
+
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.event.CacheEventListenerAdapter;
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache for full document content, which can be megabytes per document. Content is held as serialized bytes in an
+ * Ehcache bounded by bytes rather than by number of entries, so the least recently used documents are evicted once the
+ * memory budget is used up (or spilled to disk, if the cache has a disk tier).
+ * <p>
+ * Keys include the principal, since users may not be able to see the same documents. Lookups are recorded by
+ * {@link CacheMetrics}, along with the number of bytes evicted.
+ */
+public class DocumentContentCache {
+    public static final String CACHE_NAME = "documentContent";
+
+    private final Ehcache cache;
+    private final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever;
+    private final CacheMetrics cacheMetrics;
+    private final int maxEntryBytes;
+
+    public DocumentContentCache(final Ehcache cache, final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever, final CacheMetrics cacheMetrics, final int maxEntryBytes) {
+        this.cache = cache;
+        this.authenticationInformationRetriever = authenticationInformationRetriever;
+        this.cacheMetrics = cacheMetrics;
+        this.maxEntryBytes = maxEntryBytes;
+
+        cache.getCacheEventNotificationService().registerListener(new CacheEventListenerAdapter() {
+            @Override
+            public void notifyElementEvicted(final Ehcache cache, final Element element) {
+                final Object value = element.getObjectValue();
+                cacheMetrics.recordEviction(CACHE_NAME, value instanceof byte[] ? ((byte[]) value).length : 0);
+            }
+        });
+    }
+
+    /**
+     * @return The largest entry which will be cached. Larger content is not cached, so that one document cannot evict
+     * everything else.
+     */
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    /**
+     * @param keyParts Identifies the content for the current user, eg the database and reference of a document
+     * @return The cached content, or null if there is none
+     */
+    public byte[] get(final List<?> keyParts) {
+        final Element element = cache.get(key(keyParts));
+        cacheMetrics.recordLookup(CACHE_NAME, element != null);
+        return element == null ? null : (byte[]) element.getObjectValue();
+    }
+
+    /**
+     * @param keyParts Identifies the content for the current user
+     * @param content The content to cache. Content larger than {@link #getMaxEntryBytes()} is ignored.
+     */
+    public void put(final List<?> keyParts, final byte[] content) {
+        if (content.length <= maxEntryBytes) {
+            cache.put(new Element(key(keyParts), content));
+        }
+    }
+
+    /**
+     * @param keyParts Identifies the content for the current user
+     * @return The cached object, or null if there is none
+     */
+    public Serializable getObject(final List<?> keyParts) {
+        final byte[] content = get(keyParts);
+
+        if (content == null) {
+            return null;
+        }
+
+        try {
+            return SerializationUtils.deserialize(content);
+        } catch (final SerializationException ignored) {
+            // stale content from a different version of the class; treat it as missing
+            cache.remove(key(keyParts));
+            return null;
+        }
+    }
+
+    /**
+     * @param keyParts Identifies the content for the current user
+     * @param value The object to cache, which is stored in serialized form
+     */
+    public void putObject(final List<?> keyParts, final Serializable value) {
+        put(keyParts, SerializationUtils.serialize(value));
+    }
+
+    /**
+     * Shuts down the cache manager which owns the cache
+     */
+    public void shutdown() {
+        final CacheManager cacheManager = cache.getCacheManager();
+
+        if (cacheManager != null) {
+            cacheManager.shutdown();
+        }
+    }
+
+    private List<Object> key(final List<?> keyParts) {
+        final List<Object> key = new ArrayList<>(keyParts.size() + 1);
+        key.add(authenticationInformationRetriever.getPrincipal());
+        key.addAll(keyParts);
+        return key;
+    }
+}
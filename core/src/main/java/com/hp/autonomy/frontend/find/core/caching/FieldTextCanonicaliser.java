@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.caching;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rewrites field text into a canonical form, so that equivalent field text produces the same string. Separators are
+ * normalised to "+" and the operands of chains of a single commutative operator (AND, OR or XOR) are sorted. Chains
+ * mixing operators keep their order, since IDOL evaluates them left to right.
+ * <p>
+ * Field text which cannot be parsed is returned with surrounding whitespace removed.
+ */
+public final class FieldTextCanonicaliser {
+    private static final Set<String> COMMUTATIVE_OPERATORS = new HashSet<>(Arrays.asList("AND", "OR", "XOR"));
+    private static final Set<String> BINARY_OPERATORS = new HashSet<>(Arrays.asList("AND", "OR", "XOR", "BEFORE", "AFTER", "WHEN"));
+    private static final String NOT = "NOT";
+    private static final char SEPARATOR = '+';
+
+    private final String fieldText;
+    private int position;
+
+    private FieldTextCanonicaliser(final String fieldText) {
+        this.fieldText = fieldText;
+    }
+
+    public static String canonicalise(final String fieldText) {
+        if (StringUtils.isBlank(fieldText)) {
+            return StringUtils.trimToEmpty(fieldText);
+        }
+
+        try {
+            final FieldTextCanonicaliser canonicaliser = new FieldTextCanonicaliser(fieldText);
+            final String canonical = canonicaliser.parseSequence();
+
+            if (canonicaliser.hasNext()) {
+                // unbalanced closing bracket
+                return fieldText.trim();
+            }
+
+            return canonical;
+        } catch (final IllegalArgumentException ignored) {
+            return fieldText.trim();
+        }
+    }
+
+    private String parseSequence() {
+        final List<String> operands = new ArrayList<>();
+        final List<String> operators = new ArrayList<>();
+
+        operands.add(parseOperand());
+
+        while (hasNext() && peek() != ')') {
+            final String operator = readWord().toUpperCase();
+
+            if (!isBinaryOperator(operator)) {
+                throw new IllegalArgumentException("Expected operator at " + position);
+            }
+
+            operators.add(operator);
+            operands.add(parseOperand());
+        }
+
+        final Set<String> distinctOperators = new HashSet<>(operators);
+
+        if (distinctOperators.size() == 1 && COMMUTATIVE_OPERATORS.contains(operators.get(0))) {
+            Collections.sort(operands);
+        }
+
+        final StringBuilder builder = new StringBuilder(operands.get(0));
+
+        for (int i = 0; i < operators.size(); i++) {
+            builder.append(SEPARATOR).append(operators.get(i)).append(SEPARATOR).append(operands.get(i + 1));
+        }
+
+        return builder.toString();
+    }
+
+    private String parseOperand() {
+        if (!hasNext()) {
+            throw new IllegalArgumentException("Expected operand at end of field text");
+        }
+
+        if (peek() == '(') {
+            position++;
+            final String sequence = parseSequence();
+
+            if (!hasNext() || peek() != ')') {
+                throw new IllegalArgumentException("Unclosed bracket");
+            }
+
+            position++;
+            return '(' + sequence + ')';
+        }
+
+        final int start = position;
+        final String word = readWord();
+
+        if (NOT.equalsIgnoreCase(word)) {
+            return NOT + SEPARATOR + parseOperand();
+        }
+
+        if (position >= fieldText.length() || fieldText.charAt(position) != '{') {
+            throw new IllegalArgumentException("Expected field text specifier at " + start);
+        }
+
+        final int closingBrace = fieldText.indexOf('}', position);
+
+        if (closingBrace < 0) {
+            throw new IllegalArgumentException("Unclosed brace at " + position);
+        }
+
+        position = closingBrace + 1;
+
+        // field names follow the colon and run until the next separator or bracket
+        while (position < fieldText.length() && !isDelimiter(fieldText.charAt(position))) {
+            position++;
+        }
+
+        return word.toUpperCase() + fieldText.substring(start + word.length(), position);
+    }
+
+    private String readWord() {
+        skipSeparators();
+        final int start = position;
+
+        while (position < fieldText.length() && Character.isLetterOrDigit(fieldText.charAt(position))) {
+            position++;
+        }
+
+        if (start == position) {
+            throw new IllegalArgumentException("Expected word at " + start);
+        }
+
+        return fieldText.substring(start, position);
+    }
+
+    private boolean isBinaryOperator(final String operator) {
+        // WHEN may be followed by a distance, eg WHEN3
+        return BINARY_OPERATORS.contains(operator) || operator.matches("WHEN\\d+");
+    }
+
+    private boolean hasNext() {
+        skipSeparators();
+        return position < fieldText.length();
+    }
+
+    private char peek() {
+        return fieldText.charAt(position);
+    }
+
+    private void skipSeparators() {
+        while (position < fieldText.length() && isSeparator(fieldText.charAt(position))) {
+            position++;
+        }
+    }
+
+    private static boolean isSeparator(final char character) {
+        return character == SEPARATOR || Character.isWhitespace(character);
+    }
+
+    private static boolean isDelimiter(final char character) {
+        return isSeparator(character) || character == '(' || character == ')';
+    }
+}
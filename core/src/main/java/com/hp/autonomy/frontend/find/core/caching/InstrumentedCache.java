@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.caching;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Cache which reports hits and misses to {@link CacheMetrics}.
+ */
+class InstrumentedCache implements Cache {
+    private final Cache delegate;
+    private final String metricName;
+    private final CacheMetrics cacheMetrics;
+
+    InstrumentedCache(final Cache delegate, final String metricName, final CacheMetrics cacheMetrics) {
+        this.delegate = delegate;
+        this.metricName = metricName;
+        this.cacheMetrics = cacheMetrics;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        final ValueWrapper valueWrapper = delegate.get(key);
+        cacheMetrics.recordLookup(metricName, valueWrapper != null);
+        return valueWrapper;
+    }
+
+    @Override
+    public <T> T get(final Object key, final Class<T> type) {
+        final T value = delegate.get(key, type);
+        cacheMetrics.recordLookup(metricName, value != null);
+        return value;
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(final Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+}
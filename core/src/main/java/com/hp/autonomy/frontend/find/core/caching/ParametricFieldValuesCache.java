@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.caching;
+
+import com.google.common.hash.Hashing;
+import com.hp.autonomy.frontend.find.core.parametricfields.NumericHistogram;
+import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.web.FindCacheNames;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
+import com.hp.autonomy.types.idol.RecursiveField;
+import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagInfo;
+import lombok.Data;
+import org.apache.commons.lang3.SerializationUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Caches parametric values one field at a time, so that a request for several fields can reuse the values of any
+ * fields which have already been fetched with the same restrictions. Entries are keyed by the principal, the canonical
+ * form of the query restrictions and the field name. Each entry holds all of the values of its field, so that every
+ * page of the values can be taken from it.
+ * <p>
+ * The histograms of numeric fields are held in a separate cache with the same keys, and subtrees of dependent
+ * parametric values in a third cache keyed by the fields, the path to the subtree and the maximum number of values of
+ * each field.
+ */
+@Component
+public class ParametricFieldValuesCache {
+    private final CacheManager cacheManager;
+    private final KeyGenerator keyGenerator;
+
+    @Autowired
+    public ParametricFieldValuesCache(final CacheManager cacheManager, final QueryRestrictionsBuilderFactory<?, ?> queryRestrictionsBuilderFactory, final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever) {
+        this.cacheManager = cacheManager;
+        keyGenerator = new CanonicalSearchKeyGenerator<>(queryRestrictionsBuilderFactory, new PrincipalCacheKeyGenerator(authenticationInformationRetriever));
+    }
+
+    /**
+     * @param queryRestrictions The restrictions the values were fetched with
+     * @param fieldName The field, as it was requested
+     * @return The cached values, or null if there are none
+     */
+    public FieldValues get(final QueryRestrictions<?> queryRestrictions, final String fieldName) {
+        return getCache(FindCacheNames.PARAMETRIC_FIELD_VALUES).get(key(queryRestrictions, fieldName), FieldValues.class);
+    }
+
+    /**
+     * @param queryRestrictions The restrictions the values were fetched with
+     * @param fieldName The field, as it was requested
+     * @param values All of the values of the field, or null if it has none
+     */
+    public void put(final QueryRestrictions<?> queryRestrictions, final String fieldName, final QueryTagInfo values) {
+        getCache(FindCacheNames.PARAMETRIC_FIELD_VALUES).put(key(queryRestrictions, fieldName), new FieldValues(values));
+    }
+
+    /**
+     * @param queryRestrictions Query restrictions
+     * @return A hash of the current principal and the canonical form of the restrictions, which is the same for
+     * equivalent restrictions on every node
+     */
+    public String getFingerprint(final QueryRestrictions<?> queryRestrictions) {
+        return Hashing.sha256().hashBytes(SerializationUtils.serialize((Serializable) key(queryRestrictions, null))).toString();
+    }
+
+    /**
+     * @param queryRestrictions The restrictions the histogram was fetched with
+     * @param fieldName The numeric field
+     * @return The cached histogram, or null if there is none
+     */
+    public NumericHistogram getHistogram(final QueryRestrictions<?> queryRestrictions, final String fieldName) {
+        return getCache(FindCacheNames.NUMERIC_PARAMETRIC_HISTOGRAMS).get(key(queryRestrictions, fieldName), NumericHistogram.class);
+    }
+
+    /**
+     * @param queryRestrictions The restrictions the histogram was fetched with
+     * @param fieldName The numeric field
+     * @param histogram The histogram, which replaces any histogram already cached for the field
+     */
+    public void putHistogram(final QueryRestrictions<?> queryRestrictions, final String fieldName, final NumericHistogram histogram) {
+        getCache(FindCacheNames.NUMERIC_PARAMETRIC_HISTOGRAMS).put(key(queryRestrictions, fieldName), histogram);
+    }
+
+    /**
+     * @param queryRestrictions The restrictions of the whole tree, without the path
+     * @param fieldNames The fields above and in the subtree
+     * @param path The values of the fields above the subtree
+     * @param maxValues The maximum number of values of each field which were fetched, or null for all of them
+     * @return The cached subtree, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public List<RecursiveField> getDependentValues(final QueryRestrictions<?> queryRestrictions, final List<String> fieldNames, final List<String> path, final Integer maxValues) {
+        return getCache(FindCacheNames.DEPENDENT_PARAMETRIC_SUBTREES).get(dependentValuesKey(queryRestrictions, fieldNames, path, maxValues), List.class);
+    }
+
+    /**
+     * @param queryRestrictions The restrictions of the whole tree, without the path
+     * @param fieldNames The fields above and in the subtree
+     * @param path The values of the fields above the subtree
+     * @param maxValues The maximum number of values of each field which were fetched, or null for all of them
+     * @param subtree The values of the fields in the subtree
+     */
+    public void putDependentValues(final QueryRestrictions<?> queryRestrictions, final List<String> fieldNames, final List<String> path, final Integer maxValues, final List<RecursiveField> subtree) {
+        getCache(FindCacheNames.DEPENDENT_PARAMETRIC_SUBTREES).put(dependentValuesKey(queryRestrictions, fieldNames, path, maxValues), subtree);
+    }
+
+    private Object key(final QueryRestrictions<?> queryRestrictions, final String fieldName) {
+        return keyGenerator.generate(this, null, queryRestrictions, fieldName);
+    }
+
+    // sub lists are not serializable
+    private Object dependentValuesKey(final QueryRestrictions<?> queryRestrictions, final List<String> fieldNames, final List<String> path, final Integer maxValues) {
+        return keyGenerator.generate(this, null, queryRestrictions, new ArrayList<>(fieldNames), new ArrayList<>(path), maxValues);
+    }
+
+    // the cache manager may resolve caches per request, so the caches are not held
+    private Cache getCache(final String cacheName) {
+        return cacheManager.getCache(cacheName);
+    }
+
+    /**
+     * The cached values of a field. Fields without any values are cached too, so that they are not fetched again.
+     */
+    @Data
+    public static class FieldValues implements Serializable {
+        private static final long serialVersionUID = 2804236593580396163L;
+
+        /**
+         * The values of the field, or null if it has none
+         */
+        private final QueryTagInfo values;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.caching;
+
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.lang.reflect.Method;
+
+/**
+ * Key generator which includes the current principal in the key, so that users whose security info differs never
+ * see each other's cached results.
+ */
+public class PrincipalCacheKeyGenerator implements KeyGenerator {
+    private final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever;
+
+    public PrincipalCacheKeyGenerator(final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever) {
+        this.authenticationInformationRetriever = authenticationInformationRetriever;
+    }
+
+    @Override
+    public Object generate(final Object target, final Method method, final Object... params) {
+        final Object[] keyParts = new Object[params.length + 1];
+        keyParts[0] = authenticationInformationRetriever.getPrincipal();
+        System.arraycopy(params, 0, keyParts, 1, params.length);
+        return new SimpleKey(keyParts);
+    }
+}
@@ -6,12 +6,21 @@
 package com.hp.autonomy.frontend.find.core.configuration;
 
 
+import com.google.common.util.concurrent.Striped;
 import com.hp.autonomy.frontend.find.core.savedsearches.UserEntity;
 import com.hp.autonomy.frontend.find.core.savedsearches.UserEntityRepository;
 import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.AuditorAware;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.io.Serializable;
 import java.security.Principal;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Implements {@link AuditorAware<UserEntity>} which means it will automatically be picked up by
@@ -20,10 +29,18 @@ import java.security.Principal;
  * Defines the current auditor, that is the user to be added to the field annotated with {@link org.springframework.data.annotation.CreatedBy}.
  * <p/>
  * Abstract so that a {@link UserEntity} can be constructed for various principals.
+ * <p/>
+ * The id of the user is looked up (or the user is created) once per HTTP session and then kept in the session, so
+ * most calls do not touch the database. Lookups for the same user on this node are serialised, so that concurrent
+ * first requests do not try to create the same user twice. Across nodes, the users table's unique constraints reject
+ * the second insert and the user created by the other node is read instead.
  */
 public abstract class AbstractFindSpringSecurityAuditorAware<P extends Principal> implements AuditorAware<UserEntity> {
+    private static final String SESSION_USER_ATTRIBUTE = AbstractFindSpringSecurityAuditorAware.class.getName() + ".user";
+
     private final AuthenticationInformationRetriever<?, P> authenticationInformationRetriever;
     private final UserEntityRepository userRepository;
+    private final Striped<Lock> userLocks = Striped.lock(64);
 
     protected AbstractFindSpringSecurityAuditorAware(
             final AuthenticationInformationRetriever<?, P> authenticationInformationRetriever,
@@ -48,21 +65,87 @@ public abstract class AbstractFindSpringSecurityAuditorAware<P extends Principal
             return null;
         }
 
-        UserEntity currentUser = principalToUser(principal);
+        final UserEntity currentUser = principalToUser(principal);
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
 
-        final UserEntity persistedUser = userRepository.findByDomainAndUserStoreAndUuidAndUid(
-                currentUser.getDomain(),
-                currentUser.getUserStore(),
-                currentUser.getUuid(),
-                currentUser.getUid()
-        );
+        // there are no request attributes outside a request thread (eg when running on the backend executor)
+        final SessionUser sessionUser = requestAttributes == null ? null : (SessionUser) requestAttributes.getAttribute(SESSION_USER_ATTRIBUTE, RequestAttributes.SCOPE_SESSION);
 
-        if (persistedUser != null) {
-            currentUser = persistedUser;
+        // the session may outlive a change of principal, so check that it is the same user
+        if (sessionUser != null && sessionUser.isFor(currentUser)) {
+            currentUser.setUserId(sessionUser.getUserId());
         } else {
-            userRepository.save(currentUser);
+            currentUser.setUserId(findOrCreateUserId(currentUser));
+
+            if (requestAttributes != null) {
+                requestAttributes.setAttribute(SESSION_USER_ATTRIBUTE, new SessionUser(currentUser), RequestAttributes.SCOPE_SESSION);
+            }
         }
 
         return currentUser;
     }
+
+    private Long findOrCreateUserId(final UserEntity user) {
+        final Lock lock = userLocks.get(new SessionUser(user));
+        lock.lock();
+
+        try {
+            final UserEntity persistedUser = findUser(user);
+
+            if (persistedUser != null) {
+                return persistedUser.getUserId();
+            }
+
+            try {
+                return userRepository.save(user).getUserId();
+            } catch (final DataIntegrityViolationException e) {
+                // another node created the user since we looked
+                final UserEntity concurrentlyPersistedUser = findUser(user);
+
+                if (concurrentlyPersistedUser == null) {
+                    throw e;
+                }
+
+                return concurrentlyPersistedUser.getUserId();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UserEntity findUser(final UserEntity user) {
+        return userRepository.findByDomainAndUserStoreAndUuidAndUid(
+                user.getDomain(),
+                user.getUserStore(),
+                user.getUuid(),
+                user.getUid()
+        );
+    }
+
+    /**
+     * The identifying fields and id of a user, which can be stored in the session.
+     */
+    @Data
+    @EqualsAndHashCode(exclude = "userId")
+    private static class SessionUser implements Serializable {
+        private static final long serialVersionUID = -3315432925282462208L;
+
+        private final String domain;
+        private final String userStore;
+        private final UUID uuid;
+        private final Long uid;
+        private final Long userId;
+
+        private SessionUser(final UserEntity user) {
+            domain = user.getDomain();
+            userStore = user.getUserStore();
+            uuid = user.getUuid();
+            uid = user.getUid();
+            userId = user.getUserId();
+        }
+
+        private boolean isFor(final UserEntity user) {
+            return equals(new SessionUser(user));
+        }
+    }
 }
@@ -5,7 +5,9 @@
 
 package com.hp.autonomy.frontend.find.core.configuration;
 
+import com.hp.autonomy.frontend.configuration.ConfigService;
 import com.hp.autonomy.frontend.find.core.beanconfiguration.InMemoryCondition;
+import com.hp.autonomy.frontend.find.core.caching.CacheMetrics;
 import com.hp.autonomy.frontend.find.core.web.FindCacheNames;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.config.CacheConfiguration;
@@ -14,14 +16,23 @@ import org.springframework.cache.ehcache.EhCacheCache;
 import org.springframework.cache.ehcache.EhCacheCacheManager;
 import org.springframework.context.annotation.Conditional;
 
+/**
+ * Creates caches on first use, with the TTLs from {@link FindCacheNames} unless they are overridden by cacheExpires in
+ * the config file. As with the Redis cache manager, the TTL is fixed when the cache is created, so a change to the config
+ * applies to caches created after it.
+ */
 @Conditional(InMemoryCondition.class)
 public abstract class AutoCreatingEhCacheCacheManager extends EhCacheCacheManager {
 
     private final CacheConfiguration defaults;
+    private final ConfigService<? extends FindConfig> configService;
+    private final CacheMetrics cacheMetrics;
 
-    protected AutoCreatingEhCacheCacheManager(final CacheManager cacheManager, final CacheConfiguration defaults) {
+    protected AutoCreatingEhCacheCacheManager(final CacheManager cacheManager, final CacheConfiguration defaults, final ConfigService<? extends FindConfig> configService, final CacheMetrics cacheMetrics) {
         super(cacheManager);
         this.defaults = defaults;
+        this.configService = configService;
+        this.cacheMetrics = cacheMetrics;
     }
 
     @Override
@@ -31,10 +42,10 @@ public abstract class AutoCreatingEhCacheCacheManager extends EhCacheCacheManage
         if (missingCache == null) {
             final CacheConfiguration cacheConfiguration = defaults.clone().name(name);
 
-            final String cacheName = getCacheName(name);
+            final Long timeToLive = FindCacheNames.getCacheExpiry(configService.getConfig().getCacheExpires(), getCacheName(name));
 
-            if (FindCacheNames.CACHE_EXPIRES.containsKey(cacheName)) {
-                cacheConfiguration.setTimeToLiveSeconds(FindCacheNames.CACHE_EXPIRES.get(cacheName));
+            if (timeToLive != null) {
+                cacheConfiguration.setTimeToLiveSeconds(timeToLive);
             }
 
             final net.sf.ehcache.Cache ehcache = new net.sf.ehcache.Cache(cacheConfiguration);
@@ -46,5 +57,10 @@ public abstract class AutoCreatingEhCacheCacheManager extends EhCacheCacheManage
         }
     }
 
+    @Override
+    protected Cache decorateCache(final Cache cache) {
+        return cacheMetrics.instrument(super.decorateCache(cache), getCacheName(cache.getName()));
+    }
+
     protected abstract String getCacheName(final String name);
 }
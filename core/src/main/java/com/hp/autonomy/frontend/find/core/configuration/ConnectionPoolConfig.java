@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.configuration;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.hp.autonomy.frontend.configuration.ConfigException;
+import com.hp.autonomy.frontend.configuration.ConfigurationComponent;
+import lombok.Data;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Connection pool settings for the HTTP client used to talk to IDOL or HoD. All times are in milliseconds. Changes
+ * take effect when Find is restarted.
+ */
+@JsonDeserialize(builder = ConnectionPoolConfig.Builder.class)
+@Data
+public class ConnectionPoolConfig implements ConfigurationComponent {
+    /**
+     * Used for any settings missing from the config file
+     */
+    public static final ConnectionPoolConfig DEFAULTS = new ConnectionPoolConfig.Builder()
+            .setMaxTotal(200)
+            .setMaxPerRoute(50)
+            .setKeepAlive(30000)
+            .setValidateAfterInactivity(2000)
+            .setConnectTimeout(10000)
+            .setSocketTimeout(120000)
+            .build();
+
+    private final Integer maxTotal;
+    private final Integer maxPerRoute;
+    private final Integer keepAlive;
+    private final Integer validateAfterInactivity;
+    private final Integer connectTimeout;
+    private final Integer socketTimeout;
+
+    private ConnectionPoolConfig(final Builder builder) {
+        maxTotal = builder.maxTotal;
+        maxPerRoute = builder.maxPerRoute;
+        keepAlive = builder.keepAlive;
+        validateAfterInactivity = builder.validateAfterInactivity;
+        connectTimeout = builder.connectTimeout;
+        socketTimeout = builder.socketTimeout;
+    }
+
+    /**
+     * @param connectionPoolConfig Connection pool settings, which may be null
+     * @return The given settings, with any missing values taken from {@link #DEFAULTS}
+     */
+    public static ConnectionPoolConfig withDefaults(final ConnectionPoolConfig connectionPoolConfig) {
+        return connectionPoolConfig == null ? DEFAULTS : connectionPoolConfig.merge(DEFAULTS);
+    }
+
+    public ConnectionPoolConfig merge(final ConnectionPoolConfig connectionPoolConfig) {
+        return connectionPoolConfig != null ?
+                new ConnectionPoolConfig.Builder()
+                        .setMaxTotal(maxTotal == null ? connectionPoolConfig.maxTotal : maxTotal)
+                        .setMaxPerRoute(maxPerRoute == null ? connectionPoolConfig.maxPerRoute : maxPerRoute)
+                        .setKeepAlive(keepAlive == null ? connectionPoolConfig.keepAlive : keepAlive)
+                        .setValidateAfterInactivity(validateAfterInactivity == null ? connectionPoolConfig.validateAfterInactivity : validateAfterInactivity)
+                        .setConnectTimeout(connectTimeout == null ? connectionPoolConfig.connectTimeout : connectTimeout)
+                        .setSocketTimeout(socketTimeout == null ? connectionPoolConfig.socketTimeout : socketTimeout)
+                        .build()
+                : this;
+    }
+
+    public void basicValidate() throws ConfigException {
+        if (maxTotal != null && maxTotal <= 0 || maxPerRoute != null && maxPerRoute <= 0) {
+            throw new ConfigException("Connection Pool", "Connection limits must be positive");
+        }
+
+        if (maxTotal != null && maxPerRoute != null && maxPerRoute > maxTotal) {
+            throw new ConfigException("Connection Pool", "The connection limit per route must not exceed the total connection limit");
+        }
+
+        if (isNegative(keepAlive) || isNegative(validateAfterInactivity) || isNegative(connectTimeout) || isNegative(socketTimeout)) {
+            throw new ConfigException("Connection Pool", "Times must not be negative");
+        }
+    }
+
+    /**
+     * @return Timeouts for requests made through the pool
+     */
+    public RequestConfig toRequestConfig() {
+        return RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setSocketTimeout(socketTimeout)
+                .build();
+    }
+
+    /**
+     * @return A keep alive strategy which honours the Keep-Alive header of the server, but keeps idle connections for at
+     * most {@link #getKeepAlive()} milliseconds
+     */
+    public ConnectionKeepAliveStrategy toKeepAliveStrategy() {
+        return new ConnectionKeepAliveStrategy() {
+            @Override
+            public long getKeepAliveDuration(final HttpResponse response, final HttpContext context) {
+                final long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+            }
+        };
+    }
+
+    private boolean isNegative(final Integer value) {
+        return value != null && value < 0;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Setter
+    @Accessors(chain = true)
+    @JsonPOJOBuilder(withPrefix = "set")
+    public static class Builder {
+        private Integer maxTotal;
+        private Integer maxPerRoute;
+        private Integer keepAlive;
+        private Integer validateAfterInactivity;
+        private Integer connectTimeout;
+        private Integer socketTimeout;
+
+        public ConnectionPoolConfig build() {
+            return new ConnectionPoolConfig(this);
+        }
+    }
+}
@@ -7,6 +7,8 @@ package com.hp.autonomy.frontend.find.core.configuration;
 
 import com.hp.autonomy.searchcomponents.core.config.FieldsInfo;
 
+import java.util.Map;
+
 public interface FindConfig {
 
     MapConfiguration getMap();
@@ -19,4 +21,12 @@ public interface FindConfig {
 
     Integer getTopicMapMaxResults();
 
+    ConnectionPoolConfig getConnectionPool();
+
+    /**
+     * @return TTLs in seconds by cache name, which override the defaults in
+     * {@link com.hp.autonomy.frontend.find.core.web.FindCacheNames#CACHE_EXPIRES}; may be null
+     */
+    Map<String, Long> getCacheExpires();
+
 }
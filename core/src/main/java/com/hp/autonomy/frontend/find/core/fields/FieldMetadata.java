@@ -0,0 +1,33 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.fields;
+
+import com.google.common.collect.ImmutableList;
+import com.hp.autonomy.types.requests.idol.actions.tags.TagName;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of the parametric fields for one fields request, and the value details of the numeric and date
+ * fields.
+ */
+@Data
+public class FieldMetadata {
+    /**
+     * The parametric fields which are neither numeric nor dates
+     */
+    private final ImmutableList<TagName> parametricFields;
+
+    private final ImmutableList<FieldAndValueDetails> numericFields;
+    private final ImmutableList<FieldAndValueDetails> dateFields;
+
+    FieldMetadata(final List<TagName> parametricFields, final List<FieldAndValueDetails> numericFields, final List<FieldAndValueDetails> dateFields) {
+        this.parametricFields = ImmutableList.copyOf(parametricFields);
+        this.numericFields = ImmutableList.copyOf(numericFields);
+        this.dateFields = ImmutableList.copyOf(dateFields);
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.fields;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import com.hp.autonomy.searchcomponents.core.fields.FieldsRequest;
+import com.hp.autonomy.searchcomponents.core.fields.FieldsService;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
+import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
+import com.hp.autonomy.types.requests.idol.actions.tags.TagName;
+import com.hp.autonomy.types.requests.idol.actions.tags.ValueDetails;
+import com.hp.autonomy.types.requests.idol.actions.tags.params.FieldTypeParam;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Holds a snapshot of the field metadata for each fields request (and so each set of databases) and principal, so
+ * that the metadata is not fetched for every request to the fields controller.
+ * <p>
+ * The first request for some metadata starts loading it on the backend executor and waits for at most
+ * find.fields.coldStartBudget milliseconds, after which it fails with {@link FieldMetadataUnavailableException}.
+ * A request for a snapshot older than find.fields.refreshInterval milliseconds is answered from that snapshot and
+ * starts a refresh in the background. Loads and refreshes run with the security context of the request which started
+ * them, so no credentials are kept between requests and a refresh never uses an expired token. A snapshot which fails
+ * to refresh is kept until a later request refreshes it, and snapshots which have not been requested for
+ * find.fields.idleExpiry milliseconds are dropped.
+ */
+@Slf4j
+public abstract class FieldMetadataRegistry<R extends FieldsRequest, E extends Exception, S extends Serializable, Q extends QueryRestrictions<S>, P extends ParametricRequest<S>> {
+    private final FieldsService<R, E> fieldsService;
+    private final ParametricValuesService<P, S, E> parametricValuesService;
+    private final ObjectFactory<ParametricRequest.Builder<P, S>> parametricRequestBuilderFactory;
+    private final AsyncTaskExecutor backendExecutor;
+    private final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever;
+    private final long coldStartBudget;
+    private final long refreshInterval;
+    private final Cache<Object, Entry> entries;
+
+    @SuppressWarnings("ConstructorWithTooManyParameters")
+    protected FieldMetadataRegistry(
+            final FieldsService<R, E> fieldsService,
+            final ParametricValuesService<P, S, E> parametricValuesService,
+            final ObjectFactory<ParametricRequest.Builder<P, S>> parametricRequestBuilderFactory,
+            final AsyncTaskExecutor backendExecutor,
+            final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever,
+            final long coldStartBudget,
+            final long refreshInterval,
+            final long idleExpiry
+    ) {
+        this.fieldsService = fieldsService;
+        this.parametricValuesService = parametricValuesService;
+        this.parametricRequestBuilderFactory = parametricRequestBuilderFactory;
+        this.backendExecutor = backendExecutor;
+        this.authenticationInformationRetriever = authenticationInformationRetriever;
+        this.coldStartBudget = coldStartBudget;
+        this.refreshInterval = refreshInterval;
+
+        entries = CacheBuilder.newBuilder()
+                .expireAfterAccess(idleExpiry, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Create the query restrictions required to fetch the absolute min and max values for the given field request.
+     */
+    protected abstract Q createValueDetailsQueryRestrictions(R request);
+
+    /**
+     * @return Fields which are not parametric date fields, but are returned as date fields with their value details
+     */
+    protected abstract Collection<String> getAdditionalDateFields();
+
+    /**
+     * @return The latest snapshot for the request, waiting for at most the cold start budget if there is none yet
+     * @throws FieldMetadataUnavailableException If the metadata was not loaded within the cold start budget
+     */
+    public FieldMetadata getFieldMetadata(final R request) throws E {
+        final Entry entry;
+
+        try {
+            entry = entries.get(new SimpleKey(authenticationInformationRetriever.getPrincipal(), request), new Callable<Entry>() {
+                @Override
+                public Entry call() {
+                    return new Entry(request);
+                }
+            });
+        } catch (final ExecutionException e) {
+            // creating an entry does not throw
+            throw new IllegalStateException(e);
+        }
+
+        final FieldMetadata snapshot = entry.snapshot;
+
+        if (snapshot == null) {
+            return awaitColdStart(entry);
+        }
+
+        if (System.currentTimeMillis() - entry.loadedAt > refreshInterval) {
+            try {
+                entry.startLoading();
+            } catch (final RejectedExecutionException e) {
+                // the backend is busy; a later request will refresh the snapshot
+                log.debug("Could not start refreshing field metadata", e);
+            }
+        }
+
+        return snapshot;
+    }
+
+    @SuppressWarnings("unchecked")
+    private FieldMetadata awaitColdStart(final Entry entry) throws E {
+        final Future<FieldMetadata> loading = entry.startLoading();
+
+        try {
+            return loading.get(coldStartBudget, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException ignored) {
+            throw new FieldMetadataUnavailableException(coldStartBudget);
+        } catch (final InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+            throw new FieldMetadataUnavailableException(coldStartBudget);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                // load only throws E
+                throw (E) cause;
+            }
+        }
+    }
+
+    private FieldMetadata load(final R request) throws E {
+        final Map<FieldTypeParam, List<TagName>> response = fieldsService.getFields(request, FieldTypeParam.Parametric, FieldTypeParam.Numeric, FieldTypeParam.NumericDate);
+        final List<TagName> parametricFields = ListUtils.emptyIfNull(response.get(FieldTypeParam.Parametric));
+
+        final List<TagName> numericFields = new ArrayList<>(parametricFields);
+        numericFields.retainAll(ListUtils.emptyIfNull(response.get(FieldTypeParam.Numeric)));
+
+        final List<TagName> dateFields = new ArrayList<>(parametricFields);
+        dateFields.retainAll(ListUtils.emptyIfNull(response.get(FieldTypeParam.NumericDate)));
+
+        final List<TagName> otherFields = new ArrayList<>(parametricFields);
+        otherFields.removeAll(numericFields);
+        otherFields.removeAll(dateFields);
+
+        for (final String field : getAdditionalDateFields()) {
+            dateFields.add(new TagName(field));
+        }
+
+        final List<String> fieldNames = new LinkedList<>();
+        for (final TagName tagName : numericFields) {
+            fieldNames.add(tagName.getId());
+        }
+        for (final TagName tagName : dateFields) {
+            fieldNames.add(tagName.getId());
+        }
+
+        final Map<TagName, ValueDetails> valueDetails = fieldNames.isEmpty() ? null : parametricValuesService.getValueDetails(parametricRequestBuilderFactory.getObject()
+                .setFieldNames(fieldNames)
+                .setQueryRestrictions(createValueDetailsQueryRestrictions(request))
+                .build());
+
+        return new FieldMetadata(otherFields, withValueDetails(numericFields, valueDetails), withValueDetails(dateFields, valueDetails));
+    }
+
+    private List<FieldAndValueDetails> withValueDetails(final Iterable<TagName> fields, final Map<TagName, ValueDetails> valueDetailsResponse) {
+        final List<FieldAndValueDetails> output = new LinkedList<>();
+
+        for (final TagName tagName : fields) {
+            final FieldAndValueDetails.Builder builder = new FieldAndValueDetails.Builder()
+                    .setId(tagName.getId())
+                    .setName(tagName.getName());
+
+            final ValueDetails valueDetails = valueDetailsResponse == null ? null : valueDetailsResponse.get(tagName);
+
+            if (valueDetails != null) {
+                builder
+                        .setMax(valueDetails.getMax())
+                        .setMin(valueDetails.getMin())
+                        .setTotalValues(valueDetails.getTotalValues());
+            }
+
+            output.add(builder.build());
+        }
+
+        return output;
+    }
+
+    private class Entry {
+        private final R request;
+
+        private volatile FieldMetadata snapshot;
+        private volatile long loadedAt;
+        private Future<FieldMetadata> loading;
+
+        private Entry(final R request) {
+            this.request = request;
+        }
+
+        /**
+         * Starts loading the metadata with the current security context, unless a load is already running. A failed
+         * load is restarted by the next request.
+         */
+        private synchronized Future<FieldMetadata> startLoading() {
+            if (loading == null || loading.isDone()) {
+                loading = backendExecutor.submit(new Callable<FieldMetadata>() {
+                    @Override
+                    public FieldMetadata call() throws E {
+                        try {
+                            final FieldMetadata fieldMetadata = load(request);
+                            snapshot = fieldMetadata;
+                            loadedAt = System.currentTimeMillis();
+                            return fieldMetadata;
+                        } catch (final Exception e) {
+                            if (snapshot != null) {
+                                log.warn("Error refreshing field metadata, keeping the previous snapshot", e);
+                            }
+
+                            throw e;
+                        }
+                    }
+                });
+            }
+
+            return loading;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.fields;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the field metadata for a request has not been loaded within the cold start budget. Loading carries on in
+ * the background, so a later request will succeed.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class FieldMetadataUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 2281743160936712485L;
+
+    public FieldMetadataUnavailableException(final long coldStartBudget) {
+        super("Field metadata was not loaded within " + coldStartBudget + "ms");
+    }
+}
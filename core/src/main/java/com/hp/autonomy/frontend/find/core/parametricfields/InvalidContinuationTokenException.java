@@ -0,0 +1,21 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.parametricfields;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a parametric values continuation token cannot be read, or was issued for a different query.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidContinuationTokenException extends RuntimeException {
+    private static final long serialVersionUID = -4508313618842446195L;
+
+    public InvalidContinuationTokenException(final String continuationToken) {
+        super("Invalid continuation token: " + continuationToken);
+    }
+}
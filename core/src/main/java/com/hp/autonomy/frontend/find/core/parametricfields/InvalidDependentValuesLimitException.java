@@ -0,0 +1,21 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.parametricfields;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the maximum depth or number of children of the dependent parametric values tree is less than one.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidDependentValuesLimitException extends RuntimeException {
+    private static final long serialVersionUID = -3188432964871093524L;
+
+    public InvalidDependentValuesLimitException(final String parameterName, final int value) {
+        super(parameterName + " must be at least 1, but was " + value);
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.parametricfields;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the path of a node to expand in the dependent parametric values tree is empty, or leads to a value of
+ * the last field.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidDependentValuesPathException extends RuntimeException {
+    private static final long serialVersionUID = 6152307415693860528L;
+
+    public InvalidDependentValuesPathException(final int pathLength, final int numberOfFields) {
+        super("Cannot expand a node at depth " + pathLength + " of a tree of " + numberOfFields + " fields");
+    }
+}
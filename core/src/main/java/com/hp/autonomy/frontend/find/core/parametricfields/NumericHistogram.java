@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.parametricfields;
+
+import com.hp.autonomy.types.requests.idol.actions.tags.RangeInfo;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts of the values of a numeric field in many narrow buckets of equal width, from which the coarser buckets
+ * displayed by the numeric widgets can be computed without going back to the backend.
+ * <p>
+ * Any range within the histogram can be bucketed, as long as its buckets are at least as wide as the narrow buckets. A
+ * coarse bucket whose boundaries are boundaries of the narrow buckets is the sum of whole narrow buckets, so its count
+ * is exact; otherwise the values of a narrow bucket which is cut by a boundary are assumed to be spread evenly across
+ * it, and the counts are marked as approximate.
+ */
+public class NumericHistogram implements Serializable {
+    // allows for rounding errors in the bucket boundaries
+    private static final double ALIGNMENT_TOLERANCE = 1e-6;
+
+    private static final long serialVersionUID = -6420542384911580257L;
+
+    private final String id;
+    private final String name;
+    private final double min;
+    private final double max;
+    private final int[] counts;
+    private final boolean exact;
+
+    NumericHistogram(final String id, final String name, final double min, final double max, final int[] counts, final boolean exact) {
+        this.id = id;
+        this.name = name;
+        this.min = min;
+        this.max = max;
+        this.counts = counts;
+        this.exact = exact;
+    }
+
+    /**
+     * @param rangeInfo Values fetched in buckets of equal width between min and max
+     * @param min The lower bound of the first bucket
+     * @param max The upper bound of the last bucket
+     * @param resolution The number of buckets which were requested
+     * @return A histogram with the given resolution. A fetched bucket which is not one of the requested buckets is
+     * counted in the narrow bucket which holds its middle, and the histogram is then not exact.
+     */
+    static NumericHistogram fromRangeInfo(final RangeInfo rangeInfo, final double min, final double max, final int resolution) {
+        final int[] counts = new int[resolution];
+        final double bucketSize = (max - min) / resolution;
+        boolean exact = true;
+
+        for (final RangeInfo.Value value : rangeInfo.getValues()) {
+            final double offset = (value.getMin() - min) / bucketSize;
+
+            if (!isWhole(offset) || Math.abs((value.getMax() - value.getMin()) / bucketSize - 1) >= ALIGNMENT_TOLERANCE) {
+                exact = false;
+            }
+
+            final double middle = ((value.getMin() + value.getMax()) / 2 - min) / bucketSize;
+            counts[Math.max(0, Math.min(resolution - 1, (int) Math.floor(middle)))] += value.getCount();
+        }
+
+        return new NumericHistogram(rangeInfo.getId(), rangeInfo.getName(), min, max, counts, exact);
+    }
+
+    /**
+     * @return True if the range is within this histogram and its buckets are no narrower than the narrow buckets
+     */
+    boolean canBucket(final double bucketMin, final double bucketMax, final int targetNumberOfBuckets) {
+        if (targetNumberOfBuckets <= 0 || bucketMin >= bucketMax) {
+            return false;
+        }
+
+        final double fineBucketSize = getFineBucketSize();
+
+        return (bucketMin - min) / fineBucketSize > -ALIGNMENT_TOLERANCE
+                && (max - bucketMax) / fineBucketSize > -ALIGNMENT_TOLERANCE
+                && (bucketMax - bucketMin) / targetNumberOfBuckets / fineBucketSize > 1 - ALIGNMENT_TOLERANCE;
+    }
+
+    /**
+     * @return The given number of buckets of equal width, covering the range from bucketMin to bucketMax, which must
+     * satisfy {@link #canBucket(double, double, int)}
+     */
+    ParametricBuckets toBuckets(final double bucketMin, final double bucketMax, final int targetNumberOfBuckets) {
+        final double bucketSize = (bucketMax - bucketMin) / targetNumberOfBuckets;
+        final List<ParametricBuckets.Bucket> buckets = new ArrayList<>(targetNumberOfBuckets);
+        boolean approximate = !exact;
+
+        // rounding the cumulative counts, rather than each bucket's count, keeps the total the same as the histogram's
+        double lower = bucketMin;
+        long lowerCount = Math.round(countBelow(lower));
+
+        for (int i = 0; i < targetNumberOfBuckets; i++) {
+            final double upper = i == targetNumberOfBuckets - 1 ? bucketMax : bucketMin + (i + 1) * bucketSize;
+            final long upperCount = Math.round(countBelow(upper));
+
+            approximate = approximate || !isWhole((lower - min) / getFineBucketSize());
+            buckets.add(new ParametricBuckets.Bucket(lower, upper, (int) (upperCount - lowerCount)));
+
+            lower = upper;
+            lowerCount = upperCount;
+        }
+
+        approximate = approximate || !isWhole((bucketMax - min) / getFineBucketSize());
+        final int totalCount = (int) (lowerCount - Math.round(countBelow(bucketMin)));
+
+        return new ParametricBuckets(id, name, totalCount, bucketMin, bucketMax, bucketSize, buckets, approximate);
+    }
+
+    // the number of values below the given value, assuming that each narrow bucket's values are spread evenly across it
+    private double countBelow(final double value) {
+        final double offset = Math.max(0, Math.min(counts.length, (value - min) / getFineBucketSize()));
+        final int whole = isWhole(offset) ? (int) Math.rint(offset) : (int) Math.floor(offset);
+        double count = 0;
+
+        for (int i = 0; i < whole; i++) {
+            count += counts[i];
+        }
+
+        return whole < counts.length && offset > whole ? count + counts[whole] * (offset - whole) : count;
+    }
+
+    private double getFineBucketSize() {
+        return (max - min) / counts.length;
+    }
+
+    private static boolean isWhole(final double value) {
+        return Math.abs(value - Math.rint(value)) < ALIGNMENT_TOLERANCE;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.parametricfields;
+
+import com.hp.autonomy.types.requests.idol.actions.tags.RangeInfo;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The document counts for the values of a numeric field, in buckets of equal width.
+ */
+@Data
+public class ParametricBuckets implements Serializable {
+    private static final long serialVersionUID = 7703016937916536412L;
+
+    private final String id;
+    private final String name;
+    private final int count;
+    private final double min;
+    private final double max;
+    private final double bucketSize;
+    private final List<Bucket> values;
+
+    /**
+     * True if the counts were estimated from a histogram whose buckets do not line up with these buckets
+     */
+    private final boolean approximate;
+
+    /**
+     * @return The buckets fetched from the backend, unchanged
+     */
+    static ParametricBuckets fromRangeInfo(final RangeInfo rangeInfo, final double min, final double max) {
+        final List<Bucket> buckets = new ArrayList<>();
+        int count = 0;
+
+        for (final RangeInfo.Value value : rangeInfo.getValues()) {
+            buckets.add(new Bucket(value.getMin(), value.getMax(), value.getCount()));
+            count += value.getCount();
+        }
+
+        final double bucketSize = buckets.isEmpty() ? 0 : (max - min) / buckets.size();
+        return new ParametricBuckets(rangeInfo.getId(), rangeInfo.getName(), count, min, max, bucketSize, buckets, false);
+    }
+
+    @Data
+    public static class Bucket implements Serializable {
+        private static final long serialVersionUID = -1467302585567283113L;
+
+        private final double min;
+        private final double max;
+        private final int count;
+    }
+}
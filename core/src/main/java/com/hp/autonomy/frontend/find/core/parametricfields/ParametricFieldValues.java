@@ -0,0 +1,34 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.parametricfields;
+
+import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagCountInfo;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A page of the values of a parametric field, in descending order of document count.
+ */
+@Data
+public class ParametricFieldValues implements Serializable {
+    private static final long serialVersionUID = 3326421476432857416L;
+
+    private final String id;
+    private final String name;
+    private final List<QueryTagCountInfo> values;
+
+    /**
+     * The number of distinct values of the field, including those not in this page
+     */
+    private final int totalValues;
+
+    /**
+     * Token for fetching the next page of values, or null if this is the last page
+     */
+    private final String continuationToken;
+}
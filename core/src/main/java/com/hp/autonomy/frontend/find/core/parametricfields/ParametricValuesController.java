@@ -5,16 +5,24 @@
 
 package com.hp.autonomy.frontend.find.core.parametricfields;
 
+import com.google.common.io.BaseEncoding;
+import com.hp.autonomy.aci.content.fieldtext.FieldText;
+import com.hp.autonomy.aci.content.fieldtext.MATCH;
+import com.hp.autonomy.frontend.find.core.caching.ParametricFieldValuesCache;
 import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
 import com.hp.autonomy.searchcomponents.core.parametricvalues.BucketingParams;
 import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
 import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
 import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
 import com.hp.autonomy.types.idol.RecursiveField;
+import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagCountInfo;
 import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagInfo;
 import com.hp.autonomy.types.requests.idol.actions.tags.RangeInfo;
 import com.hp.autonomy.types.requests.idol.actions.tags.params.SortParam;
+import lombok.Data;
 import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -24,25 +32,32 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.Callable;
 
 @Controller
 @RequestMapping(ParametricValuesController.PARAMETRIC_VALUES_PATH)
 public abstract class ParametricValuesController<Q extends QueryRestrictions<S>, R extends ParametricRequest<S>, S extends Serializable, E extends Exception> {
-    protected static final int MAX_VALUES_DEFAULT = Integer.MAX_VALUE;
+    public static final int MAX_VALUES_DEFAULT = Integer.MAX_VALUE;
 
     @SuppressWarnings("WeakerAccess")
     public static final String PARAMETRIC_VALUES_PATH = "/api/public/parametric";
     private static final String RESTRICTED_PARAMETRIC_VALUES_PATH = "/restricted";
     static final String BUCKET_PARAMETRIC_PATH = "/buckets";
     public static final String DEPENDENT_VALUES_PATH = "/dependent-values";
+    static final String EXPAND_PATH = "/expand";
+    static final String VALUES_PAGE_PATH = "/page";
 
     public static final String FIELD_NAMES_PARAM = "fieldNames";
     public static final String QUERY_TEXT_PARAM = "queryText";
@@ -55,22 +70,50 @@ public abstract class ParametricValuesController<Q extends QueryRestrictions<S>,
     static final String TARGET_NUMBER_OF_BUCKETS_PARAM = "targetNumberOfBuckets";
     static final String BUCKET_MIN_PARAM = "bucketMin";
     static final String BUCKET_MAX_PARAM = "bucketMax";
+    static final String CONTINUATION_TOKEN_PARAM = "continuationToken";
+    static final String MAX_DEPTH_PARAM = "maxDepth";
+    static final String MAX_CHILDREN_PARAM = "maxChildren";
+    static final String PATH_PARAM = "path";
+
+    private static final String TOKEN_SEPARATOR = ":";
+
+    private static final Comparator<QueryTagCountInfo> DOCUMENT_COUNT_COMPARATOR = new Comparator<QueryTagCountInfo>() {
+        @Override
+        public int compare(final QueryTagCountInfo first, final QueryTagCountInfo second) {
+            return Integer.compare(second.getCount(), first.getCount());
+        }
+    };
 
     protected final ParametricValuesService<R, S, E> parametricValuesService;
     protected final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory;
     private final ObjectFactory<ParametricRequest.Builder<R, S>> parametricRequestBuilderFactory;
+    protected final DeadlineExecutor deadlineExecutor;
+    private final ParametricFieldValuesCache parametricFieldValuesCache;
+    private final int maxValuesPerField;
+    private final int histogramBuckets;
 
     protected ParametricValuesController(final ParametricValuesService<R, S, E> parametricValuesService,
                                          final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory,
-                                         final ObjectFactory<ParametricRequest.Builder<R, S>> parametricRequestBuilderFactory) {
+                                         final ObjectFactory<ParametricRequest.Builder<R, S>> parametricRequestBuilderFactory,
+                                         final DeadlineExecutor deadlineExecutor,
+                                         final ParametricFieldValuesCache parametricFieldValuesCache,
+                                         final int maxValuesPerField,
+                                         final int histogramBuckets) {
         this.parametricValuesService = parametricValuesService;
         this.queryRestrictionsBuilderFactory = queryRestrictionsBuilderFactory;
         this.parametricRequestBuilderFactory = parametricRequestBuilderFactory;
+        this.deadlineExecutor = deadlineExecutor;
+        this.parametricFieldValuesCache = parametricFieldValuesCache;
+        this.maxValuesPerField = maxValuesPerField;
+        this.histogramBuckets = histogramBuckets;
     }
 
+    /**
+     * @return The first page of values for each field which has any values
+     */
     @RequestMapping(method = RequestMethod.GET, path = RESTRICTED_PARAMETRIC_VALUES_PATH)
     @ResponseBody
-    public Set<QueryTagInfo> getRestrictedParametricValues(
+    public DeferredResult<List<ParametricFieldValues>> getRestrictedParametricValues(
             @RequestParam(FIELD_NAMES_PARAM) final List<String> fieldNames,
             @RequestParam(value = QUERY_TEXT_PARAM, defaultValue = "*") final String queryText,
             @RequestParam(value = FIELD_TEXT_PARAM, defaultValue = "") final String fieldText,
@@ -79,14 +122,166 @@ public abstract class ParametricValuesController<Q extends QueryRestrictions<S>,
             @RequestParam(value = MAX_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime maxDate,
             @RequestParam(value = MIN_SCORE, defaultValue = "0") final Integer minScore,
             @RequestParam(value = STATE_TOKEN_PARAM, required = false) final List<String> stateTokens
-    ) throws E {
-        final R parametricRequest = buildRequest(fieldNames, queryText, fieldText, databases, minDate, maxDate, minScore, stateTokens, MAX_VALUES_DEFAULT, SortParam.DocumentCount);
-        return parametricValuesService.getAllParametricValues(parametricRequest);
+    ) {
+        final QueryRestrictions<S> queryRestrictions = buildQueryRestrictions(queryText, fieldText, databases, minDate, maxDate, minScore, stateTokens);
+
+        return deadlineExecutor.execute("parametric.values", new Callable<List<ParametricFieldValues>>() {
+            @Override
+            public List<ParametricFieldValues> call() throws E {
+                final List<ParametricFieldValues> results = new ArrayList<>();
+
+                for (final Map.Entry<String, QueryTagInfo> entry : getParametricValuesByField(fieldNames, queryRestrictions).entrySet()) {
+                    results.add(getPage(entry.getKey(), entry.getValue(), queryRestrictions, 0));
+                }
+
+                return results;
+            }
+        });
+    }
+
+    /**
+     * @return The page of values which starts at the continuation token, for the field the token was issued for
+     */
+    @RequestMapping(method = RequestMethod.GET, path = RESTRICTED_PARAMETRIC_VALUES_PATH + VALUES_PAGE_PATH)
+    @ResponseBody
+    public DeferredResult<ParametricFieldValues> getRestrictedParametricValuesPage(
+            @RequestParam(CONTINUATION_TOKEN_PARAM) final String continuationToken,
+            @RequestParam(value = QUERY_TEXT_PARAM, defaultValue = "*") final String queryText,
+            @RequestParam(value = FIELD_TEXT_PARAM, defaultValue = "") final String fieldText,
+            @RequestParam(DATABASES_PARAM) final List<S> databases,
+            @RequestParam(value = MIN_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime minDate,
+            @RequestParam(value = MAX_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime maxDate,
+            @RequestParam(value = MIN_SCORE, defaultValue = "0") final Integer minScore,
+            @RequestParam(value = STATE_TOKEN_PARAM, required = false) final List<String> stateTokens
+    ) {
+        final QueryRestrictions<S> queryRestrictions = buildQueryRestrictions(queryText, fieldText, databases, minDate, maxDate, minScore, stateTokens);
+        final ContinuationToken token = readContinuationToken(continuationToken, queryRestrictions);
+        final String fieldName = token.getFieldName();
+
+        return deadlineExecutor.execute("parametric.valuesPage", new Callable<ParametricFieldValues>() {
+            @Override
+            public ParametricFieldValues call() throws E {
+                final QueryTagInfo values = getParametricValuesByField(Collections.singletonList(fieldName), queryRestrictions).get(fieldName);
+
+                return values == null
+                        ? new ParametricFieldValues(fieldName, fieldName, Collections.<QueryTagCountInfo>emptyList(), 0, null)
+                        : getPage(fieldName, values, queryRestrictions, token.getStart());
+            }
+        });
+    }
+
+    /**
+     * Fetches values only for the fields which are not in the field cache, and merges them with the cached fields. Values
+     * which cannot be matched to a requested field are returned under their own name but not cached. Fields without
+     * any values are cached as such.
+     * <p>
+     * The parametric request cannot start part way through the values of a field, and the number of distinct values is
+     * only known once all of them have been fetched, so all the values of a field are fetched in one request and
+     * cached; every page is taken from the cached values.
+     *
+     * @return The values of each field which has any, keyed by the requested field name
+     */
+    private Map<String, QueryTagInfo> getParametricValuesByField(final List<String> fieldNames, final QueryRestrictions<S> queryRestrictions) throws E {
+        final Map<String, QueryTagInfo> valuesByField = new LinkedHashMap<>();
+        final List<String> missingFieldNames = new ArrayList<>();
+
+        for (final String fieldName : ListUtils.emptyIfNull(fieldNames)) {
+            final ParametricFieldValuesCache.FieldValues cachedValues = parametricFieldValuesCache.get(queryRestrictions, fieldName);
+
+            if (cachedValues == null) {
+                missingFieldNames.add(fieldName);
+            } else if (cachedValues.getValues() != null) {
+                valuesByField.put(fieldName, cachedValues.getValues());
+            }
+        }
+
+        if (!missingFieldNames.isEmpty()) {
+            final R parametricRequest = buildRequest(missingFieldNames, queryRestrictions, MAX_VALUES_DEFAULT, SortParam.DocumentCount);
+
+            for (final QueryTagInfo values : parametricValuesService.getAllParametricValues(parametricRequest)) {
+                final String fieldName = findFieldName(missingFieldNames, values.getName());
+
+                if (fieldName == null) {
+                    valuesByField.put(values.getName(), values);
+                } else {
+                    valuesByField.put(fieldName, values);
+                    parametricFieldValuesCache.put(queryRestrictions, fieldName, values);
+                }
+            }
+
+            // fields without any values are not returned by the service, so their absence is cached too
+            for (final String fieldName : missingFieldNames) {
+                if (!valuesByField.containsKey(fieldName)) {
+                    parametricFieldValuesCache.put(queryRestrictions, fieldName, null);
+                }
+            }
+        }
+
+        // fields without any values are not returned by the service, so are missing from the map
+        final Map<String, QueryTagInfo> orderedValuesByField = new LinkedHashMap<>();
+
+        for (final String fieldName : ListUtils.emptyIfNull(fieldNames)) {
+            final QueryTagInfo values = valuesByField.remove(fieldName);
+
+            if (values != null) {
+                orderedValuesByField.put(fieldName, values);
+            }
+        }
+
+        orderedValuesByField.putAll(valuesByField);
+        return orderedValuesByField;
+    }
+
+    // IDOL may return field names in a different case to the request
+    private String findFieldName(final Iterable<String> fieldNames, final String name) {
+        for (final String fieldName : fieldNames) {
+            if (fieldName.equalsIgnoreCase(name)) {
+                return fieldName;
+            }
+        }
+
+        return null;
+    }
+
+    private ParametricFieldValues getPage(final String fieldName, final QueryTagInfo queryTagInfo, final QueryRestrictions<S> queryRestrictions, final int start) {
+        final List<QueryTagCountInfo> values = new ArrayList<>(queryTagInfo.getValues());
+        Collections.sort(values, DOCUMENT_COUNT_COMPARATOR);
+
+        final int end = (int) Math.min(values.size(), (long) start + maxValuesPerField);
+        final List<QueryTagCountInfo> page = start < end ? new ArrayList<>(values.subList(start, end)) : Collections.<QueryTagCountInfo>emptyList();
+        final String continuationToken = end < values.size() ? createContinuationToken(new ContinuationToken(end, parametricFieldValuesCache.getFingerprint(queryRestrictions), fieldName)) : null;
+
+        return new ParametricFieldValues(queryTagInfo.getId(), queryTagInfo.getName(), page, values.size(), continuationToken);
+    }
+
+    // tokens are opaque to clients, but only hold the start of the next page, the query and the field it belongs to
+    private String createContinuationToken(final ContinuationToken token) {
+        final String value = token.getStart() + TOKEN_SEPARATOR + token.getQueryFingerprint() + TOKEN_SEPARATOR + token.getFieldName();
+        return BaseEncoding.base64Url().encode(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ContinuationToken readContinuationToken(final String continuationToken, final QueryRestrictions<S> queryRestrictions) {
+        try {
+            // field names may contain the separator, so the field name is everything after the second separator
+            final String[] parts = new String(BaseEncoding.base64Url().decode(continuationToken), StandardCharsets.UTF_8).split(TOKEN_SEPARATOR, 3);
+
+            if (parts.length == 3 && parts[1].equals(parametricFieldValuesCache.getFingerprint(queryRestrictions)) && !parts[2].isEmpty()) {
+                final int start = Integer.parseInt(parts[0]);
+
+                if (start >= 0) {
+                    return new ContinuationToken(start, parts[1], parts[2]);
+                }
+            }
+        } catch (final IllegalArgumentException ignored) {
+            // thrown for both malformed base 64 and numbers
+        }
+
+        throw new InvalidContinuationTokenException(continuationToken);
     }
 
     @RequestMapping(value = BUCKET_PARAMETRIC_PATH + "/{encodedField}", method = RequestMethod.GET)
     @ResponseBody
-    public RangeInfo getNumericParametricValuesInBucketsForField(
+    public DeferredResult<ParametricBuckets> getNumericParametricValuesInBucketsForField(
             @PathVariable("encodedField") final String encodedField,
             @RequestParam(TARGET_NUMBER_OF_BUCKETS_PARAM) final Integer targetNumberOfBuckets,
             @RequestParam(BUCKET_MIN_PARAM) final Double bucketMin,
@@ -97,31 +292,67 @@ public abstract class ParametricValuesController<Q extends QueryRestrictions<S>,
             @RequestParam(value = MIN_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime minDate,
             @RequestParam(value = MAX_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime maxDate,
             @RequestParam(value = MIN_SCORE, defaultValue = "0") final Integer minScore
-    ) throws E {
+    ) {
         final String fieldName = decodeUriComponent(encodedField);
+        final QueryRestrictions<S> queryRestrictions = buildQueryRestrictions(queryText, fieldText, databases, minDate, maxDate, minScore, null);
+
+        return deadlineExecutor.execute("parametric.buckets", new Callable<ParametricBuckets>() {
+            @Override
+            public ParametricBuckets call() throws E {
+                return getBuckets(fieldName, queryRestrictions, targetNumberOfBuckets, bucketMin, bucketMax);
+            }
+        });
+    }
+
+    /**
+     * Computes the buckets from the cached histogram for the field if the range is within it and the buckets are no
+     * narrower than its narrow buckets; the counts are approximate if the boundaries cut through its narrow buckets.
+     * Otherwise, a new histogram is fetched whose narrow buckets divide the requested buckets evenly, covering about
+     * half the width of the range again on each side so that the user can pan without another fetch.
+     */
+    private ParametricBuckets getBuckets(final String fieldName, final QueryRestrictions<S> queryRestrictions, final int targetNumberOfBuckets, final double bucketMin, final double bucketMax) throws E {
+        final R parametricRequest = buildRequest(Collections.singletonList(fieldName), queryRestrictions, null, SortParam.NumberIncreasing);
 
-        final R parametricRequest = buildRequest(
-                Collections.singletonList(fieldName),
-                queryText,
-                fieldText,
-                databases,
-                minDate,
-                maxDate,
-                minScore,
-                null,
-                null,
-                SortParam.NumberIncreasing
-        );
+        if (bucketMax <= bucketMin || targetNumberOfBuckets <= 0) {
+            // nothing to zoom into, so fetch the buckets as requested
+            return getBucketsFromBackend(parametricRequest, fieldName, targetNumberOfBuckets, bucketMin, bucketMax);
+        }
+
+        NumericHistogram histogram = parametricFieldValuesCache.getHistogram(queryRestrictions, fieldName);
 
-        final BucketingParams bucketingParams = new BucketingParams(targetNumberOfBuckets, bucketMin, bucketMax);
-        final Map<String, BucketingParams> bucketingParamsPerField = Collections.singletonMap(fieldName, bucketingParams);
-        return parametricValuesService.getNumericParametricValuesInBuckets(parametricRequest, bucketingParamsPerField).get(0);
+        if (histogram == null || !histogram.canBucket(bucketMin, bucketMax, targetNumberOfBuckets)) {
+            final int finePerBucket = Math.max(1, histogramBuckets / (2 * targetNumberOfBuckets));
+            final int resolution = 2 * targetNumberOfBuckets * finePerBucket;
+            final double fineBucketSize = (bucketMax - bucketMin) / targetNumberOfBuckets / finePerBucket;
+            final double histogramMin = bucketMin - (resolution - targetNumberOfBuckets * finePerBucket) / 2 * fineBucketSize;
+            final double histogramMax = histogramMin + resolution * fineBucketSize;
+
+            final RangeInfo rangeInfo = getRangeInfo(parametricRequest, fieldName, new BucketingParams(resolution, histogramMin, histogramMax));
+            histogram = NumericHistogram.fromRangeInfo(rangeInfo, histogramMin, histogramMax, resolution);
+            parametricFieldValuesCache.putHistogram(queryRestrictions, fieldName, histogram);
+        }
+
+        return histogram.toBuckets(bucketMin, bucketMax, targetNumberOfBuckets);
+    }
+
+    private ParametricBuckets getBucketsFromBackend(final R parametricRequest, final String fieldName, final int targetNumberOfBuckets, final double bucketMin, final double bucketMax) throws E {
+        final RangeInfo rangeInfo = getRangeInfo(parametricRequest, fieldName, new BucketingParams(targetNumberOfBuckets, bucketMin, bucketMax));
+        return ParametricBuckets.fromRangeInfo(rangeInfo, bucketMin, bucketMax);
     }
 
+    private RangeInfo getRangeInfo(final R parametricRequest, final String fieldName, final BucketingParams bucketingParams) throws E {
+        return parametricValuesService.getNumericParametricValuesInBuckets(parametricRequest, Collections.singletonMap(fieldName, bucketingParams)).get(0);
+    }
+
+    /**
+     * Without a maximum depth, returns the whole tree. Otherwise, returns only the first levels of the tree; the values
+     * of the further fields below a node can be fetched by expanding it. Without a maximum number of children, every
+     * value of each field is returned.
+     */
     @SuppressWarnings("MethodWithTooManyParameters")
     @RequestMapping(method = RequestMethod.GET, value = DEPENDENT_VALUES_PATH)
     @ResponseBody
-    public List<RecursiveField> getDependentParametricValues(
+    public DeferredResult<List<RecursiveField>> getDependentParametricValues(
             @RequestParam(FIELD_NAMES_PARAM) final List<String> fieldNames,
             @RequestParam(QUERY_TEXT_PARAM) final String queryText,
             @RequestParam(value = FIELD_TEXT_PARAM, defaultValue = "") final String fieldText,
@@ -129,10 +360,98 @@ public abstract class ParametricValuesController<Q extends QueryRestrictions<S>,
             @RequestParam(value = MIN_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime minDate,
             @RequestParam(value = MAX_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime maxDate,
             @RequestParam(value = MIN_SCORE, defaultValue = "0") final Integer minScore,
-            @RequestParam(value = STATE_TOKEN_PARAM, required = false) final List<String> stateTokens
-    ) throws E {
-        final R parametricRequest = buildRequest(fieldNames, queryText, fieldText, databases, minDate, maxDate, minScore, stateTokens, null, null);
-        return parametricValuesService.getDependentParametricValues(parametricRequest);
+            @RequestParam(value = STATE_TOKEN_PARAM, required = false) final List<String> stateTokens,
+            @RequestParam(value = MAX_DEPTH_PARAM, required = false) final Integer maxDepth,
+            @RequestParam(value = MAX_CHILDREN_PARAM, required = false) final Integer maxChildren
+    ) {
+        validateDependentValuesLimits(maxDepth, maxChildren);
+        final QueryRestrictions<S> queryRestrictions = buildQueryRestrictions(queryText, fieldText, databases, minDate, maxDate, minScore, stateTokens);
+
+        return deadlineExecutor.execute("parametric.dependentValues", new Callable<List<RecursiveField>>() {
+            @Override
+            public List<RecursiveField> call() throws E {
+                return getDependentValues(ListUtils.emptyIfNull(fieldNames), queryRestrictions, Collections.<String>emptyList(), queryRestrictions, maxDepth, maxChildren);
+            }
+        });
+    }
+
+    /**
+     * @return The subtree below the node with the given path, which holds one value for each of the first fields
+     */
+    @SuppressWarnings("MethodWithTooManyParameters")
+    @RequestMapping(method = RequestMethod.GET, value = DEPENDENT_VALUES_PATH + EXPAND_PATH)
+    @ResponseBody
+    public DeferredResult<List<RecursiveField>> expandDependentParametricValues(
+            @RequestParam(FIELD_NAMES_PARAM) final List<String> fieldNames,
+            @RequestParam(PATH_PARAM) final List<String> path,
+            @RequestParam(QUERY_TEXT_PARAM) final String queryText,
+            @RequestParam(value = FIELD_TEXT_PARAM, defaultValue = "") final String fieldText,
+            @RequestParam(DATABASES_PARAM) final List<S> databases,
+            @RequestParam(value = MIN_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime minDate,
+            @RequestParam(value = MAX_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime maxDate,
+            @RequestParam(value = MIN_SCORE, defaultValue = "0") final Integer minScore,
+            @RequestParam(value = STATE_TOKEN_PARAM, required = false) final List<String> stateTokens,
+            @RequestParam(value = MAX_DEPTH_PARAM, required = false) final Integer maxDepth,
+            @RequestParam(value = MAX_CHILDREN_PARAM, required = false) final Integer maxChildren
+    ) {
+        if (path.isEmpty() || path.size() >= fieldNames.size()) {
+            throw new InvalidDependentValuesPathException(path.size(), fieldNames.size());
+        }
+
+        validateDependentValuesLimits(maxDepth, maxChildren);
+        final QueryRestrictions<S> queryRestrictions = buildQueryRestrictions(queryText, fieldText, databases, minDate, maxDate, minScore, stateTokens);
+        final QueryRestrictions<S> pathQueryRestrictions = buildQueryRestrictions(queryText, buildPathFieldText(fieldText, fieldNames, path), databases, minDate, maxDate, minScore, stateTokens);
+
+        return deadlineExecutor.execute("parametric.expandDependentValues", new Callable<List<RecursiveField>>() {
+            @Override
+            public List<RecursiveField> call() throws E {
+                return getDependentValues(fieldNames, queryRestrictions, path, pathQueryRestrictions, maxDepth, maxChildren);
+            }
+        });
+    }
+
+    private static void validateDependentValuesLimits(final Integer maxDepth, final Integer maxChildren) {
+        if (maxDepth != null && maxDepth < 1) {
+            throw new InvalidDependentValuesLimitException(MAX_DEPTH_PARAM, maxDepth);
+        }
+
+        if (maxChildren != null && maxChildren < 1) {
+            throw new InvalidDependentValuesLimitException(MAX_CHILDREN_PARAM, maxChildren);
+        }
+    }
+
+    /**
+     * Fetches the levels of the tree below the path, unless they are cached. The backend only returns the requested
+     * levels, with at most maxChildren values of each field. Subtrees are keyed by the restrictions without the path.
+     *
+     * @param queryRestrictions The restrictions of the whole tree
+     * @param pathQueryRestrictions The restrictions of the whole tree, with the values on the path
+     */
+    private List<RecursiveField> getDependentValues(final List<String> fieldNames, final QueryRestrictions<S> queryRestrictions, final List<String> path, final QueryRestrictions<S> pathQueryRestrictions, final Integer maxDepth, final Integer maxChildren) throws E {
+        final int levels = maxDepth == null ? fieldNames.size() - path.size() : Math.min(maxDepth, fieldNames.size() - path.size());
+        final List<String> subtreeFieldNames = fieldNames.subList(0, path.size() + levels);
+
+        List<RecursiveField> subtree = parametricFieldValuesCache.getDependentValues(queryRestrictions, subtreeFieldNames, path, maxChildren);
+
+        if (subtree == null) {
+            final R parametricRequest = buildRequest(subtreeFieldNames.subList(path.size(), subtreeFieldNames.size()), pathQueryRestrictions, maxChildren, null);
+            subtree = parametricValuesService.getDependentParametricValues(parametricRequest);
+            parametricFieldValuesCache.putDependentValues(queryRestrictions, subtreeFieldNames, path, maxChildren, subtree);
+        }
+
+        return subtree;
+    }
+
+    // each value on the path is a value of the field at the same depth
+    private String buildPathFieldText(final String fieldText, final List<String> fieldNames, final List<String> path) {
+        FieldText pathFieldText = null;
+
+        for (int i = 0; i < path.size(); i++) {
+            final FieldText match = new MATCH(fieldNames.get(i), Collections.singletonList(path.get(i)));
+            pathFieldText = pathFieldText == null ? match : pathFieldText.AND(match);
+        }
+
+        return StringUtils.isBlank(fieldText) ? String.valueOf(pathFieldText) : '(' + fieldText + ") AND " + pathFieldText;
     }
 
     protected R buildRequest(final List<String> fieldNames, final List<S> databases, final Integer maxValues, final SortParam sort) {
@@ -141,7 +460,11 @@ public abstract class ParametricValuesController<Q extends QueryRestrictions<S>,
 
     @SuppressWarnings("MethodWithTooManyParameters")
     private R buildRequest(final List<String> fieldNames, final String queryText, final String fieldText, final List<S> databases, final DateTime minDate, final DateTime maxDate, final Integer minScore, final List<String> stateTokens, final Integer maxValues, final SortParam sort) {
-        final QueryRestrictions<S> queryRestrictions = queryRestrictionsBuilderFactory.createBuilder()
+        return buildRequest(fieldNames, buildQueryRestrictions(queryText, fieldText, databases, minDate, maxDate, minScore, stateTokens), maxValues, sort);
+    }
+
+    private QueryRestrictions<S> buildQueryRestrictions(final String queryText, final String fieldText, final List<S> databases, final DateTime minDate, final DateTime maxDate, final Integer minScore, final List<String> stateTokens) {
+        return queryRestrictionsBuilderFactory.createBuilder()
                 .setQueryText(queryText)
                 .setFieldText(fieldText)
                 .setDatabases(databases)
@@ -150,6 +473,9 @@ public abstract class ParametricValuesController<Q extends QueryRestrictions<S>,
                 .setMinScore(minScore)
                 .setStateMatchId(ListUtils.emptyIfNull(stateTokens))
                 .build();
+    }
+
+    private R buildRequest(final List<String> fieldNames, final QueryRestrictions<S> queryRestrictions, final Integer maxValues, final SortParam sort) {
         return parametricRequestBuilderFactory.getObject()
                 .setFieldNames(ListUtils.emptyIfNull(fieldNames))
                 .setQueryRestrictions(queryRestrictions)
@@ -170,4 +496,11 @@ public abstract class ParametricValuesController<Q extends QueryRestrictions<S>,
             throw new IllegalStateException("You don't have a standard JVM");
         }
     }
+
+    @Data
+    private static class ContinuationToken {
+        private final int start;
+        private final String queryFingerprint;
+        private final String fieldName;
+    }
 }
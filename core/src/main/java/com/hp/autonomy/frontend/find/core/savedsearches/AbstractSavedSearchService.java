@@ -5,23 +5,45 @@
 
 package com.hp.autonomy.frontend.find.core.savedsearches;
 
+import com.google.common.base.Supplier;
 import org.springframework.data.domain.AuditorAware;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 
+/**
+ * Lists of the current user's searches are served from the {@link SavedSearchCache}, which is invalidated whenever one
+ * of their searches is created, updated or deleted.
+ */
 public abstract class AbstractSavedSearchService<T extends SavedSearch<T>> implements SavedSearchService<T> {
     private final SavedSearchRepository<T> crudRepository;
     private final AuditorAware<UserEntity> userEntityAuditorAware;
+    private final SavedSearchCache savedSearchCache;
+    private final SavedSearchType type;
 
-    protected AbstractSavedSearchService(final SavedSearchRepository<T> crudRepository, final AuditorAware<UserEntity> userEntityAuditorAware) {
+    protected AbstractSavedSearchService(
+            final SavedSearchRepository<T> crudRepository,
+            final AuditorAware<UserEntity> userEntityAuditorAware,
+            final SavedSearchCache savedSearchCache,
+            final SavedSearchType type
+    ) {
         this.crudRepository = crudRepository;
         this.userEntityAuditorAware = userEntityAuditorAware;
+        this.savedSearchCache = savedSearchCache;
+        this.type = type;
     }
 
     @Override
     public Set<T> getAll() {
         final Long userId = userEntityAuditorAware.getCurrentAuditor().getUserId();
-        return crudRepository.findByActiveTrueAndUser_UserId(userId);
+
+        return savedSearchCache.get(type, userId, new Supplier<Set<T>>() {
+            @Override
+            public Set<T> get() {
+                return crudRepository.findByActiveTrueAndUser_UserId(userId);
+            }
+        });
     }
 
     @Override
@@ -29,16 +51,30 @@ public abstract class AbstractSavedSearchService<T extends SavedSearch<T>> imple
         return getSearch(id);
     }
 
+    @Override
+    public Set<T> get(final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        final Long userId = userEntityAuditorAware.getCurrentAuditor().getUserId();
+        return crudRepository.findByActiveTrueAndIdInAndUser_UserId(ids, userId);
+    }
+
     @Override
     public T create(final T search) {
-        return crudRepository.save(search);
+        final T savedSearch = crudRepository.save(search);
+        savedSearchCache.invalidate(userEntityAuditorAware.getCurrentAuditor().getUserId());
+        return savedSearch;
     }
 
     @Override
     public T update(final T search) {
         final T savedQuery = getSearch(search.getId());
         savedQuery.merge(search);
-        return crudRepository.save(savedQuery);
+        final T savedSearch = crudRepository.save(savedQuery);
+        savedSearchCache.invalidate(savedQuery.getUser().getUserId());
+        return savedSearch;
     }
 
     @Override
@@ -46,7 +82,7 @@ public abstract class AbstractSavedSearchService<T extends SavedSearch<T>> imple
         final T savedQuery = getSearch(id);
         savedQuery.setActive(false);
         crudRepository.save(savedQuery);
-
+        savedSearchCache.invalidate(savedQuery.getUser().getUserId());
     }
 
     private T getSearch(long id) throws IllegalArgumentException {
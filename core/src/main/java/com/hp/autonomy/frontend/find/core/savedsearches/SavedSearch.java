@@ -7,6 +7,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.TypeDef;
 import org.hibernate.annotations.TypeDefs;
@@ -70,19 +72,25 @@ public abstract class SavedSearch<T extends SavedSearch<T>> {
     @Column(name = Table.Column.QUERY_TEXT)
     private String queryText;
 
+    // Subselect fetching loads each collection for every search returned by a query with a single select, instead of
+    // one select per search and collection
     @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = IndexesTable.NAME, joinColumns = @JoinColumn(name = IndexesTable.Column.SEARCH_ID))
     private Set<EmbeddableIndex> indexes;
 
     @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = ParametricValuesTable.NAME, joinColumns = @JoinColumn(name = ParametricValuesTable.Column.SEARCH_ID))
     private Set<FieldAndValue> parametricValues;
 
     @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = ParametricRangesTable.NAME, joinColumns = @JoinColumn(name = ParametricRangesTable.Column.SEARCH_ID))
     private Set<ParametricRange> parametricRanges;
 
     @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = ConceptClusterPhraseTable.NAME, joinColumns = @JoinColumn(name = ConceptClusterPhraseTable.Column.SEARCH_ID))
     private Set<ConceptClusterPhrase> conceptClusterPhrases;
 
@@ -137,6 +145,12 @@ public abstract class SavedSearch<T extends SavedSearch<T>> {
      */
     protected abstract void mergeInternal(T other);
 
+    /**
+     * @return A copy of this search with its own collections and without its user, which is not attached to any
+     * persistence context
+     */
+    public abstract T copy();
+
     /**
      * Merge client-mutable fields from the other search into this one.
      */
@@ -217,10 +231,10 @@ public abstract class SavedSearch<T extends SavedSearch<T>> {
             id = search.id;
             title = search.title;
             queryText = search.queryText;
-            indexes = search.indexes;
-            parametricValues = search.parametricValues;
-            parametricRanges = search.parametricRanges;
-            conceptClusterPhrases = search.conceptClusterPhrases;
+            indexes = copyOf(search.indexes);
+            parametricValues = copyOf(search.parametricValues);
+            parametricRanges = copyOf(search.parametricRanges);
+            conceptClusterPhrases = copyOf(search.conceptClusterPhrases);
             minDate = search.minDate;
             maxDate = search.maxDate;
             dateCreated = search.dateCreated;
@@ -232,6 +246,11 @@ public abstract class SavedSearch<T extends SavedSearch<T>> {
 
         public abstract T build();
 
+        // copies the collections of the search, which may belong to its persistence context
+        protected static <E> Set<E> copyOf(final Set<E> set) {
+            return set == null ? null : new LinkedHashSet<>(set);
+        }
+
         public Builder<T> setId(final Long id) {
             this.id = id;
             return this;
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.savedsearches;
+
+import com.google.common.base.Supplier;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds each user's active saved searches of each type on this node, so that listing them does not need the database.
+ * <p>
+ * A user's entries are evicted when any of their searches is created, updated or deleted, and the eviction is
+ * broadcast to the other nodes with the {@link SavedSearchInvalidationBroadcaster}. Entries also expire after
+ * find.savedSearches.cache.expiry milliseconds, which bounds how stale a node can be if a broadcast is lost.
+ * <p>
+ * The cache holds copies of the loaded searches, which are not attached to the persistence context that loaded them,
+ * and each caller gets its own copies, so changes made by one request are never seen by another.
+ */
+@Component
+public class SavedSearchCache {
+    private static final Callable<ConcurrentMap<SavedSearchType, Set<?>>> NEW_USER_ENTRY = new Callable<ConcurrentMap<SavedSearchType, Set<?>>>() {
+        @Override
+        public ConcurrentMap<SavedSearchType, Set<?>> call() {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final SavedSearchInvalidationBroadcaster invalidationBroadcaster;
+    private final Cache<Long, ConcurrentMap<SavedSearchType, Set<?>>> searchesByUser;
+
+    @Autowired
+    public SavedSearchCache(
+            final SavedSearchInvalidationBroadcaster invalidationBroadcaster,
+            @Value("${find.savedSearches.cache.maxUsers:1000}") final int maxUsers,
+            @Value("${find.savedSearches.cache.expiry:600000}") final long expiry
+    ) {
+        this.invalidationBroadcaster = invalidationBroadcaster;
+
+        searchesByUser = CacheBuilder.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(expiry, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * @param loader Loads the user's searches of the given type from the database
+     * @return An unmodifiable set of copies of the cached searches, or of the loaded searches if there were none
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends SavedSearch<T>> Set<T> get(final SavedSearchType type, final Long userId, final Supplier<Set<T>> loader) {
+        // Take the user's entry before loading. If the user is invalidated while the load is running, the entry is
+        // discarded along with the possibly stale searches put into it.
+        final ConcurrentMap<SavedSearchType, Set<?>> userEntry;
+
+        try {
+            userEntry = searchesByUser.get(userId, NEW_USER_ENTRY);
+        } catch (final ExecutionException e) {
+            // creating a map does not throw
+            throw new IllegalStateException(e);
+        }
+
+        Set<T> searches = (Set<T>) userEntry.get(type);
+
+        if (searches == null) {
+            searches = copyOf(loader.get());
+            userEntry.put(type, searches);
+        }
+
+        return copyOf(searches);
+    }
+
+    /**
+     * Evicts the user's searches on every node. Call this after a change to the user's searches has been committed.
+     */
+    public void invalidate(final Long userId) {
+        evictLocally(userId);
+        invalidationBroadcaster.broadcast(userId);
+    }
+
+    /**
+     * Evicts the user's searches on this node only.
+     */
+    public void evictLocally(final Long userId) {
+        searchesByUser.invalidate(userId);
+    }
+
+    private static <T extends SavedSearch<T>> Set<T> copyOf(final Set<T> searches) {
+        final Set<T> copies = new LinkedHashSet<>();
+
+        for (final T search : searches) {
+            copies.add(search.copy());
+        }
+
+        return Collections.unmodifiableSet(copies);
+    }
+}
@@ -0,0 +1,14 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.savedsearches;
+
+/**
+ * Tells the other nodes in a cluster that a user's saved searches have changed, so that they can call
+ * {@link SavedSearchCache#evictLocally(Long)}.
+ */
+public interface SavedSearchInvalidationBroadcaster {
+    void broadcast(Long userId);
+}
@@ -8,6 +8,7 @@ package com.hp.autonomy.frontend.find.core.savedsearches;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.util.Collection;
 import java.util.Set;
 
 @NoRepositoryBean
@@ -17,4 +18,6 @@ public interface SavedSearchRepository<S extends SavedSearch<S>> extends CrudRep
 
     S findByActiveTrueAndIdAndUser_UserId(Long id, Long userId);
 
+    Set<S> findByActiveTrueAndIdInAndUser_UserId(Collection<Long> ids, Long userId);
+
 }
@@ -5,6 +5,7 @@
 
 package com.hp.autonomy.frontend.find.core.savedsearches;
 
+import java.util.Collection;
 import java.util.Set;
 
 public interface SavedSearchService<T extends SavedSearch<T>> {
@@ -13,6 +14,11 @@ public interface SavedSearchService<T extends SavedSearch<T>> {
 
     T get(long id);
 
+    /**
+     * @return The current user's active searches with the given ids; ids which do not match such a search are ignored
+     */
+    Set<T> get(Collection<Long> ids);
+
     T create(T search);
 
     T update(T search);
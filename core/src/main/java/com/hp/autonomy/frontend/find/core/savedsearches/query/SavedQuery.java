@@ -55,6 +55,11 @@ public class SavedQuery extends SavedSearch<SavedQuery> {
         dateDocsLastFetched = other.getDateDocsLastFetched() == null ? dateDocsLastFetched : other.getDateDocsLastFetched();
     }
 
+    @Override
+    public SavedQuery copy() {
+        return new Builder(this).build();
+    }
+
     @NoArgsConstructor
     @Setter
     @Accessors(chain = true)
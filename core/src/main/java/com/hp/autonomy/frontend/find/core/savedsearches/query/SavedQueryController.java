@@ -9,6 +9,8 @@ import com.hp.autonomy.frontend.find.core.savedsearches.EmbeddableIndex;
 import com.hp.autonomy.frontend.find.core.savedsearches.FieldTextParser;
 import com.hp.autonomy.frontend.find.core.savedsearches.SavedSearchService;
 import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.web.Deadline;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
 import com.hp.autonomy.searchcomponents.core.search.DocumentsService;
 import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
 import com.hp.autonomy.searchcomponents.core.search.SearchRequest;
@@ -16,33 +18,57 @@ import com.hp.autonomy.searchcomponents.core.search.SearchResult;
 import com.hp.autonomy.types.requests.Documents;
 import org.apache.commons.collections4.CollectionUtils;
 import org.joda.time.DateTime;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpSession;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RequestMapping(SavedQueryController.PATH)
 public abstract class SavedQueryController<S extends Serializable, Q extends QueryRestrictions<S>, D extends SearchResult, E extends Exception> {
     static final String PATH = "/api/bi/saved-query";
     static final String NEW_RESULTS_PATH = "/new-results/";
+    static final String NEW_RESULTS_STREAM_PATH = NEW_RESULTS_PATH + "stream";
+    static final String IDS_PARAM = "ids";
 
     private final SavedSearchService<SavedQuery> service;
     private final DocumentsService<S, D, E> documentsService;
     private final FieldTextParser fieldTextParser;
     private final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory;
+    private final DeadlineExecutor deadlineExecutor;
+    private final int newResultsParallelism;
+    private final SavedQueryNewResultsPublisher newResultsPublisher;
 
+    @SuppressWarnings("ConstructorWithTooManyParameters")
     protected SavedQueryController(final SavedSearchService<SavedQuery> service,
                                    final DocumentsService<S, D, E> documentsService,
-                                   final FieldTextParser fieldTextParser, final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory) {
+                                   final FieldTextParser fieldTextParser, final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory,
+                                   final DeadlineExecutor deadlineExecutor,
+                                   final int newResultsParallelism,
+                                   final SavedQueryNewResultsPublisher newResultsPublisher) {
         this.service = service;
         this.documentsService = documentsService;
         this.fieldTextParser = fieldTextParser;
         this.queryRestrictionsBuilderFactory = queryRestrictionsBuilderFactory;
+        this.deadlineExecutor = deadlineExecutor;
+        this.newResultsParallelism = newResultsParallelism;
+        this.newResultsPublisher = newResultsPublisher;
     }
 
     protected abstract S convertEmbeddableIndex(EmbeddableIndex embeddableIndex);
@@ -78,9 +104,105 @@ public abstract class SavedQueryController<S extends Serializable, Q extends Que
 
     @RequestMapping(value = NEW_RESULTS_PATH + "{id}", method = RequestMethod.GET)
     public int checkForNewQueryResults(@SuppressWarnings("MVCPathVariableInspection") @PathVariable("id") final long id) throws E {
+        return countNewResults(service.get(id));
+    }
+
+    /**
+     * Counts the new results for several saved queries at once. The queries are read from the database together and
+     * counted on at most find.savedQueries.newResultsParallelism backend threads.
+     *
+     * @return The number of new results for each of the ids which is one of the user's saved queries
+     */
+    @RequestMapping(value = NEW_RESULTS_PATH, method = RequestMethod.GET)
+    public DeferredResult<Map<Long, Integer>> checkForNewQueryResults(@RequestParam(IDS_PARAM) final List<Long> ids) {
+        final Deadline deadline = deadlineExecutor.startDeadline("savedQuery.newResults");
+
+        final Set<SavedQuery> savedQueries = service.get(new LinkedHashSet<>(ids));
+
+        // each lane counts its queries one after another, which bounds the number running at once
+        final int laneCount = Math.min(newResultsParallelism, savedQueries.size());
+        final List<List<SavedQuery>> lanes = new ArrayList<>(laneCount);
+
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(new ArrayList<SavedQuery>());
+        }
+
+        int index = 0;
+
+        for (final SavedQuery savedQuery : savedQueries) {
+            lanes.get(index++ % laneCount).add(savedQuery);
+        }
+
+        final Map<Long, Integer> counts = new ConcurrentHashMap<>();
+        final List<ListenableFuture<Void>> futures = new ArrayList<>();
+
+        for (final List<SavedQuery> lane : lanes) {
+            futures.add(deadlineExecutor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws E {
+                    for (final SavedQuery savedQuery : lane) {
+                        counts.put(savedQuery.getId(), countNewResults(savedQuery));
+                    }
+
+                    return null;
+                }
+            }));
+        }
+
+        final DeferredResult<Map<Long, Integer>> result = deadlineExecutor.newDeferredResult(deadline, futures.toArray(new ListenableFuture<?>[futures.size()]));
+
+        if (futures.isEmpty()) {
+            result.setResult(counts);
+            return result;
+        }
+
+        final AtomicInteger remaining = new AtomicInteger(futures.size());
+
+        final ListenableFutureCallback<Void> callback = new ListenableFutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void value) {
+                if (remaining.decrementAndGet() == 0) {
+                    result.setResult(counts);
+                }
+            }
+
+            // the other lanes are cancelled when the request completes
+            @Override
+            public void onFailure(final Throwable e) {
+                result.setErrorResult(e);
+            }
+        };
+
+        for (final ListenableFuture<Void> future : futures) {
+            future.addCallback(callback);
+        }
+
+        return result;
+    }
+
+    /**
+     * Opens a stream of server-sent events with the number of new results for each of the user's saved queries. The
+     * counts are computed in the background by the {@link SavedQueryNewResultsPublisher} and sent when they change.
+     */
+    @RequestMapping(value = NEW_RESULTS_STREAM_PATH, method = RequestMethod.GET)
+    public SseEmitter streamNewQueryResults(final HttpSession session) {
+        return newResultsPublisher.subscribe(session, new SavedQueryNewResultsPublisher.Counter() {
+            @Override
+            public Map<Long, Integer> countNewResults() throws E {
+                final Map<Long, Integer> counts = new HashMap<>();
+
+                for (final SavedQuery savedQuery : service.getAll()) {
+                    counts.put(savedQuery.getId(), SavedQueryController.this.countNewResults(savedQuery));
+                }
+
+                return counts;
+            }
+        });
+    }
+
+    private int countNewResults(final SavedQuery savedQuery) throws E {
         int newResults = 0;
 
-        final SavedQuery savedQuery = service.get(id);
         final DateTime dateDocsLastFetched = savedQuery.getDateDocsLastFetched();
         if (savedQuery.getMaxDate() == null || savedQuery.getMaxDate().isAfter(dateDocsLastFetched)) {
             final QueryRestrictions<S> queryRestrictions = queryRestrictionsBuilderFactory.createBuilder()
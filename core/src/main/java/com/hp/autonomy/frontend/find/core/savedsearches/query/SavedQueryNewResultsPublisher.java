@@ -0,0 +1,311 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.savedsearches.query;
+
+import com.hp.autonomy.frontend.find.core.beanconfiguration.BackendExecutorConfiguration;
+import com.hp.autonomy.frontend.find.core.savedsearches.UserEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Counts the new results for the saved queries of users with an open new results stream on a schedule, and pushes the
+ * counts to the streams as server-sent events. All of a user's tabs share one subscription, so their queries are
+ * counted once per interval however many tabs they have open.
+ * <p>
+ * Each user is counted every find.savedQueries.push.interval milliseconds, plus a random delay of up to
+ * find.savedQueries.push.jitter milliseconds so that users who subscribed together do not stay in step. At most
+ * find.savedQueries.push.maxConcurrent users are counted at once. Users who are due while the limit is reached, or
+ * while the backend executor is full, stay due and are counted before any other user on a later tick; each time a user
+ * is deferred is counted by find.savedQueries.push.deferred.
+ * <p>
+ * The counts run on the backend executor with a copy of the security context of the user's most recent subscription.
+ * The user's streams are ended instead if that subscription's session has been invalidated, or if counting fails, for
+ * example because the user's token has expired; browsers then reconnect through the usual authentication.
+ * <p>
+ * The latest counts are kept for as long as the user has a stream open and are sent to new streams straight away.
+ * Counts which have not changed since the last event are not sent again.
+ */
+@Slf4j
+@Component
+public class SavedQueryNewResultsPublisher {
+    static final String EVENT_NAME = "newResults";
+    static final String DEFERRED_METRIC = "find.savedQueries.push.deferred";
+
+    private final AsyncListenableTaskExecutor backendExecutor;
+    private final AuditorAware<UserEntity> userEntityAuditorAware;
+    private final CounterService counterService;
+    private final long interval;
+    private final long jitter;
+    private final long streamTimeout;
+    private final Semaphore permits;
+
+    private final ConcurrentMap<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("ConstructorWithTooManyParameters")
+    @Autowired
+    public SavedQueryNewResultsPublisher(
+            @Qualifier(BackendExecutorConfiguration.BACKEND_EXECUTOR) final AsyncListenableTaskExecutor backendExecutor,
+            final AuditorAware<UserEntity> userEntityAuditorAware,
+            final CounterService counterService,
+            @Value("${find.savedQueries.push.interval:300000}") final long interval,
+            @Value("${find.savedQueries.push.jitter:30000}") final long jitter,
+            @Value("${find.savedQueries.push.maxConcurrent:4}") final int maxConcurrent,
+            @Value("${find.savedQueries.push.streamTimeout:1800000}") final long streamTimeout
+    ) {
+        this.backendExecutor = backendExecutor;
+        this.userEntityAuditorAware = userEntityAuditorAware;
+        this.counterService = counterService;
+        this.interval = interval;
+        this.jitter = jitter;
+        this.streamTimeout = streamTimeout;
+        permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Opens a stream of new result counts for the current user. Browsers reconnect when the stream times out.
+     *
+     * @param session The current user's session
+     * @param counter Counts the new results for all of the current user's saved queries
+     * @return The stream, which is sent the latest counts immediately if there are any
+     */
+    public SseEmitter subscribe(final HttpSession session, final Counter counter) {
+        final Long userId = userEntityAuditorAware.getCurrentAuditor().getUserId();
+        final SseEmitter emitter = new SseEmitter(streamTimeout);
+        final Subscription subscription;
+
+        // the holder's context may be changed by later requests in the session, so the counts use a copy
+        final SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+
+        synchronized (subscriptions) {
+            final Subscription existing = subscriptions.get(userId);
+
+            if (existing == null) {
+                subscription = new Subscription();
+                subscription.nextRun = System.currentTimeMillis() + randomDelay();
+                subscriptions.put(userId, subscription);
+            } else {
+                subscription = existing;
+            }
+
+            subscription.counter = counter;
+            subscription.session = session;
+            subscription.securityContext = securityContext;
+            subscription.emitters.add(emitter);
+        }
+
+        final Runnable unsubscribe = new Runnable() {
+            @Override
+            public void run() {
+                unsubscribe(userId, subscription, emitter);
+            }
+        };
+
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+
+        final Map<Long, Integer> counts = subscription.counts;
+
+        if (counts != null) {
+            send(userId, subscription, emitter, counts);
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Starts counting for the users who are due, longest waiting first, up to the concurrency limit.
+     */
+    @Scheduled(fixedDelayString = "${find.savedQueries.push.tickInterval:1000}")
+    public void countDueUsers() {
+        final long now = System.currentTimeMillis();
+        final List<Map.Entry<Long, Subscription>> dueEntries = new ArrayList<>();
+
+        for (final Map.Entry<Long, Subscription> entry : subscriptions.entrySet()) {
+            // only this method starts counts, so a subscription cannot be started twice
+            if (!entry.getValue().running && entry.getValue().nextRun <= now) {
+                dueEntries.add(entry);
+            }
+        }
+
+        // deferred users keep their old due time, so they are not starved by users who became due after them
+        Collections.sort(dueEntries, new Comparator<Map.Entry<Long, Subscription>>() {
+            @Override
+            public int compare(final Map.Entry<Long, Subscription> left, final Map.Entry<Long, Subscription> right) {
+                return Long.compare(left.getValue().nextRun, right.getValue().nextRun);
+            }
+        });
+
+        for (final Map.Entry<Long, Subscription> entry : dueEntries) {
+            final Subscription subscription = entry.getValue();
+
+            if (permits.tryAcquire()) {
+                start(entry.getKey(), subscription, now);
+            } else {
+                defer(subscription);
+            }
+        }
+    }
+
+    private void start(final Long userId, final Subscription subscription, final long now) {
+        subscription.running = true;
+
+        try {
+            backendExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        count(userId, subscription);
+                    } finally {
+                        subscription.running = false;
+                        permits.release();
+                    }
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            log.debug("Could not start counting new results for saved queries", e);
+            subscription.running = false;
+            permits.release();
+            defer(subscription);
+            return;
+        }
+
+        subscription.deferred = false;
+        subscription.nextRun = now + interval + randomDelay();
+    }
+
+    private void defer(final Subscription subscription) {
+        if (!subscription.deferred) {
+            subscription.deferred = true;
+            counterService.increment(DEFERRED_METRIC);
+        }
+    }
+
+    private void count(final Long userId, final Subscription subscription) {
+        final Authentication authentication = subscription.securityContext.getAuthentication();
+
+        if (!isValid(subscription.session) || authentication == null || !authentication.isAuthenticated()) {
+            end(userId, subscription);
+            return;
+        }
+
+        final Map<Long, Integer> counts;
+        final SecurityContext previousContext = SecurityContextHolder.getContext();
+        SecurityContextHolder.setContext(subscription.securityContext);
+
+        try {
+            counts = subscription.counter.countNewResults();
+        } catch (final Exception e) {
+            log.warn("Error counting new results for saved queries; ending the user's streams", e);
+            end(userId, subscription);
+            return;
+        } finally {
+            SecurityContextHolder.setContext(previousContext);
+        }
+
+        if (!counts.equals(subscription.counts)) {
+            subscription.counts = counts;
+
+            for (final SseEmitter emitter : subscription.emitters) {
+                send(userId, subscription, emitter, counts);
+            }
+        }
+    }
+
+    private void send(final Long userId, final Subscription subscription, final SseEmitter emitter, final Map<Long, Integer> counts) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(counts));
+        } catch (final IOException | IllegalStateException e) {
+            // the client has gone away or the stream has already completed
+            log.debug("Could not send new result counts", e);
+            unsubscribe(userId, subscription, emitter);
+        }
+    }
+
+    private boolean isValid(final HttpSession session) {
+        try {
+            session.getLastAccessedTime();
+            return true;
+        } catch (final IllegalStateException ignored) {
+            // thrown once the session has been invalidated
+            return false;
+        }
+    }
+
+    private void end(final Long userId, final Subscription subscription) {
+        synchronized (subscriptions) {
+            subscriptions.remove(userId, subscription);
+        }
+
+        for (final SseEmitter emitter : subscription.emitters) {
+            try {
+                emitter.complete();
+            } catch (final IllegalStateException e) {
+                log.debug("Stream has already completed", e);
+            }
+        }
+    }
+
+    private void unsubscribe(final Long userId, final Subscription subscription, final SseEmitter emitter) {
+        synchronized (subscriptions) {
+            subscription.emitters.remove(emitter);
+
+            if (subscription.emitters.isEmpty()) {
+                subscriptions.remove(userId, subscription);
+            }
+        }
+    }
+
+    private long randomDelay() {
+        return jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter) : 0;
+    }
+
+    /**
+     * Counts the new results for the saved queries of the user in the current security context.
+     */
+    public interface Counter {
+        /**
+         * @return The number of new results for each of the user's saved queries, by id
+         */
+        Map<Long, Integer> countNewResults() throws Exception;
+    }
+
+    private static class Subscription {
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private volatile Counter counter;
+        private volatile HttpSession session;
+        private volatile SecurityContext securityContext;
+        private volatile Map<Long, Integer> counts;
+        private volatile long nextRun;
+        private volatile boolean running;
+        private volatile boolean deferred;
+    }
+}
@@ -6,6 +6,8 @@
 package com.hp.autonomy.frontend.find.core.savedsearches.query;
 
 import com.hp.autonomy.frontend.find.core.savedsearches.AbstractSavedSearchService;
+import com.hp.autonomy.frontend.find.core.savedsearches.SavedSearchCache;
+import com.hp.autonomy.frontend.find.core.savedsearches.SavedSearchType;
 import com.hp.autonomy.frontend.find.core.savedsearches.UserEntity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.AuditorAware;
@@ -14,7 +16,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class SavedQueryService extends AbstractSavedSearchService<SavedQuery> {
     @Autowired
-    public SavedQueryService(final SavedQueryRepository savedQueryRepository, final AuditorAware<UserEntity> userEntityAuditorAware) {
-        super(savedQueryRepository, userEntityAuditorAware);
+    public SavedQueryService(final SavedQueryRepository savedQueryRepository, final AuditorAware<UserEntity> userEntityAuditorAware, final SavedSearchCache savedSearchCache) {
+        super(savedQueryRepository, userEntityAuditorAware, savedSearchCache, SavedSearchType.QUERY);
     }
 }
@@ -11,6 +11,8 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import javax.persistence.CollectionTable;
 import javax.persistence.Column;
@@ -31,6 +33,7 @@ import java.util.Set;
 public class SavedSnapshot extends SavedSearch<SavedSnapshot> {
 
     @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = StoredStateTable.NAME, joinColumns = {
             @JoinColumn(name = StoredStateTable.Column.SEARCH_ID)
     })
@@ -51,6 +54,11 @@ public class SavedSnapshot extends SavedSearch<SavedSnapshot> {
         resultCount = other.getResultCount() == null ? resultCount : other.getResultCount();
     }
 
+    @Override
+    public SavedSnapshot copy() {
+        return new Builder(this).build();
+    }
+
     @NoArgsConstructor
     @Setter
     @Accessors(chain = true)
@@ -62,7 +70,7 @@ public class SavedSnapshot extends SavedSearch<SavedSnapshot> {
         public Builder(final SavedSnapshot snapshot) {
             super(snapshot);
 
-            stateTokens = snapshot.stateTokens;
+            stateTokens = copyOf(snapshot.stateTokens);
             resultCount = snapshot.resultCount;
         }
 
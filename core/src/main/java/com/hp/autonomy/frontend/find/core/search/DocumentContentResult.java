@@ -0,0 +1,29 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.search;
+
+import com.hp.autonomy.searchcomponents.core.search.SearchResult;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * The content of one document requested from the batch get document content endpoint.
+ */
+@Data
+public class DocumentContentResult<S extends Serializable, R extends SearchResult> {
+    private final String reference;
+    private final S database;
+
+    /**
+     * The document, or null if it could not be found
+     */
+    private final R document;
+
+    public boolean isFound() {
+        return document != null;
+    }
+}
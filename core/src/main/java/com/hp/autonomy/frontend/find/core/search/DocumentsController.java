@@ -5,6 +5,9 @@
 
 package com.hp.autonomy.frontend.find.core.search;
 
+import com.hp.autonomy.frontend.find.core.caching.DocumentContentCache;
+import com.hp.autonomy.frontend.find.core.typeahead.RecentQueryTexts;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
 import com.hp.autonomy.searchcomponents.core.search.DocumentsService;
 import com.hp.autonomy.searchcomponents.core.search.GetContentRequest;
 import com.hp.autonomy.searchcomponents.core.search.GetContentRequestIndex;
@@ -22,10 +25,20 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 @Controller
 @RequestMapping(DocumentsController.SEARCH_PATH)
@@ -35,38 +48,56 @@ public abstract class DocumentsController<S extends Serializable, Q extends Quer
     static final String PROMOTIONS_PATH = "query-text-index/promotions";
     static final String SIMILAR_DOCUMENTS_PATH = "similar-documents";
     static final String GET_DOCUMENT_CONTENT_PATH = "get-document-content";
+    static final String GET_DOCUMENT_CONTENTS_PATH = "get-document-contents";
 
     public static final String TEXT_PARAM = "text";
     public static final String RESULTS_START_PARAM = "start";
     public static final String MAX_RESULTS_PARAM = "max_results";
     public static final String SUMMARY_PARAM = "summary";
     public static final String INDEXES_PARAM = "indexes";
-    private static final String FIELD_TEXT_PARAM = "field_text";
-    private static final String SORT_PARAM = "sort";
-    private static final String MIN_DATE_PARAM = "min_date";
-    private static final String MAX_DATE_PARAM = "max_date";
-    private static final String HIGHLIGHT_PARAM = "highlight";
-    private static final String MIN_SCORE_PARAM = "min_score";
+    static final String FIELD_TEXT_PARAM = "field_text";
+    static final String SORT_PARAM = "sort";
+    static final String MIN_DATE_PARAM = "min_date";
+    static final String MAX_DATE_PARAM = "max_date";
+    static final String HIGHLIGHT_PARAM = "highlight";
+    static final String MIN_SCORE_PARAM = "min_score";
     static final String REFERENCE_PARAM = "reference";
     static final String AUTO_CORRECT_PARAM = "auto_correct";
     static final String DATABASE_PARAM = "database";
+    static final String REFERENCES_PARAM = "references";
+    static final String DATABASES_PARAM = "databases";
 
     public static final int MAX_SUMMARY_CHARACTERS = 250;
+    static final int MAX_DOCUMENT_CONTENTS = 200;
 
     protected final DocumentsService<S, R, E> documentsService;
     private final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory;
+    private final DocumentContentCache documentContentCache;
+    private final DeadlineExecutor deadlineExecutor;
+    private final RecentQueryTexts recentQueryTexts;
 
-    protected DocumentsController(final DocumentsService<S, R, E> documentsService, final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory) {
+    protected DocumentsController(final DocumentsService<S, R, E> documentsService, final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory, final DocumentContentCache documentContentCache, final DeadlineExecutor deadlineExecutor, final RecentQueryTexts recentQueryTexts) {
         this.documentsService = documentsService;
         this.queryRestrictionsBuilderFactory = queryRestrictionsBuilderFactory;
+        this.documentContentCache = documentContentCache;
+        this.deadlineExecutor = deadlineExecutor;
+        this.recentQueryTexts = recentQueryTexts;
     }
 
     protected abstract <T> T throwException(final String message) throws E;
 
+    /**
+     * @param database A database
+     * @return The name of the database, as returned by {@link SearchResult#getIndex()}
+     */
+    protected String getDatabaseName(final S database) {
+        return String.valueOf(database);
+    }
+
     @SuppressWarnings("MethodWithTooManyParameters")
     @RequestMapping(value = QUERY_PATH, method = RequestMethod.GET)
     @ResponseBody
-    public Documents<R> query(
+    public DeferredResult<Documents<R>> query(
             @RequestParam(TEXT_PARAM) final String text,
             @RequestParam(value = RESULTS_START_PARAM, defaultValue = "1") final int resultsStart,
             @RequestParam(MAX_RESULTS_PARAM) final int maxResults,
@@ -79,15 +110,28 @@ public abstract class DocumentsController<S extends Serializable, Q extends Quer
             @RequestParam(value = HIGHLIGHT_PARAM, defaultValue = "true") final boolean highlight,
             @RequestParam(value = MIN_SCORE_PARAM, defaultValue = "0") final int minScore,
             @RequestParam(value = AUTO_CORRECT_PARAM, defaultValue = "true") final boolean autoCorrect
-    ) throws E {
+    ) {
         final SearchRequest<S> searchRequest = parseRequestParamsToObject(text, resultsStart, maxResults, summary, index, fieldText, sort, minDate, maxDate, highlight, minScore, autoCorrect);
-        return documentsService.queryTextIndex(searchRequest);
+
+        return deadlineExecutor.execute("search.query", new Callable<Documents<R>>() {
+            @Override
+            public Documents<R> call() throws E {
+                final Documents<R> documents = documentsService.queryTextIndex(searchRequest);
+
+                // only the first page is counted, so that paging does not inflate a query's weight as a suggestion
+                if (resultsStart == 1 && documents != null && documents.getTotalResults() != null && documents.getTotalResults() > 0) {
+                    recentQueryTexts.record(text);
+                }
+
+                return documents;
+            }
+        });
     }
 
     @SuppressWarnings("MethodWithTooManyParameters")
     @RequestMapping(value = PROMOTIONS_PATH, method = RequestMethod.GET)
     @ResponseBody
-    public Documents<R> queryForPromotions(
+    public DeferredResult<Documents<R>> queryForPromotions(
             @RequestParam(TEXT_PARAM) final String text,
             @RequestParam(value = RESULTS_START_PARAM, defaultValue = "1") final int resultsStart,
             @RequestParam(MAX_RESULTS_PARAM) final int maxResults,
@@ -100,14 +144,29 @@ public abstract class DocumentsController<S extends Serializable, Q extends Quer
             @RequestParam(value = HIGHLIGHT_PARAM, defaultValue = "true") final boolean highlight,
             @RequestParam(value = MIN_SCORE_PARAM, defaultValue = "0") final int minScore,
             @RequestParam(value = AUTO_CORRECT_PARAM, defaultValue = "true") final boolean autoCorrect
-    ) throws E {
+    ) {
         final SearchRequest<S> searchRequest = parseRequestParamsToObject(text, resultsStart, maxResults, summary, index, fieldText, sort, minDate, maxDate, highlight, minScore, autoCorrect);
-        return documentsService.queryTextIndexForPromotions(searchRequest);
+
+        return deadlineExecutor.execute("search.promotions", new Callable<Documents<R>>() {
+            @Override
+            public Documents<R> call() throws E {
+                return documentsService.queryTextIndexForPromotions(searchRequest);
+            }
+        });
     }
 
     @SuppressWarnings("MethodWithTooManyParameters")
     private SearchRequest<S> parseRequestParamsToObject(final String queryText, final int resultsStart, final int maxResults, final String summary, final List<S> databases, final String fieldText, final String sort, final DateTime minDate, final DateTime maxDate, final boolean highlight, final Integer minScore, final boolean autoCorrect) {
-        final QueryRestrictions<S> queryRestrictions = queryRestrictionsBuilderFactory.createBuilder()
+        final QueryRestrictions<S> queryRestrictions = parseQueryRestrictions(queryRestrictionsBuilderFactory, queryText, databases, fieldText, minDate, maxDate, minScore);
+        return buildSearchRequest(queryRestrictions, resultsStart, maxResults, summary, sort, highlight, autoCorrect);
+    }
+
+    /**
+     * Builds the query restrictions from the parameters shared by the search endpoints
+     */
+    @SuppressWarnings("MethodWithTooManyParameters")
+    static <S extends Serializable> QueryRestrictions<S> parseQueryRestrictions(final QueryRestrictionsBuilderFactory<?, S> queryRestrictionsBuilderFactory, final String queryText, final List<S> databases, final String fieldText, final DateTime minDate, final DateTime maxDate, final Integer minScore) {
+        return queryRestrictionsBuilderFactory.createBuilder()
                 .setQueryText(queryText)
                 .setFieldText(fieldText)
                 .setDatabases(ListUtils.emptyIfNull(databases))
@@ -115,7 +174,13 @@ public abstract class DocumentsController<S extends Serializable, Q extends Quer
                 .setMaxDate(maxDate)
                 .setMinScore(minScore)
                 .build();
+    }
 
+    /**
+     * Builds a search request from the parameters shared by the search endpoints
+     */
+    @SuppressWarnings("MethodWithTooManyParameters")
+    static <S extends Serializable> SearchRequest<S> buildSearchRequest(final QueryRestrictions<S> queryRestrictions, final int resultsStart, final int maxResults, final String summary, final String sort, final boolean highlight, final boolean autoCorrect) {
         return new SearchRequest.Builder<S>()
                 .setQueryRestrictions(queryRestrictions)
                 .setStart(resultsStart)
@@ -131,7 +196,7 @@ public abstract class DocumentsController<S extends Serializable, Q extends Quer
     @SuppressWarnings("MethodWithTooManyParameters")
     @RequestMapping(value = SIMILAR_DOCUMENTS_PATH, method = RequestMethod.GET)
     @ResponseBody
-    public Documents<R> findSimilar(
+    public DeferredResult<Documents<R>> findSimilar(
             @RequestParam(REFERENCE_PARAM) final String reference,
             @RequestParam(value = RESULTS_START_PARAM, defaultValue = "1") final int resultsStart,
             @RequestParam(MAX_RESULTS_PARAM) final int maxResults,
@@ -143,7 +208,7 @@ public abstract class DocumentsController<S extends Serializable, Q extends Quer
             @RequestParam(value = MAX_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime maxDate,
             @RequestParam(value = HIGHLIGHT_PARAM, defaultValue = "true") final boolean highlight,
             @RequestParam(value = MIN_SCORE_PARAM, defaultValue = "0") final int minScore
-    ) throws E {
+    ) {
         final QueryRestrictions<S> queryRestrictions = queryRestrictionsBuilderFactory.createBuilder()
                 .setFieldText(fieldText)
                 .setDatabases(ListUtils.emptyIfNull(databases))
@@ -163,19 +228,146 @@ public abstract class DocumentsController<S extends Serializable, Q extends Quer
                 .setHighlight(highlight)
                 .build();
 
-        return documentsService.findSimilar(suggestRequest);
+        return deadlineExecutor.execute("search.similar", new Callable<Documents<R>>() {
+            @Override
+            public Documents<R> call() throws E {
+                return documentsService.findSimilar(suggestRequest);
+            }
+        });
     }
 
     @RequestMapping(value = GET_DOCUMENT_CONTENT_PATH, method = RequestMethod.GET)
     @ResponseBody
-    public R getDocumentContent(
+    public DeferredResult<R> getDocumentContent(
             @RequestParam(REFERENCE_PARAM) final String reference,
             @RequestParam(DATABASE_PARAM) final S database
-    ) throws E {
+    ) {
+        final List<String> cacheKey = getContentCacheKey(getDatabaseName(database), reference);
+        final R cachedDocument = getCachedDocument(cacheKey);
+
+        if (cachedDocument != null) {
+            return completedResult(cachedDocument);
+        }
+
         final GetContentRequestIndex<S> getContentRequestIndex = new GetContentRequestIndex<>(database, Collections.singleton(reference));
         final GetContentRequest<S> getContentRequest = new GetContentRequest<>(Collections.singleton(getContentRequestIndex), PrintParam.All.name());
-        final List<R> results = documentsService.getDocumentContent(getContentRequest);
 
-        return results.isEmpty() ? this.<R>throwException("No content found for document with reference " + reference + " in database " + database) : results.get(0);
+        return deadlineExecutor.execute("search.content", new Callable<R>() {
+            @Override
+            public R call() throws E {
+                final List<R> results = documentsService.getDocumentContent(getContentRequest);
+
+                if (results.isEmpty()) {
+                    return throwException("No content found for document with reference " + reference + " in database " + database);
+                }
+
+                final R document = results.get(0);
+                cacheDocument(cacheKey, document);
+                return document;
+            }
+        });
+    }
+
+    /**
+     * Fetches the content of many documents with a single request to the backend. The nth reference is looked up in
+     * the nth database. Results are returned in the order requested; documents which could not be found have no
+     * document in their result. Documents in the content cache are not requested again.
+     */
+    @RequestMapping(value = GET_DOCUMENT_CONTENTS_PATH, method = RequestMethod.POST)
+    @ResponseBody
+    public DeferredResult<List<DocumentContentResult<S, R>>> getDocumentContents(
+            @RequestParam(REFERENCES_PARAM) final List<String> references,
+            @RequestParam(DATABASES_PARAM) final List<S> databases
+    ) {
+        if (references.size() != databases.size()) {
+            throw new IllegalArgumentException("Each reference must have a database");
+        }
+
+        if (references.size() > MAX_DOCUMENT_CONTENTS) {
+            throw new IllegalArgumentException("At most " + MAX_DOCUMENT_CONTENTS + " documents may be requested at once");
+        }
+
+        final Map<List<String>, R> documentsByCacheKey = new HashMap<>();
+        final Map<S, Set<String>> referencesByDatabase = new LinkedHashMap<>();
+
+        for (int i = 0; i < references.size(); i++) {
+            final List<String> cacheKey = getContentCacheKey(getDatabaseName(databases.get(i)), references.get(i));
+
+            if (documentsByCacheKey.containsKey(cacheKey)) {
+                continue;
+            }
+
+            final R cachedDocument = getCachedDocument(cacheKey);
+            documentsByCacheKey.put(cacheKey, cachedDocument);
+
+            if (cachedDocument == null) {
+                Set<String> databaseReferences = referencesByDatabase.get(databases.get(i));
+
+                if (databaseReferences == null) {
+                    databaseReferences = new LinkedHashSet<>();
+                    referencesByDatabase.put(databases.get(i), databaseReferences);
+                }
+
+                databaseReferences.add(references.get(i));
+            }
+        }
+
+        if (referencesByDatabase.isEmpty()) {
+            return completedResult(buildDocumentContentResults(references, databases, documentsByCacheKey));
+        }
+
+        final Set<GetContentRequestIndex<S>> getContentRequestIndexes = new HashSet<>();
+
+        for (final Map.Entry<S, Set<String>> entry : referencesByDatabase.entrySet()) {
+            getContentRequestIndexes.add(new GetContentRequestIndex<>(entry.getKey(), entry.getValue()));
+        }
+
+        final GetContentRequest<S> getContentRequest = new GetContentRequest<>(getContentRequestIndexes, PrintParam.All.name());
+
+        return deadlineExecutor.execute("search.contents", new Callable<List<DocumentContentResult<S, R>>>() {
+            @Override
+            public List<DocumentContentResult<S, R>> call() throws E {
+                for (final R document : documentsService.getDocumentContent(getContentRequest)) {
+                    final List<String> cacheKey = getContentCacheKey(document.getIndex(), document.getReference());
+                    documentsByCacheKey.put(cacheKey, document);
+                    cacheDocument(cacheKey, document);
+                }
+
+                return buildDocumentContentResults(references, databases, documentsByCacheKey);
+            }
+        });
+    }
+
+    private List<DocumentContentResult<S, R>> buildDocumentContentResults(final List<String> references, final List<S> databases, final Map<List<String>, R> documentsByCacheKey) {
+        final List<DocumentContentResult<S, R>> results = new ArrayList<>(references.size());
+
+        for (int i = 0; i < references.size(); i++) {
+            final R document = documentsByCacheKey.get(getContentCacheKey(getDatabaseName(databases.get(i)), references.get(i)));
+            results.add(new DocumentContentResult<>(references.get(i), databases.get(i), document));
+        }
+
+        return results;
+    }
+
+    private <T> DeferredResult<T> completedResult(final T value) {
+        final DeferredResult<T> result = new DeferredResult<>();
+        result.setResult(value);
+        return result;
+    }
+
+    private List<String> getContentCacheKey(final String databaseName, final String reference) {
+        return Arrays.asList(GET_DOCUMENT_CONTENT_PATH, databaseName, reference);
+    }
+
+    // only documents of type R are stored under content cache keys
+    @SuppressWarnings("unchecked")
+    private R getCachedDocument(final List<String> cacheKey) {
+        return (R) documentContentCache.getObject(cacheKey);
+    }
+
+    private void cacheDocument(final List<String> cacheKey, final R document) {
+        if (document instanceof Serializable) {
+            documentContentCache.putObject(cacheKey, (Serializable) document);
+        }
     }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
+import com.hp.autonomy.searchcomponents.core.search.SearchRequest;
+import com.hp.autonomy.searchcomponents.core.search.SearchResult;
+import com.hp.autonomy.types.requests.Documents;
+import lombok.extern.slf4j.Slf4j;
+import org.joda.time.DateTime;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Exports the results for a query, up to find.export.maxResults results. Results are fetched from the backend a page
+ * at a time and each page is written to the response before the next is fetched, so memory use does not depend on the
+ * number of results. The export stops when the client disconnects.
+ * <p>
+ * Pages are fetched without the documents cache, since an export's pages are not asked for again and would only push
+ * interactive results out of the cache.
+ */
+@Slf4j
+@Controller
+@RequestMapping(DocumentsController.SEARCH_PATH)
+public abstract class ExportController<S extends Serializable, Q extends QueryRestrictions<S>, R extends SearchResult, E extends Exception> {
+    static final String EXPORT_PATH = "query-text-index/export";
+
+    static final String FORMAT_PARAM = "format";
+    static final String PAGE_SIZE_PARAM = "page_size";
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    protected final UncachedDocumentsService<S, R, E> documentsService;
+    private final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory;
+    private final ObjectMapper objectMapper;
+    protected final int maxResults;
+
+    protected ExportController(final UncachedDocumentsService<S, R, E> documentsService, final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory, final ObjectMapper objectMapper, final int maxResults) {
+        this.documentsService = documentsService;
+        this.queryRestrictionsBuilderFactory = queryRestrictionsBuilderFactory;
+        this.objectMapper = objectMapper;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Restricts the export to the results of the query at the time the export started, so that documents indexed
+     * during the export do not move results between pages. The default implementation does nothing.
+     *
+     * @param queryRestrictions The restrictions from the request
+     * @return The restrictions to use for each page
+     */
+    protected QueryRestrictions<S> fixResultSet(final QueryRestrictions<S> queryRestrictions) throws E {
+        return queryRestrictions;
+    }
+
+    @SuppressWarnings("MethodWithTooManyParameters")
+    @RequestMapping(value = EXPORT_PATH, method = RequestMethod.GET)
+    public void export(
+            @RequestParam(DocumentsController.TEXT_PARAM) final String text,
+            @RequestParam(value = DocumentsController.SUMMARY_PARAM, defaultValue = "context") final String summary,
+            @RequestParam(DocumentsController.INDEXES_PARAM) final List<S> databases,
+            @RequestParam(value = DocumentsController.FIELD_TEXT_PARAM, defaultValue = "") final String fieldText,
+            @RequestParam(value = DocumentsController.SORT_PARAM, required = false) final String sort,
+            @RequestParam(value = DocumentsController.MIN_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime minDate,
+            @RequestParam(value = DocumentsController.MAX_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime maxDate,
+            @RequestParam(value = DocumentsController.HIGHLIGHT_PARAM, defaultValue = "false") final boolean highlight,
+            @RequestParam(value = DocumentsController.MIN_SCORE_PARAM, defaultValue = "0") final int minScore,
+            @RequestParam(value = FORMAT_PARAM, defaultValue = "ndjson") final String format,
+            @RequestParam(value = PAGE_SIZE_PARAM, defaultValue = "100") final int pageSize,
+            final HttpServletResponse response
+    ) throws E, IOException {
+        final ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ENGLISH));
+
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        final QueryRestrictions<S> queryRestrictions = fixResultSet(DocumentsController.parseQueryRestrictions(queryRestrictionsBuilderFactory, text, databases, fieldText, minDate, maxDate, minScore));
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"export." + exportFormat.getExtension() + '"');
+
+        final OutputStream outputStream = response.getOutputStream();
+        int start = 1;
+        int exported = 0;
+
+        try {
+            exportFormat.writeHeader(outputStream);
+
+            List<R> page;
+
+            do {
+                final SearchRequest<S> searchRequest = DocumentsController.buildSearchRequest(queryRestrictions, start, Math.min(start + pageSize - 1, maxResults), summary, sort, highlight, false);
+
+                final Documents<R> documents = documentsService.queryTextIndexWithoutCache(searchRequest);
+                page = documents.getDocuments();
+
+                for (final R document : page) {
+                    exportFormat.writeDocument(outputStream, objectMapper, document);
+                }
+
+                // flushing each page means a disconnected client is noticed before the next page is fetched
+                outputStream.flush();
+                exported += page.size();
+                start += pageSize;
+            } while (page.size() == pageSize && start <= maxResults);
+        } catch (final IOException e) {
+            log.debug("Export cancelled by client after {} documents", exported, e);
+        }
+    }
+}
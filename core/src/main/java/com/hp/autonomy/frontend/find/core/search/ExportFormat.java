@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formats in which search results can be exported. Documents are written one at a time, so that an export never
+ * holds more than a page of results in memory.
+ */
+public enum ExportFormat {
+    /**
+     * One JSON document per line
+     */
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        void writeHeader(final OutputStream outputStream) {
+        }
+
+        @Override
+        void writeDocument(final OutputStream outputStream, final ObjectMapper objectMapper, final Object document) throws IOException {
+            outputStream.write(objectMapper.writeValueAsBytes(document));
+            outputStream.write('\n');
+        }
+    },
+
+    /**
+     * One row per document with the columns in {@link #CSV_COLUMNS}
+     */
+    CSV("text/csv", "csv") {
+        @Override
+        void writeHeader(final OutputStream outputStream) throws IOException {
+            writeRow(outputStream, CSV_COLUMNS.iterator());
+        }
+
+        @Override
+        void writeDocument(final OutputStream outputStream, final ObjectMapper objectMapper, final Object document) throws IOException {
+            @SuppressWarnings("unchecked")
+            final Map<String, Object> properties = objectMapper.convertValue(document, Map.class);
+
+            final Iterator<String> columns = CSV_COLUMNS.iterator();
+
+            writeRow(outputStream, new Iterator<String>() {
+                @Override
+                public boolean hasNext() {
+                    return columns.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    final Object value = properties.get(columns.next());
+                    return value == null ? "" : value.toString();
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            });
+        }
+
+        private void writeRow(final OutputStream outputStream, final Iterator<String> values) throws IOException {
+            final StringBuilder row = new StringBuilder();
+
+            while (values.hasNext()) {
+                row.append(escape(values.next()));
+
+                if (values.hasNext()) {
+                    row.append(',');
+                }
+            }
+
+            row.append("\r\n");
+            outputStream.write(row.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private String escape(final String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    };
+
+    static final List<String> CSV_COLUMNS = Arrays.asList("reference", "index", "title", "summary", "date", "weight");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(final String contentType, final String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    abstract void writeHeader(final OutputStream outputStream) throws IOException;
+
+    abstract void writeDocument(final OutputStream outputStream, final ObjectMapper objectMapper, final Object document) throws IOException;
+}
@@ -5,6 +5,7 @@
 
 package com.hp.autonomy.frontend.find.core.search;
 
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
 import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
 import com.hp.autonomy.searchcomponents.core.search.RelatedConceptsRequest;
 import com.hp.autonomy.searchcomponents.core.search.RelatedConceptsService;
@@ -18,9 +19,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @Controller
 @SuppressWarnings("SpringJavaAutowiringInspection")
@@ -37,24 +40,27 @@ public abstract class RelatedConceptsController<Q extends QuerySummaryElement, R
     public static final String STATE_TOKEN_PARAM = "stateTokens";
     private static final String MAX_RESULTS = "maxResults";
 
-    private static final int QUERY_SUMMARY_LENGTH = 50;
+    static final int QUERY_SUMMARY_LENGTH = 50;
 
     private final RelatedConceptsService<Q, S, E> relatedConceptsService;
     private final QueryRestrictionsBuilderFactory<R, S> queryRestrictionsBuilderFactory;
     private final ObjectFactory<RelatedConceptsRequest.Builder<L, S>> relatedConceptsRequestBuilderFactory;
+    private final DeadlineExecutor deadlineExecutor;
 
     protected RelatedConceptsController(final RelatedConceptsService<Q, S, E> relatedConceptsService,
                                         final QueryRestrictionsBuilderFactory<R, S> queryRestrictionsBuilderFactory,
-                                        final ObjectFactory<RelatedConceptsRequest.Builder<L, S>> relatedConceptsRequestBuilderFactory) {
+                                        final ObjectFactory<RelatedConceptsRequest.Builder<L, S>> relatedConceptsRequestBuilderFactory,
+                                        final DeadlineExecutor deadlineExecutor) {
         this.relatedConceptsService = relatedConceptsService;
         this.queryRestrictionsBuilderFactory = queryRestrictionsBuilderFactory;
         this.relatedConceptsRequestBuilderFactory = relatedConceptsRequestBuilderFactory;
+        this.deadlineExecutor = deadlineExecutor;
     }
 
     @SuppressWarnings("MethodWithTooManyParameters")
     @RequestMapping(method = RequestMethod.GET)
     @ResponseBody
-    public List<Q> findRelatedConcepts(
+    public DeferredResult<List<Q>> findRelatedConcepts(
             @RequestParam(QUERY_TEXT_PARAM) final String queryText,
             @RequestParam(value = FIELD_TEXT_PARAM, defaultValue = "") final String fieldText,
             @RequestParam(DATABASES_PARAM) final List<S> databases,
@@ -63,7 +69,7 @@ public abstract class RelatedConceptsController<Q extends QuerySummaryElement, R
             @RequestParam(value = MIN_SCORE_PARAM, defaultValue = "0") final Integer minScore,
             @RequestParam(value = STATE_TOKEN_PARAM, required = false) final List<String> stateTokens,
             @RequestParam(value = MAX_RESULTS, required = false) final Integer maxResults
-    ) throws E {
+    ) {
         final QueryRestrictions<S> queryRestrictions = queryRestrictionsBuilderFactory.createBuilder()
                 .setQueryText(queryText)
                 .setFieldText(fieldText)
@@ -79,7 +85,13 @@ public abstract class RelatedConceptsController<Q extends QuerySummaryElement, R
                 .setQuerySummaryLength(QUERY_SUMMARY_LENGTH)
                 .setQueryRestrictions(queryRestrictions)
                 .build();
-        return relatedConceptsService.findRelatedConcepts(relatedConceptsRequest);
+
+        return deadlineExecutor.execute("search.relatedConcepts", new Callable<List<Q>>() {
+            @Override
+            public List<Q> call() throws E {
+                return relatedConceptsService.findRelatedConcepts(relatedConceptsRequest);
+            }
+        });
     }
 }
 
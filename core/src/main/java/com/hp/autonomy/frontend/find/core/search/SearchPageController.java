@@ -0,0 +1,206 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.search;
+
+import com.hp.autonomy.frontend.find.core.parametricfields.ParametricValuesController;
+import com.hp.autonomy.frontend.find.core.web.Deadline;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
+import com.hp.autonomy.searchcomponents.core.search.DocumentsService;
+import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
+import com.hp.autonomy.searchcomponents.core.search.RelatedConceptsRequest;
+import com.hp.autonomy.searchcomponents.core.search.RelatedConceptsService;
+import com.hp.autonomy.searchcomponents.core.search.SearchRequest;
+import com.hp.autonomy.searchcomponents.core.search.SearchResult;
+import com.hp.autonomy.types.requests.Documents;
+import com.hp.autonomy.types.requests.idol.actions.query.QuerySummaryElement;
+import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagInfo;
+import com.hp.autonomy.types.requests.idol.actions.tags.params.SortParam;
+import org.apache.commons.collections4.ListUtils;
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches results, promotions, related concepts and parametric values for a search in one request. The restrictions
+ * are parsed once and the backend calls are made concurrently on the backend executor, so the response takes roughly
+ * as long as the slowest of them. The request is handled asynchronously and the calls share its deadline; if any of
+ * them fails or is still running when the deadline passes, the others are cancelled.
+ */
+@Controller
+@RequestMapping(SearchPageController.SEARCH_PAGE_PATH)
+public abstract class SearchPageController<S extends Serializable, Q extends QueryRestrictions<S>, R extends SearchResult, C extends QuerySummaryElement, L extends RelatedConceptsRequest<S>, P extends ParametricRequest<S>, E extends Exception> {
+    public static final String SEARCH_PAGE_PATH = "/api/public/search/page";
+
+    static final String PROMOTIONS_PARAM = "promotions";
+    static final String MAX_CONCEPTS_PARAM = "max_concepts";
+    static final String FIELD_NAMES_PARAM = "field_names";
+
+    private final DocumentsService<S, R, E> documentsService;
+    private final RelatedConceptsService<C, S, E> relatedConceptsService;
+    private final ParametricValuesService<P, S, E> parametricValuesService;
+    private final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory;
+    private final ObjectFactory<RelatedConceptsRequest.Builder<L, S>> relatedConceptsRequestBuilderFactory;
+    private final ObjectFactory<ParametricRequest.Builder<P, S>> parametricRequestBuilderFactory;
+    private final DeadlineExecutor deadlineExecutor;
+
+    @SuppressWarnings("ConstructorWithTooManyParameters")
+    protected SearchPageController(final DocumentsService<S, R, E> documentsService,
+                                   final RelatedConceptsService<C, S, E> relatedConceptsService,
+                                   final ParametricValuesService<P, S, E> parametricValuesService,
+                                   final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory,
+                                   final ObjectFactory<RelatedConceptsRequest.Builder<L, S>> relatedConceptsRequestBuilderFactory,
+                                   final ObjectFactory<ParametricRequest.Builder<P, S>> parametricRequestBuilderFactory,
+                                   final DeadlineExecutor deadlineExecutor) {
+        this.documentsService = documentsService;
+        this.relatedConceptsService = relatedConceptsService;
+        this.parametricValuesService = parametricValuesService;
+        this.queryRestrictionsBuilderFactory = queryRestrictionsBuilderFactory;
+        this.relatedConceptsRequestBuilderFactory = relatedConceptsRequestBuilderFactory;
+        this.parametricRequestBuilderFactory = parametricRequestBuilderFactory;
+        this.deadlineExecutor = deadlineExecutor;
+    }
+
+    @SuppressWarnings("MethodWithTooManyParameters")
+    @RequestMapping(method = RequestMethod.GET)
+    @ResponseBody
+    public DeferredResult<SearchPageResults<R, C>> getSearchPage(
+            @RequestParam(DocumentsController.TEXT_PARAM) final String text,
+            @RequestParam(value = DocumentsController.RESULTS_START_PARAM, defaultValue = "1") final int resultsStart,
+            @RequestParam(DocumentsController.MAX_RESULTS_PARAM) final int maxResults,
+            @RequestParam(DocumentsController.SUMMARY_PARAM) final String summary,
+            @RequestParam(DocumentsController.INDEXES_PARAM) final List<S> databases,
+            @RequestParam(value = DocumentsController.FIELD_TEXT_PARAM, defaultValue = "") final String fieldText,
+            @RequestParam(value = DocumentsController.SORT_PARAM, required = false) final String sort,
+            @RequestParam(value = DocumentsController.MIN_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime minDate,
+            @RequestParam(value = DocumentsController.MAX_DATE_PARAM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final DateTime maxDate,
+            @RequestParam(value = DocumentsController.HIGHLIGHT_PARAM, defaultValue = "true") final boolean highlight,
+            @RequestParam(value = DocumentsController.MIN_SCORE_PARAM, defaultValue = "0") final int minScore,
+            @RequestParam(value = DocumentsController.AUTO_CORRECT_PARAM, defaultValue = "true") final boolean autoCorrect,
+            @RequestParam(value = PROMOTIONS_PARAM, defaultValue = "true") final boolean promotions,
+            @RequestParam(value = MAX_CONCEPTS_PARAM, required = false) final Integer maxConcepts,
+            @RequestParam(value = FIELD_NAMES_PARAM, required = false) final List<String> fieldNames
+    ) {
+        final QueryRestrictions<S> queryRestrictions = DocumentsController.parseQueryRestrictions(queryRestrictionsBuilderFactory, text, databases, fieldText, minDate, maxDate, minScore);
+
+        // the documents service may modify a search request, so each call gets its own
+        final SearchRequest<S> documentsRequest = DocumentsController.buildSearchRequest(queryRestrictions, resultsStart, maxResults, summary, sort, highlight, autoCorrect);
+        final SearchRequest<S> promotionsRequest = DocumentsController.buildSearchRequest(queryRestrictions, resultsStart, maxResults, summary, sort, highlight, autoCorrect);
+
+        final RelatedConceptsRequest<S> relatedConceptsRequest = relatedConceptsRequestBuilderFactory.getObject()
+                .setMaxResults(maxConcepts)
+                .setQuerySummaryLength(RelatedConceptsController.QUERY_SUMMARY_LENGTH)
+                .setQueryRestrictions(queryRestrictions)
+                .build();
+
+        final P parametricRequest = parametricRequestBuilderFactory.getObject()
+                .setFieldNames(ListUtils.emptyIfNull(fieldNames))
+                .setQueryRestrictions(queryRestrictions)
+                .setMaxValues(ParametricValuesController.MAX_VALUES_DEFAULT)
+                .setSort(SortParam.DocumentCount)
+                .build();
+
+        final Deadline deadline = deadlineExecutor.startDeadline("search.page");
+
+        final ListenableFuture<Documents<R>> documentsFuture = deadlineExecutor.submit(new Callable<Documents<R>>() {
+            @Override
+            public Documents<R> call() throws E {
+                return documentsService.queryTextIndex(documentsRequest);
+            }
+        });
+
+        final ListenableFuture<Documents<R>> promotionsFuture = promotions ? deadlineExecutor.submit(new Callable<Documents<R>>() {
+            @Override
+            public Documents<R> call() throws E {
+                return documentsService.queryTextIndexForPromotions(promotionsRequest);
+            }
+        }) : null;
+
+        final ListenableFuture<List<C>> relatedConceptsFuture = deadlineExecutor.submit(new Callable<List<C>>() {
+            @Override
+            public List<C> call() throws E {
+                return relatedConceptsService.findRelatedConcepts(relatedConceptsRequest);
+            }
+        });
+
+        final ListenableFuture<Set<QueryTagInfo>> parametricValuesFuture = fieldNames == null || fieldNames.isEmpty() ? null : deadlineExecutor.submit(new Callable<Set<QueryTagInfo>>() {
+            @Override
+            public Set<QueryTagInfo> call() throws E {
+                return parametricValuesService.getAllParametricValues(parametricRequest);
+            }
+        });
+
+        final DeferredResult<SearchPageResults<R, C>> result = deadlineExecutor.newDeferredResult(deadline, documentsFuture, promotionsFuture, relatedConceptsFuture, parametricValuesFuture);
+
+        final List<ListenableFuture<?>> futures = new ArrayList<>();
+
+        for (final ListenableFuture<?> future : Arrays.asList(documentsFuture, promotionsFuture, relatedConceptsFuture, parametricValuesFuture)) {
+            if (future != null) {
+                futures.add(future);
+            }
+        }
+
+        final AtomicInteger remaining = new AtomicInteger(futures.size());
+
+        final ListenableFutureCallback<Object> callback = new ListenableFutureCallback<Object>() {
+            @Override
+            public void onSuccess(final Object value) {
+                if (remaining.decrementAndGet() == 0) {
+                    result.setResult(new SearchPageResults<>(
+                            getResult(documentsFuture),
+                            getResult(promotionsFuture),
+                            getResult(relatedConceptsFuture),
+                            getResult(parametricValuesFuture)
+                    ));
+                }
+            }
+
+            // if one call fails there is no point finishing the others; they are cancelled when the request completes
+            @Override
+            public void onFailure(final Throwable e) {
+                result.setErrorResult(e);
+            }
+        };
+
+        for (final ListenableFuture<?> future : futures) {
+            future.addCallback(callback);
+        }
+
+        return result;
+    }
+
+    // only called once all of the calls have succeeded
+    private <T> T getResult(final Future<T> future) {
+        if (future == null) {
+            return null;
+        }
+
+        try {
+            return future.get();
+        } catch (final InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("Search page call had not completed", e);
+        }
+    }
+}
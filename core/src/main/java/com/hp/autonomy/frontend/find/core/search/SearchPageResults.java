@@ -0,0 +1,26 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.search;
+
+import com.hp.autonomy.searchcomponents.core.search.SearchResult;
+import com.hp.autonomy.types.requests.Documents;
+import com.hp.autonomy.types.requests.idol.actions.query.QuerySummaryElement;
+import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagInfo;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Everything needed to render a page of search results, fetched with a single request.
+ */
+@Data
+public class SearchPageResults<R extends SearchResult, C extends QuerySummaryElement> {
+    private final Documents<R> documents;
+    private final Documents<R> promotions;
+    private final List<C> relatedConcepts;
+    private final Set<QueryTagInfo> parametricValues;
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.search;
+
+import com.hp.autonomy.searchcomponents.core.search.DocumentsService;
+import com.hp.autonomy.searchcomponents.core.search.SearchRequest;
+import com.hp.autonomy.searchcomponents.core.search.SearchResult;
+import com.hp.autonomy.types.requests.Documents;
+
+import java.io.Serializable;
+
+/**
+ * Documents service which can also query without the documents cache, for requests whose results will not be asked
+ * for again, such as the pages of an export.
+ */
+public interface UncachedDocumentsService<S extends Serializable, R extends SearchResult, E extends Exception> extends DocumentsService<S, R, E> {
+
+    /**
+     * Queries the backend without reading or writing the documents cache.
+     */
+    Documents<R> queryTextIndexWithoutCache(SearchRequest<S> searchRequest) throws E;
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.typeahead;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
+import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
+import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagCountInfo;
+import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagInfo;
+import com.hp.autonomy.types.requests.idol.actions.tags.params.SortParam;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggests the current user's own recent query texts and the parametric values of the fields in
+ * find.typeahead.local.fields, from in-memory {@link PrefixIndex}es, so that most suggestions can be made without a
+ * backend call.
+ * <p>
+ * The parametric values are indexed separately for each user, since they are fetched from the user's databases with
+ * the user's security. A user's index is built on the backend executor, with their security context, the first time
+ * they ask for suggestions; until it is ready only their query texts are suggested. An index older than
+ * find.typeahead.local.rebuildInterval milliseconds is rebuilt in the same way when it is next used, and indexes which
+ * have not been used for find.typeahead.local.idleExpiry milliseconds are dropped.
+ * <p>
+ * The engine is only used if find.typeahead.local.enabled is true.
+ */
+@Slf4j
+public abstract class LocalTypeAheadEngine<Q extends QueryRestrictions<S>, R extends ParametricRequest<S>, S extends Serializable, E extends Exception> {
+    private final ParametricValuesService<R, S, E> parametricValuesService;
+    private final ObjectFactory<ParametricRequest.Builder<R, S>> parametricRequestBuilderFactory;
+    private final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory;
+    private final AsyncTaskExecutor backendExecutor;
+    private final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever;
+    private final RecentQueryTexts recentQueryTexts;
+    private final boolean enabled;
+    private final List<String> fieldNames;
+    private final int maxValuesPerField;
+    private final int maxSuggestions;
+    private final long rebuildInterval;
+    private final Cache<Object, Entry> entries;
+
+    @SuppressWarnings("ConstructorWithTooManyParameters")
+    protected LocalTypeAheadEngine(
+            final ParametricValuesService<R, S, E> parametricValuesService,
+            final ObjectFactory<ParametricRequest.Builder<R, S>> parametricRequestBuilderFactory,
+            final QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory,
+            final AsyncTaskExecutor backendExecutor,
+            final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever,
+            final RecentQueryTexts recentQueryTexts,
+            final boolean enabled,
+            final String[] fieldNames,
+            final int maxValuesPerField,
+            final int maxSuggestions,
+            final long rebuildInterval,
+            final long idleExpiry,
+            final int maxUsers
+    ) {
+        this.parametricValuesService = parametricValuesService;
+        this.parametricRequestBuilderFactory = parametricRequestBuilderFactory;
+        this.queryRestrictionsBuilderFactory = queryRestrictionsBuilderFactory;
+        this.backendExecutor = backendExecutor;
+        this.authenticationInformationRetriever = authenticationInformationRetriever;
+        this.recentQueryTexts = recentQueryTexts;
+        this.enabled = enabled;
+        this.fieldNames = Arrays.asList(fieldNames);
+        this.maxValuesPerField = maxValuesPerField;
+        this.maxSuggestions = maxSuggestions;
+        this.rebuildInterval = rebuildInterval;
+
+        entries = CacheBuilder.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleExpiry, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * @return The databases whose parametric values the current user may be suggested
+     */
+    protected abstract List<S> getDatabases() throws E;
+
+    /**
+     * @return The current user's query texts for the text with the most searches, followed by the parametric values
+     * with the most documents, or an empty list if there are none or the engine is disabled
+     */
+    public List<String> getSuggestions(final String text) {
+        if (!enabled) {
+            return Collections.emptyList();
+        }
+
+        final Set<String> suggestions = new LinkedHashSet<>(recentQueryTexts.getIndex().getSuggestions(text, maxSuggestions));
+
+        if (!fieldNames.isEmpty()) {
+            for (final String suggestion : getParametricIndex().getSuggestions(text, maxSuggestions)) {
+                if (suggestions.size() >= maxSuggestions) {
+                    break;
+                }
+
+                suggestions.add(suggestion);
+            }
+        }
+
+        return new ArrayList<>(suggestions);
+    }
+
+    private PrefixIndex getParametricIndex() {
+        final Entry entry;
+
+        try {
+            entry = entries.get(authenticationInformationRetriever.getPrincipal(), new Callable<Entry>() {
+                @Override
+                public Entry call() {
+                    return new Entry();
+                }
+            });
+        } catch (final ExecutionException e) {
+            // creating an entry does not throw
+            throw new IllegalStateException(e);
+        }
+
+        if (System.currentTimeMillis() - entry.builtAt > rebuildInterval) {
+            try {
+                entry.startBuilding();
+            } catch (final RejectedExecutionException e) {
+                // the backend is busy; a later request will build the index
+                log.debug("Could not start building typeahead index", e);
+            }
+        }
+
+        return entry.index;
+    }
+
+    private PrefixIndex buildParametricIndex() throws E {
+        final Q queryRestrictions = queryRestrictionsBuilderFactory.createBuilder()
+                .setQueryText("*")
+                .setDatabases(getDatabases())
+                .setAnyLanguage(true)
+                .build();
+
+        final R request = parametricRequestBuilderFactory.getObject()
+                .setFieldNames(fieldNames)
+                .setQueryRestrictions(queryRestrictions)
+                .setMaxValues(maxValuesPerField)
+                .setSort(SortParam.DocumentCount)
+                .build();
+
+        final Map<String, Integer> weightsBySuggestion = new HashMap<>();
+
+        for (final QueryTagInfo queryTagInfo : parametricValuesService.getAllParametricValues(request)) {
+            for (final QueryTagCountInfo value : queryTagInfo.getValues()) {
+                final Integer existingWeight = weightsBySuggestion.get(value.getValue());
+                weightsBySuggestion.put(value.getValue(), existingWeight == null ? value.getCount() : existingWeight + value.getCount());
+            }
+        }
+
+        return PrefixIndex.build(weightsBySuggestion);
+    }
+
+    private class Entry {
+        private volatile PrefixIndex index = PrefixIndex.EMPTY;
+        private volatile long builtAt = Long.MIN_VALUE / 2;
+        private Future<?> building;
+
+        /**
+         * Starts building the index with the current security context, unless a build is already running. The
+         * previous index is kept if the build fails.
+         */
+        private synchronized void startBuilding() {
+            if (building == null || building.isDone()) {
+                building = backendExecutor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws E {
+                        try {
+                            index = buildParametricIndex();
+                            log.debug("Built typeahead index with {} suggestions", index.size());
+                        } catch (final Exception e) {
+                            log.warn("Error fetching parametric values for typeahead", e);
+                        } finally {
+                            // wait for the rebuild interval before trying again, even after a failure
+                            builtAt = System.currentTimeMillis();
+                        }
+
+                        return null;
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.typeahead;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable index of weighted suggestions, held as parallel arrays sorted by the lower case form of each suggestion.
+ * The suggestions for a prefix are a contiguous range of the arrays, which is found by binary search.
+ */
+class PrefixIndex {
+    static final PrefixIndex EMPTY = build(Collections.<String, Integer>emptyMap());
+
+    private final String[] keys;
+    private final String[] suggestions;
+    private final int[] weights;
+
+    private PrefixIndex(final String[] keys, final String[] suggestions, final int[] weights) {
+        this.keys = keys;
+        this.suggestions = suggestions;
+        this.weights = weights;
+    }
+
+    /**
+     * @param weightsBySuggestion The weight of each suggestion; suggestions which differ only in case are merged
+     */
+    static PrefixIndex build(final Map<String, Integer> weightsBySuggestion) {
+        final Map<String, Entry> entriesByKey = new HashMap<>();
+
+        for (final Map.Entry<String, Integer> suggestion : weightsBySuggestion.entrySet()) {
+            final String key = normalise(suggestion.getKey());
+            final Entry entry = entriesByKey.get(key);
+
+            if (entry == null) {
+                entriesByKey.put(key, new Entry(key, suggestion.getKey(), suggestion.getValue()));
+            } else {
+                entry.weight += suggestion.getValue();
+            }
+        }
+
+        final Entry[] entries = entriesByKey.values().toArray(new Entry[entriesByKey.size()]);
+        Arrays.sort(entries);
+
+        final String[] keys = new String[entries.length];
+        final String[] suggestions = new String[entries.length];
+        final int[] weights = new int[entries.length];
+
+        for (int i = 0; i < entries.length; i++) {
+            keys[i] = entries[i].key;
+            suggestions[i] = entries[i].suggestion;
+            weights[i] = entries[i].weight;
+        }
+
+        return new PrefixIndex(keys, suggestions, weights);
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    /**
+     * @return At most maxSuggestions suggestions starting with the prefix, ignoring case, with the highest weights first
+     */
+    List<String> getSuggestions(final String prefix, final int maxSuggestions) {
+        // trailing spaces are kept, so that "new " does not match "newt"
+        final String key = StringUtils.stripStart(prefix, null).toLowerCase(Locale.ROOT);
+
+        if (StringUtils.isBlank(key) || maxSuggestions <= 0) {
+            return Collections.emptyList();
+        }
+
+        final int start = lowerBound(key);
+        int end = start;
+
+        while (end < keys.length && keys[end].startsWith(key)) {
+            end++;
+        }
+
+        // keep the best suggestions seen so far, with the worst at the head
+        final PriorityQueue<Integer> best = new PriorityQueue<>(maxSuggestions + 1, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer first, final Integer second) {
+                return Integer.compare(weights[first], weights[second]);
+            }
+        });
+
+        for (int i = start; i < end; i++) {
+            best.add(i);
+
+            if (best.size() > maxSuggestions) {
+                best.poll();
+            }
+        }
+
+        final List<String> output = new ArrayList<>(best.size());
+
+        while (!best.isEmpty()) {
+            output.add(suggestions[best.poll()]);
+        }
+
+        Collections.reverse(output);
+        return output;
+    }
+
+    private int lowerBound(final String key) {
+        int low = 0;
+        int high = keys.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    private static String normalise(final String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Entry implements Comparable<Entry> {
+        private final String key;
+        private final String suggestion;
+        private int weight;
+
+        private Entry(final String key, final String suggestion, final int weight) {
+            this.key = key;
+            this.suggestion = suggestion;
+            this.weight = weight;
+        }
+
+        @Override
+        public int compareTo(final Entry other) {
+            return key.compareTo(other.key);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.typeahead;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the query texts of each user's recent searches which returned results, for use as that user's typeahead
+ * suggestions. A user's texts are never suggested to anyone else. At most find.typeahead.local.maxQueryTexts texts are
+ * held per user, dropping the least recently searched first, for at most find.typeahead.local.maxUsers users.
+ * <p>
+ * Each user's texts are indexed for suggestions when they are first needed after the user's texts change, and the
+ * index is kept until they change again.
+ */
+@Component
+public class RecentQueryTexts {
+    private static final Callable<AtomicInteger> NEW_COUNT = new Callable<AtomicInteger>() {
+        @Override
+        public AtomicInteger call() {
+            return new AtomicInteger();
+        }
+    };
+
+    private final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever;
+    private final boolean enabled;
+    private final int maxQueryTexts;
+    private final Cache<Object, QueryTexts> queryTextsByPrincipal;
+
+    @Autowired
+    public RecentQueryTexts(
+            final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever,
+            @Value("${find.typeahead.local.enabled:false}") final boolean enabled,
+            @Value("${find.typeahead.local.maxQueryTexts:100}") final int maxQueryTexts,
+            @Value("${find.typeahead.local.maxUsers:1000}") final int maxUsers
+    ) {
+        this.authenticationInformationRetriever = authenticationInformationRetriever;
+        this.enabled = enabled;
+        this.maxQueryTexts = maxQueryTexts;
+        queryTextsByPrincipal = CacheBuilder.newBuilder().maximumSize(maxUsers).build();
+    }
+
+    /**
+     * @param queryText The text of a search by the current user which returned results
+     */
+    public void record(final String queryText) {
+        if (enabled && StringUtils.isNotBlank(queryText) && !"*".equals(queryText.trim())) {
+            try {
+                final QueryTexts queryTexts = queryTextsByPrincipal.get(authenticationInformationRetriever.getPrincipal(), new Callable<QueryTexts>() {
+                    @Override
+                    public QueryTexts call() {
+                        return new QueryTexts(CacheBuilder.newBuilder().maximumSize(maxQueryTexts).<String, AtomicInteger>build());
+                    }
+                });
+
+                queryTexts.counts.get(queryText.trim(), NEW_COUNT).incrementAndGet();
+                queryTexts.changed = true;
+            } catch (final ExecutionException e) {
+                // creating a counter does not throw
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * @return The current user's recorded texts, weighted by the number of times they searched for each of them
+     */
+    PrefixIndex getIndex() {
+        final QueryTexts queryTexts = queryTextsByPrincipal.getIfPresent(authenticationInformationRetriever.getPrincipal());
+        return queryTexts == null ? PrefixIndex.EMPTY : queryTexts.getIndex();
+    }
+
+    private static class QueryTexts {
+        private final Cache<String, AtomicInteger> counts;
+        private volatile PrefixIndex index = PrefixIndex.EMPTY;
+        private volatile boolean changed;
+
+        private QueryTexts(final Cache<String, AtomicInteger> counts) {
+            this.counts = counts;
+        }
+
+        private PrefixIndex getIndex() {
+            if (changed) {
+                synchronized (this) {
+                    // texts recorded while the index is built mark it as changed again
+                    if (changed) {
+                        changed = false;
+                        final Map<String, Integer> weightsBySuggestion = new HashMap<>();
+
+                        for (final Map.Entry<String, AtomicInteger> entry : counts.asMap().entrySet()) {
+                            weightsBySuggestion.put(entry.getKey(), entry.getValue().get());
+                        }
+
+                        index = PrefixIndex.build(weightsBySuggestion);
+                    }
+                }
+            }
+
+            return index;
+        }
+    }
+}
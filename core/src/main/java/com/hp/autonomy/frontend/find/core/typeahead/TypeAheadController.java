@@ -5,7 +5,6 @@
 
 package com.hp.autonomy.frontend.find.core.typeahead;
 
-import com.hp.autonomy.searchcomponents.core.typeahead.TypeAheadService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -18,16 +17,23 @@ public class TypeAheadController<E extends Exception> {
     public static final String URL = "/api/public/typeahead";
     static final String TEXT_PARAMETER = "text";
 
-    private final TypeAheadService<E> typeAheadService;
+    private final TypeAheadPrefixCache<E> typeAheadPrefixCache;
+    private final LocalTypeAheadEngine<?, ?, ?, ?> localTypeAheadEngine;
 
     @SuppressWarnings("SpringJavaAutowiringInspection")
     @Autowired
-    public TypeAheadController(final TypeAheadService<E> typeAheadService) {
-        this.typeAheadService = typeAheadService;
+    public TypeAheadController(final TypeAheadPrefixCache<E> typeAheadPrefixCache, final LocalTypeAheadEngine<?, ?, ?, ?> localTypeAheadEngine) {
+        this.typeAheadPrefixCache = typeAheadPrefixCache;
+        this.localTypeAheadEngine = localTypeAheadEngine;
     }
 
+    /**
+     * Suggestions come from the local engine, or from the typeahead service (through the prefix cache) if the local
+     * engine has none
+     */
     @RequestMapping(URL)
     public List<String> getSuggestions(@RequestParam(TEXT_PARAMETER) final String text) throws E {
-        return typeAheadService.getSuggestions(text);
+        final List<String> localSuggestions = localTypeAheadEngine.getSuggestions(text);
+        return localSuggestions.isEmpty() ? typeAheadPrefixCache.getSuggestions(text) : localSuggestions;
     }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.typeahead;
+
+import com.hp.autonomy.frontend.find.core.caching.PrincipalCacheKeyGenerator;
+import com.hp.autonomy.frontend.find.core.web.FindCacheNames;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import com.hp.autonomy.searchcomponents.core.typeahead.TypeAheadService;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caches the suggestions from the {@link TypeAheadService} so that the suggestions for a text can be derived from
+ * those for a shorter prefix of it. When the user types "pol", "poli" and "polic", only "pol" needs a backend call as
+ * long as its suggestions are known to be complete.
+ * <p>
+ * A result is complete if it has fewer suggestions than the most the service has returned for any text (so the backend
+ * did not truncate it) and every suggestion starts with the text it was fetched for (so the backend matches by prefix).
+ * The suggestions for a longer text are then exactly those of the complete result which start with the longer text.
+ * Until the service has returned a result of the largest size it can, fewer results are known to be complete, but none
+ * is wrongly taken to be.
+ * <p>
+ * Results are held in the {@link FindCacheNames#TYPE_AHEAD_PREFIXES} cache, keyed by the principal and the text.
+ * Lookups answered without the service increment the counter find.typeahead.backendCallsAvoided; the others increment
+ * find.typeahead.backendCalls.
+ */
+@Component
+public class TypeAheadPrefixCache<E extends Exception> {
+    static final String BACKEND_CALLS_METRIC = "find.typeahead.backendCalls";
+    static final String BACKEND_CALLS_AVOIDED_METRIC = "find.typeahead.backendCallsAvoided";
+
+    private final TypeAheadService<E> typeAheadService;
+    private final CounterService counterService;
+    private final CacheManager cacheManager;
+    private final KeyGenerator keyGenerator;
+    private final AtomicInteger maxResultSize = new AtomicInteger();
+
+    @SuppressWarnings("SpringJavaAutowiringInspection")
+    @Autowired
+    public TypeAheadPrefixCache(
+            final TypeAheadService<E> typeAheadService,
+            final CounterService counterService,
+            final CacheManager cacheManager,
+            final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever
+    ) {
+        this.typeAheadService = typeAheadService;
+        this.counterService = counterService;
+        this.cacheManager = cacheManager;
+        keyGenerator = new PrincipalCacheKeyGenerator(authenticationInformationRetriever);
+    }
+
+    /**
+     * @return The cached suggestions for the text, the suggestions of a complete result for a shorter prefix which
+     * start with the text, or the suggestions from the typeahead service
+     */
+    public List<String> getSuggestions(final String text) throws E {
+        // the cache manager may resolve caches per request, so the cache is not held
+        final Cache results = cacheManager.getCache(FindCacheNames.TYPE_AHEAD_PREFIXES);
+        final Result cached = results.get(key(text), Result.class);
+
+        if (cached != null) {
+            counterService.increment(BACKEND_CALLS_AVOIDED_METRIC);
+            return cached.getSuggestions();
+        }
+
+        for (int length = text.length() - 1; length > 0; length--) {
+            final Result prefixResult = results.get(key(text.substring(0, length)), Result.class);
+
+            if (prefixResult != null && prefixResult.isComplete()) {
+                final List<String> suggestions = new ArrayList<>();
+
+                for (final String suggestion : prefixResult.getSuggestions()) {
+                    if (startsWithIgnoreCase(suggestion, text)) {
+                        suggestions.add(suggestion);
+                    }
+                }
+
+                // a subset of a complete result is complete
+                results.put(key(text), new Result(suggestions, true));
+                counterService.increment(BACKEND_CALLS_AVOIDED_METRIC);
+                return suggestions;
+            }
+        }
+
+        counterService.increment(BACKEND_CALLS_METRIC);
+        final List<String> suggestions = typeAheadService.getSuggestions(text);
+        results.put(key(text), new Result(new ArrayList<>(suggestions), isComplete(text, suggestions)));
+        return suggestions;
+    }
+
+    private boolean isComplete(final String text, final List<String> suggestions) {
+        // the backend returns at most its limit, so a result smaller than one it has already returned is not truncated
+        if (suggestions.size() >= updateMaxResultSize(suggestions.size())) {
+            return false;
+        }
+
+        for (final String suggestion : suggestions) {
+            if (!startsWithIgnoreCase(suggestion, text)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int updateMaxResultSize(final int resultSize) {
+        int current;
+
+        do {
+            current = maxResultSize.get();
+        } while (resultSize > current && !maxResultSize.compareAndSet(current, resultSize));
+
+        return Math.max(current, resultSize);
+    }
+
+    private Object key(final String text) {
+        return keyGenerator.generate(this, null, text);
+    }
+
+    private static boolean startsWithIgnoreCase(final String suggestion, final String prefix) {
+        return suggestion.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    @Data
+    private static class Result implements Serializable {
+        private static final long serialVersionUID = -6216473271465375427L;
+
+        private final List<String> suggestions;
+        private final boolean complete;
+    }
+}
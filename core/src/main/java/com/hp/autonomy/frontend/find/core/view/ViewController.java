@@ -5,6 +5,7 @@
 
 package com.hp.autonomy.frontend.find.core.view;
 
+import com.hp.autonomy.frontend.find.core.caching.DocumentContentCache;
 import com.hp.autonomy.searchcomponents.core.view.ViewContentSecurityPolicy;
 import com.hp.autonomy.searchcomponents.core.view.ViewServerService;
 import org.springframework.http.MediaType;
@@ -14,8 +15,13 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
 
 @Controller
 @RequestMapping(ViewController.VIEW_PATH)
@@ -28,11 +34,17 @@ public abstract class ViewController<S extends Serializable, E extends Exception
     public static final String HIGHLIGHT_PARAM = "highlightExpressions";
 
     private final ViewServerService<S, E> viewServerService;
+    private final DocumentContentCache documentContentCache;
 
-    protected ViewController(final ViewServerService<S, E> viewServerService) {
+    protected ViewController(final ViewServerService<S, E> viewServerService, final DocumentContentCache documentContentCache) {
         this.viewServerService = viewServerService;
+        this.documentContentCache = documentContentCache;
     }
 
+    /**
+     * Views a document. The rendered document is kept in the content cache, so viewing it again does not need another
+     * request to the view server.
+     */
     @RequestMapping(value = VIEW_DOCUMENT_PATH, method = RequestMethod.GET)
     public void viewDocument(
             @RequestParam(REFERENCE_PARAM) final String reference,
@@ -42,7 +54,23 @@ public abstract class ViewController<S extends Serializable, E extends Exception
     ) throws E, IOException {
         response.setContentType(MediaType.TEXT_HTML_VALUE);
         ViewContentSecurityPolicy.addContentSecurityPolicy(response);
-        viewServerService.viewDocument(reference, database, highlightExpression, response.getOutputStream());
+
+        final List<?> cacheKey = Arrays.asList(VIEW_DOCUMENT_PATH, database, reference, highlightExpression);
+        final byte[] cachedContent = documentContentCache.get(cacheKey);
+
+        if (cachedContent != null) {
+            response.getOutputStream().write(cachedContent);
+            return;
+        }
+
+        final CapturingOutputStream outputStream = new CapturingOutputStream(response.getOutputStream(), documentContentCache.getMaxEntryBytes());
+        viewServerService.viewDocument(reference, database, highlightExpression, outputStream);
+
+        final byte[] content = outputStream.getCapturedContent();
+
+        if (content != null) {
+            documentContentCache.put(cacheKey, content);
+        }
     }
 
     @RequestMapping(value = VIEW_STATIC_CONTENT_PROMOTION_PATH, method = RequestMethod.GET)
@@ -55,4 +83,47 @@ public abstract class ViewController<S extends Serializable, E extends Exception
 
         viewServerService.viewStaticContentPromotion(reference, response.getOutputStream());
     }
+
+    /**
+     * Writes through to the response while keeping a copy of the content, up to a limit
+     */
+    private static class CapturingOutputStream extends FilterOutputStream {
+        private final int limit;
+        private ByteArrayOutputStream capturedContent = new ByteArrayOutputStream();
+
+        private CapturingOutputStream(final OutputStream out, final int limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            capture(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        private void capture(final byte[] b, final int off, final int len) {
+            if (capturedContent != null) {
+                if (capturedContent.size() + len > limit) {
+                    // too large to cache
+                    capturedContent = null;
+                } else {
+                    capturedContent.write(b, off, len);
+                }
+            }
+        }
+
+        /**
+         * @return The content written, or null if it exceeded the limit
+         */
+        private byte[] getCapturedContent() {
+            return capturedContent == null ? null : capturedContent.toByteArray();
+        }
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.web;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Task executor which runs tasks with the authentication and logging context of the thread which submitted them, so
+ * that backend calls made on a worker thread authenticate as the user and are logged for them.
+ * <p>
+ * Tasks get a copy of the submitter's security context, holding the same authentication, so that changes made to the
+ * context by either thread are not seen by the other. The request attributes are not propagated: the request may have
+ * completed, and its attributes been recycled, before a task runs.
+ */
+public class ContextPropagatingTaskExecutor implements AsyncListenableTaskExecutor {
+    private final AsyncListenableTaskExecutor delegate;
+
+    public ContextPropagatingTaskExecutor(final AsyncListenableTaskExecutor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        delegate.execute(wrap(task));
+    }
+
+    @Override
+    public void execute(final Runnable task, final long startTimeout) {
+        delegate.execute(wrap(task), startTimeout);
+    }
+
+    @Override
+    public Future<?> submit(final Runnable task) {
+        return delegate.submit(wrap(task));
+    }
+
+    @Override
+    public <T> Future<T> submit(final Callable<T> task) {
+        return delegate.submit(wrap(task));
+    }
+
+    @Override
+    public ListenableFuture<?> submitListenable(final Runnable task) {
+        return delegate.submitListenable(wrap(task));
+    }
+
+    @Override
+    public <T> ListenableFuture<T> submitListenable(final Callable<T> task) {
+        return delegate.submitListenable(wrap(task));
+    }
+
+    private Runnable wrap(final Runnable task) {
+        final SubmittingContext context = new SubmittingContext();
+
+        return new Runnable() {
+            @Override
+            public void run() {
+                final SubmittingContext previous = context.apply();
+
+                try {
+                    task.run();
+                } finally {
+                    previous.apply();
+                }
+            }
+        };
+    }
+
+    private <T> Callable<T> wrap(final Callable<T> task) {
+        final SubmittingContext context = new SubmittingContext();
+
+        return new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                final SubmittingContext previous = context.apply();
+
+                try {
+                    return task.call();
+                } finally {
+                    previous.apply();
+                }
+            }
+        };
+    }
+
+    private static class SubmittingContext {
+        private final SecurityContext securityContext;
+        private final Map<String, String> loggingContext;
+
+        private SubmittingContext() {
+            this(copy(SecurityContextHolder.getContext()));
+        }
+
+        private SubmittingContext(final SecurityContext securityContext) {
+            this.securityContext = securityContext;
+            loggingContext = MDC.getCopyOfContextMap();
+        }
+
+        private static SecurityContext copy(final SecurityContext securityContext) {
+            final SecurityContext copy = SecurityContextHolder.createEmptyContext();
+            copy.setAuthentication(securityContext.getAuthentication());
+            return copy;
+        }
+
+        /**
+         * Applies this context to the current thread
+         *
+         * @return The context the thread had before
+         */
+        private SubmittingContext apply() {
+            // the worker's own context is restored as it was
+            final SubmittingContext previous = new SubmittingContext(SecurityContextHolder.getContext());
+
+            SecurityContextHolder.setContext(securityContext);
+
+            if (loggingContext == null) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(loggingContext);
+            }
+
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.web;
+
+/**
+ * The time by which an endpoint must have its backend results. Created by {@link DeadlineExecutor#startDeadline(String)}.
+ */
+public class Deadline {
+    private final String endpoint;
+    private final long expiryMillis;
+
+    Deadline(final String endpoint, final long expiryMillis) {
+        this.endpoint = endpoint;
+        this.expiryMillis = expiryMillis;
+    }
+
+    /**
+     * @return The name of the endpoint, used in metric names
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return The time left before the deadline, which is not positive once it has passed
+     */
+    public long getRemainingMillis() {
+        return expiryMillis - System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the backend does not respond before the deadline of a request
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class DeadlineExceededException extends RuntimeException {
+    private static final long serialVersionUID = -4377062916419624838L;
+
+    public DeadlineExceededException(final String endpoint) {
+        super("The backend did not respond in time for " + endpoint);
+    }
+}
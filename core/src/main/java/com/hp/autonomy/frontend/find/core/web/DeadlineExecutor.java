@@ -0,0 +1,202 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.web;
+
+import com.hp.autonomy.frontend.find.core.beanconfiguration.BackendExecutorConfiguration;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+import org.springframework.util.concurrent.SettableListenableFuture;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs backend calls for asynchronously handled requests on the backend executor, so that servlet threads are not
+ * held while IDOL or HoD is working, and gives up on them when the deadline of the request passes.
+ * <p>
+ * The deadline for an endpoint is find.deadlines.[endpoint] milliseconds, or find.deadlines.default if that is not
+ * set. Clients may ask for a shorter deadline by sending the number of milliseconds they are prepared to wait in the
+ * X-Find-Deadline header; longer deadlines are ignored.
+ * <p>
+ * When the deadline passes the request fails with a 504 and its calls are cancelled: if they have not started they
+ * never will, otherwise their threads are interrupted and their results discarded. Calls still running when a request
+ * completes for any other reason (a failed sibling call, or an error writing the response) are cancelled too.
+ * Timeouts are counted by find.deadline.[endpoint].timedOut and other cancellations by
+ * find.deadline.[endpoint].cancelled. The time calls spend queued for a backend thread is reported as
+ * find.backend.queueTime. Calls rejected by a full backend executor fail the request with a 503.
+ */
+@Component
+public class DeadlineExecutor {
+    public static final String DEADLINE_HEADER = "X-Find-Deadline";
+    static final String QUEUE_TIME_METRIC = "find.backend.queueTime";
+
+    private static final String DEADLINE_PROPERTY_PREFIX = "find.deadlines.";
+    private static final long DEFAULT_DEADLINE_MILLIS = 60000;
+
+    private final AsyncListenableTaskExecutor backendExecutor;
+    private final CounterService counterService;
+    private final GaugeService gaugeService;
+    private final Environment environment;
+
+    @Autowired
+    public DeadlineExecutor(
+            @Qualifier(BackendExecutorConfiguration.BACKEND_EXECUTOR) final AsyncListenableTaskExecutor backendExecutor,
+            final CounterService counterService,
+            final GaugeService gaugeService,
+            final Environment environment
+    ) {
+        this.backendExecutor = backendExecutor;
+        this.counterService = counterService;
+        this.gaugeService = gaugeService;
+        this.environment = environment;
+    }
+
+    /**
+     * Executes a single backend call on behalf of an endpoint.
+     *
+     * @param endpoint The name of the endpoint making the call
+     * @param call     The backend call
+     * @param <V>      The result type
+     * @return A result which is set when the call completes, or to a {@link DeadlineExceededException} if it does not
+     * complete in time
+     */
+    public <V> DeferredResult<V> execute(final String endpoint, final Callable<V> call) {
+        final Deadline deadline = startDeadline(endpoint);
+        final ListenableFuture<V> future = submit(call);
+        final DeferredResult<V> result = newDeferredResult(deadline, future);
+
+        future.addCallback(new ListenableFutureCallback<V>() {
+            @Override
+            public void onSuccess(final V value) {
+                result.setResult(value);
+            }
+
+            @Override
+            public void onFailure(final Throwable e) {
+                result.setErrorResult(e);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * @param endpoint The name of the endpoint
+     * @return The deadline for the current request to the endpoint
+     */
+    public Deadline startDeadline(final String endpoint) {
+        final long configuredMillis = environment.getProperty(
+                DEADLINE_PROPERTY_PREFIX + endpoint,
+                Long.class,
+                environment.getProperty(DEADLINE_PROPERTY_PREFIX + "default", Long.class, DEFAULT_DEADLINE_MILLIS)
+        );
+
+        final long requestedMillis = getRequestedMillis();
+        final long millis = requestedMillis > 0 ? Math.min(requestedMillis, configuredMillis) : configuredMillis;
+
+        return new Deadline(endpoint, System.currentTimeMillis() + millis);
+    }
+
+    /**
+     * Submits a backend call. The returned future should be passed to {@link #newDeferredResult(Deadline, Future[])}
+     * so that it is cancelled with the request. If the backend executor is full the future fails with a
+     * {@link RejectedExecutionException}.
+     */
+    public <V> ListenableFuture<V> submit(final Callable<V> call) {
+        final long submittedMillis = System.currentTimeMillis();
+
+        try {
+            return backendExecutor.submitListenable(new Callable<V>() {
+                @Override
+                public V call() throws Exception {
+                    gaugeService.submit(QUEUE_TIME_METRIC, System.currentTimeMillis() - submittedMillis);
+                    return call.call();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            // fail the call like any other, so that sibling calls are cancelled and the request gets a 503
+            final SettableListenableFuture<V> rejected = new SettableListenableFuture<>();
+            rejected.setException(e);
+            return rejected;
+        }
+    }
+
+    /**
+     * Creates a result for an asynchronously handled request which times out at the deadline. The given calls are
+     * cancelled when the request times out or completes.
+     *
+     * @param deadline The deadline of the request
+     * @param futures  The backend calls made for the request; null elements are ignored
+     * @param <V>      The result type
+     * @return The result, to be set by the caller when the calls complete
+     */
+    public <V> DeferredResult<V> newDeferredResult(final Deadline deadline, final Future<?>... futures) {
+        final DeferredResult<V> result = new DeferredResult<>(Math.max(deadline.getRemainingMillis(), 1L));
+
+        result.onTimeout(new Runnable() {
+            @Override
+            public void run() {
+                // set the result first, since cancelling the calls fails them with a CancellationException
+                result.setErrorResult(new DeadlineExceededException(deadline.getEndpoint()));
+                counterService.increment(metricName(deadline, "timedOut"));
+                cancel(futures);
+            }
+        });
+
+        result.onCompletion(new Runnable() {
+            @Override
+            public void run() {
+                if (cancel(futures)) {
+                    counterService.increment(metricName(deadline, "cancelled"));
+                }
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * @return True if any of the futures had not yet completed
+     */
+    private boolean cancel(final Future<?>[] futures) {
+        boolean cancelled = false;
+
+        for (final Future<?> future : futures) {
+            if (future != null && future.cancel(true)) {
+                cancelled = true;
+            }
+        }
+
+        return cancelled;
+    }
+
+    private long getRequestedMillis() {
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+        if (requestAttributes instanceof ServletRequestAttributes) {
+            return NumberUtils.toLong(((ServletRequestAttributes) requestAttributes).getRequest().getHeader(DEADLINE_HEADER));
+        }
+
+        return 0;
+    }
+
+    private String metricName(final Deadline deadline, final String suffix) {
+        return "find.deadline." + deadline.getEndpoint() + '.' + suffix;
+    }
+}
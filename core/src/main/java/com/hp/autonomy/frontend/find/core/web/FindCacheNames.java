@@ -15,6 +15,18 @@ public class FindCacheNames {
     public static final String DOCUMENTS = "documents";
     public static final String PROMOTED_DOCUMENTS = "promoted-documents";
     public static final String SIMILAR_DOCUMENTS = "similar-documents";
+    public static final String PARAMETRIC_VALUES = "parametric-values";
+    public static final String PARAMETRIC_FIELD_VALUES = "parametric-field-values";
+    public static final String NUMERIC_PARAMETRIC_VALUES_IN_BUCKETS = "numeric-parametric-values-in-buckets";
+    public static final String NUMERIC_PARAMETRIC_HISTOGRAMS = "numeric-parametric-histograms";
+    public static final String DEPENDENT_PARAMETRIC_VALUES = "dependent-parametric-values";
+    public static final String DEPENDENT_PARAMETRIC_SUBTREES = "dependent-parametric-subtrees";
+    public static final String TYPE_AHEAD_PREFIXES = "type-ahead-prefixes";
+
+    /**
+     * Name of the key generator bean used for the documents caches.
+     */
+    public static final String SEARCH_KEY_GENERATOR = "searchKeyGenerator";
 
     /**
      * Caches' TTLs in seconds.
@@ -24,7 +36,27 @@ public class FindCacheNames {
         .put(PROMOTED_DOCUMENTS, 60L * 5L)
         .put(CacheNames.RELATED_CONCEPTS, 60L * 5L)
         .put(SIMILAR_DOCUMENTS, 60L * 5L)
+        .put(PARAMETRIC_VALUES, 60L * 5L)
+        .put(PARAMETRIC_FIELD_VALUES, 60L * 5L)
+        .put(NUMERIC_PARAMETRIC_VALUES_IN_BUCKETS, 60L * 5L)
+        .put(NUMERIC_PARAMETRIC_HISTOGRAMS, 60L * 5L)
+        .put(DEPENDENT_PARAMETRIC_VALUES, 60L * 5L)
+        .put(DEPENDENT_PARAMETRIC_SUBTREES, 60L * 5L)
         .put(CacheNames.TYPE_AHEAD, 24 * 60L)
+        .put(TYPE_AHEAD_PREFIXES, 24 * 60L)
         .build();
 
+    /**
+     * @param cacheExpires TTLs in seconds from the config file, which override {@link #CACHE_EXPIRES}; may be null
+     * @param cacheName The name of the cache
+     * @return The TTL of the cache in seconds, or null if it has none
+     */
+    public static Long getCacheExpiry(final Map<String, Long> cacheExpires, final String cacheName) {
+        if (cacheExpires != null && cacheExpires.containsKey(cacheName)) {
+            return cacheExpires.get(cacheName);
+        }
+
+        return CACHE_EXPIRES.get(cacheName);
+    }
+
 }
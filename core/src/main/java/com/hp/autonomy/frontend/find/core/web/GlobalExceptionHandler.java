@@ -16,6 +16,8 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @Slf4j
 @ControllerAdvice
 public abstract class GlobalExceptionHandler {
@@ -34,6 +36,15 @@ public abstract class GlobalExceptionHandler {
         return handler(exception);
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public ErrorResponse backendSaturatedHandler(final RejectedExecutionException exception) {
+        // the backend executor is full; the client may retry later
+        log.warn("Backend call rejected", exception);
+        return new ErrorResponse("The server is too busy to handle the request");
+    }
+
     @ExceptionHandler(ClientAbortException.class)
     @ResponseBody
     public ErrorResponse connectionAbort(final ClientAbortException e) {
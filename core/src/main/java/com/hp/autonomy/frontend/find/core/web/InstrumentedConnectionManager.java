@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.web;
+
+import com.hp.autonomy.frontend.find.core.configuration.ConnectionPoolConfig;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooling connection manager for the HTTP client used to talk to the backend, sized from a
+ * {@link ConnectionPoolConfig}.
+ * <p>
+ * The number of leased, pending and available connections are published as find.httpClient.[name].* metrics. The time
+ * each request waits for a connection from the pool is reported as find.httpClient.[name].connectionWaitTime.
+ */
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager implements PublicMetrics {
+    private final String metricPrefix;
+    private final GaugeService gaugeService;
+
+    public InstrumentedConnectionManager(final String name, final ConnectionPoolConfig connectionPoolConfig, final GaugeService gaugeService) {
+        metricPrefix = "find.httpClient." + name + '.';
+        this.gaugeService = gaugeService;
+
+        setMaxTotal(connectionPoolConfig.getMaxTotal());
+        setDefaultMaxPerRoute(connectionPoolConfig.getMaxPerRoute());
+        setValidateAfterInactivity(connectionPoolConfig.getValidateAfterInactivity());
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+        final ConnectionRequest connectionRequest = super.requestConnection(route, state);
+        final long requestedMillis = System.currentTimeMillis();
+
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(final long timeout, final TimeUnit timeUnit) throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                try {
+                    return connectionRequest.get(timeout, timeUnit);
+                } finally {
+                    gaugeService.submit(metricPrefix + "connectionWaitTime", System.currentTimeMillis() - requestedMillis);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return connectionRequest.cancel();
+            }
+        };
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final PoolStats stats = getTotalStats();
+
+        return Arrays.<Metric<?>>asList(
+                new Metric<>(metricPrefix + "leased", stats.getLeased()),
+                new Metric<>(metricPrefix + "pending", stats.getPending()),
+                new Metric<>(metricPrefix + "available", stats.getAvailable()),
+                new Metric<>(metricPrefix + "max", stats.getMax())
+        );
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.web;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collapses identical concurrent backend calls into a single call (single-flight).
+ * <p>
+ * The first caller for a key executes the call; callers arriving with an equal key while it is in flight wait for it
+ * and share its result or its exception. Nothing is retained once the call completes, so this complements rather than
+ * replaces result caching: it only covers the window before a result reaches the cache.
+ * <p>
+ * Keys must include everything which affects the result, including the identity of the user, so that results are
+ * never shared across security contexts.
+ * <p>
+ * Callers wait for at most find.coalescing.waitTimeout milliseconds. A caller which is still waiting after that makes
+ * the call itself, so that a hung call does not hold up every request which would have repeated it. A caller which is
+ * interrupted while waiting stops waiting straight away.
+ */
+@Component
+public class RequestCoalescer {
+    private final ConcurrentMap<Key, PendingCall> pendingCalls = new ConcurrentHashMap<>();
+    private final CounterService counterService;
+    private final long waitTimeout;
+
+    @Autowired
+    public RequestCoalescer(final CounterService counterService, @Value("${find.coalescing.waitTimeout:60000}") final long waitTimeout) {
+        this.counterService = counterService;
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Executes the call, or waits for an identical call already in flight.
+     *
+     * @param name      Name of the operation, used in the key and in metric names
+     * @param keyParts  Values which together identify the result of the call
+     * @param call      The backend call
+     * @param <V>       The result type
+     * @param <E>       The checked exception thrown by the call
+     * @return The result of the call
+     * @throws E If the call (or the call being waited on) failed
+     * @throws IllegalStateException If the thread was interrupted while waiting for an identical call
+     */
+    public <V, E extends Exception> V execute(final String name, final Object[] keyParts, final Call<V, E> call) throws E {
+        final Key key = new Key(name, keyParts);
+        final PendingCall pendingCall = new PendingCall();
+        final PendingCall existingCall = pendingCalls.putIfAbsent(key, pendingCall);
+
+        if (existingCall != null) {
+            counterService.increment(metricName(name, "waiters"));
+
+            if (existingCall.await(waitTimeout)) {
+                return existingCall.getResult();
+            }
+
+            // the call in flight is taking too long, so this caller does not share it
+            counterService.increment(metricName(name, "timeouts"));
+            return call.call();
+        }
+
+        counterService.increment(metricName(name, "calls"));
+
+        try {
+            final V result = call.call();
+            pendingCall.complete(result, null);
+            return result;
+        } catch (final Exception e) {
+            pendingCall.complete(null, e);
+            throw e;
+        } catch (final Error e) {
+            pendingCall.complete(null, e);
+            throw e;
+        } finally {
+            pendingCalls.remove(key, pendingCall);
+        }
+    }
+
+    /**
+     * @return The number of distinct calls currently in flight
+     */
+    public int getPendingCallCount() {
+        return pendingCalls.size();
+    }
+
+    private String metricName(final String name, final String suffix) {
+        return "find.coalescing." + name + '.' + suffix;
+    }
+
+    /**
+     * A backend call which can be coalesced.
+     *
+     * @param <V> The result type
+     * @param <E> The checked exception thrown by the call
+     */
+    public interface Call<V, E extends Exception> {
+        V call() throws E;
+    }
+
+    /**
+     * Map key which computes its hash code on construction, so that a request object mutated by the call it keys does
+     * not prevent the entry from being removed afterwards.
+     */
+    private static class Key {
+        private final Object[] parts;
+        private final int hashCode;
+
+        private Key(final String name, final Object[] keyParts) {
+            parts = new Object[keyParts.length + 1];
+            parts[0] = name;
+            System.arraycopy(keyParts, 0, parts, 1, keyParts.length);
+            hashCode = Arrays.deepHashCode(parts);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return this == obj || obj instanceof Key && hashCode == ((Key) obj).hashCode && Arrays.deepEquals(parts, ((Key) obj).parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class PendingCall {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile Object result;
+        private volatile Throwable failure;
+
+        private void complete(final Object result, final Throwable failure) {
+            this.result = result;
+            this.failure = failure;
+            latch.countDown();
+        }
+
+        /**
+         * @return True if the call completed within the timeout
+         */
+        private boolean await(final long timeout) {
+            try {
+                return latch.await(timeout, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an identical call", e);
+            }
+        }
+
+        // the failure was thrown by a Call<V, E>, so it is either unchecked or an E
+        @SuppressWarnings("unchecked")
+        private <V, E extends Exception> V getResult() throws E {
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw (E) failure;
+            }
+
+            return (V) result;
+        }
+    }
+}
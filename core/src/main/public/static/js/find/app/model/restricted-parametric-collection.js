@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+define([
+    'jquery',
+    'underscore',
+    'find/app/model/parametric-collection'
+], function($, _, ParametricCollection) {
+    "use strict";
+
+    // The server returns the first page of values of each field, with the number of values the field has in total.
+    // Later pages are only fetched when the user asks for more values of a field.
+    return ParametricCollection.extend({
+        pageRequest: null,
+
+        sync: function(method, collection, options) {
+            // Later pages must be fetched for the same query as the first
+            this.queryData = options.data;
+
+            if (this.pageRequest) {
+                this.pageRequest.abort();
+                this.pageRequest = null;
+            }
+
+            return ParametricCollection.prototype.sync.apply(this, arguments);
+        },
+
+        // Fetches the next page of values for the field and adds them to its values
+        fetchNextPage: function(fieldName) {
+            var field = this.get(fieldName);
+
+            if (!field || !field.get('continuationToken') || this.pageRequest) {
+                return;
+            }
+
+            this.pageRequest = $.ajax({
+                url: _.result(this, 'url') + '/page',
+                traditional: true,
+                data: _.extend({}, this.queryData, {continuationToken: field.get('continuationToken')})
+            });
+
+            this.pageRequest
+                .done(_.bind(function(page) {
+                    field.set({
+                        values: field.get('values').concat(page.values),
+                        totalValues: page.totalValues,
+                        continuationToken: page.continuationToken
+                    });
+
+                    // Views built from the collection are rebuilt on reset
+                    this.reset(this.toJSON());
+                }, this))
+                .always(_.bind(function() {
+                    this.pageRequest = null;
+                }, this));
+        }
+    });
+});
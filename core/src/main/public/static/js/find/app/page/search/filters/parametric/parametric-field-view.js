@@ -16,6 +16,7 @@ define([
         className: 'table parametric-fields-table',
         tagName: 'table',
         seeAllButtonTemplate: _.template('<tr class="show-all clickable"><td></td><td> <span class="toggle-more-text text-muted"><%-i18n["app.seeAll"]%></span></td></tr>'),
+        moreValuesTemplate: _.template('<tbody><tr class="more-values clickable hide"><td></td><td> <span class="more-values-text text-muted"></span></td></tr></tbody>'),
 
         events: {
             'click .show-all': function() {
@@ -26,6 +27,9 @@ define([
                     parametricDisplayCollection: this.parametricDisplayCollection,
                     selectedParametricValues: this.selectedParametricValues
                 });
+            },
+            'click .more-values': function() {
+                this.restrictedParametricCollection.fetchNextPage(this.model.id);
             }
         },
 
@@ -33,6 +37,7 @@ define([
             this.parametricDisplayCollection = options.parametricDisplayCollection;
             this.selectedParametricValues = options.selectedParametricValues;
             this.parametricCollection = options.parametricCollection;
+            this.restrictedParametricCollection = options.restrictedParametricCollection;
 
             this.listView = new ListView({
                 collection: this.collection,
@@ -48,7 +53,16 @@ define([
         },
 
         render: function() {
-            this.$el.empty().append(this.listView.render().$el);
+            this.$el.empty().append(this.listView.render().$el, this.moreValuesTemplate());
+
+            // Only the first page of values is fetched; the rest are counted so that the user can ask for them
+            var restrictedField = this.restrictedParametricCollection.get(this.model.id);
+
+            if (restrictedField && restrictedField.get('continuationToken')) {
+                var moreValues = restrictedField.get('totalValues') - restrictedField.get('values').length;
+                this.$('.more-values').removeClass('hide');
+                this.$('.more-values-text').text(i18n['search.parametric.moreValues'](moreValues));
+            }
         },
 
         remove: function() {
@@ -68,6 +82,7 @@ define([
             this.parametricDisplayCollection = options.parametricDisplayCollection;
             this.selectedParametricValues = options.selectedParametricValues;
             this.parametricCollection = options.parametricCollection;
+            this.restrictedParametricCollection = options.restrictedParametricCollection;
 
             var collapsed;
 
@@ -78,9 +93,13 @@ define([
                 collapsed = options.collapsed;
             }
 
+            // The restricted field knows how many values there are, including those which have not been fetched
+            var restrictedField = this.restrictedParametricCollection.get(this.model.id);
+            var totalValues = restrictedField ? restrictedField.get('totalValues') : this.model.fieldValues.length;
+
             this.collapsible = new Collapsible({
                 collapsed: collapsed,
-                title: this.model.get('displayName') + ' (' + this.model.fieldValues.length +')',
+                title: this.model.get('displayName') + ' (' + totalValues +')',
                 subtitle: this.subtitleTemplate({
                     i18n: i18n,
                     length: this.getFieldSelectedValuesLength()
@@ -89,6 +108,7 @@ define([
                     collection: this.model.fieldValues,
                     model: this.model,
                     parametricCollection:this.parametricCollection,
+                    restrictedParametricCollection: this.restrictedParametricCollection,
                     parametricDisplayCollection: this.parametricDisplayCollection,
                     selectedParametricValues: this.selectedParametricValues
                 })
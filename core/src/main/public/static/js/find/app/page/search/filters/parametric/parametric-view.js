@@ -51,6 +51,7 @@ define([
                 proxyEvents: ['toggle'],
                 itemOptions: {
                     parametricCollection: options.parametricCollection,
+                    restrictedParametricCollection: options.restrictedParametricCollection,
                     // collection is not passed to the individual views
                     parametricDisplayCollection: this.displayCollection,
                     selectedParametricValues: this.selectedParametricValues,
@@ -13,6 +13,7 @@ define([
     'find/app/model/query-model',
     'find/app/model/saved-searches/saved-search-model',
     'find/app/model/parametric-collection',
+    'find/app/model/restricted-parametric-collection',
     'find/app/model/parametric-fields-collection',
     'find/app/model/numeric-parametric-fields-collection',
     'find/app/page/search/results/query-strategy',
@@ -31,7 +32,7 @@ define([
     'parametric-refinement/prettify-field-name',
     'i18n!find/nls/bundle',
     'text!find/templates/app/page/search/service-view.html'
-], function(Backbone, $, _, moment, DatesFilterModel, EntityCollection, QueryModel, SavedSearchModel, ParametricCollection, 
+], function(Backbone, $, _, moment, DatesFilterModel, EntityCollection, QueryModel, SavedSearchModel, ParametricCollection, RestrictedParametricCollection,
             ParametricFieldsCollection, NumericParametricFieldsCollection, queryStrategy, stateTokenStrategy, ResultsViewContainer, ResultsViewSelection,
             RelatedConceptsView, addChangeListener, SavedSearchControlView, TopicMapView, SunburstView,
             MapResultsView, TableView, TimeBarView, configuration, prettifyFieldName, i18n, templateString) {
@@ -135,7 +136,7 @@ define([
             });
 
             this.parametricFieldsCollection = new ParametricFieldsCollection([]);
-            this.restrictedParametricCollection = new ParametricCollection([], {url: '../api/public/parametric/restricted'});
+            this.restrictedParametricCollection = new RestrictedParametricCollection([], {url: '../api/public/parametric/restricted'});
             this.numericParametricFieldsCollection = new NumericParametricFieldsCollection([], {dataType: 'numeric'});
             this.dateParametricFieldsCollection = new NumericParametricFieldsCollection([], {dataType: 'date'});
             this.parametricCollection = new ParametricCollection([], {url: '../api/public/parametric'});
@@ -14,26 +14,52 @@ define([
         this.queryStates = options.queryStates;
         this.onSuccess = options.onSuccess;
 
-        this.savedQueryIntervalId = setInterval(
-            _.bind(this.pollForUpdates, this),
-            this.config.pollingInterval * 60 * 1000
-        );
-        this.pollForUpdates();
+        if(window.EventSource) {
+            // The server counts the new results on a schedule and pushes them when they change
+            this.eventSource = new EventSource('../api/bi/saved-query/new-results/stream');
+            this.eventSource.addEventListener('newResults', _.bind(function(event) {
+                this.handleNewResults(JSON.parse(event.data));
+            }, this));
+        } else {
+            this.savedQueryIntervalId = setInterval(
+                _.bind(this.pollForUpdates, this),
+                this.config.pollingInterval * 60 * 1000
+            );
+            this.pollForUpdates();
+        }
     }
 
     SavedQueryResultPoller.prototype.pollForUpdates = function() {
-        this.savedQueryCollection.each(_.bind(this.pollSingleForUpdates, this));
-    };
+        var ids = this.savedQueryCollection.chain()
+            .filter(function(savedQueryModel) {
+                return isPollable(savedQueryModel, this.queryStates);
+            }, this)
+            .pluck('id')
+            .value();
 
-    SavedQueryResultPoller.prototype.pollSingleForUpdates = function(savedQueryModel) {
-        if(isPollable(savedQueryModel, this.queryStates)) {
-            $.get('../api/bi/saved-query/new-results/' + savedQueryModel.id)
-                .success(_.partial(this.onSuccess, savedQueryModel.id));
+        if(!_.isEmpty(ids)) {
+            // One request counts the new results for every query, keyed by id
+            $.get('../api/bi/saved-query/new-results/', {ids: ids.join(',')})
+                .success(_.bind(this.handleNewResults, this));
         }
     };
 
+    SavedQueryResultPoller.prototype.handleNewResults = function(newResultsById) {
+        _.each(newResultsById, function(newResults, id) {
+            var savedQueryModel = this.savedQueryCollection.get(Number(id));
+
+            if(savedQueryModel && isPollable(savedQueryModel, this.queryStates)) {
+                this.onSuccess(savedQueryModel.id, newResults);
+            }
+        }, this);
+    };
+
     SavedQueryResultPoller.prototype.destroy = function() {
-        clearInterval(this.savedQueryIntervalId);
+        if(this.eventSource) {
+            this.eventSource.close();
+        } else {
+            clearInterval(this.savedQueryIntervalId);
+        }
     };
 
     function isPollable(savedQueryModel, queryStates) {
@@ -136,6 +136,7 @@ define([
         'search.parametricFields': 'Parametric Fields',
         'search.parametric.empty': 'No parametric fields found',
         'search.parametric.selected.notAllVisible': 'Some values are not visible',
+        'search.parametric.moreValues': '{0} more',
         'search.preview': 'Preview',
         'search.preview.previewMode': 'Preview Mode',
         'search.preview.mmap': 'Explore in MMAP',
@@ -0,0 +1,37 @@
+/*-------------------------------------------
+-- Description: Make users unique, so that
+  concurrent first requests on different nodes
+  cannot create the same user twice. IDOL users
+  only have a uid and HoD users only have a
+  domain, user store and uuid; since unique
+  constraints ignore rows with a null column,
+  each kind of user has its own constraint.
+
+-- Previous Version: 11.1.0.4
+-- Target Version: 11.1.0.5
+--------------------------------------------*/
+
+SET SCHEMA find;
+
+UPDATE searches SET user_id = (
+  SELECT MIN(duplicate.user_id)
+  FROM users original, users duplicate
+  WHERE original.user_id = searches.user_id
+    AND duplicate.domain IS original.domain
+    AND duplicate.user_store IS original.user_store
+    AND duplicate.uuid IS original.uuid
+    AND duplicate.uid IS original.uid
+);
+
+DELETE FROM users WHERE EXISTS (
+  SELECT 1
+  FROM users original
+  WHERE original.user_id < users.user_id
+    AND original.domain IS users.domain
+    AND original.user_store IS users.user_store
+    AND original.uuid IS users.uuid
+    AND original.uid IS users.uid
+);
+
+ALTER TABLE users ADD CONSTRAINT uq__users__uid UNIQUE (uid);
+ALTER TABLE users ADD CONSTRAINT uq__users__domain__user_store__uuid UNIQUE (domain, user_store, uuid);
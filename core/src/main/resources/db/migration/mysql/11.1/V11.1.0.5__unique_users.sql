@@ -0,0 +1,36 @@
+/*-------------------------------------------
+-- Description: Make users unique, so that
+  concurrent first requests on different nodes
+  cannot create the same user twice. IDOL users
+  only have a uid and HoD users only have a
+  domain, user store and uuid; since unique
+  constraints ignore rows with a null column,
+  each kind of user has its own constraint.
+
+-- Previous Version: 11.1.0.4
+-- Target Version: 11.1.0.5
+--------------------------------------------*/
+
+USE find;
+
+UPDATE searches SET user_id = (
+  SELECT MIN(duplicate.user_id)
+  FROM users original, users duplicate
+  WHERE original.user_id = searches.user_id
+    AND duplicate.domain <=> original.domain
+    AND duplicate.user_store <=> original.user_store
+    AND duplicate.uuid <=> original.uuid
+    AND duplicate.uid <=> original.uid
+);
+
+DELETE duplicate
+FROM users duplicate
+  JOIN users original
+    ON original.user_id < duplicate.user_id
+    AND original.domain <=> duplicate.domain
+    AND original.user_store <=> duplicate.user_store
+    AND original.uuid <=> duplicate.uuid
+    AND original.uid <=> duplicate.uid;
+
+ALTER TABLE users ADD CONSTRAINT uq__users__uid UNIQUE (uid);
+ALTER TABLE users ADD CONSTRAINT uq__users__domain__user_store__uuid UNIQUE (domain, user_store, uuid);
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.caching;
+
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import net.sf.ehcache.config.MemoryUnit;
+import net.sf.ehcache.store.MemoryStoreEvictionPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+
+import javax.management.remote.JMXPrincipal;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DocumentContentCacheTest {
+    private static final int KILOBYTE = 1024;
+
+    @Mock
+    private AuthenticationInformationRetriever<?, Principal> authenticationInformationRetriever;
+
+    @Mock
+    private CounterService counterService;
+
+    @Mock
+    private GaugeService gaugeService;
+
+    private DocumentContentCache documentContentCache;
+
+    @Before
+    public void setUp() {
+        final CacheConfiguration cacheConfiguration = new CacheConfiguration()
+                .name(DocumentContentCache.CACHE_NAME)
+                .maxBytesLocalHeap(1, MemoryUnit.MEGABYTES)
+                .memoryStoreEvictionPolicy(MemoryStoreEvictionPolicy.LRU);
+
+        final CacheManager cacheManager = new CacheManager(new Configuration().name("documentContentCacheTest").cache(cacheConfiguration).updateCheck(false));
+
+        documentContentCache = new DocumentContentCache(cacheManager.getEhcache(DocumentContentCache.CACHE_NAME), authenticationInformationRetriever, new CacheMetrics(counterService, gaugeService), 512 * KILOBYTE);
+    }
+
+    @After
+    public void tearDown() {
+        documentContentCache.shutdown();
+    }
+
+    @Test
+    public void getMissing() {
+        assertThat(documentContentCache.get(key(1)), is(nullValue()));
+        verify(counterService).increment("find.cache.documentContent.misses");
+    }
+
+    @Test
+    public void putAndGet() {
+        final byte[] content = new byte[KILOBYTE];
+        documentContentCache.put(key(1), content);
+
+        assertThat(documentContentCache.get(key(1)), is(content));
+        verify(counterService).increment("find.cache.documentContent.hits");
+    }
+
+    @Test
+    public void putAndGetObject() {
+        documentContentCache.putObject(key(1), "Some content");
+        assertThat(documentContentCache.getObject(key(1)), is((Object) "Some content"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedBySize() {
+        // ten 200KB documents cannot fit in 1MB
+        for (int i = 0; i < 10; i++) {
+            documentContentCache.put(key(i), new byte[200 * KILOBYTE]);
+        }
+
+        assertThat(documentContentCache.get(key(0)), is(nullValue()));
+        assertThat(documentContentCache.get(key(9)), is(notNullValue()));
+        verify(counterService, atLeastOnce()).increment("find.cache.documentContent.evictions");
+        verify(gaugeService, atLeastOnce()).submit(eq("find.cache.documentContent.evictedBytes"), anyDouble());
+    }
+
+    @Test
+    public void doesNotCacheLargeContent() {
+        documentContentCache.put(key(1), new byte[600 * KILOBYTE]);
+        assertThat(documentContentCache.get(key(1)), is(nullValue()));
+    }
+
+    @Test
+    public void keysIncludePrincipal() {
+        when(authenticationInformationRetriever.getPrincipal()).thenReturn(new JMXPrincipal("user1"));
+        documentContentCache.put(key(1), new byte[KILOBYTE]);
+
+        when(authenticationInformationRetriever.getPrincipal()).thenReturn(new JMXPrincipal("user2"));
+        assertThat(documentContentCache.get(key(1)), is(nullValue()));
+    }
+
+    private List<?> key(final int index) {
+        return Arrays.asList("SomeDatabase", "Reference" + index);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.caching;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class FieldTextCanonicaliserTest {
+    @Test
+    public void blankFieldText() {
+        assertThat(FieldTextCanonicaliser.canonicalise(null), is(""));
+        assertThat(FieldTextCanonicaliser.canonicalise("  "), is(""));
+    }
+
+    @Test
+    public void singleSpecifier() {
+        assertThat(FieldTextCanonicaliser.canonicalise(" MATCH{cat}:SPECIES "), is("MATCH{cat}:SPECIES"));
+    }
+
+    @Test
+    public void sortsAndOperands() {
+        final String canonical = FieldTextCanonicaliser.canonicalise("NRANGE{1066,1485}:YEAR+AND+MATCH{cat}:SPECIES");
+        assertThat(FieldTextCanonicaliser.canonicalise("MATCH{cat}:SPECIES AND NRANGE{1066,1485}:YEAR"), is(canonical));
+        assertThat(canonical, is("MATCH{cat}:SPECIES+AND+NRANGE{1066,1485}:YEAR"));
+    }
+
+    @Test
+    public void sortsWithinBrackets() {
+        assertThat(
+                FieldTextCanonicaliser.canonicalise("(MATCH{b}:F+OR+MATCH{a}:F)+AND+NOT+EXISTS{}:G"),
+                is("(MATCH{a}:F+OR+MATCH{b}:F)+AND+NOT+EXISTS{}:G")
+        );
+    }
+
+    @Test
+    public void keepsOrderOfMixedOperators() {
+        assertThat(
+                FieldTextCanonicaliser.canonicalise("MATCH{b}:F+AND+MATCH{a}:F+OR+MATCH{c}:F"),
+                is("MATCH{b}:F+AND+MATCH{a}:F+OR+MATCH{c}:F")
+        );
+    }
+
+    @Test
+    public void keepsOrderOfNonCommutativeOperators() {
+        assertThat(FieldTextCanonicaliser.canonicalise("MATCH{b}:F+BEFORE+MATCH{a}:F"), is("MATCH{b}:F+BEFORE+MATCH{a}:F"));
+    }
+
+    @Test
+    public void unparseableFieldTextIsTrimmed() {
+        assertThat(FieldTextCanonicaliser.canonicalise(" MATCH{b}:F+AND+(MATCH{a}:F "), is("MATCH{b}:F+AND+(MATCH{a}:F"));
+        assertThat(FieldTextCanonicaliser.canonicalise("MATCH{b}:F)"), is("MATCH{b}:F)"));
+        assertThat(FieldTextCanonicaliser.canonicalise("MATCH{b:F"), is("MATCH{b:F"));
+    }
+}
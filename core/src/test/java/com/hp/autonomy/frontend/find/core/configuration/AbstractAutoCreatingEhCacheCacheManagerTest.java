@@ -5,6 +5,7 @@
 
 package com.hp.autonomy.frontend.find.core.configuration;
 
+import com.hp.autonomy.frontend.find.core.caching.CacheMetrics;
 import com.hp.autonomy.frontend.find.core.web.FindCacheNames;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Ehcache;
@@ -14,6 +15,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
 
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Matchers.anyString;
@@ -25,11 +28,21 @@ public abstract class AbstractAutoCreatingEhCacheCacheManagerTest {
     @Mock
     protected CacheManager cacheManager;
 
+    @Mock
+    protected CounterService counterService;
+
+    @Mock
+    protected GaugeService gaugeService;
+
     protected AutoCreatingEhCacheCacheManager autoCreatingEhCacheCacheManager;
 
     @Before
     public abstract void setUp();
 
+    protected CacheMetrics cacheMetrics() {
+        return new CacheMetrics(counterService, gaugeService);
+    }
+
     @Test
     public void getMissingCacheDefault() {
         final Ehcache ehcache = mock(Ehcache.class);
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.configuration;
+
+import com.hp.autonomy.frontend.find.core.savedsearches.UserEntity;
+import com.hp.autonomy.frontend.find.core.savedsearches.UserEntityRepository;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.security.Principal;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AbstractFindSpringSecurityAuditorAwareTest {
+    @Mock
+    private AuthenticationInformationRetriever<?, Principal> authenticationInformationRetriever;
+
+    @Mock
+    private UserEntityRepository userRepository;
+
+    @Mock
+    private Principal principal;
+
+    private AbstractFindSpringSecurityAuditorAware<Principal> auditorAware;
+
+    @Before
+    public void setUp() {
+        when(authenticationInformationRetriever.getPrincipal()).thenReturn(principal);
+        when(principal.getName()).thenReturn("alice");
+
+        setRequest(new MockHttpSession());
+
+        auditorAware = new AbstractFindSpringSecurityAuditorAware<Principal>(authenticationInformationRetriever, userRepository) {
+            @Override
+            protected UserEntity principalToUser(final Principal principal) {
+                final UserEntity userEntity = new UserEntity();
+                userEntity.setDomain(principal.getName());
+                return userEntity;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void looksUpUserOncePerSession() {
+        final UserEntity persistedUser = new UserEntity();
+        persistedUser.setUserId(3L);
+        when(userRepository.findByDomainAndUserStoreAndUuidAndUid("alice", null, null, null)).thenReturn(persistedUser);
+
+        assertThat(auditorAware.getCurrentAuditor().getUserId(), is(3L));
+        assertThat(auditorAware.getCurrentAuditor().getUserId(), is(3L));
+
+        verify(userRepository, times(1)).findByDomainAndUserStoreAndUuidAndUid("alice", null, null, null);
+    }
+
+    @Test
+    public void createsUnknownUser() {
+        when(userRepository.save(any(UserEntity.class))).thenAnswer(new Answer<UserEntity>() {
+            @Override
+            public UserEntity answer(final InvocationOnMock invocation) {
+                final UserEntity user = (UserEntity) invocation.getArguments()[0];
+                user.setUserId(7L);
+                return user;
+            }
+        });
+
+        assertThat(auditorAware.getCurrentAuditor().getUserId(), is(7L));
+        assertThat(auditorAware.getCurrentAuditor().getUserId(), is(7L));
+
+        verify(userRepository, times(1)).save(any(UserEntity.class));
+    }
+
+    @Test
+    public void readsUserCreatedConcurrently() {
+        final UserEntity persistedUser = new UserEntity();
+        persistedUser.setUserId(5L);
+        when(userRepository.findByDomainAndUserStoreAndUuidAndUid("alice", null, null, null)).thenReturn(null, persistedUser);
+        when(userRepository.save(any(UserEntity.class))).thenThrow(new DataIntegrityViolationException("duplicate user"));
+
+        assertThat(auditorAware.getCurrentAuditor().getUserId(), is(5L));
+    }
+
+    @Test
+    public void looksUpAgainForDifferentPrincipalInSameSession() {
+        final UserEntity alice = new UserEntity();
+        alice.setUserId(3L);
+        when(userRepository.findByDomainAndUserStoreAndUuidAndUid("alice", null, null, null)).thenReturn(alice);
+
+        final UserEntity bob = new UserEntity();
+        bob.setUserId(4L);
+        when(userRepository.findByDomainAndUserStoreAndUuidAndUid("bob", null, null, null)).thenReturn(bob);
+
+        auditorAware.getCurrentAuditor();
+        when(principal.getName()).thenReturn("bob");
+
+        assertThat(auditorAware.getCurrentAuditor().getUserId(), is(4L));
+    }
+
+    @Test
+    public void looksUpUserInEachNewSession() {
+        final UserEntity persistedUser = new UserEntity();
+        persistedUser.setUserId(3L);
+        when(userRepository.findByDomainAndUserStoreAndUuidAndUid("alice", null, null, null)).thenReturn(persistedUser);
+
+        auditorAware.getCurrentAuditor();
+        setRequest(new MockHttpSession());
+        auditorAware.getCurrentAuditor();
+
+        verify(userRepository, times(2)).findByDomainAndUserStoreAndUuidAndUid("alice", null, null, null);
+    }
+
+    private void setRequest(final MockHttpSession session) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setSession(session);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.configuration;
+
+import com.hp.autonomy.frontend.configuration.ConfigException;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConnectionPoolConfigTest {
+    private ConnectionPoolConfig connectionPoolConfig;
+
+    @Before
+    public void setUp() {
+        connectionPoolConfig = new ConnectionPoolConfig.Builder()
+                .setMaxTotal(20)
+                .setMaxPerRoute(10)
+                .setKeepAlive(5000)
+                .build();
+    }
+
+    @Test
+    public void merge() {
+        assertEquals(connectionPoolConfig, new ConnectionPoolConfig.Builder().build().merge(connectionPoolConfig));
+    }
+
+    @Test
+    public void mergeNoDefaults() {
+        assertEquals(connectionPoolConfig, connectionPoolConfig.merge(null));
+    }
+
+    @Test
+    public void withDefaults() {
+        final ConnectionPoolConfig merged = ConnectionPoolConfig.withDefaults(connectionPoolConfig);
+
+        assertEquals(Integer.valueOf(20), merged.getMaxTotal());
+        assertEquals(ConnectionPoolConfig.DEFAULTS.getSocketTimeout(), merged.getSocketTimeout());
+    }
+
+    @Test
+    public void withDefaultsWhenMissing() {
+        assertEquals(ConnectionPoolConfig.DEFAULTS, ConnectionPoolConfig.withDefaults(null));
+    }
+
+    @Test
+    public void basicValidate() throws ConfigException {
+        connectionPoolConfig.basicValidate();
+    }
+
+    @Test(expected = ConfigException.class)
+    public void basicValidateWhenRouteLimitExceedsTotal() throws ConfigException {
+        new ConnectionPoolConfig.Builder()
+                .setMaxTotal(10)
+                .setMaxPerRoute(20)
+                .build()
+                .basicValidate();
+    }
+
+    @Test(expected = ConfigException.class)
+    public void basicValidateWhenTimeNegative() throws ConfigException {
+        new ConnectionPoolConfig.Builder()
+                .setSocketTimeout(-1)
+                .build()
+                .basicValidate();
+    }
+
+    @Test
+    public void keepAliveIsCapped() {
+        final BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+        response.addHeader("Keep-Alive", "timeout=60");
+
+        assertEquals(5000, connectionPoolConfig.toKeepAliveStrategy().getKeepAliveDuration(response, new BasicHttpContext()));
+    }
+
+    @Test
+    public void keepAliveHonoursShorterServerTimeout() {
+        final BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+        response.addHeader("Keep-Alive", "timeout=2");
+
+        assertEquals(2000, connectionPoolConfig.toKeepAliveStrategy().getKeepAliveDuration(response, new BasicHttpContext()));
+    }
+}
@@ -7,6 +7,7 @@ package com.hp.autonomy.frontend.find.core.fields;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
 import com.hp.autonomy.searchcomponents.core.fields.FieldsRequest;
 import com.hp.autonomy.searchcomponents.core.fields.FieldsService;
 import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
@@ -21,34 +22,51 @@ import org.junit.runner.RunWith;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 
 import java.io.Serializable;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public abstract class AbstractFieldsControllerTest<R extends FieldsRequest, E extends Exception, S extends Serializable, Q extends QueryRestrictions<S>, P extends ParametricRequest<S>> {
+    protected static final long COLD_START_BUDGET = 100L;
+    protected static final long REFRESH_INTERVAL = 60000L;
+    protected static final long IDLE_EXPIRY = 60000L;
+
     @Mock
     protected FieldsService<R, E> service;
 
     @Mock
     protected ParametricValuesService<P, S, E> parametricValuesService;
 
+    @Mock
+    protected AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever;
+
+    protected FieldMetadataRegistry<R, E, S, Q, P> registry;
+
     protected FieldsController<R, E, S, Q, P> controller;
 
-    protected abstract FieldsController<R, E, S, Q, P> constructController();
+    protected abstract FieldMetadataRegistry<R, E, S, Q, P> constructRegistry(AsyncTaskExecutor backendExecutor, long refreshInterval);
+
+    protected abstract FieldsController<R, E, S, Q, P> constructController(FieldMetadataRegistry<R, E, S, Q, P> registry);
 
     protected abstract R createRequest();
 
     @Before
     public void setUp() throws E {
-        controller = constructController();
+        registry = constructRegistry(new TaskExecutorAdapter(new SyncTaskExecutor()), REFRESH_INTERVAL);
+        controller = constructController(registry);
     }
 
     @Test
@@ -71,7 +89,7 @@ public abstract class AbstractFieldsControllerTest<R extends FieldsRequest, E ex
         final Map<FieldTypeParam, List<TagName>> response = new EnumMap<>(FieldTypeParam.class);
         response.put(FieldTypeParam.Numeric, ImmutableList.of(new TagName("NumericField"), new TagName(fieldName)));
         response.put(FieldTypeParam.Parametric, ImmutableList.of(new TagName("ParametricField"), new TagName(fieldName), new TagName("ParametricDateField")));
-        when(service.getFields(Matchers.<R>any(), eq(FieldTypeParam.Parametric), eq(FieldTypeParam.Numeric))).thenReturn(response);
+        when(service.getFields(Matchers.<R>any(), eq(FieldTypeParam.Parametric), eq(FieldTypeParam.Numeric), eq(FieldTypeParam.NumericDate))).thenReturn(response);
 
         final ValueDetails valueDetails = new ValueDetails.Builder()
                 .setMin(1.4)
@@ -97,7 +115,7 @@ public abstract class AbstractFieldsControllerTest<R extends FieldsRequest, E ex
         final Map<FieldTypeParam, List<TagName>> response = new EnumMap<>(FieldTypeParam.class);
         response.put(FieldTypeParam.NumericDate, ImmutableList.of(new TagName("DateField"), new TagName("ParametricDateField")));
         response.put(FieldTypeParam.Parametric, ImmutableList.of(new TagName("ParametricField"), new TagName("ParametricNumericField"), new TagName("ParametricDateField")));
-        when(service.getFields(Matchers.<R>any(), eq(FieldTypeParam.Parametric), eq(FieldTypeParam.NumericDate))).thenReturn(response);
+        when(service.getFields(Matchers.<R>any(), eq(FieldTypeParam.Parametric), eq(FieldTypeParam.Numeric), eq(FieldTypeParam.NumericDate))).thenReturn(response);
 
         final ValueDetails valueDetails = new ValueDetails.Builder()
                 .setMin(146840000d)
@@ -127,4 +145,59 @@ public abstract class AbstractFieldsControllerTest<R extends FieldsRequest, E ex
         assertThat(fields, hasItem(is(new FieldAndValueDetails("ParametricDateField", "ParametricDateField", 146840000d, 146860000d, 1000))));
         assertThat(fields, hasItem(is(new FieldAndValueDetails(ParametricValuesService.AUTN_DATE_FIELD, ParametricValuesService.AUTN_DATE_FIELD, 100000000d, 150000000d, 15000))));
     }
+
+    @Test
+    public void getParametricFieldsFromSnapshot() throws E {
+        mockParametricFields("ParametricField");
+
+        controller.getParametricFields(createRequest());
+        final List<TagName> fields = controller.getParametricFields(createRequest());
+
+        verify(service).getFields(Matchers.<R>any(), eq(FieldTypeParam.Parametric), eq(FieldTypeParam.Numeric), eq(FieldTypeParam.NumericDate));
+        assertThat(fields, contains(new TagName("ParametricField")));
+    }
+
+    @Test
+    public void staleSnapshotIsRefreshedByRequest() throws E {
+        final FieldsController<R, E, S, Q, P> refreshingController = constructController(constructRegistry(new TaskExecutorAdapter(new SyncTaskExecutor()), -1L));
+
+        mockParametricFields("ParametricField");
+        refreshingController.getParametricFields(createRequest());
+
+        mockParametricFields("NewParametricField");
+
+        // the stale snapshot is served while it is refreshed
+        assertThat(refreshingController.getParametricFields(createRequest()), contains(new TagName("ParametricField")));
+        assertThat(refreshingController.getParametricFields(createRequest()), contains(new TagName("NewParametricField")));
+    }
+
+    @Test
+    public void failedRefreshKeepsSnapshot() throws E {
+        final FieldsController<R, E, S, Q, P> refreshingController = constructController(constructRegistry(new TaskExecutorAdapter(new SyncTaskExecutor()), -1L));
+
+        mockParametricFields("ParametricField");
+        refreshingController.getParametricFields(createRequest());
+
+        when(service.getFields(Matchers.<R>any(), eq(FieldTypeParam.Parametric), eq(FieldTypeParam.Numeric), eq(FieldTypeParam.NumericDate))).thenThrow(new IllegalStateException("Backend failed"));
+
+        refreshingController.getParametricFields(createRequest());
+        assertThat(refreshingController.getParametricFields(createRequest()), contains(new TagName("ParametricField")));
+    }
+
+    @Test(expected = FieldMetadataUnavailableException.class)
+    public void coldStartBeyondBudget() throws E {
+        // the load is never run
+        final FieldMetadataRegistry<R, E, S, Q, P> stalledRegistry = constructRegistry(new TaskExecutorAdapter(new Executor() {
+            @Override
+            public void execute(final Runnable command) {}
+        }), REFRESH_INTERVAL);
+
+        stalledRegistry.getFieldMetadata(createRequest());
+    }
+
+    private void mockParametricFields(final String fieldName) throws E {
+        final Map<FieldTypeParam, List<TagName>> response = new EnumMap<>(FieldTypeParam.class);
+        response.put(FieldTypeParam.Parametric, ImmutableList.of(new TagName(fieldName)));
+        when(service.getFields(Matchers.<R>any(), eq(FieldTypeParam.Parametric), eq(FieldTypeParam.Numeric), eq(FieldTypeParam.NumericDate))).thenReturn(response);
+    }
 }
@@ -5,35 +5,57 @@
 
 package com.hp.autonomy.frontend.find.core.parametricfields;
 
+import com.hp.autonomy.frontend.find.core.caching.ParametricFieldValuesCache;
 import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
 import com.hp.autonomy.searchcomponents.core.parametricvalues.BucketingParams;
 import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
 import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
 import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
+import com.hp.autonomy.types.idol.RecursiveField;
+import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagCountInfo;
+import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagInfo;
 import com.hp.autonomy.types.requests.idol.actions.tags.RangeInfo;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.mock.env.MockEnvironment;
 
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public abstract class AbstractParametricValuesControllerTest<C extends ParametricValuesController<Q, R, S, E>, Q extends QueryRestrictions<S>, R extends ParametricRequest<S>, S extends Serializable, E extends Exception> {
+    protected static final int MAX_VALUES_PER_FIELD = 2;
+    protected static final int HISTOGRAM_BUCKETS = 200;
+
     @Mock
     protected ParametricValuesService<R, S, E> parametricValuesService;
 
@@ -43,52 +65,366 @@ public abstract class AbstractParametricValuesControllerTest<C extends Parametri
     @Mock
     protected ObjectFactory<ParametricRequest.Builder<R, S>> parametricRequestBuilderFactory;
 
+    @Mock
+    private AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever;
+
+    @Captor
+    private ArgumentCaptor<R> requestCaptor;
+
+    protected final DeadlineExecutor deadlineExecutor = new DeadlineExecutor(new TaskExecutorAdapter(new SyncTaskExecutor()), mock(CounterService.class), mock(GaugeService.class), new MockEnvironment());
+
+    protected ParametricFieldValuesCache parametricFieldValuesCache;
+
     protected C parametricValuesController;
 
     protected abstract C newControllerInstance();
 
     @Before
     public void setUp() {
+        parametricFieldValuesCache = new ParametricFieldValuesCache(new ConcurrentMapCacheManager(), queryRestrictionsBuilderFactory, authenticationInformationRetriever);
         parametricValuesController = newControllerInstance();
     }
 
+    @Test
+    public void getRestrictedParametricValuesFetchesOnlyMissingFields() throws E {
+        final QueryTagInfo categoryValues = mockQueryTagInfo("CATEGORY");
+        final QueryTagInfo authorValues = mockQueryTagInfo("AUTHOR");
+
+        when(parametricValuesService.getAllParametricValues(Matchers.<R>any()))
+                .thenReturn(Collections.singleton(categoryValues))
+                .thenReturn(Collections.singleton(authorValues));
+
+        getRestrictedParametricValues(Collections.singletonList("category"));
+        final List<ParametricFieldValues> output = getRestrictedParametricValues(Arrays.asList("category", "author"));
+
+        verify(parametricValuesService, times(2)).getAllParametricValues(requestCaptor.capture());
+
+        assertThat(requestCaptor.getAllValues().get(1).getFieldNames(), is(Collections.singletonList("author")));
+        assertThat(output.size(), is(2));
+        assertThat(output.get(0).getName(), is("CATEGORY"));
+        assertThat(output.get(1).getName(), is("AUTHOR"));
+    }
+
+    @Test
+    public void getRestrictedParametricValuesDoesNotFetchCachedFields() throws E {
+        final QueryTagInfo categoryValues = mockQueryTagInfo("CATEGORY");
+        when(parametricValuesService.getAllParametricValues(Matchers.<R>any())).thenReturn(Collections.singleton(categoryValues));
+
+        getRestrictedParametricValues(Collections.singletonList("CATEGORY"));
+        getRestrictedParametricValues(Collections.singletonList("CATEGORY"));
+
+        verify(parametricValuesService).getAllParametricValues(Matchers.<R>any());
+    }
+
+    @Test
+    public void getRestrictedParametricValuesDoesNotFetchCachedFieldsWithoutValues() throws E {
+        when(parametricValuesService.getAllParametricValues(Matchers.<R>any())).thenReturn(Collections.<QueryTagInfo>emptySet());
+
+        getRestrictedParametricValues(Collections.singletonList("CATEGORY"));
+        final List<ParametricFieldValues> output = getRestrictedParametricValues(Collections.singletonList("CATEGORY"));
+
+        verify(parametricValuesService).getAllParametricValues(Matchers.<R>any());
+        assertThat(output.isEmpty(), is(true));
+    }
+
+    @Test
+    public void getRestrictedParametricValuesReturnsTopValues() throws E {
+        final QueryTagCountInfo cat = mockQueryTagCountInfo("cat", 3);
+        final QueryTagCountInfo dog = mockQueryTagCountInfo("dog", 5);
+        final QueryTagCountInfo fish = mockQueryTagCountInfo("fish", 1);
+
+        final QueryTagInfo animalValues = mockQueryTagInfo("ANIMAL", fish, cat, dog);
+        when(parametricValuesService.getAllParametricValues(Matchers.<R>any())).thenReturn(Collections.singleton(animalValues));
+
+        final ParametricFieldValues firstPage = getRestrictedParametricValues(Collections.singletonList("ANIMAL")).get(0);
+
+        assertThat(firstPage.getValues(), is(Arrays.asList(dog, cat)));
+        assertThat(firstPage.getTotalValues(), is(3));
+        assertThat(firstPage.getContinuationToken(), notNullValue());
+
+        final ParametricFieldValues secondPage = getRestrictedParametricValuesPage(firstPage.getContinuationToken(), "*");
+
+        assertThat(secondPage.getValues(), is(Collections.singletonList(fish)));
+        assertThat(secondPage.getTotalValues(), is(3));
+        assertThat(secondPage.getContinuationToken(), nullValue());
+    }
+
+    @Test
+    public void getRestrictedParametricValuesPagesUseOneFetch() throws E {
+        final QueryTagInfo animalValues = mockQueryTagInfo("ANIMAL", mockQueryTagCountInfo("cat", 4), mockQueryTagCountInfo("dog", 3), mockQueryTagCountInfo("fish", 2), mockQueryTagCountInfo("bird", 1), mockQueryTagCountInfo("frog", 1));
+        when(parametricValuesService.getAllParametricValues(Matchers.<R>any())).thenReturn(Collections.singleton(animalValues));
+
+        final String secondPageToken = getRestrictedParametricValues(Collections.singletonList("ANIMAL")).get(0).getContinuationToken();
+        final String thirdPageToken = getRestrictedParametricValuesPage(secondPageToken, "*").getContinuationToken();
+        getRestrictedParametricValuesPage(thirdPageToken, "*");
+
+        verify(parametricValuesService).getAllParametricValues(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().getMaxValues(), is(ParametricValuesController.MAX_VALUES_DEFAULT));
+    }
+
+    @Test
+    public void getRestrictedParametricValuesWithoutMoreValues() throws E {
+        final QueryTagInfo animalValues = mockQueryTagInfo("ANIMAL", mockQueryTagCountInfo("cat", 3));
+        when(parametricValuesService.getAllParametricValues(Matchers.<R>any())).thenReturn(Collections.singleton(animalValues));
+
+        assertThat(getRestrictedParametricValues(Collections.singletonList("ANIMAL")).get(0).getContinuationToken(), nullValue());
+    }
+
+    @Test(expected = InvalidContinuationTokenException.class)
+    public void getRestrictedParametricValuesPageWithInvalidToken() {
+        getRestrictedParametricValuesPage("not a token", "*");
+    }
+
+    @Test(expected = InvalidContinuationTokenException.class)
+    public void getRestrictedParametricValuesPageWithTokenForAnotherQuery() throws E {
+        final QueryTagInfo animalValues = mockQueryTagInfo("ANIMAL", mockQueryTagCountInfo("cat", 3), mockQueryTagCountInfo("dog", 2), mockQueryTagCountInfo("fish", 1));
+        when(parametricValuesService.getAllParametricValues(Matchers.<R>any())).thenReturn(Collections.singleton(animalValues));
+
+        final String continuationToken = getRestrictedParametricValues(Collections.singletonList("ANIMAL")).get(0).getContinuationToken();
+        getRestrictedParametricValuesPage(continuationToken, "cats");
+    }
+
     @Test
     public void getDependentParametricValues() throws E {
-        parametricValuesController.getDependentParametricValues(Collections.singletonList("SomeParametricField"), "Some query text", null, Collections.<S>emptyList(), null, null, 0, null);
+        parametricValuesController.getDependentParametricValues(Collections.singletonList("SomeParametricField"), "Some query text", null, Collections.<S>emptyList(), null, null, 0, null, null, null);
         verify(parametricValuesService).getDependentParametricValues(Matchers.<R>any());
     }
 
+    @Test
+    public void getDependentParametricValuesToMaxDepth() throws E {
+        final List<RecursiveField> animals = Arrays.asList(mockRecursiveField("cat", 3), mockRecursiveField("dog", 5));
+        when(parametricValuesService.getDependentParametricValues(Matchers.<R>any())).thenReturn(animals);
+
+        final List<RecursiveField> output = getDependentParametricValues(Arrays.asList("ANIMAL", "COLOUR"), 1, null);
+
+        // only the first field is fetched, and the tree is returned as the backend sorted it
+        verify(parametricValuesService).getDependentParametricValues(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().getFieldNames(), is(Collections.singletonList("ANIMAL")));
+        assertThat(output, is(animals));
+    }
+
+    @Test
+    public void getDependentParametricValuesWithMaxChildren() throws E {
+        getDependentParametricValues(Arrays.asList("ANIMAL", "COLOUR"), null, MAX_VALUES_PER_FIELD);
+
+        verify(parametricValuesService).getDependentParametricValues(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().getFieldNames(), is(Arrays.asList("ANIMAL", "COLOUR")));
+        assertThat(requestCaptor.getValue().getMaxValues(), is(MAX_VALUES_PER_FIELD));
+    }
+
+    @Test
+    public void getDependentParametricValuesCachesEachMaxChildren() throws E {
+        getDependentParametricValues(Collections.singletonList("ANIMAL"), null, 1);
+        getDependentParametricValues(Collections.singletonList("ANIMAL"), null, 1);
+        getDependentParametricValues(Collections.singletonList("ANIMAL"), null, MAX_VALUES_PER_FIELD);
+
+        verify(parametricValuesService, times(2)).getDependentParametricValues(Matchers.<R>any());
+    }
+
+    @Test(expected = InvalidDependentValuesLimitException.class)
+    public void getDependentParametricValuesWithInvalidMaxDepth() {
+        getDependentParametricValues(Arrays.asList("ANIMAL", "COLOUR"), 0, null);
+    }
+
+    @Test(expected = InvalidDependentValuesLimitException.class)
+    public void getDependentParametricValuesWithInvalidMaxChildren() {
+        getDependentParametricValues(Arrays.asList("ANIMAL", "COLOUR"), null, 0);
+    }
+
+    @Test
+    public void expandDependentParametricValues() throws E {
+        final RecursiveField black = mockRecursiveField("black", 2);
+        final List<RecursiveField> colours = Collections.singletonList(black);
+        when(parametricValuesService.getDependentParametricValues(Matchers.<R>any())).thenReturn(colours);
+
+        expandDependentParametricValues(Arrays.asList("ANIMAL", "COLOUR", "SIZE"), Collections.singletonList("dog"), 1);
+        final List<RecursiveField> output = expandDependentParametricValues(Arrays.asList("ANIMAL", "COLOUR", "SIZE"), Collections.singletonList("dog"), 1);
+
+        // the second expansion comes from the subtree cache
+        verify(parametricValuesService).getDependentParametricValues(requestCaptor.capture());
+
+        assertThat(requestCaptor.getValue().getFieldNames(), is(Collections.singletonList("COLOUR")));
+        assertThat(requestCaptor.getValue().getQueryRestrictions().getFieldText(), is("(EXISTS{}:COLOUR) AND MATCH{dog}:ANIMAL"));
+        assertThat(output, is(colours));
+    }
+
+    @Test(expected = InvalidDependentValuesPathException.class)
+    public void expandDependentParametricValuesOfLastField() {
+        expandDependentParametricValues(Arrays.asList("ANIMAL", "COLOUR"), Arrays.asList("dog", "black"), null);
+    }
+
     @Test
     public void getParametricValuesInBuckets() throws UnsupportedEncodingException, E {
-        final String fieldName = "birth&death";
+        mockHistogram("birth&death");
+
+        final ParametricBuckets output = getBuckets("birth&death", 5, 0, 10);
+
+        // the histogram covers half the range again on each side
+        verify(parametricValuesService).getNumericParametricValuesInBuckets(Matchers.<R>any(), Matchers.eq(Collections.singletonMap("birth&death", new BucketingParams(HISTOGRAM_BUCKETS, -5.0, 15.0))));
+
+        assertThat(output.getValues().size(), is(5));
+        assertThat(output.getValues().get(0), is(new ParametricBuckets.Bucket(0, 2, 20)));
+        assertThat(output.getCount(), is(100));
+        assertThat(output.isApproximate(), is(false));
+    }
+
+    @Test
+    public void getParametricValuesInBucketsWithinHistogram() throws UnsupportedEncodingException, E {
+        mockHistogram("YEAR");
+
+        getBuckets("YEAR", 5, 0, 10);
+        final ParametricBuckets output = getBuckets("YEAR", 2, 10, 14);
+
+        verify(parametricValuesService).getNumericParametricValuesInBuckets(Matchers.<R>any(), Matchers.<Map<String, BucketingParams>>any());
+
+        assertThat(output.getValues().size(), is(2));
+        assertThat(output.getValues().get(1), is(new ParametricBuckets.Bucket(12, 14, 20)));
+    }
+
+    @Test
+    public void getParametricValuesInBucketsNotAlignedWithHistogram() throws UnsupportedEncodingException, E {
+        mockHistogram("YEAR");
+
+        getBuckets("YEAR", 5, 0, 10);
+        final ParametricBuckets output = getBuckets("YEAR", 4, 2, 3);
+
+        // buckets of 0.25 cut through the histogram's buckets of 0.1, so their counts are estimated
+        verify(parametricValuesService).getNumericParametricValuesInBuckets(Matchers.<R>any(), Matchers.<Map<String, BucketingParams>>any());
+
+        assertThat(output.getValues(), is(Arrays.asList(
+                new ParametricBuckets.Bucket(2, 2.25, 3),
+                new ParametricBuckets.Bucket(2.25, 2.5, 2),
+                new ParametricBuckets.Bucket(2.5, 2.75, 3),
+                new ParametricBuckets.Bucket(2.75, 3, 2)
+        )));
+        assertThat(output.getCount(), is(10));
+        assertThat(output.isApproximate(), is(true));
+    }
+
+    @Test
+    public void getParametricValuesInBucketsBeyondResolution() throws UnsupportedEncodingException, E {
+        mockHistogram("YEAR");
+
+        getBuckets("YEAR", 5, 0, 10);
+        getBuckets("YEAR", 20, 2, 3);
+
+        // buckets of 0.05 are narrower than the histogram's buckets of 0.1, so a finer histogram is fetched
+        verify(parametricValuesService).getNumericParametricValuesInBuckets(Matchers.<R>any(), Matchers.eq(Collections.singletonMap("YEAR", new BucketingParams(HISTOGRAM_BUCKETS, 1.5, 3.5))));
+    }
+
+    @Test
+    public void getParametricValuesInBucketsBeyondRange() throws UnsupportedEncodingException, E {
+        mockHistogram("YEAR");
+
+        getBuckets("YEAR", 5, 0, 10);
+        getBuckets("YEAR", 5, 10, 20);
+
+        verify(parametricValuesService, times(2)).getNumericParametricValuesInBuckets(Matchers.<R>any(), Matchers.<Map<String, BucketingParams>>any());
+    }
+
+    @Test
+    public void getParametricValuesInBucketsApproximatesUnexpectedHistogram() throws UnsupportedEncodingException, E {
+        final RangeInfo.Value value = mock(RangeInfo.Value.class);
+        when(value.getMin()).thenReturn(0.0);
+        when(value.getMax()).thenReturn(10.0);
+        when(value.getCount()).thenReturn(7);
 
         final RangeInfo rangeInfo = mock(RangeInfo.class);
-        final BucketingParams expectedBucketingParams = new BucketingParams(5, -0.5, 0.5);
+        when(rangeInfo.getValues()).thenReturn(Collections.singletonList(value));
+        when(parametricValuesService.getNumericParametricValuesInBuckets(Matchers.<R>any(), Matchers.<Map<String, BucketingParams>>any())).thenReturn(Collections.singletonList(rangeInfo));
 
-        when(parametricValuesService.getNumericParametricValuesInBuckets(Matchers.<R>any(), Matchers.<Map<String, BucketingParams>>any())).thenAnswer(new Answer<List<RangeInfo>>() {
-            @Override
-            public List<RangeInfo> answer(final InvocationOnMock invocation) {
-                @SuppressWarnings("unchecked")
-                final Map<String, BucketingParams> bucketingParamsPerField = invocation.getArgumentAt(1, Map.class);
+        final ParametricBuckets output = getBuckets("YEAR", 5, 0, 10);
 
-                final BucketingParams bucketingParams = bucketingParamsPerField.get(fieldName);
-                return expectedBucketingParams.equals(bucketingParams) ? Collections.singletonList(rangeInfo) : Collections.<RangeInfo>emptyList();
-            }
-        });
+        // the bucket which does not match the histogram's buckets is counted at its middle, without fetching again
+        verify(parametricValuesService).getNumericParametricValuesInBuckets(Matchers.<R>any(), Matchers.<Map<String, BucketingParams>>any());
+        assertThat(output.getValues().get(2), is(new ParametricBuckets.Bucket(4, 6, 7)));
+        assertThat(output.getCount(), is(7));
+        assertThat(output.isApproximate(), is(true));
+    }
 
-        final RangeInfo output = parametricValuesController.getNumericParametricValuesInBucketsForField(
+    private ParametricBuckets getBuckets(final String fieldName, final int targetNumberOfBuckets, final double bucketMin, final double bucketMax) throws UnsupportedEncodingException {
+        return (ParametricBuckets) parametricValuesController.getNumericParametricValuesInBucketsForField(
                 URLEncoder.encode(fieldName, "UTF-8"),
-                expectedBucketingParams.getTargetNumberOfBuckets(),
-                expectedBucketingParams.getMin(),
-                expectedBucketingParams.getMax(),
+                targetNumberOfBuckets,
+                bucketMin,
+                bucketMax,
                 "*",
                 "",
                 Collections.<S>emptyList(),
                 null,
                 null,
                 0
-        );
+        ).getResult();
+    }
+
+    // responds to each bucketing request with one document in every bucket
+    private void mockHistogram(final String fieldName) throws E {
+        when(parametricValuesService.getNumericParametricValuesInBuckets(Matchers.<R>any(), Matchers.<Map<String, BucketingParams>>any())).thenAnswer(new Answer<List<RangeInfo>>() {
+            @Override
+            public List<RangeInfo> answer(final InvocationOnMock invocation) {
+                @SuppressWarnings("unchecked")
+                final Map<String, BucketingParams> bucketingParamsPerField = invocation.getArgumentAt(1, Map.class);
+                final BucketingParams bucketingParams = bucketingParamsPerField.get(fieldName);
+
+                final double bucketSize = (bucketingParams.getMax() - bucketingParams.getMin()) / bucketingParams.getTargetNumberOfBuckets();
+                final List<RangeInfo.Value> values = new ArrayList<>();
+
+                for (int i = 0; i < bucketingParams.getTargetNumberOfBuckets(); i++) {
+                    final RangeInfo.Value value = mock(RangeInfo.Value.class);
+                    when(value.getMin()).thenReturn(bucketingParams.getMin() + i * bucketSize);
+                    when(value.getMax()).thenReturn(bucketingParams.getMin() + (i + 1) * bucketSize);
+                    when(value.getCount()).thenReturn(1);
+                    values.add(value);
+                }
+
+                final RangeInfo rangeInfo = mock(RangeInfo.class);
+                when(rangeInfo.getId()).thenReturn(fieldName);
+                when(rangeInfo.getName()).thenReturn(fieldName);
+                when(rangeInfo.getValues()).thenReturn(values);
+                return Collections.singletonList(rangeInfo);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ParametricFieldValues> getRestrictedParametricValues(final List<String> fieldNames) {
+        return (List<ParametricFieldValues>) parametricValuesController.getRestrictedParametricValues(fieldNames, "*", "", Collections.<S>emptyList(), null, null, 0, null).getResult();
+    }
+
+    private ParametricFieldValues getRestrictedParametricValuesPage(final String continuationToken, final String queryText) {
+        return (ParametricFieldValues) parametricValuesController.getRestrictedParametricValuesPage(continuationToken, queryText, "", Collections.<S>emptyList(), null, null, 0, null).getResult();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<RecursiveField> getDependentParametricValues(final List<String> fieldNames, final Integer maxDepth, final Integer maxChildren) {
+        return (List<RecursiveField>) parametricValuesController.getDependentParametricValues(fieldNames, "*", "", Collections.<S>emptyList(), null, null, 0, null, maxDepth, maxChildren).getResult();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<RecursiveField> expandDependentParametricValues(final List<String> fieldNames, final List<String> path, final Integer maxDepth) {
+        return (List<RecursiveField>) parametricValuesController.expandDependentParametricValues(fieldNames, path, "*", "EXISTS{}:COLOUR", Collections.<S>emptyList(), null, null, 0, null, maxDepth, null).getResult();
+    }
+
+    private RecursiveField mockRecursiveField(final String value, final int count, final RecursiveField... children) {
+        final RecursiveField recursiveField = mock(RecursiveField.class);
+        when(recursiveField.getValue()).thenReturn(value);
+        when(recursiveField.getCount()).thenReturn(count);
+        when(recursiveField.getField()).thenReturn(Arrays.asList(children));
+        return recursiveField;
+    }
+
+    private QueryTagInfo mockQueryTagInfo(final String name, final QueryTagCountInfo... values) {
+        final QueryTagInfo queryTagInfo = mock(QueryTagInfo.class);
+        when(queryTagInfo.getId()).thenReturn(name);
+        when(queryTagInfo.getName()).thenReturn(name);
+        when(queryTagInfo.getValues()).thenReturn(new LinkedHashSet<>(Arrays.asList(values)));
+        return queryTagInfo;
+    }
 
-        assertThat(output, is(rangeInfo));
+    private QueryTagCountInfo mockQueryTagCountInfo(final String value, final int count) {
+        final QueryTagCountInfo queryTagCountInfo = mock(QueryTagCountInfo.class);
+        when(queryTagCountInfo.getValue()).thenReturn(value);
+        when(queryTagCountInfo.getCount()).thenReturn(count);
+        return queryTagCountInfo;
     }
 }
@@ -28,7 +28,7 @@ public abstract class AbstractParametricValuesServiceIT extends AbstractFindIT {
                 .param(ParametricValuesController.FIELD_TEXT_PARAM, "")
                 .with(authentication(userAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$", not(empty())));
@@ -44,7 +44,7 @@ public abstract class AbstractParametricValuesServiceIT extends AbstractFindIT {
                 .param(ParametricValuesController.BUCKET_MAX_PARAM, String.valueOf(Integer.MAX_VALUE))
                 .with(authentication(userAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$", not(empty())));
@@ -63,7 +63,7 @@ public abstract class AbstractParametricValuesServiceIT extends AbstractFindIT {
                 .param(ParametricValuesController.BUCKET_MAX_PARAM, String.valueOf(Integer.MAX_VALUE))
                 .with(authentication(userAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$", not(empty())));
@@ -78,7 +78,7 @@ public abstract class AbstractParametricValuesServiceIT extends AbstractFindIT {
                 .param(ParametricValuesController.FIELD_TEXT_PARAM, "")
                 .with(authentication(userAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$", not(empty())));
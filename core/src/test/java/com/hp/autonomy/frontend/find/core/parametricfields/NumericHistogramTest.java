@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.parametricfields;
+
+import com.hp.autonomy.types.requests.idol.actions.tags.RangeInfo;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NumericHistogramTest {
+    private NumericHistogram histogram;
+
+    @Before
+    public void setUp() {
+        final int[] counts = new int[100];
+
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = i < 50 ? 2 : 4;
+        }
+
+        histogram = new NumericHistogram("YEAR", "YEAR", 0, 100, counts, true);
+    }
+
+    @Test
+    public void canBucketWithinRange() {
+        assertThat(histogram.canBucket(10, 90, 8), is(true));
+    }
+
+    @Test
+    public void cannotBucketOutsideRange() {
+        assertThat(histogram.canBucket(-10, 90, 5), is(false));
+        assertThat(histogram.canBucket(10, 110, 5), is(false));
+    }
+
+    @Test
+    public void canBucketAtResolution() {
+        assertThat(histogram.canBucket(10, 20, 10), is(true));
+    }
+
+    @Test
+    public void cannotBucketBeyondResolution() {
+        assertThat(histogram.canBucket(10, 20, 20), is(false));
+    }
+
+    @Test
+    public void canBucketUnalignedRange() {
+        assertThat(histogram.canBucket(10.5, 20.5, 2), is(true));
+        assertThat(histogram.canBucket(10, 21, 2), is(true));
+    }
+
+    @Test
+    public void cannotBucketEmptyRange() {
+        assertThat(histogram.canBucket(10, 10, 1), is(false));
+    }
+
+    @Test
+    public void toBucketsSumsFineBuckets() {
+        final ParametricBuckets buckets = histogram.toBuckets(0, 100, 4);
+        final List<ParametricBuckets.Bucket> values = buckets.getValues();
+
+        assertThat(values.size(), is(4));
+        assertThat(values.get(0), is(new ParametricBuckets.Bucket(0, 25, 50)));
+        assertThat(values.get(3), is(new ParametricBuckets.Bucket(75, 100, 100)));
+        assertThat(buckets.getCount(), is(300));
+        assertThat(buckets.getBucketSize(), is(25.0));
+    }
+
+    @Test
+    public void toBucketsCountsWholeFineBuckets() {
+        final List<ParametricBuckets.Bucket> values = histogram.toBuckets(40, 60, 2).getValues();
+
+        assertThat(values.get(0), is(new ParametricBuckets.Bucket(40, 50, 20)));
+        assertThat(values.get(1), is(new ParametricBuckets.Bucket(50, 60, 40)));
+    }
+
+    @Test
+    public void toBucketsIsExactForWholeFineBuckets() {
+        assertThat(histogram.toBuckets(40, 60, 2).isApproximate(), is(false));
+    }
+
+    @Test
+    public void toBucketsInterpolatesCutFineBuckets() {
+        final ParametricBuckets buckets = histogram.toBuckets(49.5, 51.5, 2);
+
+        assertThat(buckets.getValues(), is(Arrays.asList(
+                new ParametricBuckets.Bucket(49.5, 50.5, 3),
+                new ParametricBuckets.Bucket(50.5, 51.5, 4)
+        )));
+        assertThat(buckets.getCount(), is(7));
+        assertThat(buckets.isApproximate(), is(true));
+    }
+
+    @Test
+    public void fromRangeInfoCountsMatchingBuckets() {
+        final NumericHistogram fromRangeInfo = NumericHistogram.fromRangeInfo(mockRangeInfo(mockValue(0, 10, 3), mockValue(30, 40, 5)), 0, 40, 4);
+
+        assertThat(fromRangeInfo.toBuckets(0, 40, 2).getValues(), is(Arrays.asList(
+                new ParametricBuckets.Bucket(0, 20, 3),
+                new ParametricBuckets.Bucket(20, 40, 5)
+        )));
+    }
+
+    @Test
+    public void fromRangeInfoIsExactForMatchingBuckets() {
+        assertThat(NumericHistogram.fromRangeInfo(mockRangeInfo(mockValue(0, 10, 3)), 0, 40, 4).toBuckets(0, 40, 2).isApproximate(), is(false));
+    }
+
+    @Test
+    public void fromRangeInfoCountsUnalignedBucketsAtTheirMiddle() {
+        final NumericHistogram fromRangeInfo = NumericHistogram.fromRangeInfo(mockRangeInfo(mockValue(5, 25, 3), mockValue(30, 50, 5)), 0, 40, 4);
+        final ParametricBuckets buckets = fromRangeInfo.toBuckets(0, 40, 4);
+
+        assertThat(buckets.getValues(), is(Arrays.asList(
+                new ParametricBuckets.Bucket(0, 10, 0),
+                new ParametricBuckets.Bucket(10, 20, 3),
+                new ParametricBuckets.Bucket(20, 30, 0),
+                new ParametricBuckets.Bucket(30, 40, 5)
+        )));
+        assertThat(buckets.isApproximate(), is(true));
+    }
+
+    private RangeInfo mockRangeInfo(final RangeInfo.Value... values) {
+        final RangeInfo rangeInfo = mock(RangeInfo.class);
+        when(rangeInfo.getValues()).thenReturn(Arrays.asList(values));
+        return rangeInfo;
+    }
+
+    private RangeInfo.Value mockValue(final double min, final double max, final int count) {
+        final RangeInfo.Value value = mock(RangeInfo.Value.class);
+        when(value.getMin()).thenReturn(min);
+        when(value.getMax()).thenReturn(max);
+        when(value.getCount()).thenReturn(count);
+        return value;
+    }
+}
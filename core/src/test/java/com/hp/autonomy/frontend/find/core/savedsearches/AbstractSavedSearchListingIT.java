@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.savedsearches;
+
+import com.hp.autonomy.frontend.find.core.savedsearches.query.SavedQuery;
+import com.hp.autonomy.frontend.find.core.savedsearches.query.SavedQueryRepository;
+import com.hp.autonomy.frontend.find.core.test.AbstractFindIT;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Lists 1000 saved searches, each with two rows in every collection table, and logs how long it takes. The collections
+ * must be loaded with one select per table rather than one per search.
+ */
+@Slf4j
+public abstract class AbstractSavedSearchListingIT extends AbstractFindIT {
+    private static final int SEARCHES = 1000;
+    private static final int RUNS = 5;
+
+    // the searches, the user and one select for each of the four collection tables
+    private static final long MAX_STATEMENTS = 6;
+
+    @SuppressWarnings("SpringJavaAutowiredMembersInspection")
+    @Autowired
+    protected DataSource dataSource;
+
+    @SuppressWarnings("SpringJavaAutowiredMembersInspection")
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    @SuppressWarnings("SpringJavaAutowiredMembersInspection")
+    @Autowired
+    protected UserEntityRepository userEntityRepository;
+
+    @SuppressWarnings("SpringJavaAutowiredMembersInspection")
+    @Autowired
+    protected SavedQueryRepository savedQueryRepository;
+
+    private Long userId;
+
+    @Before
+    public void insertSearches() {
+        final UserEntity userEntity = new UserEntity();
+        userEntity.setUid(1L);
+        userId = userEntityRepository.save(userEntity).getUserId();
+
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        final List<Object[]> searchRows = new ArrayList<>();
+
+        for (int i = 0; i < SEARCHES; i++) {
+            searchRows.add(new Object[]{userId, Integer.parseInt(SavedSearchType.Values.QUERY), "Search " + i, "cat " + i, now, now, true});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO find.searches (user_id, search_type, title, query_text, created_date, modified_date, active) VALUES (?, ?, ?, ?, ?, ?, ?)", searchRows);
+
+        final List<Long> searchIds = jdbcTemplate.queryForList("SELECT search_id FROM find.searches WHERE user_id = ?", Long.class, userId);
+        final List<Object[]> indexRows = new ArrayList<>();
+        final List<Object[]> valueRows = new ArrayList<>();
+        final List<Object[]> rangeRows = new ArrayList<>();
+        final List<Object[]> phraseRows = new ArrayList<>();
+
+        for (final Long searchId : searchIds) {
+            for (int i = 0; i < 2; i++) {
+                indexRows.add(new Object[]{searchId, "Index " + i});
+                valueRows.add(new Object[]{searchId, "CATEGORY", "VALUE " + i});
+                rangeRows.add(new Object[]{searchId, "PRICE", i, i + 1, 0});
+                phraseRows.add(new Object[]{searchId, "phrase " + i, i == 0, 0});
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO find.search_indexes (search_id, name) VALUES (?, ?)", indexRows);
+        jdbcTemplate.batchUpdate("INSERT INTO find.search_parametric_values (search_id, field, value) VALUES (?, ?, ?)", valueRows);
+        jdbcTemplate.batchUpdate("INSERT INTO find.search_parametric_ranges (search_id, field, min, max, type) VALUES (?, ?, ?, ?, ?)", rangeRows);
+        jdbcTemplate.batchUpdate("INSERT INTO find.search_concept_cluster_phrases (search_id, phrase, primary_phrase, cluster_id) VALUES (?, ?, ?, ?)", phraseRows);
+    }
+
+    @Test
+    public void listSearches() {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        try {
+            for (int run = 0; run < RUNS; run++) {
+                statistics.clear();
+                final long start = System.nanoTime();
+                final Set<SavedQuery> searches = savedQueryRepository.findByActiveTrueAndUser_UserId(userId);
+                final long elapsed = System.nanoTime() - start;
+
+                log.info("Listed {} saved searches in {} ms with {} statements", searches.size(), elapsed / 1000000, statistics.getPrepareStatementCount());
+
+                assertThat(searches, hasSize(SEARCHES));
+                assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(MAX_STATEMENTS));
+
+                for (final SavedQuery search : searches) {
+                    assertThat(search.getIndexes(), hasSize(2));
+                    assertThat(search.getParametricValues(), hasSize(2));
+                    assertThat(search.getParametricRanges(), hasSize(2));
+                    assertThat(search.getConceptClusterPhrases(), hasSize(2));
+                }
+            }
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.savedsearches;
+
+import com.google.common.base.Supplier;
+import com.hp.autonomy.frontend.find.core.savedsearches.query.SavedQuery;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SavedSearchCacheTest {
+    private static final Long USER_ID = 5L;
+
+    @Mock
+    private SavedSearchInvalidationBroadcaster invalidationBroadcaster;
+
+    @Mock
+    private Supplier<Set<SavedQuery>> loader;
+
+    private final Set<SavedQuery> searches = Collections.singleton(new SavedQuery.Builder().setTitle("cats").build());
+
+    private SavedSearchCache savedSearchCache;
+
+    @Before
+    public void setUp() {
+        when(loader.get()).thenReturn(searches);
+        savedSearchCache = new SavedSearchCache(invalidationBroadcaster, 10, 60000L);
+    }
+
+    @Test
+    public void loadsOnce() {
+        savedSearchCache.get(SavedSearchType.QUERY, USER_ID, loader);
+
+        assertThat(savedSearchCache.get(SavedSearchType.QUERY, USER_ID, loader), is(searches));
+        verify(loader, times(1)).get();
+    }
+
+    @Test
+    public void returnsCopies() {
+        savedSearchCache.get(SavedSearchType.QUERY, USER_ID, loader).iterator().next().setTitle("dogs");
+
+        assertThat(searches.iterator().next().getTitle(), is("cats"));
+        assertThat(savedSearchCache.get(SavedSearchType.QUERY, USER_ID, loader).iterator().next().getTitle(), is("cats"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void returnsUnmodifiableSet() {
+        savedSearchCache.get(SavedSearchType.QUERY, USER_ID, loader).clear();
+    }
+
+    @Test
+    public void typesAndUsersAreCachedSeparately() {
+        savedSearchCache.get(SavedSearchType.QUERY, USER_ID, loader);
+        savedSearchCache.get(SavedSearchType.SNAPSHOT, USER_ID, loader);
+        savedSearchCache.get(SavedSearchType.QUERY, USER_ID + 1, loader);
+
+        verify(loader, times(3)).get();
+    }
+
+    @Test
+    public void invalidateEvictsAndBroadcasts() {
+        savedSearchCache.get(SavedSearchType.QUERY, USER_ID, loader);
+        savedSearchCache.invalidate(USER_ID);
+        savedSearchCache.get(SavedSearchType.QUERY, USER_ID, loader);
+
+        verify(loader, times(2)).get();
+        verify(invalidationBroadcaster).broadcast(USER_ID);
+    }
+
+    @Test
+    public void evictLocallyDoesNotBroadcast() {
+        savedSearchCache.get(SavedSearchType.QUERY, USER_ID, loader);
+        savedSearchCache.evictLocally(USER_ID);
+        savedSearchCache.get(SavedSearchType.QUERY, USER_ID, loader);
+
+        verify(loader, times(2)).get();
+        verify(invalidationBroadcaster, never()).broadcast(USER_ID);
+    }
+}
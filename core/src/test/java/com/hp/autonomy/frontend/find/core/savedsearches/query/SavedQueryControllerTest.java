@@ -7,6 +7,7 @@ package com.hp.autonomy.frontend.find.core.savedsearches.query;
 
 import com.hp.autonomy.frontend.find.core.savedsearches.FieldTextParser;
 import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
 import com.hp.autonomy.searchcomponents.core.search.DocumentsService;
 import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
 import com.hp.autonomy.searchcomponents.core.search.SearchRequest;
@@ -16,13 +17,28 @@ import org.joda.time.DateTime;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.mock.env.MockEnvironment;
 
+import javax.servlet.http.HttpSession;
 import java.io.Serializable;
-
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
@@ -30,6 +46,8 @@ import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public abstract class SavedQueryControllerTest<S extends Serializable, Q extends QueryRestrictions<S>, D extends SearchResult, E extends Exception> {
+    protected static final int NEW_RESULTS_PARALLELISM = 2;
+
     @Mock
     protected SavedQueryService savedQueryService;
     @Mock
@@ -40,6 +58,10 @@ public abstract class SavedQueryControllerTest<S extends Serializable, Q extends
     private Documents<D> searchResults;
     @Mock
     protected QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory;
+    @Mock
+    protected SavedQueryNewResultsPublisher newResultsPublisher;
+
+    protected final DeadlineExecutor deadlineExecutor = new DeadlineExecutor(new TaskExecutorAdapter(new SyncTaskExecutor()), mock(CounterService.class), mock(GaugeService.class), new MockEnvironment());
 
     private SavedQueryController<S, Q, D, E> savedQueryController;
 
@@ -121,4 +143,59 @@ public abstract class SavedQueryControllerTest<S extends Serializable, Q extends
         assertEquals(numberOfResults, savedQueryController.checkForNewQueryResults(id));
         verify(documentsService, never()).queryTextIndex(Matchers.<SearchRequest<S>>any());
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void checkForNewQueryResultsForSeveralQueries() throws E {
+        final Set<SavedQuery> savedQueries = new HashSet<>();
+
+        for (long id = 1; id <= 3; id++) {
+            savedQueries.add(new SavedQuery.Builder().setId(id).build());
+        }
+
+        when(savedQueryService.get(Matchers.anyCollectionOf(Long.class))).thenReturn(savedQueries);
+        when(searchResults.getTotalResults()).thenReturn(5);
+        when(documentsService.queryTextIndex(Matchers.<SearchRequest<S>>any())).thenReturn(searchResults);
+
+        final Map<Long, Integer> counts = (Map<Long, Integer>) savedQueryController.checkForNewQueryResults(Arrays.asList(1L, 2L, 3L, 4L)).getResult();
+
+        assertThat(counts.size(), is(3));
+        assertThat(counts, hasEntry(1L, 5));
+        assertThat(counts, hasEntry(3L, 5));
+        verify(savedQueryService).get(Matchers.anyCollectionOf(Long.class));
+        verify(documentsService, times(3)).queryTextIndex(Matchers.<SearchRequest<S>>any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void checkForNewQueryResultsForNoQueries() {
+        when(savedQueryService.get(Matchers.anyCollectionOf(Long.class))).thenReturn(Collections.<SavedQuery>emptySet());
+
+        final Map<Long, Integer> counts = (Map<Long, Integer>) savedQueryController.checkForNewQueryResults(Collections.singletonList(1L)).getResult();
+
+        assertThat(counts.size(), is(0));
+    }
+
+    @Test
+    public void streamNewQueryResultsCountsAllQueries() throws Exception {
+        final Set<SavedQuery> savedQueries = new HashSet<>(Arrays.asList(
+                new SavedQuery.Builder().setId(1L).build(),
+                new SavedQuery.Builder().setId(2L).build()
+        ));
+
+        when(savedQueryService.getAll()).thenReturn(savedQueries);
+        when(searchResults.getTotalResults()).thenReturn(7);
+        when(documentsService.queryTextIndex(Matchers.<SearchRequest<S>>any())).thenReturn(searchResults);
+
+        final HttpSession session = mock(HttpSession.class);
+        savedQueryController.streamNewQueryResults(session);
+
+        final ArgumentCaptor<SavedQueryNewResultsPublisher.Counter> counterCaptor = ArgumentCaptor.forClass(SavedQueryNewResultsPublisher.Counter.class);
+        verify(newResultsPublisher).subscribe(eq(session), counterCaptor.capture());
+
+        final Map<Long, Integer> counts = counterCaptor.getValue().countNewResults();
+
+        assertThat(counts.size(), is(2));
+        assertThat(counts, hasEntry(2L, 7));
+    }
 }
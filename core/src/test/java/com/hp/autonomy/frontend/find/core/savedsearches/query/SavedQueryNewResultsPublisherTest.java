@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.savedsearches.query;
+
+import com.hp.autonomy.frontend.find.core.savedsearches.UserEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.http.HttpSession;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SavedQueryNewResultsPublisherTest {
+    @Mock
+    private AuditorAware<UserEntity> userEntityAuditorAware;
+
+    @Mock
+    private CounterService counterService;
+
+    @Mock
+    private SavedQueryNewResultsPublisher.Counter counter;
+
+    @Mock
+    private AsyncListenableTaskExecutor idleExecutor;
+
+    @Mock
+    private HttpSession session;
+
+    @Before
+    public void setUp() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password", "ROLE_USER"));
+        setCurrentUser(1L);
+        when(counter.countNewResults()).thenReturn(Collections.singletonMap(10L, 3));
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void countsOncePerIntervalForSeveralStreams() throws Exception {
+        final SavedQueryNewResultsPublisher publisher = createPublisher(new TaskExecutorAdapter(new SyncTaskExecutor()), 4);
+
+        publisher.subscribe(session, counter);
+        publisher.subscribe(session, counter);
+        publisher.countDueUsers();
+        publisher.countDueUsers();
+
+        verify(counter, times(1)).countNewResults();
+    }
+
+    @Test
+    public void countsEachUser() throws Exception {
+        final SavedQueryNewResultsPublisher publisher = createPublisher(new TaskExecutorAdapter(new SyncTaskExecutor()), 4);
+
+        publisher.subscribe(session, counter);
+        setCurrentUser(2L);
+        publisher.subscribe(session, counter);
+        publisher.countDueUsers();
+
+        verify(counter, times(2)).countNewResults();
+    }
+
+    @Test
+    public void defersUsersOverConcurrencyLimit() {
+        final SavedQueryNewResultsPublisher publisher = createPublisher(idleExecutor, 1);
+
+        publisher.subscribe(session, counter);
+        setCurrentUser(2L);
+        publisher.subscribe(session, counter);
+        setCurrentUser(3L);
+        publisher.subscribe(session, counter);
+        publisher.countDueUsers();
+        publisher.countDueUsers();
+
+        verify(idleExecutor, times(1)).execute(any(Runnable.class));
+        // each deferred user is counted once, however many ticks they wait
+        verify(counterService, times(2)).increment(SavedQueryNewResultsPublisher.DEFERRED_METRIC);
+    }
+
+    @Test
+    public void retriesUsersRejectedByExecutor() {
+        doThrow(new RejectedExecutionException("full")).when(idleExecutor).execute(any(Runnable.class));
+        final SavedQueryNewResultsPublisher publisher = createPublisher(idleExecutor, 1);
+
+        publisher.subscribe(session, counter);
+        publisher.countDueUsers();
+        publisher.countDueUsers();
+
+        // the permit is released, so the user is tried again
+        verify(idleExecutor, times(2)).execute(any(Runnable.class));
+        verify(counterService, times(1)).increment(SavedQueryNewResultsPublisher.DEFERRED_METRIC);
+    }
+
+    @Test
+    public void countsWithCopyOfSubscriberSecurityContext() throws Exception {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        final SavedQueryNewResultsPublisher publisher = createPublisher(new TaskExecutorAdapter(new SyncTaskExecutor()), 4);
+
+        publisher.subscribe(session, new SavedQueryNewResultsPublisher.Counter() {
+            @Override
+            public Map<Long, Integer> countNewResults() {
+                assertThat(SecurityContextHolder.getContext().getAuthentication(), is(authentication));
+                return Collections.emptyMap();
+            }
+        });
+
+        final SecurityContext subscriberContext = SecurityContextHolder.getContext();
+        subscriberContext.setAuthentication(null);
+        publisher.countDueUsers();
+
+        assertThat(SecurityContextHolder.getContext(), is(sameInstance(subscriberContext)));
+    }
+
+    @Test
+    public void doesNotCountForInvalidatedSession() throws Exception {
+        when(session.getLastAccessedTime()).thenThrow(new IllegalStateException("invalidated"));
+        final SavedQueryNewResultsPublisher publisher = createPublisher(new TaskExecutorAdapter(new SyncTaskExecutor()), 4);
+
+        publisher.subscribe(session, counter);
+        publisher.countDueUsers();
+
+        verify(counter, never()).countNewResults();
+    }
+
+    @Test
+    public void endsSubscriptionWhenCountingFails() throws Exception {
+        when(counter.countNewResults()).thenThrow(new IllegalStateException("token expired"));
+        final SavedQueryNewResultsPublisher publisher = createPublisher(new TaskExecutorAdapter(new SyncTaskExecutor()), 4);
+
+        publisher.subscribe(session, counter);
+        publisher.countDueUsers();
+        // a new subscription is counted straight away, rather than sharing the ended one's schedule
+        publisher.subscribe(session, counter);
+        publisher.countDueUsers();
+
+        verify(counter, times(2)).countNewResults();
+    }
+
+    private SavedQueryNewResultsPublisher createPublisher(final AsyncListenableTaskExecutor executor, final int maxConcurrent) {
+        return new SavedQueryNewResultsPublisher(executor, userEntityAuditorAware, counterService, 60000L, 0L, maxConcurrent, 60000L);
+    }
+
+    private void setCurrentUser(final Long userId) {
+        final UserEntity userEntity = new UserEntity();
+        userEntity.setUserId(userId);
+        when(userEntityAuditorAware.getCurrentAuditor()).thenReturn(userEntity);
+    }
+}
@@ -35,7 +35,7 @@ public abstract class AbstractDocumentServiceIT extends AbstractFindIT {
                 .param(DocumentsController.INDEXES_PARAM, mvcIntegrationTestUtils.getDatabases())
                 .with(authentication(userAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$.documents", not(empty())));
@@ -52,7 +52,7 @@ public abstract class AbstractDocumentServiceIT extends AbstractFindIT {
                 .param(DocumentsController.INDEXES_PARAM, mvcIntegrationTestUtils.getDatabases())
                 .with(authentication(userAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$.documents", not(empty())));
@@ -68,7 +68,7 @@ public abstract class AbstractDocumentServiceIT extends AbstractFindIT {
                 .param(DocumentsController.INDEXES_PARAM, mvcIntegrationTestUtils.getDatabases())
                 .with(authentication(userAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$.documents", empty()));
@@ -85,7 +85,7 @@ public abstract class AbstractDocumentServiceIT extends AbstractFindIT {
                 .param(DocumentsController.SUMMARY_PARAM, "context")
                 .with(authentication(userAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$.documents", not(empty())));
@@ -100,7 +100,7 @@ public abstract class AbstractDocumentServiceIT extends AbstractFindIT {
                 .param(DocumentsController.DATABASE_PARAM, mvcIntegrationTestUtils.getDatabases()[0])
                 .with(authentication(userAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$", not(nullValue())));
@@ -5,23 +5,39 @@
 
 package com.hp.autonomy.frontend.find.core.search;
 
+import com.hp.autonomy.frontend.find.core.caching.DocumentContentCache;
+import com.hp.autonomy.frontend.find.core.typeahead.RecentQueryTexts;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
 import com.hp.autonomy.searchcomponents.core.search.DocumentsService;
 import com.hp.autonomy.searchcomponents.core.search.GetContentRequest;
 import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
 import com.hp.autonomy.searchcomponents.core.search.SearchRequest;
 import com.hp.autonomy.searchcomponents.core.search.SearchResult;
 import com.hp.autonomy.searchcomponents.core.search.SuggestRequest;
+import com.hp.autonomy.types.requests.Documents;
 import org.joda.time.DateTime;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.mock.env.MockEnvironment;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,17 +49,45 @@ public abstract class AbstractDocumentsControllerTest<S extends Serializable, Q
     @Mock
     protected QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory;
 
+    @Mock
+    protected DocumentContentCache documentContentCache;
+
+    @Mock
+    protected RecentQueryTexts recentQueryTexts;
+
+    protected final DeadlineExecutor deadlineExecutor = new DeadlineExecutor(new TaskExecutorAdapter(new SyncTaskExecutor()), mock(CounterService.class), mock(GaugeService.class), new MockEnvironment());
+
     protected DocumentsController<S, Q, R, E> documentsController;
     protected Class<S> databaseType;
 
     protected abstract R sampleResult();
 
+    protected abstract S sampleDatabase();
+
     @Test
     public void query() throws E {
         documentsController.query("Some query text", 1, 30, null, Collections.<S>emptyList(), null, null, null, null, true, 0, false);
         verify(documentsService).queryTextIndex(Matchers.<SearchRequest<S>>any());
     }
 
+    @Test
+    public void queryRecordsSuccessfulQueryText() throws E {
+        final Documents<R> documents = new Documents<>(Collections.singletonList(sampleResult()), 1, null, null, null, null);
+        when(documentsService.queryTextIndex(Matchers.<SearchRequest<S>>any())).thenReturn(documents);
+
+        documentsController.query("cat", 1, 30, null, Collections.<S>emptyList(), null, null, null, null, true, 0, false);
+        verify(recentQueryTexts).record("cat");
+    }
+
+    @Test
+    public void queryDoesNotRecordQueryTextWithoutResults() throws E {
+        final Documents<R> documents = new Documents<>(Collections.<R>emptyList(), 0, null, null, null, null);
+        when(documentsService.queryTextIndex(Matchers.<SearchRequest<S>>any())).thenReturn(documents);
+
+        documentsController.query("cat", 1, 30, null, Collections.<S>emptyList(), null, null, null, null, true, 0, false);
+        verify(recentQueryTexts, never()).record(Matchers.anyString());
+    }
+
     @Test
     public void queryForPromotions() throws E {
         documentsController.queryForPromotions("Some query text", 1, 30, null, Collections.<S>emptyList(), null, null, null, null, true, 0, false);
@@ -67,6 +111,43 @@ public abstract class AbstractDocumentsControllerTest<S extends Serializable, Q
     public void getDocumentContent() throws E {
         when(documentsService.getDocumentContent(Matchers.<GetContentRequest<S>>any())).thenReturn(Collections.singletonList(sampleResult()));
         final String reference = "SomeReference";
-        assertNotNull(documentsController.getDocumentContent(reference, null));
+        assertNotNull(documentsController.getDocumentContent(reference, null).getResult());
+    }
+
+    @Test
+    public void getCachedDocumentContent() throws E {
+        final R document = sampleResult();
+        when(documentContentCache.getObject(Matchers.<List<?>>any())).thenReturn((Serializable) document);
+
+        assertThat(documentsController.getDocumentContent("SomeReference", sampleDatabase()).getResult(), is((Object) document));
+        verify(documentsService, never()).getDocumentContent(Matchers.<GetContentRequest<S>>any());
+    }
+
+    @Test
+    public void getDocumentContentIsCached() throws E {
+        final R document = sampleResult();
+        when(documentsService.getDocumentContent(Matchers.<GetContentRequest<S>>any())).thenReturn(Collections.singletonList(document));
+
+        documentsController.getDocumentContent("SomeReference", sampleDatabase());
+        verify(documentContentCache).putObject(Matchers.<List<?>>any(), Matchers.eq((Serializable) document));
+    }
+
+    @Test
+    public void getDocumentContentsReportsMissingDocuments() throws E {
+        when(documentsService.getDocumentContent(Matchers.<GetContentRequest<S>>any())).thenReturn(Collections.<R>emptyList());
+        @SuppressWarnings("unchecked")
+        final List<DocumentContentResult<S, R>> results = (List<DocumentContentResult<S, R>>) documentsController.getDocumentContents(Arrays.asList("Reference1", "Reference2"), Arrays.asList(sampleDatabase(), sampleDatabase())).getResult();
+
+        verify(documentsService).getDocumentContent(Matchers.<GetContentRequest<S>>any());
+        assertThat(results.size(), is(2));
+        assertThat(results.get(0).getReference(), is("Reference1"));
+        assertFalse(results.get(0).isFound());
+        assertThat(results.get(1).getReference(), is("Reference2"));
+        assertFalse(results.get(1).isFound());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getDocumentContentsWithMismatchedDatabases() throws E {
+        documentsController.getDocumentContents(Arrays.asList("Reference1", "Reference2"), Collections.singletonList(sampleDatabase()));
     }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
+import com.hp.autonomy.searchcomponents.core.search.SearchRequest;
+import com.hp.autonomy.searchcomponents.core.search.SearchResult;
+import com.hp.autonomy.types.requests.Documents;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public abstract class AbstractExportControllerTest<S extends Serializable, Q extends QueryRestrictions<S>, R extends SearchResult, E extends Exception> {
+    protected static final int MAX_RESULTS = 5;
+
+    @Mock
+    protected UncachedDocumentsService<S, R, E> documentsService;
+
+    @Mock
+    protected QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory;
+
+    protected final ObjectMapper objectMapper = new ObjectMapper();
+
+    protected ExportController<S, Q, R, E> exportController;
+
+    protected abstract R sampleResult();
+
+    @Test
+    public void exportPagesUntilResultsRunOut() throws E, IOException {
+        when(documentsService.queryTextIndexWithoutCache(Matchers.<SearchRequest<S>>any())).thenReturn(documents(2), documents(1));
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        export("ndjson", 2, response);
+
+        verify(documentsService, times(2)).queryTextIndexWithoutCache(Matchers.<SearchRequest<S>>any());
+        verify(documentsService, never()).queryTextIndex(Matchers.<SearchRequest<S>>any());
+        assertThat(response.getContentType(), startsWith(ExportFormat.NDJSON.getContentType()));
+        assertThat(response.getContentAsString().split("\n").length, is(3));
+    }
+
+    @Test
+    public void exportStopsAtMaxResults() throws E, IOException {
+        when(documentsService.queryTextIndexWithoutCache(Matchers.<SearchRequest<S>>any())).thenReturn(documents(2));
+
+        export("ndjson", 2, new MockHttpServletResponse());
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<SearchRequest<S>> captor = ArgumentCaptor.forClass((Class<SearchRequest<S>>) (Class<?>) SearchRequest.class);
+        verify(documentsService, times(3)).queryTextIndexWithoutCache(captor.capture());
+        assertThat(captor.getValue().getStart(), is(5));
+        assertThat(captor.getValue().getMaxResults(), is(MAX_RESULTS));
+    }
+
+    @Test
+    public void exportCsv() throws E, IOException {
+        when(documentsService.queryTextIndexWithoutCache(Matchers.<SearchRequest<S>>any())).thenReturn(documents(1));
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        export("csv", 100, response);
+
+        assertThat(response.getContentType(), startsWith(ExportFormat.CSV.getContentType()));
+        assertThat(response.getContentAsString(), startsWith("reference,index,title,summary,date,weight\r\n"));
+        assertThat(response.getContentAsString().split("\r\n").length, is(2));
+    }
+
+    @Test
+    public void exportStopsWhenClientDisconnects() throws E, IOException {
+        when(documentsService.queryTextIndexWithoutCache(Matchers.<SearchRequest<S>>any())).thenReturn(documents(2));
+
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Client disconnected");
+            }
+        });
+
+        export("ndjson", 2, response);
+
+        verify(documentsService).queryTextIndexWithoutCache(Matchers.<SearchRequest<S>>any());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void exportUnknownFormat() throws E, IOException {
+        export("xlsx", 100, new MockHttpServletResponse());
+    }
+
+    private void export(final String format, final int pageSize, final HttpServletResponse response) throws E, IOException {
+        exportController.export("*", "context", Collections.<S>emptyList(), "", null, null, null, false, 0, format, pageSize, response);
+    }
+
+    private Documents<R> documents(final int count) {
+        final List<R> results = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            results.add(sampleResult());
+        }
+
+        return new Documents<>(results, count, null, null, null, null);
+    }
+}
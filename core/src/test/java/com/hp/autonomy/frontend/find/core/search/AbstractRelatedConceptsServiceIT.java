@@ -32,8 +32,7 @@ public abstract class AbstractRelatedConceptsServiceIT extends AbstractFindIT {
                 .param(RelatedConceptsController.FIELD_TEXT_PARAM, "")
                 .with(authentication(userAuth()));
 
-        mockMvc
-                .perform(request)
+        performAsync(request)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$", not(empty())));
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.search;
+
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
+import com.hp.autonomy.searchcomponents.core.search.DocumentsService;
+import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
+import com.hp.autonomy.searchcomponents.core.search.RelatedConceptsRequest;
+import com.hp.autonomy.searchcomponents.core.search.RelatedConceptsService;
+import com.hp.autonomy.searchcomponents.core.search.SearchRequest;
+import com.hp.autonomy.searchcomponents.core.search.SearchResult;
+import com.hp.autonomy.types.requests.Documents;
+import com.hp.autonomy.types.requests.idol.actions.query.QuerySummaryElement;
+import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagInfo;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public abstract class AbstractSearchPageControllerTest<S extends Serializable, Q extends QueryRestrictions<S>, R extends SearchResult, C extends QuerySummaryElement, L extends RelatedConceptsRequest<S>, P extends ParametricRequest<S>, E extends Exception> {
+    @Mock
+    protected DocumentsService<S, R, E> documentsService;
+
+    @Mock
+    protected RelatedConceptsService<C, S, E> relatedConceptsService;
+
+    @Mock
+    protected ParametricValuesService<P, S, E> parametricValuesService;
+
+    @Mock
+    protected QueryRestrictionsBuilderFactory<Q, S> queryRestrictionsBuilderFactory;
+
+    @Mock
+    protected ObjectFactory<RelatedConceptsRequest.Builder<L, S>> relatedConceptsRequestBuilderFactory;
+
+    @Mock
+    protected ObjectFactory<ParametricRequest.Builder<P, S>> parametricRequestBuilderFactory;
+
+    protected SearchPageController<S, Q, R, C, L, P, E> searchPageController;
+
+    protected abstract SearchPageController<S, Q, R, C, L, P, E> buildController(final DeadlineExecutor deadlineExecutor);
+
+    @Before
+    public void setUp() {
+        searchPageController = buildController(new DeadlineExecutor(new TaskExecutorAdapter(new SyncTaskExecutor()), mock(CounterService.class), mock(GaugeService.class), new MockEnvironment()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void getSearchPage() throws E {
+        final Documents<R> documents = mock(Documents.class);
+        final Documents<R> promotions = mock(Documents.class);
+        final List<C> relatedConcepts = Collections.emptyList();
+        final Set<QueryTagInfo> parametricValues = Collections.emptySet();
+
+        when(documentsService.queryTextIndex(Matchers.<SearchRequest<S>>any())).thenReturn(documents);
+        when(documentsService.queryTextIndexForPromotions(Matchers.<SearchRequest<S>>any())).thenReturn(promotions);
+        when(relatedConceptsService.findRelatedConcepts(Matchers.<RelatedConceptsRequest<S>>any())).thenReturn(relatedConcepts);
+        when(parametricValuesService.getAllParametricValues(Matchers.<P>any())).thenReturn(parametricValues);
+
+        final SearchPageResults<R, C> results = (SearchPageResults<R, C>) searchPageController.getSearchPage("Some query text", 1, 30, "context", Collections.<S>emptyList(), null, null, null, null, true, 0, true, true, 20, Collections.singletonList("SomeParametricField")).getResult();
+
+        assertSame(documents, results.getDocuments());
+        assertSame(promotions, results.getPromotions());
+        assertSame(relatedConcepts, results.getRelatedConcepts());
+        assertSame(parametricValues, results.getParametricValues());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void getSearchPageWithoutPromotionsOrParametricValues() throws E {
+        final SearchPageResults<R, C> results = (SearchPageResults<R, C>) searchPageController.getSearchPage("Some query text", 1, 30, "context", Collections.<S>emptyList(), null, null, null, null, true, 0, true, false, null, null).getResult();
+
+        verify(documentsService).queryTextIndex(Matchers.<SearchRequest<S>>any());
+        verify(relatedConceptsService).findRelatedConcepts(Matchers.<RelatedConceptsRequest<S>>any());
+        verify(documentsService, never()).queryTextIndexForPromotions(Matchers.<SearchRequest<S>>any());
+        verify(parametricValuesService, never()).getAllParametricValues(Matchers.<P>any());
+        assertNull(results.getPromotions());
+        assertNull(results.getParametricValues());
+    }
+
+    @Test
+    public void backendFailureIsReturned() throws E {
+        when(relatedConceptsService.findRelatedConcepts(Matchers.<RelatedConceptsRequest<S>>any())).thenThrow(new IllegalStateException("backend failure"));
+
+        final DeferredResult<SearchPageResults<R, C>> result = searchPageController.getSearchPage("Some query text", 1, 30, "context", Collections.<S>emptyList(), null, null, null, null, true, 0, true, true, null, null);
+        assertThat(result.getResult(), instanceOf(IllegalStateException.class));
+    }
+}
@@ -16,6 +16,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -74,6 +76,10 @@ public abstract class AbstractFindIT {
                 .build();
     }
 
+    protected ResultActions performAsync(final RequestBuilder requestBuilder) throws Exception {
+        return MvcIntegrationTestUtils.performAsync(mockMvc, requestBuilder);
+    }
+
     protected Authentication userAuth() {
         return mvcIntegrationTestUtils.userAuth();
     }
@@ -16,6 +16,8 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.util.ArrayList;
@@ -26,7 +28,9 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 public abstract class MvcIntegrationTestUtils {
     private static final Pattern REFERENCE_PATTERN = Pattern.compile(".*\"reference\"\\s*:\\s*\"(?<reference>[^\"]+)\".*");
@@ -39,6 +43,17 @@ public abstract class MvcIntegrationTestUtils {
 
     protected abstract void addFieldRequestParams(MockHttpServletRequestBuilder requestBuilder);
 
+    /**
+     * Performs a request to an endpoint which returns a deferred result, waiting for the result to be dispatched
+     */
+    public static ResultActions performAsync(final MockMvc mockMvc, final RequestBuilder requestBuilder) throws Exception {
+        final MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+
     public String getValidReference(final MockMvc mockMvc) throws Exception {
         final MockHttpServletRequestBuilder request = get(DocumentsController.SEARCH_PATH + '/' + DocumentsController.QUERY_PATH).param(DocumentsController.TEXT_PARAM, "*")
                 .param(DocumentsController.RESULTS_START_PARAM, "1")
@@ -47,7 +62,7 @@ public abstract class MvcIntegrationTestUtils {
                 .param(DocumentsController.INDEXES_PARAM, getDatabases())
                 .with(authentication(userAuth()));
 
-        final MvcResult mvcResult = mockMvc.perform(request)
+        final MvcResult mvcResult = performAsync(mockMvc, request)
                 .andReturn();
 
         final Matcher matcher = REFERENCE_PATTERN.matcher(mvcResult.getResponse().getContentAsString());
@@ -64,7 +79,7 @@ public abstract class MvcIntegrationTestUtils {
                 .with(authentication(userAuth()));
         addFieldRequestParams(requestBuilder);
 
-        final MvcResult mvcResult = mockMvc.perform(requestBuilder)
+        final MvcResult mvcResult = performAsync(mockMvc, requestBuilder)
                 .andReturn();
         final TagName[] tagNames = new ObjectMapper().readValue(mvcResult.getResponse().getContentAsString(), TagName[].class);
         final List<String> fieldNames = new ArrayList<>(tagNames.length);
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.typeahead;
+
+import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
+import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
+import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagCountInfo;
+import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagInfo;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LocalTypeAheadEngineTest {
+    @Mock
+    private ParametricValuesService<ParametricRequest<String>, String, RuntimeException> parametricValuesService;
+
+    @Mock
+    private ObjectFactory<ParametricRequest.Builder<ParametricRequest<String>, String>> parametricRequestBuilderFactory;
+
+    @Mock
+    private QueryRestrictionsBuilderFactory<QueryRestrictions<String>, String> queryRestrictionsBuilderFactory;
+
+    @Mock
+    private AuthenticationInformationRetriever<?, Principal> authenticationInformationRetriever;
+
+    private RecentQueryTexts recentQueryTexts;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+        final ParametricRequest.Builder<ParametricRequest<String>, String> parametricRequestBuilder = mock(ParametricRequest.Builder.class, RETURNS_DEEP_STUBS);
+        final QueryRestrictions.Builder<QueryRestrictions<String>, String> queryRestrictionsBuilder = mock(QueryRestrictions.Builder.class, RETURNS_DEEP_STUBS);
+        when(parametricRequestBuilderFactory.getObject()).thenReturn(parametricRequestBuilder);
+        when(queryRestrictionsBuilderFactory.createBuilder()).thenReturn(queryRestrictionsBuilder);
+
+        setCurrentUser("alice");
+        recentQueryTexts = new RecentQueryTexts(authenticationInformationRetriever, true, 10, 10);
+    }
+
+    @Test
+    public void suggestsParametricValuesAndQueryTexts() {
+        final QueryTagCountInfo police = mockQueryTagCountInfo("police", 5);
+        final QueryTagCountInfo politics = mockQueryTagCountInfo("politics", 8);
+        final QueryTagInfo categoryValues = mockQueryTagInfo(police, politics);
+        when(parametricValuesService.getAllParametricValues(Matchers.<ParametricRequest<String>>any())).thenReturn(Collections.singleton(categoryValues));
+
+        recentQueryTexts.record("polar bears");
+        final LocalTypeAheadEngine<QueryRestrictions<String>, ParametricRequest<String>, String, RuntimeException> engine = createEngine(true);
+
+        assertThat(engine.getSuggestions("pol"), is(Arrays.asList("polar bears", "politics", "police")));
+    }
+
+    @Test
+    public void suggestsQueryTextsRecordedAfterIndexing() {
+        final LocalTypeAheadEngine<QueryRestrictions<String>, ParametricRequest<String>, String, RuntimeException> engine = createEngine(true);
+        recentQueryTexts.record("polar bears");
+        engine.getSuggestions("pol");
+        recentQueryTexts.record("polo");
+        recentQueryTexts.record("polo");
+
+        assertThat(engine.getSuggestions("pol"), is(Arrays.asList("polo", "polar bears")));
+    }
+
+    @Test
+    public void doesNotSuggestOtherUsersQueryTexts() {
+        recentQueryTexts.record("polar bears");
+        setCurrentUser("bob");
+        final LocalTypeAheadEngine<QueryRestrictions<String>, ParametricRequest<String>, String, RuntimeException> engine = createEngine(true);
+
+        assertThat(engine.getSuggestions("pol"), is(empty()));
+    }
+
+    @Test
+    public void buildsIndexForEachUser() {
+        final LocalTypeAheadEngine<QueryRestrictions<String>, ParametricRequest<String>, String, RuntimeException> engine = createEngine(true);
+        engine.getSuggestions("pol");
+        engine.getSuggestions("poli");
+        setCurrentUser("bob");
+        engine.getSuggestions("pol");
+
+        verify(parametricValuesService, times(2)).getAllParametricValues(Matchers.<ParametricRequest<String>>any());
+    }
+
+    @Test
+    public void suggestsQueryTextsWhenParametricValuesFail() {
+        when(parametricValuesService.getAllParametricValues(Matchers.<ParametricRequest<String>>any())).thenThrow(new IllegalStateException("backend down"));
+
+        recentQueryTexts.record("polar bears");
+        final LocalTypeAheadEngine<QueryRestrictions<String>, ParametricRequest<String>, String, RuntimeException> engine = createEngine(true);
+
+        assertThat(engine.getSuggestions("pol"), is(Collections.singletonList("polar bears")));
+    }
+
+    @Test
+    public void noSuggestionsWhenDisabled() {
+        recentQueryTexts.record("polar bears");
+        final LocalTypeAheadEngine<QueryRestrictions<String>, ParametricRequest<String>, String, RuntimeException> engine = createEngine(false);
+
+        assertThat(engine.getSuggestions("pol"), is(empty()));
+    }
+
+    private LocalTypeAheadEngine<QueryRestrictions<String>, ParametricRequest<String>, String, RuntimeException> createEngine(final boolean enabled) {
+        return new LocalTypeAheadEngine<QueryRestrictions<String>, ParametricRequest<String>, String, RuntimeException>(parametricValuesService, parametricRequestBuilderFactory, queryRestrictionsBuilderFactory,
+                new TaskExecutorAdapter(new SyncTaskExecutor()), authenticationInformationRetriever, recentQueryTexts, enabled, new String[]{"CATEGORY"}, 100, 10, 60000L, 60000L, 10) {
+            @Override
+            protected List<String> getDatabases() {
+                return Collections.emptyList();
+            }
+        };
+    }
+
+    private void setCurrentUser(final String name) {
+        final Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn(name);
+        when(authenticationInformationRetriever.getPrincipal()).thenReturn(principal);
+    }
+
+    private QueryTagInfo mockQueryTagInfo(final QueryTagCountInfo... values) {
+        final QueryTagInfo queryTagInfo = mock(QueryTagInfo.class);
+        when(queryTagInfo.getValues()).thenReturn(new LinkedHashSet<>(Arrays.asList(values)));
+        return queryTagInfo;
+    }
+
+    private QueryTagCountInfo mockQueryTagCountInfo(final String value, final int count) {
+        final QueryTagCountInfo queryTagCountInfo = mock(QueryTagCountInfo.class);
+        when(queryTagCountInfo.getValue()).thenReturn(value);
+        when(queryTagCountInfo.getCount()).thenReturn(count);
+        return queryTagCountInfo;
+    }
+}
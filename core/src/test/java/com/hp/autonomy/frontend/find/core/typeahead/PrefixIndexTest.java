@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.typeahead;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PrefixIndexTest {
+    private PrefixIndex index;
+
+    @Before
+    public void setUp() {
+        index = PrefixIndex.build(ImmutableMap.<String, Integer>builder()
+                .put("Police", 10)
+                .put("policy", 30)
+                .put("Politics", 20)
+                .put("polar bear", 5)
+                .put("POLICE", 25)
+                .put("apple", 100)
+                .build());
+    }
+
+    @Test
+    public void returnsMatchesInDescendingOrderOfWeight() {
+        assertThat(index.getSuggestions("poli", 10), is(Arrays.asList("Police", "policy", "Politics")));
+    }
+
+    @Test
+    public void mergesSuggestionsDifferingInCase() {
+        assertThat(index.size(), is(5));
+        assertThat(index.getSuggestions("police", 10).size(), is(1));
+    }
+
+    @Test
+    public void ignoresCaseAndLeadingSpace() {
+        assertThat(index.getSuggestions("  POLA", 10), is(Collections.singletonList("polar bear")));
+    }
+
+    @Test
+    public void limitsSuggestions() {
+        assertThat(index.getSuggestions("pol", 2), is(Arrays.asList("Police", "policy")));
+    }
+
+    @Test
+    public void trailingSpaceIsPartOfPrefix() {
+        assertThat(index.getSuggestions("polar ", 10), is(Collections.singletonList("polar bear")));
+        assertThat(index.getSuggestions("police ", 10), is(empty()));
+    }
+
+    @Test
+    public void noSuggestionsForBlankText() {
+        assertThat(index.getSuggestions(" ", 10), is(empty()));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.typeahead;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TypeAheadControllerTest {
+    @Mock
+    private TypeAheadPrefixCache<RuntimeException> typeAheadPrefixCache;
+
+    @Mock
+    private LocalTypeAheadEngine<?, ?, ?, ?> localTypeAheadEngine;
+
+    private TypeAheadController<RuntimeException> controller;
+
+    @Before
+    public void setUp() {
+        controller = new TypeAheadController<>(typeAheadPrefixCache, localTypeAheadEngine);
+    }
+
+    @Test
+    public void localSuggestionsWithoutService() {
+        final List<String> suggestions = Arrays.asList("polar bears", "police");
+        when(localTypeAheadEngine.getSuggestions("pol")).thenReturn(suggestions);
+
+        assertThat(controller.getSuggestions("pol"), is(suggestions));
+        verify(typeAheadPrefixCache, never()).getSuggestions(anyString());
+    }
+
+    @Test
+    public void serviceSuggestionsWithoutLocalSuggestions() {
+        final List<String> suggestions = Collections.singletonList("polygon");
+        when(localTypeAheadEngine.getSuggestions("poly")).thenReturn(Collections.<String>emptyList());
+        when(typeAheadPrefixCache.getSuggestions("poly")).thenReturn(suggestions);
+
+        assertThat(controller.getSuggestions("poly"), is(suggestions));
+    }
+}
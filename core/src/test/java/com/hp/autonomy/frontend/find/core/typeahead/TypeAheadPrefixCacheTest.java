@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.typeahead;
+
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import com.hp.autonomy.searchcomponents.core.typeahead.TypeAheadService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TypeAheadPrefixCacheTest {
+    @Mock
+    private TypeAheadService<RuntimeException> typeAheadService;
+
+    @Mock
+    private CounterService counterService;
+
+    @Mock
+    private AuthenticationInformationRetriever<?, Principal> authenticationInformationRetriever;
+
+    private TypeAheadPrefixCache<RuntimeException> cache;
+
+    @Before
+    public void setUp() {
+        cache = new TypeAheadPrefixCache<>(typeAheadService, counterService, new ConcurrentMapCacheManager(), authenticationInformationRetriever);
+
+        // the service returns at most three suggestions
+        when(typeAheadService.getSuggestions("p")).thenReturn(Arrays.asList("people", "police", "Polish"));
+        cache.getSuggestions("p");
+    }
+
+    @Test
+    public void filtersCompleteShorterPrefix() {
+        when(typeAheadService.getSuggestions("pol")).thenReturn(Arrays.asList("police", "Polish"));
+
+        cache.getSuggestions("pol");
+
+        assertThat(cache.getSuggestions("poli"), contains("police", "Polish"));
+        assertThat(cache.getSuggestions("polic"), contains("police"));
+        assertThat(cache.getSuggestions("polo"), is(empty()));
+        verify(typeAheadService, times(1)).getSuggestions("pol");
+        verify(counterService, times(2)).increment(TypeAheadPrefixCache.BACKEND_CALLS_METRIC);
+        verify(counterService, times(3)).increment(TypeAheadPrefixCache.BACKEND_CALLS_AVOIDED_METRIC);
+    }
+
+    @Test
+    public void callsServiceAfterTruncatedResult() {
+        when(typeAheadService.getSuggestions("pol")).thenReturn(Arrays.asList("police", "polish", "polygon"));
+        final List<String> suggestions = Collections.singletonList("polite");
+        when(typeAheadService.getSuggestions("poli")).thenReturn(suggestions);
+
+        cache.getSuggestions("pol");
+
+        assertThat(cache.getSuggestions("poli"), is(suggestions));
+        verify(counterService, times(3)).increment(TypeAheadPrefixCache.BACKEND_CALLS_METRIC);
+    }
+
+    @Test
+    public void resultIsNotCompleteUntilServiceHasReturnedMore() {
+        final TypeAheadPrefixCache<RuntimeException> newCache = new TypeAheadPrefixCache<>(typeAheadService, counterService, new ConcurrentMapCacheManager(), authenticationInformationRetriever);
+        when(typeAheadService.getSuggestions("pol")).thenReturn(Arrays.asList("police", "polish"));
+        final List<String> suggestions = Collections.singletonList("polite");
+        when(typeAheadService.getSuggestions("poli")).thenReturn(suggestions);
+
+        newCache.getSuggestions("pol");
+
+        // the service's limit may be two, so the first result may have been truncated
+        assertThat(newCache.getSuggestions("poli"), is(suggestions));
+    }
+
+    @Test
+    public void cachesResultsPerUser() {
+        when(typeAheadService.getSuggestions("x")).thenReturn(Collections.singletonList("xylophone"));
+
+        when(authenticationInformationRetriever.getPrincipal()).thenReturn(mock(Principal.class));
+        cache.getSuggestions("x");
+        when(authenticationInformationRetriever.getPrincipal()).thenReturn(mock(Principal.class));
+        cache.getSuggestions("x");
+
+        verify(typeAheadService, times(2)).getSuggestions("x");
+    }
+
+    @Test
+    public void callsServiceIfSuggestionsAreNotPrefixMatches() {
+        when(typeAheadService.getSuggestions("new yo")).thenReturn(Collections.singletonList("york"));
+        final List<String> suggestions = Collections.singletonList("yorkshire");
+        when(typeAheadService.getSuggestions("new yor")).thenReturn(suggestions);
+
+        cache.getSuggestions("new yo");
+
+        assertThat(cache.getSuggestions("new yor"), is(suggestions));
+    }
+
+    @Test
+    public void repeatedTextUsesCache() {
+        final List<String> suggestions = Arrays.asList("a", "b", "c");
+        when(typeAheadService.getSuggestions("x")).thenReturn(suggestions);
+
+        cache.getSuggestions("x");
+
+        assertThat(cache.getSuggestions("x"), is(suggestions));
+        verify(typeAheadService, times(1)).getSuggestions("x");
+    }
+}
@@ -5,13 +5,17 @@
 
 package com.hp.autonomy.frontend.find.core.view;
 
+import com.hp.autonomy.frontend.find.core.caching.DocumentContentCache;
 import com.hp.autonomy.frontend.find.core.web.ControllerUtils;
 import com.hp.autonomy.frontend.find.core.web.ErrorModelAndViewInfo;
 import com.hp.autonomy.searchcomponents.core.view.ViewServerService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Matchers;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.web.servlet.ModelAndView;
@@ -19,11 +23,17 @@ import org.springframework.web.servlet.ModelAndView;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +42,9 @@ public abstract class AbstractViewControllerTest<C extends ViewController<S, E>,
     @Mock
     protected ControllerUtils controllerUtils;
 
+    @Mock
+    protected DocumentContentCache documentContentCache;
+
     protected C viewController;
     protected ViewServerService<S, E> viewServerService;
     protected MockHttpServletResponse response;
@@ -51,4 +64,34 @@ public abstract class AbstractViewControllerTest<C extends ViewController<S, E>,
         viewController.viewDocument(reference, sampleDatabase, null, response);
         verify(viewServerService).viewDocument(eq(reference), eq(sampleDatabase), isNull(String.class), any(OutputStream.class));
     }
+
+    @Test
+    public void viewDocumentIsCached() throws E, IOException {
+        final byte[] content = "<html></html>".getBytes(StandardCharsets.UTF_8);
+        when(documentContentCache.getMaxEntryBytes()).thenReturn(1024);
+
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws IOException {
+                ((OutputStream) invocation.getArguments()[3]).write(content);
+                return null;
+            }
+        }).when(viewServerService).viewDocument(any(String.class), Matchers.<S>any(), any(String.class), any(OutputStream.class));
+
+        viewController.viewDocument("SomeReference", getSampleDatabase(), null, response);
+
+        assertThat(response.getContentAsByteArray(), is(content));
+        verify(documentContentCache).put(Matchers.<List<?>>any(), eq(content));
+    }
+
+    @Test
+    public void viewCachedDocument() throws E, IOException {
+        final byte[] content = "<html></html>".getBytes(StandardCharsets.UTF_8);
+        when(documentContentCache.get(Matchers.<List<?>>any())).thenReturn(content);
+
+        viewController.viewDocument("SomeReference", getSampleDatabase(), null, response);
+
+        assertThat(response.getContentAsByteArray(), is(content));
+        verify(viewServerService, never()).viewDocument(any(String.class), Matchers.<S>any(), any(String.class), any(OutputStream.class));
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.web;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ContextPropagatingTaskExecutorTest {
+    private final ContextPropagatingTaskExecutor executor = new ContextPropagatingTaskExecutor(new SimpleAsyncTaskExecutor());
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void propagatesSecurityContext() throws Exception {
+        final Authentication authentication = new TestingAuthenticationToken("user", "password");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        final Authentication workerAuthentication = executor.submit(new Callable<Authentication>() {
+            @Override
+            public Authentication call() {
+                return SecurityContextHolder.getContext().getAuthentication();
+            }
+        }).get();
+
+        assertSame(authentication, workerAuthentication);
+    }
+
+    @Test
+    public void copiesSecurityContext() throws Exception {
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        securityContext.setAuthentication(new TestingAuthenticationToken("user", "password"));
+
+        executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() {
+                SecurityContextHolder.getContext().setAuthentication(null);
+                return null;
+            }
+        }).get();
+
+        assertNotNull(securityContext.getAuthentication());
+    }
+
+    @Test
+    public void doesNotPropagateRequestAttributes() throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        final RequestAttributes workerAttributes = executor.submit(new Callable<RequestAttributes>() {
+            @Override
+            public RequestAttributes call() {
+                return RequestContextHolder.getRequestAttributes();
+            }
+        }).get();
+
+        assertNull(workerAttributes);
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.web;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import javax.servlet.AsyncEvent;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DeadlineExecutorTest {
+    @Mock
+    private CounterService counterService;
+
+    @Mock
+    private GaugeService gaugeService;
+
+    private MockEnvironment environment;
+    private ExecutorService executorService;
+    private DeadlineExecutor deadlineExecutor;
+
+    @Before
+    public void setUp() {
+        environment = new MockEnvironment();
+        executorService = Executors.newCachedThreadPool();
+        deadlineExecutor = new DeadlineExecutor(new TaskExecutorAdapter(executorService), counterService, gaugeService, environment);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void setsResult() {
+        final DeadlineExecutor syncDeadlineExecutor = new DeadlineExecutor(new TaskExecutorAdapter(new SyncTaskExecutor()), counterService, gaugeService, environment);
+
+        final DeferredResult<String> result = syncDeadlineExecutor.execute("test", new Callable<String>() {
+            @Override
+            public String call() {
+                return "result";
+            }
+        });
+
+        assertEquals("result", result.getResult());
+        verify(gaugeService).submit(Matchers.eq(DeadlineExecutor.QUEUE_TIME_METRIC), Matchers.anyDouble());
+        verify(counterService, never()).increment(anyString());
+    }
+
+    @Test
+    public void setsErrorResult() {
+        final DeadlineExecutor syncDeadlineExecutor = new DeadlineExecutor(new TaskExecutorAdapter(new SyncTaskExecutor()), counterService, gaugeService, environment);
+
+        final DeferredResult<String> result = syncDeadlineExecutor.execute("test", new Callable<String>() {
+            @Override
+            public String call() throws IOException {
+                throw new IOException("Backend failed");
+            }
+        });
+
+        assertThat(result.getResult(), instanceOf(IOException.class));
+    }
+
+    @Test
+    public void rejectedCallSetsErrorResult() {
+        final ThreadPoolTaskExecutor fullExecutor = new ThreadPoolTaskExecutor();
+        fullExecutor.setCorePoolSize(1);
+        fullExecutor.setMaxPoolSize(1);
+        fullExecutor.setQueueCapacity(0);
+        fullExecutor.initialize();
+
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            final DeadlineExecutor fullDeadlineExecutor = new DeadlineExecutor(fullExecutor, counterService, gaugeService, environment);
+
+            fullDeadlineExecutor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws InterruptedException {
+                    release.await();
+                    return null;
+                }
+            });
+
+            final DeferredResult<String> result = fullDeadlineExecutor.execute("test", new Callable<String>() {
+                @Override
+                public String call() {
+                    return "result";
+                }
+            });
+
+            assertThat(result.getResult(), instanceOf(RejectedExecutionException.class));
+        } finally {
+            release.countDown();
+            fullExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void cancelsCallWhenDeadlinePasses() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        final DeferredResult<String> result = deadlineExecutor.execute("test", new Callable<String>() {
+            @Override
+            public String call() {
+                started.countDown();
+
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (final InterruptedException ignored) {
+                    interrupted.countDown();
+                }
+
+                return "too late";
+            }
+        });
+
+        final AsyncRequest asyncRequest = new AsyncRequest(result);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        asyncRequest.timeOut();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertThat(asyncRequest.getResult(), instanceOf(DeadlineExceededException.class));
+        verify(counterService).increment("find.deadline.test.timedOut");
+    }
+
+    @Test
+    public void cancelsCallWhenRequestCompletes() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        final DeferredResult<String> result = deadlineExecutor.execute("test", new Callable<String>() {
+            @Override
+            public String call() {
+                started.countDown();
+
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (final InterruptedException ignored) {
+                    interrupted.countDown();
+                }
+
+                return "not wanted";
+            }
+        });
+
+        final AsyncRequest asyncRequest = new AsyncRequest(result);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        asyncRequest.complete();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        verify(counterService).increment("find.deadline.test.cancelled");
+    }
+
+    @Test
+    public void usesDefaultDeadline() {
+        environment.setProperty("find.deadlines.default", "1000");
+
+        assertThat(deadlineExecutor.startDeadline("test").getRemainingMillis(), lessThanOrEqualTo(1000L));
+    }
+
+    @Test
+    public void headerShortensDeadline() {
+        environment.setProperty("find.deadlines.test", "10000");
+        setDeadlineHeader("1000");
+
+        assertThat(deadlineExecutor.startDeadline("test").getRemainingMillis(), lessThanOrEqualTo(1000L));
+    }
+
+    @Test
+    public void headerCannotExtendDeadline() {
+        environment.setProperty("find.deadlines.test", "1000");
+        setDeadlineHeader("10000");
+
+        assertThat(deadlineExecutor.startDeadline("test").getRemainingMillis(), lessThanOrEqualTo(1000L));
+    }
+
+    @Test
+    public void invalidHeaderIsIgnored() {
+        environment.setProperty("find.deadlines.test", "1000");
+        setDeadlineHeader("soon");
+
+        assertThat(deadlineExecutor.startDeadline("test").getRemainingMillis(), greaterThan(0L));
+    }
+
+    private void setDeadlineHeader(final String value) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(DeadlineExecutor.DEADLINE_HEADER, value);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    /**
+     * Starts asynchronous processing of a deferred result in the same way as Spring MVC, so that the container
+     * timing out or completing the request can be simulated
+     */
+    private static class AsyncRequest {
+        private final MockHttpServletRequest request = new MockHttpServletRequest();
+        private final StandardServletAsyncWebRequest asyncWebRequest;
+        private final WebAsyncManager webAsyncManager;
+
+        private AsyncRequest(final DeferredResult<?> deferredResult) throws Exception {
+            request.setAsyncSupported(true);
+            asyncWebRequest = new StandardServletAsyncWebRequest(request, new MockHttpServletResponse());
+
+            webAsyncManager = WebAsyncUtils.getAsyncManager(request);
+            webAsyncManager.setAsyncWebRequest(asyncWebRequest);
+            webAsyncManager.startDeferredResultProcessing(deferredResult);
+        }
+
+        private void timeOut() throws IOException {
+            asyncWebRequest.onTimeout(new AsyncEvent(request.getAsyncContext()));
+        }
+
+        private void complete() throws IOException {
+            asyncWebRequest.onComplete(new AsyncEvent(request.getAsyncContext()));
+        }
+
+        private Object getResult() {
+            return webAsyncManager.getConcurrentResult();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.core.web;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RequestCoalescerTest {
+    private static final int THREADS = 5;
+
+    @Mock
+    private CounterService counterService;
+
+    private RequestCoalescer requestCoalescer;
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() {
+        requestCoalescer = new RequestCoalescer(counterService, 10000L);
+        executorService = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @Test
+    public void identicalConcurrentCallsAreCoalesced() throws Exception {
+        final AtomicInteger invocations = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final RequestCoalescer.Call<String, IOException> call = new RequestCoalescer.Call<String, IOException>() {
+            @Override
+            public String call() throws IOException {
+                invocations.incrementAndGet();
+                awaitQuietly(release);
+                return "result";
+            }
+        };
+
+        final List<Future<String>> futures = submit(new Object[]{"user", "query"}, call);
+        waitForWaiters();
+        release.countDown();
+
+        for (final Future<String> future : futures) {
+            assertEquals("result", future.get(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, invocations.get());
+        assertEquals(0, requestCoalescer.getPendingCallCount());
+        verify(counterService).increment("find.coalescing.test.calls");
+        verify(counterService, times(THREADS - 1)).increment("find.coalescing.test.waiters");
+    }
+
+    @Test
+    public void failuresAreSharedWithWaiters() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final RequestCoalescer.Call<String, IOException> call = new RequestCoalescer.Call<String, IOException>() {
+            @Override
+            public String call() throws IOException {
+                awaitQuietly(release);
+                throw new IOException("backend failure");
+            }
+        };
+
+        final List<Future<String>> futures = submit(new Object[]{"user", "query"}, call);
+        waitForWaiters();
+        release.countDown();
+
+        for (final Future<String> future : futures) {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+                fail("Expected the backend failure to be rethrown");
+            } catch (final ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(IOException.class));
+            }
+        }
+
+        assertEquals(0, requestCoalescer.getPendingCallCount());
+    }
+
+    @Test
+    public void waiterMakesCallAfterTimeout() throws Exception {
+        requestCoalescer = new RequestCoalescer(counterService, 0L);
+        final AtomicInteger invocations = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<Integer> leader = startCall(new RequestCoalescer.Call<Integer, IOException>() {
+            @Override
+            public Integer call() {
+                awaitQuietly(release);
+                return invocations.incrementAndGet();
+            }
+        });
+
+        final int result = requestCoalescer.execute("test", new Object[]{"user", "query"}, new RequestCoalescer.Call<Integer, IOException>() {
+            @Override
+            public Integer call() {
+                return invocations.incrementAndGet();
+            }
+        });
+
+        release.countDown();
+
+        assertEquals(1, result);
+        assertEquals(2, (int) leader.get(10, TimeUnit.SECONDS));
+        verify(counterService).increment("find.coalescing.test.timeouts");
+    }
+
+    @Test
+    public void interruptedWaiterStopsWaiting() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<Integer> leader = startCall(new RequestCoalescer.Call<Integer, IOException>() {
+            @Override
+            public Integer call() {
+                awaitQuietly(release);
+                return 1;
+            }
+        });
+
+        Thread.currentThread().interrupt();
+
+        try {
+            requestCoalescer.execute("test", new Object[]{"user", "query"}, new RequestCoalescer.Call<Integer, IOException>() {
+                @Override
+                public Integer call() {
+                    throw new AssertionError("Waiter should not make the call");
+                }
+            });
+
+            fail("Expected the wait to be interrupted");
+        } catch (final IllegalStateException ignored) {
+            assertTrue(Thread.interrupted());
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(1, (int) leader.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void differentKeysAreNotCoalesced() throws IOException {
+        final AtomicInteger invocations = new AtomicInteger();
+
+        final RequestCoalescer.Call<Integer, IOException> call = new RequestCoalescer.Call<Integer, IOException>() {
+            @Override
+            public Integer call() {
+                return invocations.incrementAndGet();
+            }
+        };
+
+        requestCoalescer.execute("test", new Object[]{"user1", "query"}, call);
+        requestCoalescer.execute("test", new Object[]{"user2", "query"}, call);
+        requestCoalescer.execute("other", new Object[]{"user1", "query"}, call);
+
+        assertEquals(3, invocations.get());
+        verify(counterService, times(2)).increment("find.coalescing.test.calls");
+    }
+
+    @Test
+    public void sequentialCallsAreNotCoalesced() throws IOException {
+        final AtomicInteger invocations = new AtomicInteger();
+
+        final RequestCoalescer.Call<Integer, IOException> call = new RequestCoalescer.Call<Integer, IOException>() {
+            @Override
+            public Integer call() {
+                return invocations.incrementAndGet();
+            }
+        };
+
+        assertEquals(1, (int) requestCoalescer.execute("test", new Object[]{"user", "query"}, call));
+        assertEquals(2, (int) requestCoalescer.execute("test", new Object[]{"user", "query"}, call));
+    }
+
+    @Test
+    public void mutatedKeyIsStillRemoved() throws IOException {
+        final List<String> request = new ArrayList<>();
+        request.add("query");
+
+        requestCoalescer.execute("test", new Object[]{request}, new RequestCoalescer.Call<Object, IOException>() {
+            @Override
+            public Object call() {
+                request.add("modified by the call");
+                return null;
+            }
+        });
+
+        assertEquals(0, requestCoalescer.getPendingCallCount());
+    }
+
+    private <V> List<Future<V>> submit(final Object[] key, final RequestCoalescer.Call<V, IOException> call) throws InterruptedException {
+        final List<Future<V>> futures = new ArrayList<>();
+        final CountDownLatch firstStarted = new CountDownLatch(1);
+
+        futures.add(executorService.submit(new Callable<V>() {
+            @Override
+            public V call() throws IOException {
+                return requestCoalescer.execute("test", key, new RequestCoalescer.Call<V, IOException>() {
+                    @Override
+                    public V call() throws IOException {
+                        firstStarted.countDown();
+                        return call.call();
+                    }
+                });
+            }
+        }));
+
+        assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+
+        for (int i = 1; i < THREADS; i++) {
+            futures.add(executorService.submit(new Callable<V>() {
+                @Override
+                public V call() throws IOException {
+                    return requestCoalescer.execute("test", key, call);
+                }
+            }));
+        }
+
+        return futures;
+    }
+
+    private Future<Integer> startCall(final RequestCoalescer.Call<Integer, IOException> call) throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+
+        final Future<Integer> future = executorService.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() throws IOException {
+                return requestCoalescer.execute("test", new Object[]{"user", "query"}, new RequestCoalescer.Call<Integer, IOException>() {
+                    @Override
+                    public Integer call() throws IOException {
+                        started.countDown();
+                        return call.call();
+                    }
+                });
+            }
+        });
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        return future;
+    }
+
+    private void waitForWaiters() {
+        verify(counterService, timeout(10000).times(THREADS - 1)).increment("find.coalescing.test.waiters");
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
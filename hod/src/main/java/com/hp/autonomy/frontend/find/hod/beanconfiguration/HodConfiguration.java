@@ -11,11 +11,18 @@ import com.hp.autonomy.frontend.configuration.Authentication;
 import com.hp.autonomy.frontend.configuration.AuthenticationConfig;
 import com.hp.autonomy.frontend.configuration.ConfigService;
 import com.hp.autonomy.frontend.configuration.SingleUserAuthenticationValidator;
+import com.hp.autonomy.frontend.find.core.caching.CanonicalSearchKeyGenerator;
+import com.hp.autonomy.frontend.find.core.configuration.ConnectionPoolConfig;
+import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.web.FindCacheNames;
+import com.hp.autonomy.frontend.find.core.web.InstrumentedConnectionManager;
 import com.hp.autonomy.frontend.find.hod.configuration.HodAuthenticationMixins;
+import com.hp.autonomy.frontend.find.hod.configuration.HodFindConfig;
 import com.hp.autonomy.hod.client.api.authentication.AuthenticationService;
 import com.hp.autonomy.hod.client.api.authentication.AuthenticationServiceImpl;
 import com.hp.autonomy.hod.client.api.authentication.EntityType;
 import com.hp.autonomy.hod.client.api.authentication.TokenType;
+import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
 import com.hp.autonomy.hod.client.api.userstore.user.UserStoreUsersService;
 import com.hp.autonomy.hod.client.api.userstore.user.UserStoreUsersServiceImpl;
 import com.hp.autonomy.hod.client.config.HodServiceConfig;
@@ -28,12 +35,16 @@ import com.hp.autonomy.hod.sso.HodSsoConfig;
 import com.hp.autonomy.hod.sso.UnboundTokenService;
 import com.hp.autonomy.hod.sso.UnboundTokenServiceImpl;
 import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import com.hp.autonomy.searchcomponents.hod.search.HodQueryRestrictions;
 import org.apache.http.HttpHost;
 import org.apache.http.client.HttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -74,9 +85,25 @@ public class HodConfiguration {
         return singleUserAuthenticationValidator;
     }
 
+    @Bean(name = FindCacheNames.SEARCH_KEY_GENERATOR)
+    public KeyGenerator searchKeyGenerator(final QueryRestrictionsBuilderFactory<HodQueryRestrictions, ResourceIdentifier> queryRestrictionsBuilderFactory) {
+        return new CanonicalSearchKeyGenerator<>(queryRestrictionsBuilderFactory, new SimpleKeyGenerator());
+    }
+
+    @Bean
+    public InstrumentedConnectionManager connectionManager(final ConfigService<HodFindConfig> configService, final GaugeService gaugeService) {
+        return new InstrumentedConnectionManager("hod", ConnectionPoolConfig.withDefaults(configService.getConfig().getConnectionPool()), gaugeService);
+    }
+
     @Bean
-    public HttpClient httpClient() {
-        final HttpClientBuilder builder = HttpClientBuilder.create();
+    public HttpClient httpClient(final InstrumentedConnectionManager connectionManager, final ConfigService<HodFindConfig> configService) {
+        final ConnectionPoolConfig connectionPoolConfig = ConnectionPoolConfig.withDefaults(configService.getConfig().getConnectionPool());
+
+        final HttpClientBuilder builder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(connectionPoolConfig.toRequestConfig())
+                .setKeepAliveStrategy(connectionPoolConfig.toKeepAliveStrategy())
+                .evictExpiredConnections();
 
         final String proxyHost = environment.getProperty("find.https.proxyHost");
 
@@ -9,10 +9,16 @@ import com.hp.autonomy.frontend.configuration.ConfigService;
 import com.hp.autonomy.frontend.configuration.HostAndPort;
 import com.hp.autonomy.frontend.configuration.RedisConfig;
 import com.hp.autonomy.frontend.find.core.beanconfiguration.RedisCondition;
+import com.hp.autonomy.frontend.find.core.caching.CacheMetrics;
+import com.hp.autonomy.frontend.find.core.savedsearches.SavedSearchCache;
+import com.hp.autonomy.frontend.find.core.savedsearches.SavedSearchInvalidationBroadcaster;
 import com.hp.autonomy.frontend.find.core.web.FindCacheNames;
 import com.hp.autonomy.frontend.find.hod.configuration.HodFindConfig;
+import com.hp.autonomy.frontend.find.hod.savedsearches.RedisSavedSearchInvalidationBroadcaster;
+import com.hp.autonomy.hod.caching.HodApplicationCacheResolver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
@@ -22,6 +28,9 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.session.data.redis.config.ConfigureNotifyKeyspaceEventsAction;
 import org.springframework.session.data.redis.config.ConfigureRedisAction;
 import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisHttpSession;
@@ -34,6 +43,9 @@ public class RedisConfiguration {
     @Autowired
     private ConfigService<HodFindConfig> configService;
 
+    @Autowired
+    private CacheMetrics cacheMetrics;
+
     @Value("${application.commit}")
     private String commit;
 
@@ -69,12 +81,24 @@ public class RedisConfiguration {
 
     @Bean
     public CacheManager cacheManager() {
-        final RedisCacheManager cacheManager = new RedisCacheManager(cachingRedisTemplate());
+        final RedisCacheManager cacheManager = new RedisCacheManager(cachingRedisTemplate()) {
+            @Override
+            protected Cache decorateCache(final Cache cache) {
+                return cacheMetrics.instrument(super.decorateCache(cache), HodApplicationCacheResolver.getOriginalName(cache.getName()));
+            }
+
+            // called once when a cache is created, as in AutoCreatingEhCacheCacheManager; caches are resolved per
+            // application, so the TTL is looked up by the original name
+            @Override
+            protected long computeExpiration(final String name) {
+                final Long expiry = FindCacheNames.getCacheExpiry(configService.getConfig().getCacheExpires(), HodApplicationCacheResolver.getOriginalName(name));
+                return expiry == null ? super.computeExpiration(name) : expiry;
+            }
+        };
         cacheManager.setUsePrefix(true);
         cacheManager.setCachePrefix(new DefaultRedisCachePrefix(":cache:" + commit + ':'));
 
         cacheManager.setDefaultExpiration(30 * 60);
-        cacheManager.setExpires(FindCacheNames.CACHE_EXPIRES);
 
         return cacheManager;
     }
@@ -86,6 +110,20 @@ public class RedisConfiguration {
         return template;
     }
 
+    @Bean
+    public SavedSearchInvalidationBroadcaster savedSearchInvalidationBroadcaster() {
+        return new RedisSavedSearchInvalidationBroadcaster(new StringRedisTemplate(redisConnectionFactory()));
+    }
+
+    // The cache is a parameter rather than a field because it depends on the broadcaster above
+    @Bean
+    public RedisMessageListenerContainer savedSearchInvalidationListenerContainer(final SavedSearchCache savedSearchCache) {
+        final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        container.addMessageListener(new RedisSavedSearchInvalidationBroadcaster.Listener(savedSearchCache), new ChannelTopic(RedisSavedSearchInvalidationBroadcaster.CHANNEL));
+        return container;
+    }
+
     @Bean
     public ConfigureRedisAction configureRedisAction() {
         // The config action might not be available in a secure redis (eg: Azure)
@@ -5,7 +5,9 @@
 
 package com.hp.autonomy.frontend.find.hod.configuration;
 
+import com.hp.autonomy.frontend.configuration.ConfigService;
 import com.hp.autonomy.frontend.find.core.beanconfiguration.InMemoryCondition;
+import com.hp.autonomy.frontend.find.core.caching.CacheMetrics;
 import com.hp.autonomy.frontend.find.core.configuration.AutoCreatingEhCacheCacheManager;
 import com.hp.autonomy.hod.caching.HodApplicationCacheResolver;
 import net.sf.ehcache.CacheManager;
@@ -18,8 +20,8 @@ import org.springframework.stereotype.Component;
 @Conditional(InMemoryCondition.class)
 public class HodAutoCreatingEhCacheCacheManager extends AutoCreatingEhCacheCacheManager {
     @Autowired
-    public HodAutoCreatingEhCacheCacheManager(final CacheManager cacheManager, final CacheConfiguration defaults) {
-        super(cacheManager, defaults);
+    public HodAutoCreatingEhCacheCacheManager(final CacheManager cacheManager, final CacheConfiguration defaults, final ConfigService<HodFindConfig> configService, final CacheMetrics cacheMetrics) {
+        super(cacheManager, defaults, configService, cacheMetrics);
     }
 
     @Override
@@ -15,6 +15,7 @@ import com.hp.autonomy.frontend.configuration.AuthenticationConfig;
 import com.hp.autonomy.frontend.configuration.ConfigException;
 import com.hp.autonomy.frontend.configuration.PasswordsConfig;
 import com.hp.autonomy.frontend.configuration.RedisConfig;
+import com.hp.autonomy.frontend.find.core.configuration.ConnectionPoolConfig;
 import com.hp.autonomy.frontend.find.core.configuration.FindConfig;
 import com.hp.autonomy.frontend.find.core.configuration.MapConfiguration;
 import com.hp.autonomy.frontend.find.core.configuration.SavedSearchConfig;
@@ -30,6 +31,8 @@ import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.jasypt.util.text.TextEncryptor;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 @SuppressWarnings({"InstanceVariableOfConcreteClass", "DefaultAnnotationParam"})
@@ -47,6 +50,8 @@ public class HodFindConfig extends AbstractConfig<HodFindConfig> implements Auth
     private final MapConfiguration map;
     private final Integer minScore;
     private final Integer topicMapMaxResults;
+    private final ConnectionPoolConfig connectionPool;
+    private final Map<String, Long> cacheExpires;
 
     @JsonProperty("savedSearches")
     private final SavedSearchConfig savedSearchConfig;
@@ -63,6 +68,8 @@ public class HodFindConfig extends AbstractConfig<HodFindConfig> implements Auth
         savedSearchConfig = builder.savedSearchConfig;
         minScore = builder.minScore;
         topicMapMaxResults = builder.topicMapMaxResults;
+        connectionPool = builder.connectionPool;
+        cacheExpires = builder.cacheExpires;
     }
 
     @SuppressWarnings("OverlyComplexMethod")
@@ -80,9 +87,21 @@ public class HodFindConfig extends AbstractConfig<HodFindConfig> implements Auth
                 .setSavedSearchConfig(savedSearchConfig == null ? config.savedSearchConfig : savedSearchConfig.merge(config.savedSearchConfig))
                 .setMinScore(minScore == null ? config.minScore : minScore)
                 .setTopicMapMaxResults(topicMapMaxResults == null ? config.topicMapMaxResults : topicMapMaxResults)
+                .setConnectionPool(connectionPool == null ? config.connectionPool : connectionPool.merge(config.connectionPool))
+                .setCacheExpires(mergeCacheExpires(config.cacheExpires))
                 .build() : this;
     }
 
+    private Map<String, Long> mergeCacheExpires(final Map<String, Long> otherCacheExpires) {
+        if (cacheExpires == null || otherCacheExpires == null) {
+            return cacheExpires == null ? otherCacheExpires : cacheExpires;
+        }
+
+        final Map<String, Long> merged = new HashMap<>(otherCacheExpires);
+        merged.putAll(cacheExpires);
+        return merged;
+    }
+
     @Override
     public HodFindConfig withoutDefaultLogin() {
         final Builder builder = new Builder(this);
@@ -120,6 +139,10 @@ public class HodFindConfig extends AbstractConfig<HodFindConfig> implements Auth
             map.basicValidate("map");
         }
 
+        if (connectionPool != null) {
+            connectionPool.basicValidate();
+        }
+
         if (!"default".equalsIgnoreCase(login.getMethod())) {
             login.basicValidate();
         }
@@ -173,6 +196,8 @@ public class HodFindConfig extends AbstractConfig<HodFindConfig> implements Auth
         private SavedSearchConfig savedSearchConfig;
         private Integer minScore;
         private Integer topicMapMaxResults;
+        private ConnectionPoolConfig connectionPool;
+        private Map<String, Long> cacheExpires;
 
         public Builder(final HodFindConfig config) {
             login = config.login;
@@ -186,6 +211,8 @@ public class HodFindConfig extends AbstractConfig<HodFindConfig> implements Auth
             savedSearchConfig = config.savedSearchConfig;
             minScore = config.minScore;
             topicMapMaxResults = config.topicMapMaxResults;
+            connectionPool = config.connectionPool;
+            cacheExpires = config.cacheExpires;
         }
 
         public HodFindConfig build() {
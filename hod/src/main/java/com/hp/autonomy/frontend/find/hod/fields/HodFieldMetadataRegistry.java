@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.hod.fields;
+
+import com.hp.autonomy.frontend.find.core.beanconfiguration.BackendExecutorConfiguration;
+import com.hp.autonomy.frontend.find.core.fields.FieldMetadataRegistry;
+import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
+import com.hp.autonomy.hod.client.error.HodErrorException;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import com.hp.autonomy.searchcomponents.core.fields.FieldsService;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
+import com.hp.autonomy.searchcomponents.hod.fields.HodFieldsRequest;
+import com.hp.autonomy.searchcomponents.hod.parametricvalues.HodParametricRequest;
+import com.hp.autonomy.searchcomponents.hod.search.HodQueryRestrictions;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+
+@Component
+class HodFieldMetadataRegistry extends FieldMetadataRegistry<HodFieldsRequest, HodErrorException, ResourceIdentifier, HodQueryRestrictions, HodParametricRequest> {
+    @Autowired
+    HodFieldMetadataRegistry(
+            final FieldsService<HodFieldsRequest, HodErrorException> fieldsService,
+            final ParametricValuesService<HodParametricRequest, ResourceIdentifier, HodErrorException> parametricValuesService,
+            final ObjectFactory<ParametricRequest.Builder<HodParametricRequest, ResourceIdentifier>> parametricRequestBuilderFactory,
+            @Qualifier(BackendExecutorConfiguration.BACKEND_EXECUTOR) final AsyncTaskExecutor backendExecutor,
+            final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever,
+            @Value("${find.fields.coldStartBudget:5000}") final long coldStartBudget,
+            @Value("${find.fields.refreshInterval:300000}") final long refreshInterval,
+            @Value("${find.fields.idleExpiry:3600000}") final long idleExpiry
+    ) {
+        super(fieldsService, parametricValuesService, parametricRequestBuilderFactory, backendExecutor, authenticationInformationRetriever, coldStartBudget, refreshInterval, idleExpiry);
+    }
+
+    @Override
+    protected HodQueryRestrictions createValueDetailsQueryRestrictions(final HodFieldsRequest request) {
+        return new HodQueryRestrictions.Builder()
+                .setQueryText("*")
+                .setDatabases(new LinkedList<>(request.getDatabases()))
+                .build();
+    }
+
+    @Override
+    protected Collection<String> getAdditionalDateFields() {
+        // TODO: Add AUTN_DATE once FIND-180 is complete; we are just preventing AUTN_DATE from showing up in HoD as it will cause performance problems
+        return Collections.emptyList();
+    }
+}
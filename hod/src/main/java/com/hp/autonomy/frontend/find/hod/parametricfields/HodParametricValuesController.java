@@ -5,8 +5,10 @@
 
 package com.hp.autonomy.frontend.find.hod.parametricfields;
 
+import com.hp.autonomy.frontend.find.core.caching.ParametricFieldValuesCache;
 import com.hp.autonomy.frontend.find.core.parametricfields.ParametricValuesController;
 import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
 import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
 import com.hp.autonomy.hod.client.error.HodErrorException;
 import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
@@ -17,14 +19,17 @@ import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagInfo;
 import com.hp.autonomy.types.requests.idol.actions.tags.params.SortParam;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 @Controller
 @RequestMapping(ParametricValuesController.PARAMETRIC_VALUES_PATH)
@@ -32,17 +37,27 @@ class HodParametricValuesController extends ParametricValuesController<HodQueryR
     @Autowired
     public HodParametricValuesController(final ParametricValuesService<HodParametricRequest, ResourceIdentifier, HodErrorException> parametricValuesService,
                                          final QueryRestrictionsBuilderFactory<HodQueryRestrictions, ResourceIdentifier> queryRestrictionsBuilderFactory,
-                                         final ObjectFactory<ParametricRequest.Builder<HodParametricRequest, ResourceIdentifier>> parametricRequestBuilderFactory) {
-        super(parametricValuesService, queryRestrictionsBuilderFactory, parametricRequestBuilderFactory);
+                                         final ObjectFactory<ParametricRequest.Builder<HodParametricRequest, ResourceIdentifier>> parametricRequestBuilderFactory,
+                                         final DeadlineExecutor deadlineExecutor,
+                                         final ParametricFieldValuesCache parametricFieldValuesCache,
+                                         @Value("${find.parametricValues.maxValuesPerField:100}") final int maxValuesPerField,
+                                         @Value("${find.parametricValues.histogramBuckets:1000}") final int histogramBuckets) {
+        super(parametricValuesService, queryRestrictionsBuilderFactory, parametricRequestBuilderFactory, deadlineExecutor, parametricFieldValuesCache, maxValuesPerField, histogramBuckets);
     }
 
     @RequestMapping(method = RequestMethod.GET)
     @ResponseBody
-    public Set<QueryTagInfo> getParametricValues(
+    public DeferredResult<Set<QueryTagInfo>> getParametricValues(
             @RequestParam(FIELD_NAMES_PARAM) final List<String> fieldNames,
             @RequestParam(DATABASES_PARAM) final List<ResourceIdentifier> databases
-    ) throws HodErrorException {
+    ) {
         final HodParametricRequest parametricRequest = buildRequest(fieldNames, databases, MAX_VALUES_DEFAULT, SortParam.DocumentCount);
-        return parametricValuesService.getAllParametricValues(parametricRequest);
+
+        return deadlineExecutor.execute("parametric.values", new Callable<Set<QueryTagInfo>>() {
+            @Override
+            public Set<QueryTagInfo> call() throws HodErrorException {
+                return parametricValuesService.getAllParametricValues(parametricRequest);
+            }
+        });
     }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.hod.savedsearches;
+
+import com.hp.autonomy.frontend.find.core.savedsearches.SavedSearchCache;
+import com.hp.autonomy.frontend.find.core.savedsearches.SavedSearchInvalidationBroadcaster;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Publishes the ids of users whose saved searches have changed on a Redis channel. Every node (including the sender)
+ * subscribes with a {@link Listener} and evicts the user from its {@link SavedSearchCache}.
+ * <p>
+ * Redis does not store published messages, so a node which is disconnected when a message is sent relies on the
+ * cache's expiry instead.
+ */
+public class RedisSavedSearchInvalidationBroadcaster implements SavedSearchInvalidationBroadcaster {
+    public static final String CHANNEL = "find:saved-searches:invalidate";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisSavedSearchInvalidationBroadcaster(final StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void broadcast(final Long userId) {
+        redisTemplate.convertAndSend(CHANNEL, String.valueOf(userId));
+    }
+
+    public static class Listener implements MessageListener {
+        private final SavedSearchCache savedSearchCache;
+
+        public Listener(final SavedSearchCache savedSearchCache) {
+            this.savedSearchCache = savedSearchCache;
+        }
+
+        @Override
+        public void onMessage(final Message message, final byte[] pattern) {
+            savedSearchCache.evictLocally(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+        }
+    }
+}
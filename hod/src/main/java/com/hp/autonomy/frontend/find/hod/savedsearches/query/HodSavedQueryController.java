@@ -10,7 +10,9 @@ import com.hp.autonomy.frontend.find.core.savedsearches.FieldTextParser;
 import com.hp.autonomy.frontend.find.core.savedsearches.SavedSearchService;
 import com.hp.autonomy.frontend.find.core.savedsearches.query.SavedQuery;
 import com.hp.autonomy.frontend.find.core.savedsearches.query.SavedQueryController;
+import com.hp.autonomy.frontend.find.core.savedsearches.query.SavedQueryNewResultsPublisher;
 import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
 import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
 import com.hp.autonomy.hod.client.api.textindex.query.search.Print;
 import com.hp.autonomy.hod.client.error.HodErrorException;
@@ -18,6 +20,7 @@ import com.hp.autonomy.searchcomponents.core.search.DocumentsService;
 import com.hp.autonomy.searchcomponents.hod.search.HodQueryRestrictions;
 import com.hp.autonomy.searchcomponents.hod.search.HodSearchResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -26,8 +29,11 @@ class HodSavedQueryController extends SavedQueryController<ResourceIdentifier, H
     public HodSavedQueryController(final SavedSearchService<SavedQuery> service,
                                    final DocumentsService<ResourceIdentifier, HodSearchResult, HodErrorException> documentsService,
                                    final FieldTextParser fieldTextParser,
-                                   final QueryRestrictionsBuilderFactory<HodQueryRestrictions, ResourceIdentifier> queryRestrictionsBuilderFactory) {
-        super(service, documentsService, fieldTextParser, queryRestrictionsBuilderFactory);
+                                   final QueryRestrictionsBuilderFactory<HodQueryRestrictions, ResourceIdentifier> queryRestrictionsBuilderFactory,
+                                   final DeadlineExecutor deadlineExecutor,
+                                   @Value("${find.savedQueries.newResultsParallelism:4}") final int newResultsParallelism,
+                                   final SavedQueryNewResultsPublisher newResultsPublisher) {
+        super(service, documentsService, fieldTextParser, queryRestrictionsBuilderFactory, deadlineExecutor, newResultsParallelism, newResultsPublisher);
     }
 
     @Override
@@ -6,7 +6,9 @@
 package com.hp.autonomy.frontend.find.hod.search;
 
 import com.hp.autonomy.frontend.configuration.ConfigService;
+import com.hp.autonomy.frontend.find.core.search.UncachedDocumentsService;
 import com.hp.autonomy.frontend.find.core.web.FindCacheNames;
+import com.hp.autonomy.frontend.find.core.web.RequestCoalescer;
 import com.hp.autonomy.frontend.find.hod.configuration.HodFindConfig;
 import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
 import com.hp.autonomy.hod.client.api.textindex.query.content.GetContentService;
@@ -30,21 +32,42 @@ import com.hp.autonomy.searchcomponents.hod.search.HodSearchResult;
 import com.hp.autonomy.types.requests.Documents;
 import com.hp.autonomy.types.requests.Warnings;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Documents service which removes invalid indexes from queries. When HoD reports an invalid index, the databases list
+ * is refreshed to find out which of the queried indexes no longer exist; these are remembered by
+ * {@link InvalidIndexes}, so that later queries do not fail, and are returned in the warnings of the results.
+ * <p>
+ * Refreshes of the databases list are shared between concurrent requests and the databases cache is cleared at most
+ * once every find.hod.databasesRefreshIntervalSeconds.
+ */
 @Service
-public class FindHodDocumentService extends HodDocumentsService {
+public class FindHodDocumentService extends HodDocumentsService implements UncachedDocumentsService<ResourceIdentifier, HodSearchResult, HodErrorException> {
+    private static final String DATABASES_REFRESH = "databasesRefresh";
+
     private final DatabasesService<Database, HodDatabasesRequest, HodErrorException> databasesService;
     private final ConfigService<HodFindConfig> findConfigService;
     private final CacheManager cacheManager;
+    private final AuthenticationInformationRetriever<?, HodAuthenticationPrincipal> authenticationRetriever;
+    private final RequestCoalescer requestCoalescer;
+    private final KeyGenerator searchKeyGenerator;
+    private final InvalidIndexes invalidIndexes;
+    private final long databasesRefreshIntervalMillis;
+    private final AtomicLong lastDatabasesRefresh = new AtomicLong();
 
     @SuppressWarnings("ConstructorWithTooManyParameters")
     @Autowired
@@ -56,81 +79,149 @@ public class FindHodDocumentService extends HodDocumentsService {
             final AuthenticationInformationRetriever<?, HodAuthenticationPrincipal> authenticationRetriever,
             final DatabasesService<Database, HodDatabasesRequest, HodErrorException> databasesService,
             final DocumentFieldsService documentFieldsService,
-            final CacheManager cacheManager
+            final CacheManager cacheManager,
+            final RequestCoalescer requestCoalescer,
+            @Qualifier(FindCacheNames.SEARCH_KEY_GENERATOR) final KeyGenerator searchKeyGenerator,
+            final InvalidIndexes invalidIndexes,
+            @Value("${find.hod.databasesRefreshIntervalSeconds:30}") final long databasesRefreshIntervalSeconds
     ) {
         super(findSimilarService, configService, queryTextIndexService, getContentService, authenticationRetriever, documentFieldsService);
         this.databasesService = databasesService;
         findConfigService = configService;
         this.cacheManager = cacheManager;
+        this.authenticationRetriever = authenticationRetriever;
+        this.requestCoalescer = requestCoalescer;
+        this.searchKeyGenerator = searchKeyGenerator;
+        this.invalidIndexes = invalidIndexes;
+        databasesRefreshIntervalMillis = TimeUnit.SECONDS.toMillis(databasesRefreshIntervalSeconds);
     }
 
     @Override
-    @Cacheable(FindCacheNames.DOCUMENTS)
+    @Cacheable(value = FindCacheNames.DOCUMENTS, keyGenerator = FindCacheNames.SEARCH_KEY_GENERATOR)
     public Documents<HodSearchResult> queryTextIndex(final SearchRequest<ResourceIdentifier> findQueryParams) throws HodErrorException {
+        return requestCoalescer.execute(FindCacheNames.DOCUMENTS, coalescingKey(findQueryParams), new RequestCoalescer.Call<Documents<HodSearchResult>, HodErrorException>() {
+            @Override
+            public Documents<HodSearchResult> call() throws HodErrorException {
+                return FindHodDocumentService.super.queryTextIndex(findQueryParams);
+            }
+        });
+    }
+
+    @Override
+    public Documents<HodSearchResult> queryTextIndexWithoutCache(final SearchRequest<ResourceIdentifier> findQueryParams) throws HodErrorException {
         return super.queryTextIndex(findQueryParams);
     }
 
     @Override
-    @Cacheable(FindCacheNames.PROMOTED_DOCUMENTS)
+    @Cacheable(value = FindCacheNames.PROMOTED_DOCUMENTS, keyGenerator = FindCacheNames.SEARCH_KEY_GENERATOR)
     public Documents<HodSearchResult> queryTextIndexForPromotions(final SearchRequest<ResourceIdentifier> findQueryParams) throws HodErrorException {
-        return super.queryTextIndexForPromotions(findQueryParams);
+        return requestCoalescer.execute(FindCacheNames.PROMOTED_DOCUMENTS, coalescingKey(findQueryParams), new RequestCoalescer.Call<Documents<HodSearchResult>, HodErrorException>() {
+            @Override
+            public Documents<HodSearchResult> call() throws HodErrorException {
+                return FindHodDocumentService.super.queryTextIndexForPromotions(findQueryParams);
+            }
+        });
     }
 
     @Override
     protected Documents<HodSearchResult> queryTextIndex(final SearchRequest<ResourceIdentifier> searchRequest, final boolean fetchPromotions) throws HodErrorException {
+        final List<ResourceIdentifier> databases = searchRequest.getQueryRestrictions().getDatabases();
+        final Set<ResourceIdentifier> knownBadIndexes = invalidIndexes.getInvalid(databases);
+
         try {
-            return super.queryTextIndex(searchRequest, fetchPromotions);
+            return queryTextIndexWithoutIndexes(searchRequest, fetchPromotions, knownBadIndexes);
         } catch (final HodErrorException e) {
             if (e.getErrorCode() == HodErrorCode.INDEX_NAME_INVALID) {
-                final Boolean publicIndexesEnabled = findConfigService.getConfig().getIod().getPublicIndexesEnabled();
-                final HodDatabasesRequest databasesRequest = new HodDatabasesRequest.Builder().setPublicIndexesEnabled(publicIndexesEnabled).build();
-
-                final Cache cache = cacheManager.getCache(CacheNames.DATABASES);
-                if (cache != null) {
-                    cache.clear();
-                }
-                final Set<Database> updatedDatabases = databasesService.getDatabases(databasesRequest);
-
-                final QueryRestrictions<ResourceIdentifier> queryRestrictions = searchRequest.getQueryRestrictions();
-                final Set<ResourceIdentifier> badIndexes = new HashSet<>(queryRestrictions.getDatabases());
+                final Set<ResourceIdentifier> badIndexes = new HashSet<>(databases);
 
-                for (final Database database : updatedDatabases) {
+                for (final Database database : refreshDatabases()) {
                     final ResourceIdentifier resourceIdentifier = new ResourceIdentifier(database.getDomain(), database.getName());
                     badIndexes.remove(resourceIdentifier);
                 }
 
-                final List<ResourceIdentifier> goodIndexes = new ArrayList<>(queryRestrictions.getDatabases());
-                goodIndexes.removeAll(badIndexes);
-
-                searchRequest.setQueryRestrictions(new HodQueryRestrictions.Builder()
-                        .setQueryText(queryRestrictions.getQueryText())
-                        .setFieldText(queryRestrictions.getFieldText())
-                        .setDatabases(goodIndexes)
-                        .setMinDate(queryRestrictions.getMinDate())
-                        .setMaxDate(queryRestrictions.getMaxDate())
-                        .setMinScore(queryRestrictions.getMinScore())
-                        .setStateMatchId(queryRestrictions.getStateMatchId())
-                        .setStateDontMatchId(queryRestrictions.getStateDontMatchId())
-                        .build(
-                ));
-                final Documents<HodSearchResult> resultDocuments = super.queryTextIndex(searchRequest, fetchPromotions);
-                final Warnings warnings = new Warnings(badIndexes);
-                return new Documents<>(
-                        resultDocuments.getDocuments(),
-                        resultDocuments.getTotalResults(),
-                        resultDocuments.getExpandedQuery(),
-                        resultDocuments.getSuggestion(),
-                        resultDocuments.getAutoCorrection(),
-                        warnings);
+                invalidIndexes.markInvalid(badIndexes);
+                return queryTextIndexWithoutIndexes(searchRequest, fetchPromotions, badIndexes);
             } else {
                 throw e;
             }
         }
     }
 
+    private Documents<HodSearchResult> queryTextIndexWithoutIndexes(final SearchRequest<ResourceIdentifier> searchRequest, final boolean fetchPromotions, final Set<ResourceIdentifier> badIndexes) throws HodErrorException {
+        if (badIndexes.isEmpty()) {
+            return super.queryTextIndex(searchRequest, fetchPromotions);
+        }
+
+        final QueryRestrictions<ResourceIdentifier> queryRestrictions = searchRequest.getQueryRestrictions();
+        final List<ResourceIdentifier> goodIndexes = new ArrayList<>(queryRestrictions.getDatabases());
+        goodIndexes.removeAll(badIndexes);
+
+        searchRequest.setQueryRestrictions(new HodQueryRestrictions.Builder()
+                .setQueryText(queryRestrictions.getQueryText())
+                .setFieldText(queryRestrictions.getFieldText())
+                .setDatabases(goodIndexes)
+                .setMinDate(queryRestrictions.getMinDate())
+                .setMaxDate(queryRestrictions.getMaxDate())
+                .setMinScore(queryRestrictions.getMinScore())
+                .setLanguageType(queryRestrictions.getLanguageType())
+                .setAnyLanguage(queryRestrictions.isAnyLanguage())
+                .setStateMatchId(queryRestrictions.getStateMatchId())
+                .setStateDontMatchId(queryRestrictions.getStateDontMatchId())
+                .build()
+        );
+
+        final Documents<HodSearchResult> resultDocuments = super.queryTextIndex(searchRequest, fetchPromotions);
+        final Warnings warnings = new Warnings(badIndexes);
+        return new Documents<>(
+                resultDocuments.getDocuments(),
+                resultDocuments.getTotalResults(),
+                resultDocuments.getExpandedQuery(),
+                resultDocuments.getSuggestion(),
+                resultDocuments.getAutoCorrection(),
+                warnings);
+    }
+
+    private Set<Database> refreshDatabases() throws HodErrorException {
+        final Boolean publicIndexesEnabled = findConfigService.getConfig().getIod().getPublicIndexesEnabled();
+        final HodDatabasesRequest databasesRequest = new HodDatabasesRequest.Builder().setPublicIndexesEnabled(publicIndexesEnabled).build();
+
+        // users querying the same deleted index at the same time share one refresh
+        return requestCoalescer.execute(DATABASES_REFRESH, new Object[]{authenticationRetriever.getPrincipal(), publicIndexesEnabled}, new RequestCoalescer.Call<Set<Database>, HodErrorException>() {
+            @Override
+            public Set<Database> call() throws HodErrorException {
+                clearDatabasesCache();
+                return databasesService.getDatabases(databasesRequest);
+            }
+        });
+    }
+
+    private void clearDatabasesCache() {
+        final long now = System.currentTimeMillis();
+        final long lastRefresh = lastDatabasesRefresh.get();
+
+        // a recently refreshed list is current enough; if it still contains the index, the query fails as before
+        if (now - lastRefresh >= databasesRefreshIntervalMillis && lastDatabasesRefresh.compareAndSet(lastRefresh, now)) {
+            final Cache cache = cacheManager.getCache(CacheNames.DATABASES);
+
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
     @Override
-    @Cacheable(FindCacheNames.SIMILAR_DOCUMENTS)
+    @Cacheable(value = FindCacheNames.SIMILAR_DOCUMENTS, keyGenerator = FindCacheNames.SEARCH_KEY_GENERATOR)
     public Documents<HodSearchResult> findSimilar(final SuggestRequest<ResourceIdentifier> suggestRequest) throws HodErrorException {
-        return super.findSimilar(suggestRequest);
+        return requestCoalescer.execute(FindCacheNames.SIMILAR_DOCUMENTS, coalescingKey(suggestRequest), new RequestCoalescer.Call<Documents<HodSearchResult>, HodErrorException>() {
+            @Override
+            public Documents<HodSearchResult> call() throws HodErrorException {
+                return FindHodDocumentService.super.findSimilar(suggestRequest);
+            }
+        });
+    }
+
+    // equivalent requests are coalesced, as they share a cache entry
+    private Object[] coalescingKey(final Object request) {
+        return new Object[]{authenticationRetriever.getPrincipal(), searchKeyGenerator.generate(this, null, request)};
     }
 }
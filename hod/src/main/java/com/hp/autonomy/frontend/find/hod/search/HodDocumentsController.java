@@ -5,8 +5,11 @@
 
 package com.hp.autonomy.frontend.find.hod.search;
 
+import com.hp.autonomy.frontend.find.core.caching.DocumentContentCache;
 import com.hp.autonomy.frontend.find.core.search.DocumentsController;
 import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.typeahead.RecentQueryTexts;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
 import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
 import com.hp.autonomy.hod.client.error.HodError;
 import com.hp.autonomy.hod.client.error.HodErrorException;
@@ -23,12 +26,20 @@ import org.springframework.web.bind.annotation.RequestMapping;
 class HodDocumentsController extends DocumentsController<ResourceIdentifier, HodQueryRestrictions, HodSearchResult, HodErrorException> {
     @Autowired
     public HodDocumentsController(final DocumentsService<ResourceIdentifier, HodSearchResult, HodErrorException> documentsService,
-                                  final QueryRestrictionsBuilderFactory<HodQueryRestrictions, ResourceIdentifier> queryRestrictionsBuilderFactory) {
-        super(documentsService, queryRestrictionsBuilderFactory);
+                                  final QueryRestrictionsBuilderFactory<HodQueryRestrictions, ResourceIdentifier> queryRestrictionsBuilderFactory,
+                                  final DocumentContentCache documentContentCache,
+                                  final DeadlineExecutor deadlineExecutor,
+                                  final RecentQueryTexts recentQueryTexts) {
+        super(documentsService, queryRestrictionsBuilderFactory, documentContentCache, deadlineExecutor, recentQueryTexts);
     }
 
     @Override
     protected <T> T throwException(final String message) throws HodErrorException {
         throw new HodErrorException(new HodError.Builder().setMessage(message).build(), HttpStatus.INTERNAL_SERVER_ERROR.value());
     }
+
+    @Override
+    protected String getDatabaseName(final ResourceIdentifier database) {
+        return database.getName();
+    }
 }
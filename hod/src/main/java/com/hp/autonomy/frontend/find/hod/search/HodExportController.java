@@ -0,0 +1,32 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.hod.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hp.autonomy.frontend.find.core.search.DocumentsController;
+import com.hp.autonomy.frontend.find.core.search.ExportController;
+import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.search.UncachedDocumentsService;
+import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
+import com.hp.autonomy.hod.client.error.HodErrorException;
+import com.hp.autonomy.searchcomponents.hod.search.HodQueryRestrictions;
+import com.hp.autonomy.searchcomponents.hod.search.HodSearchResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@RequestMapping(DocumentsController.SEARCH_PATH)
+class HodExportController extends ExportController<ResourceIdentifier, HodQueryRestrictions, HodSearchResult, HodErrorException> {
+    @Autowired
+    public HodExportController(final UncachedDocumentsService<ResourceIdentifier, HodSearchResult, HodErrorException> documentsService,
+                               final QueryRestrictionsBuilderFactory<HodQueryRestrictions, ResourceIdentifier> queryRestrictionsBuilderFactory,
+                               final ObjectMapper objectMapper,
+                               @Value("${find.export.maxResults:10000}") final int maxResults) {
+        super(documentsService, queryRestrictionsBuilderFactory, objectMapper, maxResults);
+    }
+}
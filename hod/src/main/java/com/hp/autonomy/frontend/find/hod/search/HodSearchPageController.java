@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.hod.search;
+
+import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.search.SearchPageController;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
+import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
+import com.hp.autonomy.hod.client.api.textindex.query.search.Entity;
+import com.hp.autonomy.hod.client.error.HodErrorException;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
+import com.hp.autonomy.searchcomponents.core.search.DocumentsService;
+import com.hp.autonomy.searchcomponents.core.search.RelatedConceptsRequest;
+import com.hp.autonomy.searchcomponents.core.search.RelatedConceptsService;
+import com.hp.autonomy.searchcomponents.hod.parametricvalues.HodParametricRequest;
+import com.hp.autonomy.searchcomponents.hod.search.HodQueryRestrictions;
+import com.hp.autonomy.searchcomponents.hod.search.HodRelatedConceptsRequest;
+import com.hp.autonomy.searchcomponents.hod.search.HodSearchResult;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@RequestMapping(SearchPageController.SEARCH_PAGE_PATH)
+class HodSearchPageController extends SearchPageController<ResourceIdentifier, HodQueryRestrictions, HodSearchResult, Entity, HodRelatedConceptsRequest, HodParametricRequest, HodErrorException> {
+    @SuppressWarnings("ConstructorWithTooManyParameters")
+    @Autowired
+    public HodSearchPageController(final DocumentsService<ResourceIdentifier, HodSearchResult, HodErrorException> documentsService,
+                                   final RelatedConceptsService<Entity, ResourceIdentifier, HodErrorException> relatedConceptsService,
+                                   final ParametricValuesService<HodParametricRequest, ResourceIdentifier, HodErrorException> parametricValuesService,
+                                   final QueryRestrictionsBuilderFactory<HodQueryRestrictions, ResourceIdentifier> queryRestrictionsBuilderFactory,
+                                   final ObjectFactory<RelatedConceptsRequest.Builder<HodRelatedConceptsRequest, ResourceIdentifier>> relatedConceptsRequestBuilderFactory,
+                                   final ObjectFactory<ParametricRequest.Builder<HodParametricRequest, ResourceIdentifier>> parametricRequestBuilderFactory,
+                                   final DeadlineExecutor deadlineExecutor) {
+        super(documentsService, relatedConceptsService, parametricValuesService, queryRestrictionsBuilderFactory, relatedConceptsRequestBuilderFactory, parametricRequestBuilderFactory, deadlineExecutor);
+    }
+}
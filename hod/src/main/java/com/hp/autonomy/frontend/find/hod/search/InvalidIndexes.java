@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.hod.search;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
+import com.hp.autonomy.hod.sso.HodAuthenticationPrincipal;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers indexes which HoD reported as invalid (usually because they have been deleted), so that they can be
+ * removed from queries before they are sent. Indexes are remembered for the user who queried them, since an index which
+ * one user cannot see may still be valid for another, and are forgotten after find.hod.invalidIndexTtlSeconds in case
+ * an index with the same name is created again.
+ */
+@Slf4j
+@Component
+public class InvalidIndexes {
+    private final AuthenticationInformationRetriever<?, HodAuthenticationPrincipal> authenticationRetriever;
+    private final long ttlSeconds;
+    private final Cache<List<?>, Boolean> invalidIndexes;
+
+    @Autowired
+    public InvalidIndexes(
+            final AuthenticationInformationRetriever<?, HodAuthenticationPrincipal> authenticationRetriever,
+            @Value("${find.hod.invalidIndexTtlSeconds:60}") final long ttlSeconds
+    ) {
+        this(authenticationRetriever, ttlSeconds, Ticker.systemTicker());
+    }
+
+    InvalidIndexes(final AuthenticationInformationRetriever<?, HodAuthenticationPrincipal> authenticationRetriever, final long ttlSeconds, final Ticker ticker) {
+        this.authenticationRetriever = authenticationRetriever;
+        this.ttlSeconds = ttlSeconds;
+
+        invalidIndexes = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * @param indexes Indexes to be queried
+     * @return The indexes which are known to be invalid for the current user
+     */
+    public Set<ResourceIdentifier> getInvalid(final Collection<ResourceIdentifier> indexes) {
+        final HodAuthenticationPrincipal principal = authenticationRetriever.getPrincipal();
+        final Set<ResourceIdentifier> invalid = new LinkedHashSet<>();
+
+        for (final ResourceIdentifier index : indexes) {
+            if (invalidIndexes.getIfPresent(Arrays.asList(principal, index)) != null) {
+                invalid.add(index);
+            }
+        }
+
+        return invalid;
+    }
+
+    /**
+     * @param indexes Indexes which no longer exist for the current user
+     */
+    public void markInvalid(final Collection<ResourceIdentifier> indexes) {
+        final HodAuthenticationPrincipal principal = authenticationRetriever.getPrincipal();
+
+        for (final ResourceIdentifier index : indexes) {
+            log.info("Index {} is invalid; it will be removed from the current user's queries for the next {} seconds", index, ttlSeconds);
+            invalidIndexes.put(Arrays.asList(principal, index), true);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.hod.typeahead;
+
+import com.hp.autonomy.frontend.configuration.ConfigService;
+import com.hp.autonomy.frontend.find.core.beanconfiguration.BackendExecutorConfiguration;
+import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.typeahead.LocalTypeAheadEngine;
+import com.hp.autonomy.frontend.find.core.typeahead.RecentQueryTexts;
+import com.hp.autonomy.frontend.find.hod.configuration.HodFindConfig;
+import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
+import com.hp.autonomy.hod.client.error.HodErrorException;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import com.hp.autonomy.searchcomponents.core.databases.DatabasesService;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
+import com.hp.autonomy.searchcomponents.hod.databases.Database;
+import com.hp.autonomy.searchcomponents.hod.databases.HodDatabasesRequest;
+import com.hp.autonomy.searchcomponents.hod.parametricvalues.HodParametricRequest;
+import com.hp.autonomy.searchcomponents.hod.search.HodQueryRestrictions;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+class HodLocalTypeAheadEngine extends LocalTypeAheadEngine<HodQueryRestrictions, HodParametricRequest, ResourceIdentifier, HodErrorException> {
+    private final DatabasesService<Database, HodDatabasesRequest, HodErrorException> databasesService;
+    private final ConfigService<HodFindConfig> configService;
+
+    @SuppressWarnings("ConstructorWithTooManyParameters")
+    @Autowired
+    HodLocalTypeAheadEngine(
+            final ParametricValuesService<HodParametricRequest, ResourceIdentifier, HodErrorException> parametricValuesService,
+            final ObjectFactory<ParametricRequest.Builder<HodParametricRequest, ResourceIdentifier>> parametricRequestBuilderFactory,
+            final QueryRestrictionsBuilderFactory<HodQueryRestrictions, ResourceIdentifier> queryRestrictionsBuilderFactory,
+            @Qualifier(BackendExecutorConfiguration.BACKEND_EXECUTOR) final AsyncTaskExecutor backendExecutor,
+            final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever,
+            final RecentQueryTexts recentQueryTexts,
+            final DatabasesService<Database, HodDatabasesRequest, HodErrorException> databasesService,
+            final ConfigService<HodFindConfig> configService,
+            @Value("${find.typeahead.local.enabled:false}") final boolean enabled,
+            @Value("${find.typeahead.local.fields:}") final String[] fieldNames,
+            @Value("${find.typeahead.local.maxValuesPerField:10000}") final int maxValuesPerField,
+            @Value("${find.typeahead.local.maxSuggestions:10}") final int maxSuggestions,
+            @Value("${find.typeahead.local.rebuildInterval:600000}") final long rebuildInterval,
+            @Value("${find.typeahead.local.idleExpiry:3600000}") final long idleExpiry,
+            @Value("${find.typeahead.local.maxUsers:1000}") final int maxUsers
+    ) {
+        super(parametricValuesService, parametricRequestBuilderFactory, queryRestrictionsBuilderFactory, backendExecutor, authenticationInformationRetriever,
+                recentQueryTexts, enabled, fieldNames, maxValuesPerField, maxSuggestions, rebuildInterval, idleExpiry, maxUsers);
+        this.databasesService = databasesService;
+        this.configService = configService;
+    }
+
+    @Override
+    protected List<ResourceIdentifier> getDatabases() throws HodErrorException {
+        final HodDatabasesRequest databasesRequest = new HodDatabasesRequest.Builder()
+                .setPublicIndexesEnabled(configService.getConfig().getIod().getPublicIndexesEnabled())
+                .build();
+
+        final List<ResourceIdentifier> databases = new ArrayList<>();
+
+        for (final Database database : databasesService.getDatabases(databasesRequest)) {
+            databases.add(new ResourceIdentifier(database.getDomain(), database.getName()));
+        }
+
+        return databases;
+    }
+}
@@ -5,6 +5,7 @@
 
 package com.hp.autonomy.frontend.find.hod.view;
 
+import com.hp.autonomy.frontend.find.core.caching.DocumentContentCache;
 import com.hp.autonomy.frontend.find.core.view.ViewController;
 import com.hp.autonomy.frontend.find.core.web.ControllerUtils;
 import com.hp.autonomy.frontend.find.core.web.ErrorModelAndViewInfo;
@@ -42,8 +43,8 @@ public class HodViewController extends ViewController<ResourceIdentifier, HodErr
     private final ControllerUtils controllerUtils;
 
     @Autowired
-    public HodViewController(final ViewServerService<ResourceIdentifier, HodErrorException> viewServerService, final ControllerUtils controllerUtils) {
-        super(viewServerService);
+    public HodViewController(final ViewServerService<ResourceIdentifier, HodErrorException> viewServerService, final ControllerUtils controllerUtils, final DocumentContentCache documentContentCache) {
+        super(viewServerService, documentContentCache);
         this.controllerUtils = controllerUtils;
     }
 
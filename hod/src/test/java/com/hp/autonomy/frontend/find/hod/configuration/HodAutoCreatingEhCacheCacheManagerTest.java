@@ -5,12 +5,20 @@
 
 package com.hp.autonomy.frontend.find.hod.configuration;
 
+import com.hp.autonomy.frontend.configuration.ConfigService;
 import com.hp.autonomy.frontend.find.core.configuration.AbstractAutoCreatingEhCacheCacheManagerTest;
 import net.sf.ehcache.config.CacheConfiguration;
+import org.mockito.Mock;
+
+import static org.mockito.Mockito.when;
 
 public class HodAutoCreatingEhCacheCacheManagerTest extends AbstractAutoCreatingEhCacheCacheManagerTest {
+    @Mock
+    private ConfigService<HodFindConfig> configService;
+
     @Override
     public void setUp() {
-        autoCreatingEhCacheCacheManager = new HodAutoCreatingEhCacheCacheManager(cacheManager, new CacheConfiguration());
+        when(configService.getConfig()).thenReturn(new HodFindConfig.Builder().build());
+        autoCreatingEhCacheCacheManager = new HodAutoCreatingEhCacheCacheManager(cacheManager, new CacheConfiguration(), configService, cacheMetrics());
     }
 }
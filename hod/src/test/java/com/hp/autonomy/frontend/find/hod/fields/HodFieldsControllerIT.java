@@ -29,7 +29,7 @@ public class HodFieldsControllerIT extends FieldsControllerIT {
         final MockHttpServletRequestBuilder requestBuilder = get(FieldsController.FIELDS_PATH + FieldsController.GET_PARAMETRIC_DATE_FIELDS_PATH).with(authentication(userAuth()));
         addParams(requestBuilder);
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$", empty()));
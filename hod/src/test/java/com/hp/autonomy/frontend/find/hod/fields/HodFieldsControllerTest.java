@@ -9,6 +9,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.hp.autonomy.frontend.find.core.fields.AbstractFieldsControllerTest;
 import com.hp.autonomy.frontend.find.core.fields.FieldAndValueDetails;
+import com.hp.autonomy.frontend.find.core.fields.FieldMetadataRegistry;
 import com.hp.autonomy.frontend.find.core.fields.FieldsController;
 import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
 import com.hp.autonomy.hod.client.error.HodErrorException;
@@ -22,6 +23,7 @@ import com.hp.autonomy.types.requests.idol.actions.tags.params.FieldTypeParam;
 import org.junit.Test;
 import org.mockito.Matchers;
 import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 import java.util.Collections;
 import java.util.EnumMap;
@@ -36,14 +38,19 @@ import static org.mockito.Mockito.when;
 
 public class HodFieldsControllerTest extends AbstractFieldsControllerTest<HodFieldsRequest, HodErrorException, ResourceIdentifier, HodQueryRestrictions, HodParametricRequest> {
     @Override
-    protected FieldsController<HodFieldsRequest, HodErrorException, ResourceIdentifier, HodQueryRestrictions, HodParametricRequest> constructController() {
+    protected FieldMetadataRegistry<HodFieldsRequest, HodErrorException, ResourceIdentifier, HodQueryRestrictions, HodParametricRequest> constructRegistry(final AsyncTaskExecutor backendExecutor, final long refreshInterval) {
         @SuppressWarnings("unchecked")
         final ObjectFactory<ParametricRequest.Builder<HodParametricRequest, ResourceIdentifier>> requestBuilderFactory = mock(ObjectFactory.class);
 
         final ParametricRequest.Builder<HodParametricRequest, ResourceIdentifier> builder = new HodParametricRequest.Builder();
         when(requestBuilderFactory.getObject()).thenReturn(builder);
 
-        return new HodFieldsController(service, parametricValuesService, requestBuilderFactory);
+        return new HodFieldMetadataRegistry(service, parametricValuesService, requestBuilderFactory, backendExecutor, authenticationInformationRetriever, COLD_START_BUDGET, refreshInterval, IDLE_EXPIRY);
+    }
+
+    @Override
+    protected FieldsController<HodFieldsRequest, HodErrorException, ResourceIdentifier, HodQueryRestrictions, HodParametricRequest> constructController(final FieldMetadataRegistry<HodFieldsRequest, HodErrorException, ResourceIdentifier, HodQueryRestrictions, HodParametricRequest> registry) {
+        return new HodFieldsController(registry);
     }
 
     @Override
@@ -58,7 +65,7 @@ public class HodFieldsControllerTest extends AbstractFieldsControllerTest<HodFie
         final Map<FieldTypeParam, List<TagName>> response = new EnumMap<>(FieldTypeParam.class);
         response.put(FieldTypeParam.NumericDate, ImmutableList.of(new TagName("DateField"), new TagName("ParametricDateField")));
         response.put(FieldTypeParam.Parametric, ImmutableList.of(new TagName("ParametricField"), new TagName("ParametricNumericField"), new TagName("ParametricDateField")));
-        when(service.getFields(Matchers.<HodFieldsRequest>any(), eq(FieldTypeParam.Parametric), eq(FieldTypeParam.NumericDate))).thenReturn(response);
+        when(service.getFields(Matchers.<HodFieldsRequest>any(), eq(FieldTypeParam.Parametric), eq(FieldTypeParam.Numeric), eq(FieldTypeParam.NumericDate))).thenReturn(response);
 
         final ValueDetails valueDetails = new ValueDetails.Builder()
                 .setMin(146840000d)
@@ -29,7 +29,7 @@ public class HodParametricValuesServiceIT extends AbstractParametricValuesServic
                 .param(ParametricValuesController.FIELD_TEXT_PARAM, "")
                 .with(authentication(userAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isInternalServerError()) // not implemented yt
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8));
     }
@@ -18,6 +18,6 @@ public class HodSavedSearchQueryControllerTest extends SavedQueryControllerTest<
     @Override
     protected SavedQueryController<ResourceIdentifier, HodQueryRestrictions, HodSearchResult, HodErrorException> constructController() {
         when(queryRestrictionsBuilderFactory.createBuilder()).thenReturn(new HodQueryRestrictions.Builder());
-        return new HodSavedQueryController(savedQueryService, documentsService, fieldTextParser, queryRestrictionsBuilderFactory);
+        return new HodSavedQueryController(savedQueryService, documentsService, fieldTextParser, queryRestrictionsBuilderFactory, deadlineExecutor, NEW_RESULTS_PARALLELISM, newResultsPublisher);
     }
 }
@@ -6,6 +6,7 @@
 package com.hp.autonomy.frontend.find.hod.search;
 
 import com.hp.autonomy.frontend.configuration.ConfigService;
+import com.hp.autonomy.frontend.find.core.web.RequestCoalescer;
 import com.hp.autonomy.frontend.find.hod.configuration.HodFindConfig;
 import com.hp.autonomy.frontend.find.hod.configuration.IodConfig;
 import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
@@ -29,8 +30,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
 import org.springframework.http.HttpStatus;
 
 import java.util.Arrays;
@@ -42,6 +45,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -62,11 +66,14 @@ public class FindHodDocumentServiceTest extends HodDocumentServiceTest {
     @Mock
     private Cache cache;
 
+    @Mock
+    private CounterService counterService;
+
     @Override
     @Before
     public void setUp() {
         super.setUp();
-        documentsService = new FindHodDocumentService(findSimilarService, findConfigService, queryTextIndexService, getContentService, authenticationInformationRetriever, databasesService, documentFieldsService, cacheManager);
+        documentsService = new FindHodDocumentService(findSimilarService, findConfigService, queryTextIndexService, getContentService, authenticationInformationRetriever, databasesService, documentFieldsService, cacheManager, new RequestCoalescer(counterService, 60000L), new SimpleKeyGenerator(), new InvalidIndexes(authenticationInformationRetriever, 60), 30);
 
         when(findConfig.getQueryManipulation()).thenReturn(new QueryManipulationConfig("SomeProfile", "SomeIndex"));
         when(findConfig.getIod()).thenReturn(new IodConfig.Builder().setPublicIndexesEnabled(true).build());
@@ -77,23 +84,71 @@ public class FindHodDocumentServiceTest extends HodDocumentServiceTest {
     public void invalidIndexName() throws HodErrorException {
         final ResourceIdentifier goodIndex = testUtils.getDatabases().get(0);
         final ResourceIdentifier badIndex = new ResourceIdentifier("bad", "bad");
+        mockInvalidIndex(goodIndex);
 
-        when(cacheManager.getCache(CacheNames.DATABASES)).thenReturn(cache);
+        final Documents<HodSearchResult> results = documentsService.queryTextIndex(buildSearchRequest(goodIndex, badIndex));
+        assertThat(results.getDocuments(), hasSize(1));
+        assertNotNull(results.getWarnings());
+        assertThat(results.getWarnings().getInvalidDatabases(), hasSize(1));
+        assertEquals(badIndex, results.getWarnings().getInvalidDatabases().iterator().next());
+        verify(cache).clear();
+    }
 
-        final HodError invalidIndexError = new HodError.Builder().setErrorCode(HodErrorCode.INDEX_NAME_INVALID).build();
-        final HodSearchResult result = new HodSearchResult.Builder().setIndex(goodIndex.getName()).build();
-        final Documents<HodSearchResult> mockedResults = new Documents<>(Collections.singletonList(result), 1, null, null, null, null);
-        when(queryTextIndexService.queryTextIndexWithText(anyString(), any(QueryRequestBuilder.class))).thenThrow(new HodErrorException(invalidIndexError, HttpStatus.INTERNAL_SERVER_ERROR.value())).thenReturn(mockedResults);
+    @Test
+    public void knownInvalidIndexIsRemovedBeforeQuerying() throws HodErrorException {
+        final ResourceIdentifier goodIndex = testUtils.getDatabases().get(0);
+        final ResourceIdentifier badIndex = new ResourceIdentifier("bad", "bad");
+        mockInvalidIndex(goodIndex);
+
+        documentsService.queryTextIndex(buildSearchRequest(goodIndex, badIndex));
+        final Documents<HodSearchResult> results = documentsService.queryTextIndex(buildSearchRequest(goodIndex, badIndex));
+
+        assertEquals(badIndex, results.getWarnings().getInvalidDatabases().iterator().next());
+        // one failed query and one retry for the first request, then one query for the second
+        verify(queryTextIndexService, times(3)).queryTextIndexWithText(anyString(), any(QueryRequestBuilder.class));
+        verify(databasesService, times(1)).getDatabases(any(HodDatabasesRequest.class));
+    }
+
+    @Test
+    public void databasesCacheClearsAreRateLimited() throws HodErrorException {
+        final ResourceIdentifier goodIndex = testUtils.getDatabases().get(0);
+        mockInvalidIndex(goodIndex);
+
+        documentsService.queryTextIndex(buildSearchRequest(goodIndex, new ResourceIdentifier("bad", "bad1")));
+
+        when(queryTextIndexService.queryTextIndexWithText(anyString(), any(QueryRequestBuilder.class))).thenThrow(invalidIndexException()).thenReturn(mockedResults(goodIndex));
+        documentsService.queryTextIndex(buildSearchRequest(goodIndex, new ResourceIdentifier("bad", "bad2")));
+
+        verify(databasesService, times(2)).getDatabases(any(HodDatabasesRequest.class));
+        verify(cache, times(1)).clear();
+    }
+
+    private void mockInvalidIndex(final ResourceIdentifier goodIndex) throws HodErrorException {
+        when(cacheManager.getCache(CacheNames.DATABASES)).thenReturn(cache);
+        when(queryTextIndexService.queryTextIndexWithText(anyString(), any(QueryRequestBuilder.class))).thenThrow(invalidIndexException()).thenReturn(mockedResults(goodIndex));
 
         final Database goodDatabase = new Database.Builder().setName(goodIndex.getName()).setDomain(goodIndex.getDomain()).build();
         when(databasesService.getDatabases(any(HodDatabasesRequest.class))).thenReturn(Collections.singleton(goodDatabase));
+    }
+
+    private HodErrorException invalidIndexException() {
+        final HodError invalidIndexError = new HodError.Builder().setErrorCode(HodErrorCode.INDEX_NAME_INVALID).build();
+        return new HodErrorException(invalidIndexError, HttpStatus.INTERNAL_SERVER_ERROR.value());
+    }
 
+    private Documents<HodSearchResult> mockedResults(final ResourceIdentifier goodIndex) {
+        final HodSearchResult result = new HodSearchResult.Builder().setIndex(goodIndex.getName()).build();
+        return new Documents<>(Collections.singletonList(result), 1, null, null, null, null);
+    }
+
+    private SearchRequest<ResourceIdentifier> buildSearchRequest(final ResourceIdentifier... indexes) {
         final QueryRestrictions<ResourceIdentifier> queryRestrictions = new HodQueryRestrictions.Builder()
                 .setQueryText("*")
-                .setDatabases(Arrays.asList(goodIndex, badIndex))
+                .setDatabases(Arrays.asList(indexes))
                 .setAnyLanguage(true)
                 .build();
-        final SearchRequest<ResourceIdentifier> searchRequest = new SearchRequest.Builder<ResourceIdentifier>()
+
+        return new SearchRequest.Builder<ResourceIdentifier>()
                 .setQueryRestrictions(queryRestrictions)
                 .setStart(1)
                 .setMaxResults(30)
@@ -104,12 +159,6 @@ public class FindHodDocumentServiceTest extends HodDocumentServiceTest {
                 .setAutoCorrect(false)
                 .setQueryType(SearchRequest.QueryType.MODIFIED)
                 .build();
-        final Documents<HodSearchResult> results = documentsService.queryTextIndex(searchRequest);
-        assertThat(results.getDocuments(), hasSize(1));
-        assertNotNull(results.getWarnings());
-        assertThat(results.getWarnings().getInvalidDatabases(), hasSize(1));
-        assertEquals(badIndex, results.getWarnings().getInvalidDatabases().iterator().next());
-        verify(cache).clear();
     }
 
     @Test(expected = HodErrorException.class)
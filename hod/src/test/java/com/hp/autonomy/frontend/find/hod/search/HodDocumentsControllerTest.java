@@ -15,6 +15,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -22,7 +24,7 @@ public class HodDocumentsControllerTest extends AbstractDocumentsControllerTest<
     @Before
     public void setUp() {
         when(queryRestrictionsBuilderFactory.createBuilder()).thenReturn(new HodQueryRestrictions.Builder());
-        documentsController = new HodDocumentsController(documentsService, queryRestrictionsBuilderFactory);
+        documentsController = new HodDocumentsController(documentsService, queryRestrictionsBuilderFactory, documentContentCache, deadlineExecutor, recentQueryTexts);
         databaseType = ResourceIdentifier.class;
     }
 
@@ -31,8 +33,13 @@ public class HodDocumentsControllerTest extends AbstractDocumentsControllerTest<
         return new HodSearchResult.Builder().build();
     }
 
-    @Test(expected = HodErrorException.class)
+    @Override
+    protected ResourceIdentifier sampleDatabase() {
+        return new ResourceIdentifier("SomeDomain", "SomeIndex");
+    }
+
+    @Test
     public void getDocumentContentNotFound() throws HodErrorException {
-        documentsController.getDocumentContent("Some Reference", null);
+        assertThat(documentsController.getDocumentContent("Some Reference", null).getResult(), instanceOf(HodErrorException.class));
     }
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.hod.search;
+
+import com.hp.autonomy.frontend.find.core.search.AbstractExportControllerTest;
+import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
+import com.hp.autonomy.hod.client.error.HodErrorException;
+import com.hp.autonomy.searchcomponents.hod.search.HodQueryRestrictions;
+import com.hp.autonomy.searchcomponents.hod.search.HodSearchResult;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HodExportControllerTest extends AbstractExportControllerTest<ResourceIdentifier, HodQueryRestrictions, HodSearchResult, HodErrorException> {
+    @Before
+    public void setUp() {
+        when(queryRestrictionsBuilderFactory.createBuilder()).thenReturn(new HodQueryRestrictions.Builder());
+        exportController = new HodExportController(documentsService, queryRestrictionsBuilderFactory, objectMapper, MAX_RESULTS);
+    }
+
+    @Override
+    protected HodSearchResult sampleResult() {
+        return new HodSearchResult.Builder().setReference("SomeReference").setTitle("Some, \"quoted\" title").build();
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.hod.search;
+
+import com.hp.autonomy.frontend.find.core.search.AbstractSearchPageControllerTest;
+import com.hp.autonomy.frontend.find.core.search.SearchPageController;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
+import com.hp.autonomy.hod.client.api.resource.ResourceIdentifier;
+import com.hp.autonomy.hod.client.api.textindex.query.search.Entity;
+import com.hp.autonomy.hod.client.error.HodErrorException;
+import com.hp.autonomy.searchcomponents.hod.parametricvalues.HodParametricRequest;
+import com.hp.autonomy.searchcomponents.hod.search.HodQueryRestrictions;
+import com.hp.autonomy.searchcomponents.hod.search.HodRelatedConceptsRequest;
+import com.hp.autonomy.searchcomponents.hod.search.HodSearchResult;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HodSearchPageControllerTest extends AbstractSearchPageControllerTest<ResourceIdentifier, HodQueryRestrictions, HodSearchResult, Entity, HodRelatedConceptsRequest, HodParametricRequest, HodErrorException> {
+    @Override
+    protected SearchPageController<ResourceIdentifier, HodQueryRestrictions, HodSearchResult, Entity, HodRelatedConceptsRequest, HodParametricRequest, HodErrorException> buildController(final DeadlineExecutor deadlineExecutor) {
+        when(queryRestrictionsBuilderFactory.createBuilder()).thenReturn(new HodQueryRestrictions.Builder());
+        when(relatedConceptsRequestBuilderFactory.getObject()).thenReturn(new HodRelatedConceptsRequest.Builder());
+        when(parametricRequestBuilderFactory.getObject()).thenReturn(new HodParametricRequest.Builder());
+        return new HodSearchPageController(documentsService, relatedConceptsService, parametricValuesService, queryRestrictionsBuilderFactory, relatedConceptsRequestBuilderFactory, parametricRequestBuilderFactory, deadlineExecutor);
+    }
+}
@@ -39,7 +39,7 @@ public class HodViewControllerTest extends AbstractViewControllerTest<HodViewCon
     @Before
     public void setUp() {
         viewServerService = hodViewService;
-        viewController = new HodViewController(viewServerService, controllerUtils);
+        viewController = new HodViewController(viewServerService, controllerUtils, documentContentCache);
         response = new MockHttpServletResponse();
         super.setUp();
     }
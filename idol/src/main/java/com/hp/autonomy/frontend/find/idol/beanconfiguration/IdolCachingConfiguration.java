@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.beanconfiguration;
+
+import com.hp.autonomy.frontend.find.core.caching.CanonicalSearchKeyGenerator;
+import com.hp.autonomy.frontend.find.core.caching.PrincipalCacheKeyGenerator;
+import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.web.FindCacheNames;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import com.hp.autonomy.searchcomponents.core.caching.CacheNames;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
+import com.hp.autonomy.searchcomponents.core.search.RelatedConceptsService;
+import com.hp.autonomy.searchcomponents.idol.search.IdolQueryRestrictions;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.ClassFilters;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheInterceptor;
+import org.springframework.cache.interceptor.CacheOperation;
+import org.springframework.cache.interceptor.CacheableOperation;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.NameMatchCacheOperationSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches IDOL query results, related concepts and parametric values, using the TTLs from {@link FindCacheNames}
+ * unless they are overridden in the config file.
+ * <p>
+ * Cache keys include the principal so that results fetched with one user's security info are never returned to
+ * another user. Only the caches declared here use such keys; the default key generator is unchanged. The document
+ * service declares its caches with {@link org.springframework.cache.annotation.Cacheable}, using canonical query
+ * restrictions in the key; the related concepts and parametric values services come from haven-search-components, so
+ * their caching is applied here by method name.
+ */
+@Configuration
+@EnableCaching
+public class IdolCachingConfiguration {
+    private static final Map<String, String> SERVICE_METHOD_CACHES = new HashMap<>();
+
+    static {
+        SERVICE_METHOD_CACHES.put("findRelatedConcepts", CacheNames.RELATED_CONCEPTS);
+        SERVICE_METHOD_CACHES.put("getAllParametricValues", FindCacheNames.PARAMETRIC_VALUES);
+        SERVICE_METHOD_CACHES.put("getNumericParametricValuesInBuckets", FindCacheNames.NUMERIC_PARAMETRIC_VALUES_IN_BUCKETS);
+        SERVICE_METHOD_CACHES.put("getDependentParametricValues", FindCacheNames.DEPENDENT_PARAMETRIC_VALUES);
+    }
+
+    @Autowired
+    private AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever;
+
+    @Bean(name = FindCacheNames.SEARCH_KEY_GENERATOR)
+    public KeyGenerator searchKeyGenerator(final QueryRestrictionsBuilderFactory<IdolQueryRestrictions, String> queryRestrictionsBuilderFactory) {
+        return new CanonicalSearchKeyGenerator<>(queryRestrictionsBuilderFactory, principalKeyGenerator());
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public CacheInterceptor idolServiceCacheInterceptor(final CacheManager cacheManager) {
+        final NameMatchCacheOperationSource cacheOperationSource = new NameMatchCacheOperationSource();
+
+        for (final Map.Entry<String, String> methodCache : SERVICE_METHOD_CACHES.entrySet()) {
+            final CacheableOperation operation = new CacheableOperation();
+            operation.setName(methodCache.getKey());
+            operation.setCacheName(methodCache.getValue());
+            cacheOperationSource.addCacheMethod(methodCache.getKey(), Collections.<CacheOperation>singleton(operation));
+        }
+
+        final CacheInterceptor cacheInterceptor = new CacheInterceptor();
+        cacheInterceptor.setCacheOperationSources(cacheOperationSource);
+        cacheInterceptor.setCacheManager(cacheManager);
+        cacheInterceptor.setKeyGenerator(principalKeyGenerator());
+        return cacheInterceptor;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public Advisor idolServiceCacheAdvisor(final CacheManager cacheManager) {
+        final ClassFilter serviceClassFilter = ClassFilters.union(new RootClassFilter(RelatedConceptsService.class), new RootClassFilter(ParametricValuesService.class));
+
+        final NameMatchMethodPointcut methodPointcut = new NameMatchMethodPointcut();
+        final Collection<String> methodNames = SERVICE_METHOD_CACHES.keySet();
+        methodPointcut.setMappedNames(methodNames.toArray(new String[methodNames.size()]));
+
+        return new DefaultPointcutAdvisor(new ComposablePointcut(serviceClassFilter, methodPointcut), idolServiceCacheInterceptor(cacheManager));
+    }
+
+    // not the default key generator, so that other @Cacheable methods keep their usual keys
+    private KeyGenerator principalKeyGenerator() {
+        return new PrincipalCacheKeyGenerator(authenticationInformationRetriever);
+    }
+}
@@ -24,7 +24,9 @@ import com.hp.autonomy.frontend.configuration.ConfigService;
 import com.hp.autonomy.frontend.configuration.ConfigurationFilterMixin;
 import com.hp.autonomy.frontend.configuration.ServerConfig;
 import com.hp.autonomy.frontend.configuration.ServerConfigValidator;
+import com.hp.autonomy.frontend.find.core.configuration.ConnectionPoolConfig;
 import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsDeserializer;
+import com.hp.autonomy.frontend.find.core.web.InstrumentedConnectionManager;
 import com.hp.autonomy.frontend.find.idol.configuration.IdolAuthenticationMixins;
 import com.hp.autonomy.frontend.find.idol.configuration.IdolFindConfig;
 import com.hp.autonomy.frontend.find.idol.configuration.IdolFindConfigFileService;
@@ -35,9 +37,11 @@ import com.hp.autonomy.searchcomponents.idol.view.configuration.ViewConfig;
 import com.hp.autonomy.user.UserService;
 import com.hp.autonomy.user.UserServiceImpl;
 import org.apache.http.client.HttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.jasypt.util.text.TextEncryptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ImportResource;
@@ -47,6 +51,7 @@ import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 @Configuration
 @ImportResource("required-statistics.xml")
 public class IdolConfiguration {
+    public static final String HTTP_CLIENT = "idolHttpClient";
 
     @Autowired
     private TextEncryptor textEncryptor;
@@ -150,7 +155,36 @@ public class IdolConfiguration {
     }
 
     @Bean
-    public AciService postingAciService(final HttpClient httpClient) {
+    public InstrumentedConnectionManager connectionManager(final ConfigService<IdolFindConfig> configService, final GaugeService gaugeService) {
+        return new InstrumentedConnectionManager("idol", ConnectionPoolConfig.withDefaults(configService.getConfig().getConnectionPool()), gaugeService);
+    }
+
+    @Bean(name = HTTP_CLIENT)
+    public HttpClient idolHttpClient(final InstrumentedConnectionManager connectionManager, final ConfigService<IdolFindConfig> configService) {
+        final ConnectionPoolConfig connectionPoolConfig = ConnectionPoolConfig.withDefaults(configService.getConfig().getConnectionPool());
+
+        return HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(connectionPoolConfig.toRequestConfig())
+                .setKeepAliveStrategy(connectionPoolConfig.toKeepAliveStrategy())
+                .evictExpiredConnections()
+                .disableCookieManagement()
+                .build();
+    }
+
+    // the search components' configurable services delegate to aciService, so every ACI request uses the pooled client
+    @Bean
+    public AciService aciService(@Qualifier(HTTP_CLIENT) final HttpClient httpClient) {
+        return new AciServiceImpl(new AciHttpClientImpl(httpClient));
+    }
+
+    @Bean
+    public AciService validatorAciService(@Qualifier(HTTP_CLIENT) final HttpClient httpClient) {
+        return new AciServiceImpl(new AciHttpClientImpl(httpClient));
+    }
+
+    @Bean
+    public AciService postingAciService(@Qualifier(HTTP_CLIENT) final HttpClient httpClient) {
         final AciHttpClientImpl aciHttpClient = new AciHttpClientImpl(httpClient);
         aciHttpClient.setUsePostMethod(true);
 
@@ -5,6 +5,7 @@
 
 package com.hp.autonomy.frontend.find.idol.comparison;
 
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
 import com.hp.autonomy.searchcomponents.core.search.DocumentsService;
 import com.hp.autonomy.searchcomponents.core.search.SearchResult;
 import com.hp.autonomy.types.requests.Documents;
@@ -15,9 +16,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping(ComparisonController.BASE_PATH)
@@ -40,25 +43,32 @@ class ComparisonController<S extends Serializable, R extends SearchResult, E ext
 
     private final ComparisonService<R, E> comparisonService;
     private final DocumentsService<S, R, E> documentsService;
+    private final DeadlineExecutor deadlineExecutor;
 
     @Autowired
-    public ComparisonController(final ComparisonService<R, E> comparisonService, final DocumentsService<S, R, E> documentsService) {
+    public ComparisonController(final ComparisonService<R, E> comparisonService, final DocumentsService<S, R, E> documentsService, final DeadlineExecutor deadlineExecutor) {
         this.comparisonService = comparisonService;
         this.documentsService = documentsService;
+        this.deadlineExecutor = deadlineExecutor;
     }
 
     @RequestMapping(value = COMPARE_PATH, method = RequestMethod.POST)
-    public ComparisonStateTokens getCompareStateTokens(@RequestBody final ComparisonRequest<S> body) throws E {
-        // If either query state token is null then try and fetch one using the query restrictions
-        final String firstStateToken = body.getFirstQueryStateToken() != null ? body.getFirstQueryStateToken() : documentsService.getStateToken(body.getFirstRestrictions(), STATE_TOKEN_MAX_RESULTS, false);
-        final String secondStateToken = body.getSecondQueryStateToken() != null ? body.getSecondQueryStateToken() : documentsService.getStateToken(body.getSecondRestrictions(), STATE_TOKEN_MAX_RESULTS, false);
+    public DeferredResult<ComparisonStateTokens> getCompareStateTokens(@RequestBody final ComparisonRequest<S> body) {
+        return deadlineExecutor.execute("comparison.compare", new Callable<ComparisonStateTokens>() {
+            @Override
+            public ComparisonStateTokens call() throws E {
+                // If either query state token is null then try and fetch one using the query restrictions
+                final String firstStateToken = body.getFirstQueryStateToken() != null ? body.getFirstQueryStateToken() : documentsService.getStateToken(body.getFirstRestrictions(), STATE_TOKEN_MAX_RESULTS, false);
+                final String secondStateToken = body.getSecondQueryStateToken() != null ? body.getSecondQueryStateToken() : documentsService.getStateToken(body.getSecondRestrictions(), STATE_TOKEN_MAX_RESULTS, false);
 
-        return comparisonService.getCompareStateTokens(firstStateToken, secondStateToken);
+                return comparisonService.getCompareStateTokens(firstStateToken, secondStateToken);
+            }
+        });
     }
 
     @SuppressWarnings("MethodWithTooManyParameters")
     @RequestMapping(value = RESULTS_PATH, method = RequestMethod.GET)
-    public Documents<R> getResults(
+    public DeferredResult<Documents<R>> getResults(
             @RequestParam(STATE_MATCH_PARAM) final List<String> stateMatchIds,
             @RequestParam(value = STATE_DONT_MATCH_PARAM, required = false) final List<String> stateDontMatchIds,
             @RequestParam(value = TEXT_PARAM, required = false, defaultValue = "*") final String text,
@@ -68,16 +78,21 @@ class ComparisonController<S extends Serializable, R extends SearchResult, E ext
             @RequestParam(value = SORT_PARAM, required = false) final String sort,
             @RequestParam(value = HIGHLIGHT_PARAM, required = false, defaultValue = "true") final boolean highlight,
             @RequestParam(value = PROMOTIONS, defaultValue = "false") final boolean promotions
-    ) throws E {
-        return comparisonService.getResults(
-                stateMatchIds,
-                ListUtils.emptyIfNull(stateDontMatchIds),
-                text,
-                resultsStart,
-                maxResults,
-                summary,
-                sort,
-                highlight
-        );
+    ) {
+        return deadlineExecutor.execute("comparison.results", new Callable<Documents<R>>() {
+            @Override
+            public Documents<R> call() throws E {
+                return comparisonService.getResults(
+                        stateMatchIds,
+                        ListUtils.emptyIfNull(stateDontMatchIds),
+                        text,
+                        resultsStart,
+                        maxResults,
+                        summary,
+                        sort,
+                        highlight
+                );
+            }
+        });
     }
 }
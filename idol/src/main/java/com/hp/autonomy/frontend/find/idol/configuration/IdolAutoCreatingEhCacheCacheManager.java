@@ -5,7 +5,9 @@
 
 package com.hp.autonomy.frontend.find.idol.configuration;
 
+import com.hp.autonomy.frontend.configuration.ConfigService;
 import com.hp.autonomy.frontend.find.core.beanconfiguration.InMemoryCondition;
+import com.hp.autonomy.frontend.find.core.caching.CacheMetrics;
 import com.hp.autonomy.frontend.find.core.configuration.AutoCreatingEhCacheCacheManager;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.config.CacheConfiguration;
@@ -17,8 +19,8 @@ import org.springframework.stereotype.Component;
 @Conditional(InMemoryCondition.class)
 public class IdolAutoCreatingEhCacheCacheManager extends AutoCreatingEhCacheCacheManager {
     @Autowired
-    public IdolAutoCreatingEhCacheCacheManager(final CacheManager cacheManager, final CacheConfiguration defaults) {
-        super(cacheManager, defaults);
+    public IdolAutoCreatingEhCacheCacheManager(final CacheManager cacheManager, final CacheConfiguration defaults, final ConfigService<IdolFindConfig> configService, final CacheMetrics cacheMetrics) {
+        super(cacheManager, defaults, configService, cacheMetrics);
     }
 
     @Override
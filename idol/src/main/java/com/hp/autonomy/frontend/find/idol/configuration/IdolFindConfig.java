@@ -16,6 +16,7 @@ import com.hp.autonomy.frontend.configuration.AuthenticationConfig;
 import com.hp.autonomy.frontend.configuration.CommunityAuthentication;
 import com.hp.autonomy.frontend.configuration.ConfigException;
 import com.hp.autonomy.frontend.configuration.ServerConfig;
+import com.hp.autonomy.frontend.find.core.configuration.ConnectionPoolConfig;
 import com.hp.autonomy.frontend.find.core.configuration.FindConfig;
 import com.hp.autonomy.frontend.find.core.configuration.MapConfiguration;
 import com.hp.autonomy.frontend.find.core.configuration.SavedSearchConfig;
@@ -30,6 +31,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @SuppressWarnings({"InstanceVariableOfConcreteClass", "DefaultAnnotationParam"})
 @Data
 @EqualsAndHashCode(callSuper = false)
@@ -48,6 +52,8 @@ public class IdolFindConfig extends AbstractConfig<IdolFindConfig> implements Us
     private final Integer minScore;
     private final StatsServerConfig statsServer;
     private final Integer topicMapMaxResults;
+    private final Map<String, Long> cacheExpires;
+    private final ConnectionPoolConfig connectionPool;
 
     @Override
     public IdolFindConfig merge(final IdolFindConfig other) {
@@ -67,9 +73,21 @@ public class IdolFindConfig extends AbstractConfig<IdolFindConfig> implements Us
                 .setMinScore(minScore == null ? other.minScore : minScore)
                 .setStatsServer(statsServer == null ? other.statsServer : statsServer.merge(other.statsServer))
                 .setTopicMapMaxResults(topicMapMaxResults == null ? other.topicMapMaxResults : topicMapMaxResults)
+                .setCacheExpires(mergeCacheExpires(other.cacheExpires))
+                .setConnectionPool(connectionPool == null ? other.connectionPool : connectionPool.merge(other.connectionPool))
                 .build();
     }
 
+    private Map<String, Long> mergeCacheExpires(final Map<String, Long> otherCacheExpires) {
+        if (cacheExpires == null || otherCacheExpires == null) {
+            return cacheExpires == null ? otherCacheExpires : cacheExpires;
+        }
+
+        final Map<String, Long> merged = new HashMap<>(otherCacheExpires);
+        merged.putAll(cacheExpires);
+        return merged;
+    }
+
     @JsonIgnore
     @Override
     public AciServerDetails getCommunityDetails() {
@@ -115,6 +133,10 @@ public class IdolFindConfig extends AbstractConfig<IdolFindConfig> implements Us
         if (queryManipulation != null) {
             queryManipulation.basicValidate();
         }
+
+        if (connectionPool != null) {
+            connectionPool.basicValidate();
+        }
     }
 
     @JsonIgnore
@@ -146,6 +168,8 @@ public class IdolFindConfig extends AbstractConfig<IdolFindConfig> implements Us
         private Integer minScore;
         private StatsServerConfig statsServer;
         private Integer topicMapMaxResults;
+        private Map<String, Long> cacheExpires;
+        private ConnectionPoolConfig connectionPool;
 
         public Builder(final IdolFindConfig config) {
             login = config.login;
@@ -159,10 +183,12 @@ public class IdolFindConfig extends AbstractConfig<IdolFindConfig> implements Us
             minScore = config.minScore;
             statsServer = config.statsServer;
             topicMapMaxResults = config.topicMapMaxResults;
+            cacheExpires = config.cacheExpires;
+            connectionPool = config.connectionPool;
         }
 
         public IdolFindConfig build() {
-            return new IdolFindConfig(login, content, queryManipulation, view, savedSearchConfig, mmap, fieldsInfo, map, minScore, statsServer, topicMapMaxResults);
+            return new IdolFindConfig(login, content, queryManipulation, view, savedSearchConfig, mmap, fieldsInfo, map, minScore, statsServer, topicMapMaxResults, cacheExpires, connectionPool);
         }
     }
 
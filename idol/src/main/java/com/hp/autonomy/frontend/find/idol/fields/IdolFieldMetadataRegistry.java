@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.fields;
+
+import com.autonomy.aci.client.services.AciErrorException;
+import com.hp.autonomy.frontend.find.core.beanconfiguration.BackendExecutorConfiguration;
+import com.hp.autonomy.frontend.find.core.fields.FieldMetadataRegistry;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import com.hp.autonomy.searchcomponents.core.fields.FieldsService;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
+import com.hp.autonomy.searchcomponents.idol.fields.IdolFieldsRequest;
+import com.hp.autonomy.searchcomponents.idol.parametricvalues.IdolParametricRequest;
+import com.hp.autonomy.searchcomponents.idol.search.IdolQueryRestrictions;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+
+@Component
+class IdolFieldMetadataRegistry extends FieldMetadataRegistry<IdolFieldsRequest, AciErrorException, String, IdolQueryRestrictions, IdolParametricRequest> {
+    @Autowired
+    IdolFieldMetadataRegistry(
+            final FieldsService<IdolFieldsRequest, AciErrorException> fieldsService,
+            final ParametricValuesService<IdolParametricRequest, String, AciErrorException> parametricValuesService,
+            final ObjectFactory<ParametricRequest.Builder<IdolParametricRequest, String>> parametricRequestBuilderFactory,
+            @Qualifier(BackendExecutorConfiguration.BACKEND_EXECUTOR) final AsyncTaskExecutor backendExecutor,
+            final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever,
+            @Value("${find.fields.coldStartBudget:5000}") final long coldStartBudget,
+            @Value("${find.fields.refreshInterval:300000}") final long refreshInterval,
+            @Value("${find.fields.idleExpiry:3600000}") final long idleExpiry
+    ) {
+        super(fieldsService, parametricValuesService, parametricRequestBuilderFactory, backendExecutor, authenticationInformationRetriever, coldStartBudget, refreshInterval, idleExpiry);
+    }
+
+    @Override
+    protected IdolQueryRestrictions createValueDetailsQueryRestrictions(final IdolFieldsRequest request) {
+        return new IdolQueryRestrictions.Builder()
+                .setQueryText("*")
+                .setAnyLanguage(true)
+                .build();
+    }
+
+    @Override
+    protected Collection<String> getAdditionalDateFields() {
+        return Collections.singletonList(ParametricValuesService.AUTN_DATE_FIELD);
+    }
+}
@@ -6,14 +6,11 @@
 package com.hp.autonomy.frontend.find.idol.fields;
 
 import com.autonomy.aci.client.services.AciErrorException;
+import com.hp.autonomy.frontend.find.core.fields.FieldMetadataRegistry;
 import com.hp.autonomy.frontend.find.core.fields.FieldsController;
-import com.hp.autonomy.searchcomponents.core.fields.FieldsService;
-import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
-import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
 import com.hp.autonomy.searchcomponents.idol.fields.IdolFieldsRequest;
 import com.hp.autonomy.searchcomponents.idol.parametricvalues.IdolParametricRequest;
 import com.hp.autonomy.searchcomponents.idol.search.IdolQueryRestrictions;
-import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 
@@ -21,18 +18,8 @@ import org.springframework.stereotype.Controller;
 class IdolFieldsController extends FieldsController<IdolFieldsRequest, AciErrorException, String, IdolQueryRestrictions, IdolParametricRequest> {
     @Autowired
     IdolFieldsController(
-            final FieldsService<IdolFieldsRequest, AciErrorException> fieldsService,
-            final ParametricValuesService<IdolParametricRequest, String, AciErrorException> parametricValuesService,
-            final ObjectFactory<ParametricRequest.Builder<IdolParametricRequest, String>> parametricRequestBuilderFactory
+            final FieldMetadataRegistry<IdolFieldsRequest, AciErrorException, String, IdolQueryRestrictions, IdolParametricRequest> fieldMetadataRegistry
     ) {
-        super(fieldsService, parametricValuesService, parametricRequestBuilderFactory);
-    }
-
-    @Override
-    protected IdolQueryRestrictions createValueDetailsQueryRestrictions(final IdolFieldsRequest request) {
-        return new IdolQueryRestrictions.Builder()
-                .setQueryText("*")
-                .setAnyLanguage(true)
-                .build();
+        super(fieldMetadataRegistry);
     }
 }
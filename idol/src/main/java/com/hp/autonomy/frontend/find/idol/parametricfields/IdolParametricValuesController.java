@@ -6,8 +6,10 @@
 package com.hp.autonomy.frontend.find.idol.parametricfields;
 
 import com.autonomy.aci.client.services.AciErrorException;
+import com.hp.autonomy.frontend.find.core.caching.ParametricFieldValuesCache;
 import com.hp.autonomy.frontend.find.core.parametricfields.ParametricValuesController;
 import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
 import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
 import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
 import com.hp.autonomy.searchcomponents.idol.parametricvalues.IdolParametricRequest;
@@ -16,15 +18,18 @@ import com.hp.autonomy.types.requests.idol.actions.tags.QueryTagInfo;
 import com.hp.autonomy.types.requests.idol.actions.tags.params.SortParam;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 @Controller
 @RequestMapping(ParametricValuesController.PARAMETRIC_VALUES_PATH)
@@ -32,16 +37,26 @@ class IdolParametricValuesController extends ParametricValuesController<IdolQuer
     @Autowired
     public IdolParametricValuesController(final ParametricValuesService<IdolParametricRequest, String, AciErrorException> parametricValuesService,
                                           final QueryRestrictionsBuilderFactory<IdolQueryRestrictions, String> queryRestrictionsBuilderFactory,
-                                          final ObjectFactory<ParametricRequest.Builder<IdolParametricRequest, String>> parametricRequestBuilderFactory) {
-        super(parametricValuesService, queryRestrictionsBuilderFactory, parametricRequestBuilderFactory);
+                                          final ObjectFactory<ParametricRequest.Builder<IdolParametricRequest, String>> parametricRequestBuilderFactory,
+                                          final DeadlineExecutor deadlineExecutor,
+                                          final ParametricFieldValuesCache parametricFieldValuesCache,
+                                          @Value("${find.parametricValues.maxValuesPerField:100}") final int maxValuesPerField,
+                                          @Value("${find.parametricValues.histogramBuckets:1000}") final int histogramBuckets) {
+        super(parametricValuesService, queryRestrictionsBuilderFactory, parametricRequestBuilderFactory, deadlineExecutor, parametricFieldValuesCache, maxValuesPerField, histogramBuckets);
     }
 
     @RequestMapping(method = RequestMethod.GET)
     @ResponseBody
-    public Set<QueryTagInfo> getParametricValues(
+    public DeferredResult<Set<QueryTagInfo>> getParametricValues(
             @RequestParam(FIELD_NAMES_PARAM) final List<String> fieldNames
-    ) throws AciErrorException {
+    ) {
         final IdolParametricRequest parametricRequest = buildRequest(fieldNames, Collections.<String>emptyList(), MAX_VALUES_DEFAULT, SortParam.DocumentCount);
-        return parametricValuesService.getAllParametricValues(parametricRequest);
+
+        return deadlineExecutor.execute("parametric.values", new Callable<Set<QueryTagInfo>>() {
+            @Override
+            public Set<QueryTagInfo> call() throws AciErrorException {
+                return parametricValuesService.getAllParametricValues(parametricRequest);
+            }
+        });
     }
 }
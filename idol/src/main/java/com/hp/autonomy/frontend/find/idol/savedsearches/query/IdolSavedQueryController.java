@@ -11,12 +11,15 @@ import com.hp.autonomy.frontend.find.core.savedsearches.FieldTextParser;
 import com.hp.autonomy.frontend.find.core.savedsearches.SavedSearchService;
 import com.hp.autonomy.frontend.find.core.savedsearches.query.SavedQuery;
 import com.hp.autonomy.frontend.find.core.savedsearches.query.SavedQueryController;
+import com.hp.autonomy.frontend.find.core.savedsearches.query.SavedQueryNewResultsPublisher;
 import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
 import com.hp.autonomy.searchcomponents.core.search.DocumentsService;
 import com.hp.autonomy.searchcomponents.idol.search.IdolQueryRestrictions;
 import com.hp.autonomy.searchcomponents.idol.search.IdolSearchResult;
 import com.hp.autonomy.types.requests.idol.actions.query.params.PrintParam;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -25,8 +28,11 @@ class IdolSavedQueryController extends SavedQueryController<String, IdolQueryRes
     public IdolSavedQueryController(final SavedSearchService<SavedQuery> service,
                                     final DocumentsService<String, IdolSearchResult, AciErrorException> documentsService,
                                     final FieldTextParser fieldTextParser,
-                                    final QueryRestrictionsBuilderFactory<IdolQueryRestrictions, String> queryRestrictionsBuilderFactory) {
-        super(service, documentsService, fieldTextParser, queryRestrictionsBuilderFactory);
+                                    final QueryRestrictionsBuilderFactory<IdolQueryRestrictions, String> queryRestrictionsBuilderFactory,
+                                    final DeadlineExecutor deadlineExecutor,
+                                    @Value("${find.savedQueries.newResultsParallelism:4}") final int newResultsParallelism,
+                                    final SavedQueryNewResultsPublisher newResultsPublisher) {
+        super(service, documentsService, fieldTextParser, queryRestrictionsBuilderFactory, deadlineExecutor, newResultsParallelism, newResultsPublisher);
     }
 
     @Override
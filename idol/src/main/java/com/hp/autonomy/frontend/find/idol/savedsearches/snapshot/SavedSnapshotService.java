@@ -1,7 +1,9 @@
 package com.hp.autonomy.frontend.find.idol.savedsearches.snapshot;
 
 import com.hp.autonomy.frontend.find.core.savedsearches.AbstractSavedSearchService;
+import com.hp.autonomy.frontend.find.core.savedsearches.SavedSearchCache;
 import com.hp.autonomy.frontend.find.core.savedsearches.SavedSearchRepository;
+import com.hp.autonomy.frontend.find.core.savedsearches.SavedSearchType;
 import com.hp.autonomy.frontend.find.core.savedsearches.UserEntity;
 import com.hp.autonomy.frontend.find.core.savedsearches.snapshot.SavedSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +13,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class SavedSnapshotService extends AbstractSavedSearchService<SavedSnapshot> {
     @Autowired
-    public SavedSnapshotService(final SavedSearchRepository<SavedSnapshot> savedSnapshotRepository, final AuditorAware<UserEntity> userEntityAuditorAware) {
-        super(savedSnapshotRepository, userEntityAuditorAware);
+    public SavedSnapshotService(final SavedSearchRepository<SavedSnapshot> savedSnapshotRepository, final AuditorAware<UserEntity> userEntityAuditorAware, final SavedSearchCache savedSearchCache) {
+        super(savedSnapshotRepository, userEntityAuditorAware, savedSearchCache, SavedSearchType.SNAPSHOT);
     }
 }
@@ -7,23 +7,49 @@ package com.hp.autonomy.frontend.find.idol.search;
 
 import com.autonomy.aci.client.services.AciErrorException;
 import com.autonomy.aci.client.services.AciService;
+import com.autonomy.aci.client.services.Processor;
 import com.autonomy.aci.client.util.AciParameters;
 import com.hp.autonomy.frontend.configuration.ConfigService;
+import com.hp.autonomy.frontend.find.core.search.UncachedDocumentsService;
+import com.hp.autonomy.frontend.find.core.web.FindCacheNames;
+import com.hp.autonomy.frontend.find.core.web.RequestCoalescer;
 import com.hp.autonomy.idolutils.processors.AciResponseJaxbProcessorFactory;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import com.hp.autonomy.searchcomponents.core.search.SearchRequest;
+import com.hp.autonomy.searchcomponents.core.search.SuggestRequest;
 import com.hp.autonomy.searchcomponents.idol.configuration.IdolSearchCapable;
 import com.hp.autonomy.searchcomponents.idol.search.HavenSearchAciParameterHandler;
 import com.hp.autonomy.searchcomponents.idol.search.IdolDocumentService;
+import com.hp.autonomy.searchcomponents.idol.search.IdolSearchResult;
 import com.hp.autonomy.searchcomponents.idol.search.QueryResponseParser;
 import com.hp.autonomy.types.idol.QueryResponseData;
+import com.hp.autonomy.types.requests.Documents;
 import com.hp.autonomy.types.requests.qms.actions.query.params.QmsQueryParams;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+
 @Service
-public class FindIdolDocumentService extends IdolDocumentService {
+public class FindIdolDocumentService extends IdolDocumentService implements UncachedDocumentsService<String, IdolSearchResult, AciErrorException> {
     static final String MISSING_RULE_ERROR = "missing rule";
     static final String INVALID_RULE_ERROR = "invalid rule";
 
+    private final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever;
+    private final RequestCoalescer requestCoalescer;
+    private final KeyGenerator searchKeyGenerator;
+    private final InvalidBlacklistRules invalidBlacklistRules;
+    private final Processor<QueryResponseData> queryExecutionProcessor;
+
+    /**
+     * If find.idol.streamQueryResponses is true, query responses are read with a
+     * {@link StreamingQueryResponseProcessor} which keeps only the fields named in find.idol.queryResponseFields (or
+     * all fields if none are named). Otherwise they are read with the JAXB processor.
+     */
     @SuppressWarnings("ConstructorWithTooManyParameters")
     @Autowired
     public FindIdolDocumentService(
@@ -32,20 +58,81 @@ public class FindIdolDocumentService extends IdolDocumentService {
             final QueryResponseParser queryResponseParser,
             final AciService contentAciService,
             final AciService qmsAciService,
-            final AciResponseJaxbProcessorFactory aciResponseProcessorFactory) {
+            final AciResponseJaxbProcessorFactory aciResponseProcessorFactory,
+            final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever,
+            final RequestCoalescer requestCoalescer,
+            @Qualifier(FindCacheNames.SEARCH_KEY_GENERATOR) final KeyGenerator searchKeyGenerator,
+            final InvalidBlacklistRules invalidBlacklistRules,
+            @Value("${find.idol.streamQueryResponses:false}") final boolean streamQueryResponses,
+            @Value("${find.idol.queryResponseFields:}") final String[] queryResponseFields) {
         super(configService, parameterHandler, queryResponseParser, contentAciService, qmsAciService, aciResponseProcessorFactory);
+        this.authenticationInformationRetriever = authenticationInformationRetriever;
+        this.requestCoalescer = requestCoalescer;
+        this.searchKeyGenerator = searchKeyGenerator;
+        this.invalidBlacklistRules = invalidBlacklistRules;
+
+        queryExecutionProcessor = streamQueryResponses ? new StreamingQueryResponseProcessor(Arrays.asList(queryResponseFields)) : queryResponseProcessor;
+    }
+
+    @Override
+    @Cacheable(value = FindCacheNames.DOCUMENTS, keyGenerator = FindCacheNames.SEARCH_KEY_GENERATOR)
+    public Documents<IdolSearchResult> queryTextIndex(final SearchRequest<String> searchRequest) throws AciErrorException {
+        return requestCoalescer.execute(FindCacheNames.DOCUMENTS, coalescingKey(searchRequest), new RequestCoalescer.Call<Documents<IdolSearchResult>, AciErrorException>() {
+            @Override
+            public Documents<IdolSearchResult> call() throws AciErrorException {
+                return FindIdolDocumentService.super.queryTextIndex(searchRequest);
+            }
+        });
+    }
+
+    @Override
+    public Documents<IdolSearchResult> queryTextIndexWithoutCache(final SearchRequest<String> searchRequest) throws AciErrorException {
+        return super.queryTextIndex(searchRequest);
+    }
+
+    @Override
+    @Cacheable(value = FindCacheNames.PROMOTED_DOCUMENTS, keyGenerator = FindCacheNames.SEARCH_KEY_GENERATOR)
+    public Documents<IdolSearchResult> queryTextIndexForPromotions(final SearchRequest<String> searchRequest) throws AciErrorException {
+        return requestCoalescer.execute(FindCacheNames.PROMOTED_DOCUMENTS, coalescingKey(searchRequest), new RequestCoalescer.Call<Documents<IdolSearchResult>, AciErrorException>() {
+            @Override
+            public Documents<IdolSearchResult> call() throws AciErrorException {
+                return FindIdolDocumentService.super.queryTextIndexForPromotions(searchRequest);
+            }
+        });
+    }
+
+    @Override
+    @Cacheable(value = FindCacheNames.SIMILAR_DOCUMENTS, keyGenerator = FindCacheNames.SEARCH_KEY_GENERATOR)
+    public Documents<IdolSearchResult> findSimilar(final SuggestRequest<String> suggestRequest) throws AciErrorException {
+        return requestCoalescer.execute(FindCacheNames.SIMILAR_DOCUMENTS, coalescingKey(suggestRequest), new RequestCoalescer.Call<Documents<IdolSearchResult>, AciErrorException>() {
+            @Override
+            public Documents<IdolSearchResult> call() throws AciErrorException {
+                return FindIdolDocumentService.super.findSimilar(suggestRequest);
+            }
+        });
     }
 
     @Override
     protected QueryResponseData executeQuery(final AciService aciService, final AciParameters aciParameters) {
+        final String blacklist = aciParameters.get(QmsQueryParams.Blacklist.name());
+
+        // don't send a rule which QMS recently rejected, rather than failing and retrying without it
+        if (blacklist != null && invalidBlacklistRules.isInvalid(blacklist)) {
+            aciParameters.remove(QmsQueryParams.Blacklist.name());
+        }
+
         QueryResponseData responseData;
         try {
-            responseData = aciService.executeAction(aciParameters, queryResponseProcessor);
+            responseData = aciService.executeAction(aciParameters, queryExecutionProcessor);
         } catch (final AciErrorException e) {
             final String errorString = e.getErrorString();
             if (MISSING_RULE_ERROR.equals(errorString) || INVALID_RULE_ERROR.equals(errorString)) {
+                if (blacklist != null) {
+                    invalidBlacklistRules.markInvalid(blacklist);
+                }
+
                 aciParameters.remove(QmsQueryParams.Blacklist.name());
-                responseData = aciService.executeAction(aciParameters, queryResponseProcessor);
+                responseData = aciService.executeAction(aciParameters, queryExecutionProcessor);
             } else {
                 throw e;
             }
@@ -53,4 +140,9 @@ public class FindIdolDocumentService extends IdolDocumentService {
 
         return responseData;
     }
+
+    // equivalent requests are coalesced, as they share a cache entry
+    private Object[] coalescingKey(final Object request) {
+        return new Object[]{authenticationInformationRetriever.getPrincipal(), searchKeyGenerator.generate(this, null, request)};
+    }
 }
@@ -6,8 +6,11 @@
 package com.hp.autonomy.frontend.find.idol.search;
 
 import com.autonomy.aci.client.services.AciErrorException;
+import com.hp.autonomy.frontend.find.core.caching.DocumentContentCache;
 import com.hp.autonomy.frontend.find.core.search.DocumentsController;
 import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.typeahead.RecentQueryTexts;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
 import com.hp.autonomy.searchcomponents.core.search.DocumentsService;
 import com.hp.autonomy.searchcomponents.idol.search.IdolQueryRestrictions;
 import com.hp.autonomy.searchcomponents.idol.search.IdolSearchResult;
@@ -20,8 +23,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 class IdolDocumentsController extends DocumentsController<String, IdolQueryRestrictions, IdolSearchResult, AciErrorException> {
     @Autowired
     public IdolDocumentsController(final DocumentsService<String, IdolSearchResult, AciErrorException> documentsService,
-                                   final QueryRestrictionsBuilderFactory<IdolQueryRestrictions, String> queryRestrictionsBuilderFactory) {
-        super(documentsService, queryRestrictionsBuilderFactory);
+                                   final QueryRestrictionsBuilderFactory<IdolQueryRestrictions, String> queryRestrictionsBuilderFactory,
+                                   final DocumentContentCache documentContentCache,
+                                   final DeadlineExecutor deadlineExecutor,
+                                   final RecentQueryTexts recentQueryTexts) {
+        super(documentsService, queryRestrictionsBuilderFactory, documentContentCache, deadlineExecutor, recentQueryTexts);
     }
 
     @Override
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.search;
+
+import com.autonomy.aci.client.services.AciErrorException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hp.autonomy.frontend.find.core.search.DocumentsController;
+import com.hp.autonomy.frontend.find.core.search.ExportController;
+import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.search.UncachedDocumentsService;
+import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
+import com.hp.autonomy.searchcomponents.idol.search.IdolQueryRestrictions;
+import com.hp.autonomy.searchcomponents.idol.search.IdolSearchResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.util.Collections;
+
+@Controller
+@RequestMapping(DocumentsController.SEARCH_PATH)
+class IdolExportController extends ExportController<String, IdolQueryRestrictions, IdolSearchResult, AciErrorException> {
+    private final QueryRestrictionsBuilderFactory<IdolQueryRestrictions, String> queryRestrictionsBuilderFactory;
+
+    @Autowired
+    public IdolExportController(final UncachedDocumentsService<String, IdolSearchResult, AciErrorException> documentsService,
+                                final QueryRestrictionsBuilderFactory<IdolQueryRestrictions, String> queryRestrictionsBuilderFactory,
+                                final ObjectMapper objectMapper,
+                                @Value("${find.export.maxResults:10000}") final int maxResults) {
+        super(documentsService, queryRestrictionsBuilderFactory, objectMapper, maxResults);
+        this.queryRestrictionsBuilderFactory = queryRestrictionsBuilderFactory;
+    }
+
+    /**
+     * Pages through a state token of the first results of the query which can be exported, so the export contains
+     * exactly the documents which matched when it started.
+     */
+    @Override
+    protected QueryRestrictions<String> fixResultSet(final QueryRestrictions<String> queryRestrictions) throws AciErrorException {
+        final String stateToken = documentsService.getStateToken(queryRestrictions, maxResults, false);
+
+        return queryRestrictionsBuilderFactory.createBuilder()
+                .setQueryText(queryRestrictions.getQueryText())
+                .setFieldText(queryRestrictions.getFieldText())
+                .setDatabases(queryRestrictions.getDatabases())
+                .setMinDate(queryRestrictions.getMinDate())
+                .setMaxDate(queryRestrictions.getMaxDate())
+                .setMinScore(queryRestrictions.getMinScore())
+                .setStateMatchId(Collections.singletonList(stateToken))
+                .build();
+    }
+}
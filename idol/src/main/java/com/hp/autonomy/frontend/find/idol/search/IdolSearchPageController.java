@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.search;
+
+import com.autonomy.aci.client.services.AciErrorException;
+import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.search.SearchPageController;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
+import com.hp.autonomy.searchcomponents.core.search.DocumentsService;
+import com.hp.autonomy.searchcomponents.core.search.RelatedConceptsRequest;
+import com.hp.autonomy.searchcomponents.core.search.RelatedConceptsService;
+import com.hp.autonomy.searchcomponents.idol.parametricvalues.IdolParametricRequest;
+import com.hp.autonomy.searchcomponents.idol.search.IdolQueryRestrictions;
+import com.hp.autonomy.searchcomponents.idol.search.IdolRelatedConceptsRequest;
+import com.hp.autonomy.searchcomponents.idol.search.IdolSearchResult;
+import com.hp.autonomy.types.idol.QsElement;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@RequestMapping(SearchPageController.SEARCH_PAGE_PATH)
+class IdolSearchPageController extends SearchPageController<String, IdolQueryRestrictions, IdolSearchResult, QsElement, IdolRelatedConceptsRequest, IdolParametricRequest, AciErrorException> {
+    @SuppressWarnings("ConstructorWithTooManyParameters")
+    @Autowired
+    public IdolSearchPageController(final DocumentsService<String, IdolSearchResult, AciErrorException> documentsService,
+                                    final RelatedConceptsService<QsElement, String, AciErrorException> relatedConceptsService,
+                                    final ParametricValuesService<IdolParametricRequest, String, AciErrorException> parametricValuesService,
+                                    final QueryRestrictionsBuilderFactory<IdolQueryRestrictions, String> queryRestrictionsBuilderFactory,
+                                    final ObjectFactory<RelatedConceptsRequest.Builder<IdolRelatedConceptsRequest, String>> relatedConceptsRequestBuilderFactory,
+                                    final ObjectFactory<ParametricRequest.Builder<IdolParametricRequest, String>> parametricRequestBuilderFactory,
+                                    final DeadlineExecutor deadlineExecutor) {
+        super(documentsService, relatedConceptsService, parametricValuesService, queryRestrictionsBuilderFactory, relatedConceptsRequestBuilderFactory, parametricRequestBuilderFactory, deadlineExecutor);
+    }
+}
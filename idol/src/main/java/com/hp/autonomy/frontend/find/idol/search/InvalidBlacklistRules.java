@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.search;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers QMS blacklist rules which QMS reported as missing or invalid, so that queries can be sent without them
+ * instead of failing and being retried. Rules are forgotten after find.qms.invalidBlacklistTtlSeconds, so that fixing
+ * the QMS configuration takes effect without a restart.
+ */
+@Slf4j
+@Component
+public class InvalidBlacklistRules {
+    static final String AVOIDED_RETRIES_METRIC = "find.qms.blacklist.avoidedRetries";
+
+    private final CounterService counterService;
+    private final long ttlSeconds;
+    private final Cache<String, Boolean> invalidRules;
+
+    @Autowired
+    public InvalidBlacklistRules(final CounterService counterService, @Value("${find.qms.invalidBlacklistTtlSeconds:300}") final long ttlSeconds) {
+        this(counterService, ttlSeconds, Ticker.systemTicker());
+    }
+
+    InvalidBlacklistRules(final CounterService counterService, final long ttlSeconds, final Ticker ticker) {
+        this.counterService = counterService;
+        this.ttlSeconds = ttlSeconds;
+
+        invalidRules = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .ticker(ticker)
+                .removalListener(new RemovalListener<String, Boolean>() {
+                    @Override
+                    public void onRemoval(final RemovalNotification<String, Boolean> notification) {
+                        if (notification.getCause() == RemovalCause.EXPIRED) {
+                            log.info("Blacklist rule {} will be sent to QMS again", notification.getKey());
+                        }
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @param blacklist The blacklist rule
+     * @return True if the rule recently failed, in which case it should not be sent. This is recorded as an avoided
+     * retry.
+     */
+    public boolean isInvalid(final String blacklist) {
+        if (invalidRules.getIfPresent(blacklist) == null) {
+            return false;
+        }
+
+        counterService.increment(AVOIDED_RETRIES_METRIC);
+        return true;
+    }
+
+    /**
+     * @param blacklist A blacklist rule which QMS reported as missing or invalid
+     */
+    public void markInvalid(final String blacklist) {
+        log.warn("QMS blacklist rule {} is missing or invalid; queries will not use it for the next {} seconds", blacklist, ttlSeconds);
+        invalidRules.put(blacklist, true);
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.search;
+
+import com.autonomy.aci.client.services.AciErrorException;
+import com.autonomy.aci.client.services.Processor;
+import com.autonomy.aci.client.services.ProcessorException;
+import com.autonomy.aci.client.transport.AciResponseInputStream;
+import com.hp.autonomy.types.idol.DocContent;
+import com.hp.autonomy.types.idol.Hit;
+import com.hp.autonomy.types.idol.QueryResponseData;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reads IDOL query responses with a streaming parser, as an alternative to the JAXB processor which builds a full
+ * object graph for each response before copying it into {@link QueryResponseData}.
+ * <p>
+ * If field names are given, only those fields are kept from the content of each hit, so large fields which Find does
+ * not display are skipped rather than built into the DOM. Names are case insensitive. With no field names, all fields
+ * are kept.
+ */
+class StreamingQueryResponseProcessor implements Processor<QueryResponseData> {
+    private static final long serialVersionUID = -2739171263456281049L;
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
+
+    private final Set<String> fieldNames;
+
+    StreamingQueryResponseProcessor(final Collection<String> fieldNames) {
+        final Set<String> upperCaseFieldNames = new HashSet<>();
+
+        for (final String fieldName : fieldNames) {
+            upperCaseFieldNames.add(fieldName.trim().toUpperCase(Locale.ENGLISH));
+        }
+
+        this.fieldNames = Collections.unmodifiableSet(upperCaseFieldNames);
+    }
+
+    @Override
+    public QueryResponseData process(final AciResponseInputStream aciResponse) {
+        return parse(aciResponse);
+    }
+
+    QueryResponseData parse(final InputStream inputStream) {
+        XMLStreamReader reader = null;
+
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+            return parseResponse(reader);
+        } catch (final XMLStreamException e) {
+            throw new ProcessorException("Error parsing query response", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (final XMLStreamException ignored) {
+                    // the stream is closed by the ACI service
+                }
+            }
+        }
+    }
+
+    private QueryResponseData parseResponse(final XMLStreamReader reader) throws XMLStreamException {
+        final QueryResponseData responseData = new QueryResponseData();
+        boolean error = false;
+
+        while (reader.hasNext()) {
+            if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            switch (reader.getLocalName()) {
+                case "response":
+                    error = "ERROR".equals(reader.getElementText());
+                    break;
+                case "error":
+                    if (error) {
+                        throw parseError(reader);
+                    }
+                    break;
+                case "numhits":
+                    responseData.setNumhits(Integer.parseInt(reader.getElementText()));
+                    break;
+                case "totalhits":
+                    responseData.setTotalhits(Integer.parseInt(reader.getElementText()));
+                    break;
+                case "totaldbdocs":
+                    responseData.setTotaldbdocs(Integer.parseInt(reader.getElementText()));
+                    break;
+                case "totaldbsections":
+                    responseData.setTotaldbsections(Integer.parseInt(reader.getElementText()));
+                    break;
+                case "spelling":
+                    responseData.setSpelling(reader.getElementText());
+                    break;
+                case "spellingquery":
+                    responseData.setSpellingquery(reader.getElementText());
+                    break;
+                case "warning":
+                    responseData.getWarning().add(reader.getElementText());
+                    break;
+                case "hit":
+                    responseData.getHits().add(parseHit(reader));
+                    break;
+                default:
+                    // descend into the element in case it wraps the response data
+                    break;
+            }
+        }
+
+        return responseData;
+    }
+
+    private Hit parseHit(final XMLStreamReader reader) throws XMLStreamException {
+        final Hit hit = new Hit();
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "reference":
+                    hit.setReference(reader.getElementText());
+                    break;
+                case "id":
+                    hit.setId(Integer.parseInt(reader.getElementText()));
+                    break;
+                case "section":
+                    hit.setSection(Integer.parseInt(reader.getElementText()));
+                    break;
+                case "weight":
+                    hit.setWeight(Float.parseFloat(reader.getElementText()));
+                    break;
+                case "links":
+                    hit.setLinks(reader.getElementText());
+                    break;
+                case "database":
+                    hit.setDatabase(reader.getElementText());
+                    break;
+                case "title":
+                    hit.setTitle(reader.getElementText());
+                    break;
+                case "summary":
+                    hit.setSummary(reader.getElementText());
+                    break;
+                case "promotionname":
+                    hit.setPromotionname(reader.getElementText());
+                    break;
+                case "content":
+                    hit.setContent(parseContent(reader));
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+
+        return hit;
+    }
+
+    private DocContent parseContent(final XMLStreamReader reader) throws XMLStreamException {
+        final DocContent content = new DocContent();
+        final Document document = newDocument();
+
+        // each DOCUMENT element holds the fields of one section of the hit
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            final Element documentElement = document.createElement(reader.getLocalName());
+
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                if (fieldNames.isEmpty() || fieldNames.contains(reader.getLocalName().toUpperCase(Locale.ENGLISH))) {
+                    documentElement.appendChild(readElement(reader, document));
+                } else {
+                    skipElement(reader);
+                }
+            }
+
+            content.getContent().add(documentElement);
+        }
+
+        return content;
+    }
+
+    /**
+     * Copies the element at the cursor, and everything inside it, into the document. Leaves the cursor on the end tag
+     * of the element.
+     */
+    private Element readElement(final XMLStreamReader reader, final Document document) throws XMLStreamException {
+        final Element element = document.createElement(reader.getLocalName());
+
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+
+        Node current = element;
+        int depth = 1;
+
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final Element child = document.createElement(reader.getLocalName());
+
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        child.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                    }
+
+                    current.appendChild(child);
+                    current = child;
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    current = current.getParentNode();
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    if (!reader.isWhiteSpace()) {
+                        current.appendChild(document.createTextNode(reader.getText()));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return element;
+    }
+
+    private void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+
+        while (depth > 0) {
+            final int event = reader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private AciErrorException parseError(final XMLStreamReader reader) throws XMLStreamException {
+        final AciErrorException exception = new AciErrorException();
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "errorid":
+                    exception.setErrorId(reader.getElementText());
+                    break;
+                case "rawerrorid":
+                    exception.setRawErrorId(reader.getElementText());
+                    break;
+                case "errorstring":
+                    exception.setErrorString(reader.getElementText());
+                    break;
+                case "errordescription":
+                    exception.setErrorDescription(reader.getElementText());
+                    break;
+                case "errorcode":
+                    exception.setErrorCode(reader.getElementText());
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+
+        return exception;
+    }
+
+    private Document newDocument() {
+        try {
+            // document builders are not thread safe, and the factory is not guaranteed to be
+            synchronized (DOCUMENT_BUILDER_FACTORY) {
+                return DOCUMENT_BUILDER_FACTORY.newDocumentBuilder().newDocument();
+            }
+        } catch (final ParserConfigurationException e) {
+            throw new ProcessorException("Could not create document for query response content", e);
+        }
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return xmlInputFactory;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.typeahead;
+
+import com.autonomy.aci.client.services.AciErrorException;
+import com.hp.autonomy.frontend.find.core.beanconfiguration.BackendExecutorConfiguration;
+import com.hp.autonomy.frontend.find.core.search.QueryRestrictionsBuilderFactory;
+import com.hp.autonomy.frontend.find.core.typeahead.LocalTypeAheadEngine;
+import com.hp.autonomy.frontend.find.core.typeahead.RecentQueryTexts;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
+import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricValuesService;
+import com.hp.autonomy.searchcomponents.idol.parametricvalues.IdolParametricRequest;
+import com.hp.autonomy.searchcomponents.idol.search.IdolQueryRestrictions;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+@Component
+class IdolLocalTypeAheadEngine extends LocalTypeAheadEngine<IdolQueryRestrictions, IdolParametricRequest, String, AciErrorException> {
+    @SuppressWarnings("ConstructorWithTooManyParameters")
+    @Autowired
+    IdolLocalTypeAheadEngine(
+            final ParametricValuesService<IdolParametricRequest, String, AciErrorException> parametricValuesService,
+            final ObjectFactory<ParametricRequest.Builder<IdolParametricRequest, String>> parametricRequestBuilderFactory,
+            final QueryRestrictionsBuilderFactory<IdolQueryRestrictions, String> queryRestrictionsBuilderFactory,
+            @Qualifier(BackendExecutorConfiguration.BACKEND_EXECUTOR) final AsyncTaskExecutor backendExecutor,
+            final AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever,
+            final RecentQueryTexts recentQueryTexts,
+            @Value("${find.typeahead.local.enabled:false}") final boolean enabled,
+            @Value("${find.typeahead.local.fields:}") final String[] fieldNames,
+            @Value("${find.typeahead.local.maxValuesPerField:10000}") final int maxValuesPerField,
+            @Value("${find.typeahead.local.maxSuggestions:10}") final int maxSuggestions,
+            @Value("${find.typeahead.local.rebuildInterval:600000}") final long rebuildInterval,
+            @Value("${find.typeahead.local.idleExpiry:3600000}") final long idleExpiry,
+            @Value("${find.typeahead.local.maxUsers:1000}") final int maxUsers
+    ) {
+        super(parametricValuesService, parametricRequestBuilderFactory, queryRestrictionsBuilderFactory, backendExecutor, authenticationInformationRetriever,
+                recentQueryTexts, enabled, fieldNames, maxValuesPerField, maxSuggestions, rebuildInterval, idleExpiry, maxUsers);
+    }
+
+    @Override
+    protected List<String> getDatabases() {
+        // an empty list queries the content engine's default databases, with the user's security info
+        return Collections.emptyList();
+    }
+}
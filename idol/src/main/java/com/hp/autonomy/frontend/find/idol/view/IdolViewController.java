@@ -7,6 +7,7 @@ package com.hp.autonomy.frontend.find.idol.view;
 
 import com.autonomy.aci.client.services.AciErrorException;
 import com.hp.autonomy.frontend.configuration.ConfigService;
+import com.hp.autonomy.frontend.find.core.caching.DocumentContentCache;
 import com.hp.autonomy.frontend.find.core.view.ViewController;
 import com.hp.autonomy.frontend.find.core.web.ControllerUtils;
 import com.hp.autonomy.frontend.find.core.web.ErrorModelAndViewInfo;
@@ -37,8 +38,8 @@ public class IdolViewController extends ViewController<String, AciErrorException
     private final ControllerUtils controllerUtils;
 
     @Autowired
-    public IdolViewController(final ViewServerService<String, AciErrorException> viewServerService, final ConfigService<? extends IdolSearchCapable> configService, final ControllerUtils controllerUtils) {
-        super(viewServerService);
+    public IdolViewController(final ViewServerService<String, AciErrorException> viewServerService, final ConfigService<? extends IdolSearchCapable> configService, final ControllerUtils controllerUtils, final DocumentContentCache documentContentCache) {
+        super(viewServerService, documentContentCache);
         this.configService = configService;
         this.controllerUtils = controllerUtils;
     }
@@ -79,7 +79,7 @@ public class ComparisonServiceIT extends AbstractFindIT {
                 .contentType(MediaType.APPLICATION_JSON)
                 .with(authentication(biAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$.documentsOnlyInFirstStateToken", isEmptyOrNullString()))
@@ -98,7 +98,7 @@ public class ComparisonServiceIT extends AbstractFindIT {
                 .contentType(MediaType.APPLICATION_JSON)
                 .with(authentication(biAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$.documentsOnlyInFirstStateToken", not(isEmptyOrNullString())))
@@ -117,7 +117,7 @@ public class ComparisonServiceIT extends AbstractFindIT {
                 .contentType(MediaType.APPLICATION_JSON)
                 .with(authentication(biAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$.documentsOnlyInFirstStateToken", isEmptyOrNullString()))
@@ -136,7 +136,7 @@ public class ComparisonServiceIT extends AbstractFindIT {
                 .contentType(MediaType.APPLICATION_JSON)
                 .with(authentication(biAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$.documentsOnlyInFirstStateToken", isEmptyOrNullString()))
@@ -159,7 +159,7 @@ public class ComparisonServiceIT extends AbstractFindIT {
                 .contentType(MediaType.APPLICATION_JSON)
                 .with(authentication(biAuth()));
 
-        mockMvc.perform(requestBuilder)
+        performAsync(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$.documents", hasSize(4)));
@@ -5,12 +5,63 @@
 
 package com.hp.autonomy.frontend.find.idol.configuration;
 
+import com.hp.autonomy.frontend.configuration.ConfigService;
 import com.hp.autonomy.frontend.find.core.configuration.AbstractAutoCreatingEhCacheCacheManagerTest;
+import com.hp.autonomy.frontend.find.core.web.FindCacheNames;
+import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.config.CacheConfiguration;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.springframework.cache.Cache;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class IdolAutoCreatingEhCacheCacheManagerTest extends AbstractAutoCreatingEhCacheCacheManagerTest {
+    @Mock
+    private ConfigService<IdolFindConfig> configService;
+
     @Override
     public void setUp() {
-        autoCreatingEhCacheCacheManager = new IdolAutoCreatingEhCacheCacheManager(cacheManager, new CacheConfiguration());
+        when(configService.getConfig()).thenReturn(new IdolFindConfig.Builder().build());
+        autoCreatingEhCacheCacheManager = new IdolAutoCreatingEhCacheCacheManager(cacheManager, new CacheConfiguration(), configService, cacheMetrics());
+    }
+
+    @Test
+    public void getMissingCacheWithConfiguredExpiry() {
+        when(configService.getConfig()).thenReturn(new IdolFindConfig.Builder().setCacheExpires(Collections.singletonMap(FindCacheNames.DOCUMENTS, 42L)).build());
+        final Ehcache cache = (Ehcache) autoCreatingEhCacheCacheManager.getCache(FindCacheNames.DOCUMENTS).getNativeCache();
+        assertEquals(42L, cache.getCacheConfiguration().getTimeToLiveSeconds());
+    }
+
+    @Test
+    public void getMissingCacheWithDefaultExpiry() {
+        final Ehcache cache = (Ehcache) autoCreatingEhCacheCacheManager.getCache(FindCacheNames.DOCUMENTS).getNativeCache();
+        assertEquals((long) FindCacheNames.CACHE_EXPIRES.get(FindCacheNames.DOCUMENTS), cache.getCacheConfiguration().getTimeToLiveSeconds());
+    }
+
+    @Test
+    public void getCacheKeepsExpiryOfExistingCache() {
+        final Ehcache cache = (Ehcache) autoCreatingEhCacheCacheManager.getCache(FindCacheNames.DOCUMENTS).getNativeCache();
+
+        when(configService.getConfig()).thenReturn(new IdolFindConfig.Builder().setCacheExpires(Collections.singletonMap(FindCacheNames.DOCUMENTS, 42L)).build());
+        autoCreatingEhCacheCacheManager.getCache(FindCacheNames.DOCUMENTS);
+
+        assertEquals((long) FindCacheNames.CACHE_EXPIRES.get(FindCacheNames.DOCUMENTS), cache.getCacheConfiguration().getTimeToLiveSeconds());
+    }
+
+    @Test
+    public void getCacheRecordsHitsAndMisses() {
+        final Cache cache = autoCreatingEhCacheCacheManager.getCache(FindCacheNames.DOCUMENTS);
+        cache.get("key");
+        cache.put("key", "value");
+        cache.get("key");
+
+        verify(counterService).increment("find.cache." + FindCacheNames.DOCUMENTS + ".misses");
+        verify(counterService).increment("find.cache." + FindCacheNames.DOCUMENTS + ".hits");
+        verify(gaugeService).submit("find.cache." + FindCacheNames.DOCUMENTS + ".hitRatio", 0.5);
     }
 }
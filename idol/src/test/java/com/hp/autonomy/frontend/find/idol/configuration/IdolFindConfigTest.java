@@ -18,6 +18,10 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.*;
@@ -81,6 +85,20 @@ public class IdolFindConfigTest {
         assertEquals(idolFindConfig, mergedConfig);
     }
 
+    @Test
+    public void mergeCacheExpires() {
+        final Map<String, Long> defaultCacheExpires = new HashMap<>();
+        defaultCacheExpires.put("documents", 300L);
+        defaultCacheExpires.put("related-concepts", 300L);
+
+        final IdolFindConfig defaults = new IdolFindConfig.Builder().setCacheExpires(defaultCacheExpires).build();
+        final IdolFindConfig config = new IdolFindConfig.Builder(idolFindConfig).setCacheExpires(Collections.singletonMap("documents", 60L)).build();
+
+        final Map<String, Long> mergedCacheExpires = config.merge(defaults).getCacheExpires();
+        assertEquals(Long.valueOf(60L), mergedCacheExpires.get("documents"));
+        assertEquals(Long.valueOf(300L), mergedCacheExpires.get("related-concepts"));
+    }
+
     @Test
     public void mergeWithNoDefaults() {
         assertNotNull(idolFindConfig.merge(null));
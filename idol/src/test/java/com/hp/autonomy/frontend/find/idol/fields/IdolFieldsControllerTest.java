@@ -7,26 +7,33 @@ package com.hp.autonomy.frontend.find.idol.fields;
 
 import com.autonomy.aci.client.services.AciErrorException;
 import com.hp.autonomy.frontend.find.core.fields.AbstractFieldsControllerTest;
+import com.hp.autonomy.frontend.find.core.fields.FieldMetadataRegistry;
 import com.hp.autonomy.frontend.find.core.fields.FieldsController;
 import com.hp.autonomy.searchcomponents.core.parametricvalues.ParametricRequest;
 import com.hp.autonomy.searchcomponents.idol.fields.IdolFieldsRequest;
 import com.hp.autonomy.searchcomponents.idol.parametricvalues.IdolParametricRequest;
 import com.hp.autonomy.searchcomponents.idol.search.IdolQueryRestrictions;
 import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 public class IdolFieldsControllerTest extends AbstractFieldsControllerTest<IdolFieldsRequest, AciErrorException, String, IdolQueryRestrictions, IdolParametricRequest> {
     @Override
-    protected FieldsController<IdolFieldsRequest, AciErrorException, String, IdolQueryRestrictions, IdolParametricRequest> constructController() {
+    protected FieldMetadataRegistry<IdolFieldsRequest, AciErrorException, String, IdolQueryRestrictions, IdolParametricRequest> constructRegistry(final AsyncTaskExecutor backendExecutor, final long refreshInterval) {
         @SuppressWarnings("unchecked")
         final ObjectFactory<ParametricRequest.Builder<IdolParametricRequest, String>> requestBuilderFactory = mock(ObjectFactory.class);
 
         final ParametricRequest.Builder<IdolParametricRequest, String> builder = new IdolParametricRequest.Builder();
         when(requestBuilderFactory.getObject()).thenReturn(builder);
 
-        return new IdolFieldsController(service, parametricValuesService, requestBuilderFactory);
+        return new IdolFieldMetadataRegistry(service, parametricValuesService, requestBuilderFactory, backendExecutor, authenticationInformationRetriever, COLD_START_BUDGET, refreshInterval, IDLE_EXPIRY);
+    }
+
+    @Override
+    protected FieldsController<IdolFieldsRequest, AciErrorException, String, IdolQueryRestrictions, IdolParametricRequest> constructController(final FieldMetadataRegistry<IdolFieldsRequest, AciErrorException, String, IdolQueryRestrictions, IdolParametricRequest> registry) {
+        return new IdolFieldsController(registry);
     }
 
     @Override
@@ -0,0 +1,13 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.savedsearches;
+
+import com.hp.autonomy.frontend.find.IdolFindApplication;
+import com.hp.autonomy.frontend.find.core.savedsearches.AbstractSavedSearchListingIT;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+
+@SpringApplicationConfiguration(classes = IdolFindApplication.class)
+public class IdolSavedSearchListingIT extends AbstractSavedSearchListingIT {}
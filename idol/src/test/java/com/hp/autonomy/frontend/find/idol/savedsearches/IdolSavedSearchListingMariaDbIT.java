@@ -0,0 +1,33 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.savedsearches;
+
+import com.hp.autonomy.frontend.find.IdolFindApplication;
+import com.hp.autonomy.frontend.find.core.savedsearches.AbstractSavedSearchListingIT;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.boot.test.WebIntegrationTest;
+import org.springframework.test.annotation.IfProfileValue;
+
+/**
+ * Runs the listing benchmark against MariaDB. Only runs if the system property find.benchmark.mariadb is true; the
+ * database is set with find.benchmark.mariadb.url, find.benchmark.mariadb.username and find.benchmark.mariadb.password.
+ */
+@IfProfileValue(name = "find.benchmark.mariadb", value = "true")
+@SpringApplicationConfiguration(classes = IdolFindApplication.class)
+@WebIntegrationTest({
+        "application.buildNumber=test",
+        "server.port=0",
+        "hp.find.persistentState = INMEMORY",
+        "hp.find.home = ./target/test",
+        "find.https.proxyHost = web-proxy.sdc.hpecorp.net",
+        "find.https.proxyPort: 8080",
+        "spring.datasource.platform = mysql",
+        "spring.datasource.url = ${find.benchmark.mariadb.url:jdbc:mariadb://localhost:3306/find}",
+        "spring.datasource.username = ${find.benchmark.mariadb.username:root}",
+        "spring.datasource.password = ${find.benchmark.mariadb.password:}",
+        "mock.authenticationRetriever=false"
+})
+public class IdolSavedSearchListingMariaDbIT extends AbstractSavedSearchListingIT {}
@@ -9,26 +9,42 @@ import com.autonomy.aci.client.services.AciErrorException;
 import com.autonomy.aci.client.services.Processor;
 import com.autonomy.aci.client.transport.AciParameter;
 import com.autonomy.aci.client.util.AciParameters;
+import com.hp.autonomy.frontend.find.core.web.RequestCoalescer;
+import com.hp.autonomy.searchcomponents.core.authentication.AuthenticationInformationRetriever;
 import com.hp.autonomy.searchcomponents.core.search.AciSearchRequest;
 import com.hp.autonomy.searchcomponents.idol.configuration.QueryManipulation;
 import com.hp.autonomy.searchcomponents.idol.search.IdolDocumentService;
 import com.hp.autonomy.searchcomponents.idol.search.IdolDocumentServiceTest;
 import com.hp.autonomy.types.idol.QueryResponseData;
+import com.hp.autonomy.types.requests.qms.actions.query.params.QmsQueryParams;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
 
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class FindIdolDocumentServiceTest extends IdolDocumentServiceTest {
+    @Mock
+    private AuthenticationInformationRetriever<?, ?> authenticationInformationRetriever;
+
+    @Mock
+    private CounterService counterService;
+
     @Override
     @Before
     public void setUp() {
         when(havenSearchConfig.getQueryManipulation()).thenReturn(new QueryManipulation.Builder().build());
         when(configService.getConfig()).thenReturn(havenSearchConfig);
-        idolDocumentService = new FindIdolDocumentService(configService, parameterHandler, queryResponseParser, contentAciService, qmsAciService, aciResponseProcessorFactory);
+        idolDocumentService = new FindIdolDocumentService(configService, parameterHandler, queryResponseParser, contentAciService, qmsAciService, aciResponseProcessorFactory, authenticationInformationRetriever, new RequestCoalescer(counterService, 60000L), new SimpleKeyGenerator(), new InvalidBlacklistRules(counterService, 300), false, new String[0]);
     }
 
     @Test
@@ -50,4 +66,28 @@ public class FindIdolDocumentServiceTest extends IdolDocumentServiceTest {
 
         idolDocumentService.queryTextIndex(mockQueryParams());
     }
+
+    @Test
+    public void invalidBlacklistIsNotRetried() {
+        final AciErrorException blacklistError = new AciErrorException();
+        blacklistError.setErrorString(FindIdolDocumentService.INVALID_RULE_ERROR);
+        when(qmsAciService.executeAction(anySetOf(AciParameter.class), any(Processor.class))).thenThrow(blacklistError).thenReturn(new QueryResponseData());
+
+        final FindIdolDocumentService findIdolDocumentService = (FindIdolDocumentService) idolDocumentService;
+        findIdolDocumentService.executeQuery(qmsAciService, blacklistParameters());
+
+        final AciParameters secondParameters = blacklistParameters();
+        findIdolDocumentService.executeQuery(qmsAciService, secondParameters);
+
+        // one failed attempt and one retry for the first query, then one attempt without the blacklist
+        verify(qmsAciService, times(3)).executeAction(anySetOf(AciParameter.class), any(Processor.class));
+        assertThat(secondParameters.get(QmsQueryParams.Blacklist.name()), is(nullValue()));
+        verify(counterService).increment(InvalidBlacklistRules.AVOIDED_RETRIES_METRIC);
+    }
+
+    private AciParameters blacklistParameters() {
+        final AciParameters aciParameters = new AciParameters();
+        aciParameters.add(QmsQueryParams.Blacklist.name(), "SomeBlacklist");
+        return aciParameters;
+    }
 }
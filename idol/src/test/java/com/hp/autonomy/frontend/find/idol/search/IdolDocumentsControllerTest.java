@@ -7,18 +7,32 @@ package com.hp.autonomy.frontend.find.idol.search;
 
 import com.autonomy.aci.client.services.AciErrorException;
 import com.hp.autonomy.frontend.find.core.search.AbstractDocumentsControllerTest;
+import com.hp.autonomy.frontend.find.core.search.DocumentContentResult;
+import com.hp.autonomy.searchcomponents.core.search.GetContentRequest;
 import com.hp.autonomy.searchcomponents.idol.search.IdolQueryRestrictions;
 import com.hp.autonomy.searchcomponents.idol.search.IdolSearchResult;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class IdolDocumentsControllerTest extends AbstractDocumentsControllerTest<String, IdolQueryRestrictions, IdolSearchResult, AciErrorException> {
     @Before
     public void setUp() {
         when(queryRestrictionsBuilderFactory.createBuilder()).thenReturn(new IdolQueryRestrictions.Builder());
-        documentsController = new IdolDocumentsController(documentsService, queryRestrictionsBuilderFactory);
+        documentsController = new IdolDocumentsController(documentsService, queryRestrictionsBuilderFactory, documentContentCache, deadlineExecutor, recentQueryTexts);
         databaseType = String.class;
     }
 
@@ -27,8 +41,53 @@ public class IdolDocumentsControllerTest extends AbstractDocumentsControllerTest
         return new IdolSearchResult.Builder().build();
     }
 
-    @Test(expected = AciErrorException.class)
+    @Override
+    protected String sampleDatabase() {
+        return "Database1";
+    }
+
+    @Test
+    public void getDocumentContentsInRequestOrder() throws AciErrorException {
+        final IdolSearchResult first = new IdolSearchResult.Builder().setReference("Reference1").setIndex("Database1").build();
+        final IdolSearchResult second = new IdolSearchResult.Builder().setReference("Reference2").setIndex("Database2").build();
+        when(documentsService.getDocumentContent(Matchers.<GetContentRequest<String>>any())).thenReturn(Arrays.asList(second, first));
+
+        @SuppressWarnings("unchecked")
+        final List<DocumentContentResult<String, IdolSearchResult>> results = (List<DocumentContentResult<String, IdolSearchResult>>) documentsController.getDocumentContents(
+                Arrays.asList("Reference1", "Reference2", "Reference3"),
+                Arrays.asList("Database1", "Database2", "Database1")
+        ).getResult();
+
+        verify(documentsService).getDocumentContent(Matchers.<GetContentRequest<String>>any());
+        assertThat(results.get(0).getDocument(), is(first));
+        assertThat(results.get(1).getDocument(), is(second));
+        assertFalse(results.get(2).isFound());
+    }
+
+    @Test
+    public void getDocumentContentsOnlyFetchesUncachedDocuments() throws AciErrorException {
+        final IdolSearchResult cached = new IdolSearchResult.Builder().setReference("Reference1").setIndex("Database1").build();
+        final IdolSearchResult fetched = new IdolSearchResult.Builder().setReference("Reference2").setIndex("Database1").build();
+        when(documentContentCache.getObject(Arrays.asList("get-document-content", "Database1", "Reference1"))).thenReturn(cached);
+        when(documentsService.getDocumentContent(Matchers.<GetContentRequest<String>>any())).thenReturn(Collections.singletonList(fetched));
+
+        @SuppressWarnings("unchecked")
+        final List<DocumentContentResult<String, IdolSearchResult>> results = (List<DocumentContentResult<String, IdolSearchResult>>) documentsController.getDocumentContents(
+                Arrays.asList("Reference1", "Reference2"),
+                Arrays.asList("Database1", "Database1")
+        ).getResult();
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<GetContentRequest<String>> requestCaptor = ArgumentCaptor.forClass((Class<GetContentRequest<String>>) (Class<?>) GetContentRequest.class);
+        verify(documentsService).getDocumentContent(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().getIndexesAndReferences().iterator().next().getReferences(), contains("Reference2"));
+
+        assertThat(results.get(0).getDocument(), is(cached));
+        assertThat(results.get(1).getDocument(), is(fetched));
+    }
+
+    @Test
     public void getDocumentContentNotFound() throws AciErrorException {
-        documentsController.getDocumentContent("Some Reference", null);
+        assertThat(documentsController.getDocumentContent("Some Reference", null).getResult(), instanceOf(AciErrorException.class));
     }
 }
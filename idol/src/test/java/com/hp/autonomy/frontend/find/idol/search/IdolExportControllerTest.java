@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.search;
+
+import com.autonomy.aci.client.services.AciErrorException;
+import com.hp.autonomy.frontend.find.core.search.AbstractExportControllerTest;
+import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
+import com.hp.autonomy.searchcomponents.core.search.SearchRequest;
+import com.hp.autonomy.searchcomponents.idol.search.IdolQueryRestrictions;
+import com.hp.autonomy.searchcomponents.idol.search.IdolSearchResult;
+import com.hp.autonomy.types.requests.Documents;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IdolExportControllerTest extends AbstractExportControllerTest<String, IdolQueryRestrictions, IdolSearchResult, AciErrorException> {
+    @Before
+    public void setUp() {
+        when(queryRestrictionsBuilderFactory.createBuilder()).thenReturn(new IdolQueryRestrictions.Builder(), new IdolQueryRestrictions.Builder());
+        exportController = new IdolExportController(documentsService, queryRestrictionsBuilderFactory, objectMapper, MAX_RESULTS);
+    }
+
+    @Override
+    protected IdolSearchResult sampleResult() {
+        return new IdolSearchResult.Builder().setReference("SomeReference").setTitle("Some, \"quoted\" title").build();
+    }
+
+    @Test
+    public void exportPagesThroughStateToken() throws AciErrorException, IOException {
+        when(documentsService.getStateToken(Matchers.<QueryRestrictions<String>>any(), eq(MAX_RESULTS), anyBoolean())).thenReturn("STATE-TOKEN");
+        when(documentsService.queryTextIndexWithoutCache(Matchers.<SearchRequest<String>>any())).thenReturn(new Documents<>(Collections.<IdolSearchResult>emptyList(), 0, null, null, null, null));
+
+        exportController.export("*", "context", Collections.<String>emptyList(), "", null, null, null, false, 0, "ndjson", 100, new MockHttpServletResponse());
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<SearchRequest<String>> captor = ArgumentCaptor.forClass((Class<SearchRequest<String>>) (Class<?>) SearchRequest.class);
+        verify(documentsService).queryTextIndexWithoutCache(captor.capture());
+        assertThat(captor.getValue().getQueryRestrictions().getStateMatchId(), is(Collections.singletonList("STATE-TOKEN")));
+    }
+}
@@ -53,8 +53,7 @@ public class IdolRelatedConceptsServiceIT extends AbstractRelatedConceptsService
                 .param(RelatedConceptsController.STATE_TOKEN_PARAM, stateToken)
                 .with(authentication(userAuth()));
 
-        mockMvc
-                .perform(request)
+        performAsync(request)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andExpect(jsonPath("$", not(empty())));
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.search;
+
+import com.hp.autonomy.frontend.find.core.caching.CanonicalSearchKeyGenerator;
+import com.hp.autonomy.searchcomponents.core.search.QueryRestrictions;
+import com.hp.autonomy.searchcomponents.core.search.SearchRequest;
+import com.hp.autonomy.searchcomponents.idol.search.IdolQueryRestrictions;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class IdolSearchKeyGeneratorTest {
+    private KeyGenerator keyGenerator;
+
+    @Before
+    public void setUp() {
+        keyGenerator = new CanonicalSearchKeyGenerator<>(new IdolQueryRestrictionsBuilderFactory(), new SimpleKeyGenerator());
+    }
+
+    @Test
+    public void equivalentRequestsHaveEqualKeys() {
+        final SearchRequest<String> request = searchRequest(new IdolQueryRestrictions.Builder()
+                .setQueryText("cat  dog")
+                .setFieldText("MATCH{cat}:SPECIES+AND+NRANGE{1066,1485}:YEAR")
+                .setDatabases(Arrays.asList("Wookiepedia", "Animals"))
+                .setAnyLanguage(true)
+                .build());
+
+        final SearchRequest<String> equivalentRequest = searchRequest(new IdolQueryRestrictions.Builder()
+                .setQueryText(" cat dog")
+                .setFieldText("NRANGE{1066,1485}:YEAR AND MATCH{cat}:SPECIES")
+                .setDatabases(Arrays.asList("Animals", "Wookiepedia"))
+                .setAnyLanguage(true)
+                .build());
+
+        assertThat(generate(request), is(generate(equivalentRequest)));
+    }
+
+    @Test
+    public void differentRequestsHaveDifferentKeys() {
+        final SearchRequest<String> request = searchRequest(new IdolQueryRestrictions.Builder()
+                .setQueryText("cat")
+                .setDatabases(Arrays.asList("Wookiepedia", "Animals"))
+                .setMinScore(0)
+                .build());
+
+        final SearchRequest<String> differentRequest = searchRequest(new IdolQueryRestrictions.Builder()
+                .setQueryText("cat")
+                .setDatabases(Arrays.asList("Wookiepedia", "Animals"))
+                .setMinScore(50)
+                .build());
+
+        assertThat(generate(request), is(not(generate(differentRequest))));
+    }
+
+    @Test
+    public void requestIsNotModified() {
+        final QueryRestrictions<String> queryRestrictions = new IdolQueryRestrictions.Builder()
+                .setQueryText("cat  dog")
+                .setDatabases(Arrays.asList("Wookiepedia", "Animals"))
+                .build();
+
+        final SearchRequest<String> request = searchRequest(queryRestrictions);
+        generate(request);
+
+        assertThat(request.getQueryRestrictions(), is(queryRestrictions));
+    }
+
+    private SearchRequest<String> searchRequest(final QueryRestrictions<String> queryRestrictions) {
+        return new SearchRequest.Builder<String>()
+                .setQueryRestrictions(queryRestrictions)
+                .setStart(1)
+                .setMaxResults(30)
+                .build();
+    }
+
+    private Object generate(final SearchRequest<String> request) {
+        try {
+            return keyGenerator.generate(this, Object.class.getMethod("toString"), request);
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
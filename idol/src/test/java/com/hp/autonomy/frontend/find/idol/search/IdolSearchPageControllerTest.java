@@ -0,0 +1,28 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.search;
+
+import com.autonomy.aci.client.services.AciErrorException;
+import com.hp.autonomy.frontend.find.core.search.AbstractSearchPageControllerTest;
+import com.hp.autonomy.frontend.find.core.search.SearchPageController;
+import com.hp.autonomy.frontend.find.core.web.DeadlineExecutor;
+import com.hp.autonomy.searchcomponents.idol.parametricvalues.IdolParametricRequest;
+import com.hp.autonomy.searchcomponents.idol.search.IdolQueryRestrictions;
+import com.hp.autonomy.searchcomponents.idol.search.IdolRelatedConceptsRequest;
+import com.hp.autonomy.searchcomponents.idol.search.IdolSearchResult;
+import com.hp.autonomy.types.idol.QsElement;
+
+import static org.mockito.Mockito.when;
+
+public class IdolSearchPageControllerTest extends AbstractSearchPageControllerTest<String, IdolQueryRestrictions, IdolSearchResult, QsElement, IdolRelatedConceptsRequest, IdolParametricRequest, AciErrorException> {
+    @Override
+    protected SearchPageController<String, IdolQueryRestrictions, IdolSearchResult, QsElement, IdolRelatedConceptsRequest, IdolParametricRequest, AciErrorException> buildController(final DeadlineExecutor deadlineExecutor) {
+        when(queryRestrictionsBuilderFactory.createBuilder()).thenReturn(new IdolQueryRestrictions.Builder());
+        when(relatedConceptsRequestBuilderFactory.getObject()).thenReturn(new IdolRelatedConceptsRequest.Builder());
+        when(parametricRequestBuilderFactory.getObject()).thenReturn(new IdolParametricRequest.Builder());
+        return new IdolSearchPageController(documentsService, relatedConceptsService, parametricValuesService, queryRestrictionsBuilderFactory, relatedConceptsRequestBuilderFactory, parametricRequestBuilderFactory, deadlineExecutor);
+    }
+}
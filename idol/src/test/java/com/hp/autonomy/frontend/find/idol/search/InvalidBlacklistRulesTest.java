@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.search;
+
+import com.google.common.base.Ticker;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InvalidBlacklistRulesTest {
+    private static final long TTL_SECONDS = 60;
+
+    @Mock
+    private CounterService counterService;
+
+    private long nanos;
+    private InvalidBlacklistRules invalidBlacklistRules;
+
+    @Before
+    public void setUp() {
+        invalidBlacklistRules = new InvalidBlacklistRules(counterService, TTL_SECONDS, new Ticker() {
+            @Override
+            public long read() {
+                return nanos;
+            }
+        });
+    }
+
+    @Test
+    public void unknownRuleIsValid() {
+        assertFalse(invalidBlacklistRules.isInvalid("SomeBlacklist"));
+        verify(counterService, never()).increment(anyString());
+    }
+
+    @Test
+    public void markedRuleIsInvalid() {
+        invalidBlacklistRules.markInvalid("SomeBlacklist");
+
+        assertTrue(invalidBlacklistRules.isInvalid("SomeBlacklist"));
+        assertFalse(invalidBlacklistRules.isInvalid("AnotherBlacklist"));
+        verify(counterService).increment(InvalidBlacklistRules.AVOIDED_RETRIES_METRIC);
+    }
+
+    @Test
+    public void invalidRuleExpires() {
+        invalidBlacklistRules.markInvalid("SomeBlacklist");
+        nanos += TimeUnit.SECONDS.toNanos(TTL_SECONDS);
+
+        assertFalse(invalidBlacklistRules.isInvalid("SomeBlacklist"));
+    }
+}
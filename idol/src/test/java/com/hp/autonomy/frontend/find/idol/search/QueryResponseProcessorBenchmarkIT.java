@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.search;
+
+import com.autonomy.aci.client.services.Processor;
+import com.autonomy.aci.client.transport.AciResponseInputStream;
+import com.hp.autonomy.idolutils.processors.AciResponseJaxbProcessorFactory;
+import com.hp.autonomy.types.idol.QueryResponseData;
+import org.apache.commons.io.IOUtils;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares the latency and allocation of the JAXB and streaming query response processors on the recorded query
+ * response, repeated to give pages of different sizes. Run with -Dfind.benchmark=true.
+ */
+public class QueryResponseProcessorBenchmarkIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryResponseProcessorBenchmarkIT.class);
+
+    private static final int WARM_UP_ITERATIONS = 200;
+    private static final int ITERATIONS = 1000;
+    private static final int[] HIT_REPETITIONS = {1, 25, 250};
+
+    private String recordedHits;
+    private String responsePrefix;
+    private String responseSuffix;
+
+    @Before
+    public void setUp() throws IOException {
+        Assume.assumeTrue(Boolean.getBoolean("find.benchmark"));
+
+        try (final InputStream inputStream = getClass().getResourceAsStream("query-response.xml")) {
+            final String recordedResponse = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+            final int hitsStart = recordedResponse.indexOf("<autn:hit>");
+            final int hitsEnd = recordedResponse.lastIndexOf("</autn:hit>") + "</autn:hit>".length();
+
+            responsePrefix = recordedResponse.substring(0, hitsStart);
+            recordedHits = recordedResponse.substring(hitsStart, hitsEnd);
+            responseSuffix = recordedResponse.substring(hitsEnd);
+        }
+    }
+
+    @Test
+    public void compareProcessors() {
+        final Processor<QueryResponseData> jaxbProcessor = new AciResponseJaxbProcessorFactory().createAciResponseProcessor(QueryResponseData.class);
+        final Processor<QueryResponseData> streamingProcessor = new StreamingQueryResponseProcessor(Collections.<String>emptyList());
+        final Processor<QueryResponseData> projectingProcessor = new StreamingQueryResponseProcessor(Arrays.asList("DREREFERENCE", "CATEGORY"));
+
+        for (final int repetitions : HIT_REPETITIONS) {
+            final byte[] response = buildResponse(repetitions);
+
+            assertThat(streamingProcessor.process(toAciResponse(response)).getHits().size(), is(jaxbProcessor.process(toAciResponse(response)).getHits().size()));
+
+            LOGGER.info("{} hits, {} bytes", 2 * repetitions, response.length);
+            run("JAXB", jaxbProcessor, response);
+            run("Streaming", streamingProcessor, response);
+            run("Streaming with projection", projectingProcessor, response);
+        }
+    }
+
+    private void run(final String name, final Processor<QueryResponseData> processor, final byte[] response) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            processor.process(toAciResponse(response));
+        }
+
+        final long startBytes = getAllocatedBytes();
+        final long startNanos = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            processor.process(toAciResponse(response));
+        }
+
+        final long micros = (System.nanoTime() - startNanos) / 1000 / ITERATIONS;
+        final long allocatedBytes = (getAllocatedBytes() - startBytes) / ITERATIONS;
+
+        LOGGER.info("    {}: {} us and {} bytes allocated per response", name, micros, allocatedBytes);
+    }
+
+    private byte[] buildResponse(final int repetitions) {
+        final StringBuilder builder = new StringBuilder(responsePrefix);
+
+        for (int i = 0; i < repetitions; i++) {
+            builder.append(recordedHits);
+        }
+
+        return builder.append(responseSuffix).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long getAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // the ACI response stream is abstract, so delegate its stream methods to an in memory stream
+    private AciResponseInputStream toAciResponse(final byte[] response) {
+        final InputStream inputStream = new ByteArrayInputStream(response);
+
+        return mock(AciResponseInputStream.class, new Answer<Object>() {
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                final Method method = invocation.getMethod();
+                final Method inputStreamMethod;
+
+                try {
+                    inputStreamMethod = InputStream.class.getMethod(method.getName(), method.getParameterTypes());
+                } catch (final NoSuchMethodException ignored) {
+                    return RETURNS_DEFAULTS.answer(invocation);
+                }
+
+                try {
+                    return inputStreamMethod.invoke(inputStream, invocation.getArguments());
+                } catch (final InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        });
+    }
+}
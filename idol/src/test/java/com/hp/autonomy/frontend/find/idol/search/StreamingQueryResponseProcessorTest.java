@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * Licensed under the MIT License (the "License"); you may not use this file except in compliance with the License.
+ */
+
+package com.hp.autonomy.frontend.find.idol.search;
+
+import com.autonomy.aci.client.services.AciErrorException;
+import com.hp.autonomy.types.idol.Hit;
+import com.hp.autonomy.types.idol.QueryResponseData;
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class StreamingQueryResponseProcessorTest {
+    @Test
+    public void parsesResponseData() throws IOException {
+        final QueryResponseData responseData = parse("query-response.xml", new StreamingQueryResponseProcessor(Collections.<String>emptyList()));
+
+        assertThat(responseData.getNumhits(), is(2));
+        assertThat(responseData.getTotalhits(), is(57));
+        assertThat(responseData.getSpellingquery(), is("cat"));
+        assertThat(responseData.getHits().size(), is(2));
+    }
+
+    @Test
+    public void parsesHits() throws IOException {
+        final QueryResponseData responseData = parse("query-response.xml", new StreamingQueryResponseProcessor(Collections.<String>emptyList()));
+
+        final Hit first = responseData.getHits().get(0);
+        assertThat(first.getReference(), is("Reference1"));
+        assertThat(first.getDatabase(), is("Wikipedia"));
+        assertThat(first.getTitle(), is("Cats"));
+        assertThat(first.getSummary(), is("All about cats"));
+        assertThat(first.getWeight(), is(87.5f));
+
+        final Hit second = responseData.getHits().get(1);
+        assertThat(second.getReference(), is("Reference2"));
+        assertThat(second.getPromotionname(), is("SomePromotion"));
+    }
+
+    @Test
+    public void keepsAllFieldsWithoutProjection() throws IOException {
+        final QueryResponseData responseData = parse("query-response.xml", new StreamingQueryResponseProcessor(Collections.<String>emptyList()));
+
+        final Element document = getDocument(responseData.getHits().get(0));
+        assertThat(document.getTagName(), is("DOCUMENT"));
+        assertThat(document.getElementsByTagName("DRECONTENT").getLength(), is(1));
+        assertThat(document.getElementsByTagName("NAME").item(0).getTextContent(), is("London"));
+    }
+
+    @Test
+    public void projectsFields() throws IOException {
+        final QueryResponseData responseData = parse("query-response.xml", new StreamingQueryResponseProcessor(Arrays.asList("category", "PLACE")));
+
+        final Element first = getDocument(responseData.getHits().get(0));
+        assertThat(first.getElementsByTagName("DRECONTENT").getLength(), is(0));
+        assertThat(first.getElementsByTagName("CATEGORY").item(0).getTextContent(), is("Animals"));
+        assertThat(first.getElementsByTagName("NAME").item(0).getTextContent(), is("London"));
+
+        final Element second = getDocument(responseData.getHits().get(1));
+        assertThat(second.getElementsByTagName("CATEGORY").getLength(), is(2));
+        assertThat(second.getElementsByTagName("DREREFERENCE").getLength(), is(0));
+    }
+
+    @Test
+    public void throwsErrors() throws IOException {
+        try {
+            parse("query-error-response.xml", new StreamingQueryResponseProcessor(Collections.<String>emptyList()));
+            fail("Expected an AciErrorException");
+        } catch (final AciErrorException e) {
+            assertThat(e.getErrorString(), is("missing rule"));
+            assertThat(e.getErrorId(), is("QMSQUERY-2147483644"));
+        }
+    }
+
+    private QueryResponseData parse(final String resource, final StreamingQueryResponseProcessor processor) throws IOException {
+        try (final InputStream inputStream = getClass().getResourceAsStream(resource)) {
+            return processor.parse(inputStream);
+        }
+    }
+
+    private Element getDocument(final Hit hit) {
+        return (Element) hit.getContent().getContent().get(0);
+    }
+}
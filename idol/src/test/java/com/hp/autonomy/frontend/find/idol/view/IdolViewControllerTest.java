@@ -39,7 +39,7 @@ public class IdolViewControllerTest extends AbstractViewControllerTest<IdolViewC
     @Before
     public void setUp() {
         viewServerService = idolViewServerService;
-        viewController = new IdolViewController(viewServerService, configService, controllerUtils);
+        viewController = new IdolViewController(viewServerService, configService, controllerUtils, documentContentCache);
         response = new MockHttpServletResponse();
         super.setUp();
     }